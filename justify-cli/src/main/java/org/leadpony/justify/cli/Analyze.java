@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import static org.leadpony.justify.cli.Message.*;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.SchemaAnalysis;
+import org.leadpony.justify.cli.Console.Color;
+
+/**
+ * A command implementation executing "analyze" command.
+ *
+ * <p>
+ * This command reads a JSON schema, estimates the cost of the validation
+ * against it, and prints the number of the evaluators at each depth of the
+ * instance and the keywords found to be expensive. No instances are read.
+ * </p>
+ *
+ * @author leadpony
+ */
+class Analyze extends Validate {
+
+    private static final Set<ValidateOption> SUPPORTED_OPTIONS = EnumSet.of(
+            ValidateOption.SCHEMA,
+            ValidateOption.REFERENCE,
+            ValidateOption.CATALOG,
+            ValidateOption.STRICT);
+
+    /**
+     * Constructs this command.
+     *
+     * @param console the console to which messages will be outputted.
+     */
+    Analyze(Console console) {
+        super(console, new SchemaCache(JsonValidationService.newInstance()), Collections.emptyMap());
+    }
+
+    @Override
+    public Status execute(List<String> args) {
+        parseCommandArguments(args);
+        populateCatalog();
+        JsonSchema schema = readSchemaAt((Location) getOptionValue(ValidateOption.SCHEMA));
+        if (schema != null) {
+            printAnalysis(getService().analyzeSchema(schema));
+        }
+        return getStatus();
+    }
+
+    @Override
+    protected Option findOptionByName(String arg) {
+        Option option = super.findOptionByName(arg);
+        if (!SUPPORTED_OPTIONS.contains(option)) {
+            throw new CommandException(OPTION_UNRECOGNIZED, arg);
+        }
+        return option;
+    }
+
+    @Override
+    protected void processNonOptionArguments(List<String> args) {
+        throw new CommandException(ARGUMENT_UNRECOGNIZED, args.get(0));
+    }
+
+    private void printAnalysis(SchemaAnalysis analysis) {
+        console.print(ANALYSIS_EVALUATORS, analysis.getMaxFanOut());
+        console.print(ANALYSIS_COLUMNS);
+        List<Long> counts = analysis.getEvaluatorCounts();
+        for (int depth = 0; depth < counts.size(); depth++) {
+            console.print(String.format("%7d %10d", depth, counts.get(depth)));
+        }
+        List<SchemaAnalysis.Finding> findings = analysis.getFindings();
+        if (findings.isEmpty()) {
+            console.withColor(Color.SUCCESS).print(ANALYSIS_NO_FINDINGS);
+            return;
+        }
+        console.withColor(Color.WARNING).print(ANALYSIS_FINDINGS, findings.size());
+        for (SchemaAnalysis.Finding finding : findings) {
+            console.print(String.format("  %s %s \"%s\": %s",
+                    finding.getKind(),
+                    finding.getLocation(),
+                    finding.getKeyword(),
+                    finding.getDetail()));
+        }
+    }
+}
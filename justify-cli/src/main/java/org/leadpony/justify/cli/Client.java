@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import static org.leadpony.justify.cli.Message.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+/**
+ * A command implementation sending the arguments to the server started by
+ * "serve" command, instead of validating the files by itself.
+ *
+ * <p>
+ * The paths of the local files are converted into absolute paths before sent
+ * to the server, because the server may run in another working directory.
+ * The token specified by "-token" option is sent to the server to authorize
+ * the request.
+ * </p>
+ *
+ * @author leadpony
+ */
+class Client implements Command {
+
+    private final Console console;
+
+    /**
+     * Constructs this command.
+     *
+     * @param console the console to which messages will be outputted.
+     */
+    Client(Console console) {
+        this.console = console;
+    }
+
+    @Override
+    public Status execute(List<String> args) {
+        URL server = extractServer(args);
+        String token = extractToken(args);
+        JsonObject result = send(server, token, absolutize(args));
+        PrintStream out = console.getOutput();
+        out.print(result.getString("output", ""));
+        out.flush();
+        String error = result.getString("error", "");
+        if (!error.isEmpty()) {
+            console.error(error.endsWith("\n") ? error.substring(0, error.length() - 1) : error);
+        }
+        int code = result.getInt("status", Status.FAILED.code());
+        for (Status status : Status.values()) {
+            if (status.code() == code) {
+                return status;
+            }
+        }
+        return Status.FAILED;
+    }
+
+    private static URL extractServer(List<String> args) {
+        int index = args.indexOf(ValidateOption.SERVER.preferredName());
+        args.remove(index);
+        if (index >= args.size() || args.get(index).startsWith("-")) {
+            throw new CommandException(OPTION_ARGUMENT_MISSING, ValidateOption.SERVER.preferredName());
+        }
+        String arg = args.remove(index);
+        try {
+            return (URL) ValidateOption.SERVER.getTypedArgument(arg);
+        } catch (IllegalArgumentException e) {
+            throw new CommandException(OPTION_ARGUMENT_INVALID, ValidateOption.SERVER.preferredName(), arg);
+        }
+    }
+
+    private static String extractToken(List<String> args) {
+        int index = args.indexOf(ValidateOption.TOKEN.preferredName());
+        if (index < 0) {
+            return null;
+        }
+        args.remove(index);
+        if (index >= args.size() || args.get(index).startsWith("-")) {
+            throw new CommandException(OPTION_ARGUMENT_MISSING, ValidateOption.TOKEN.preferredName());
+        }
+        return args.remove(index);
+    }
+
+    /**
+     * Converts the local paths found in the arguments into absolute paths.
+     *
+     * @param args the original arguments.
+     * @return the converted arguments.
+     */
+    private static List<String> absolutize(List<String> args) {
+        List<String> converted = new ArrayList<>();
+        Option current = null;
+        for (String arg : args) {
+            if (arg.startsWith("-")) {
+                current = findOption(arg);
+                converted.add(arg);
+                continue;
+            }
+            Option option = (current != null && current.requiresArgument()) ? current : ValidateOption.INSTANCE;
+            converted.add(absolutize(option, arg));
+            if (current != null && !current.takesMultipleArguments()) {
+                current = null;
+            }
+        }
+        return converted;
+    }
+
+    private static String absolutize(Option option, String arg) {
+        try {
+            Object value = option.getTypedArgument(arg);
+            if (value instanceof LocalLocation) {
+                return ((LocalLocation) value).path().toAbsolutePath().toString();
+            }
+        } catch (IllegalArgumentException e) {
+            // The server will report the invalid argument.
+        }
+        return arg;
+    }
+
+    private static Option findOption(String arg) {
+        try {
+            return ValidateOption.byName(arg);
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private static JsonObject send(URL server, String token, List<String> args) {
+        JsonArrayBuilder builder = Json.createArrayBuilder();
+        args.forEach(builder::add);
+        byte[] body = builder.build().toString().getBytes(StandardCharsets.UTF_8);
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(server, "validate").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/json");
+            if (token != null) {
+                connection.setRequestProperty("Authorization", "Bearer " + token);
+            }
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            if (connection.getResponseCode() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+                throw new CommandException(SERVER_UNAUTHORIZED, server);
+            }
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new CommandException(SERVER_UNAVAILABLE, server);
+            }
+            try (InputStream in = connection.getInputStream();
+                 JsonReader reader = Json.createReader(in)) {
+                return reader.readObject();
+            }
+        } catch (MalformedURLException e) {
+            throw new CommandException(OPTION_ARGUMENT_INVALID, ValidateOption.SERVER.preferredName(), server);
+        } catch (IOException e) {
+            throw new CommandException(SERVER_UNAVAILABLE, server);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
@@ -48,6 +48,7 @@ class Console {
 
     private final PrintStream stdout;
     private final PrintStream stderr;
+    private boolean muted;
 
     /**
      * Constructs this console.
@@ -70,12 +71,34 @@ class Console {
         return this;
     }
 
+    /**
+     * Stops printing any lines to the standard output. Error lines are still
+     * printed.
+     *
+     * @return this console.
+     */
+    Console mute() {
+        this.muted = true;
+        return this;
+    }
+
+    /**
+     * Returns the standard output of this console.
+     *
+     * @return the standard output.
+     */
+    PrintStream getOutput() {
+        return stdout;
+    }
+
     /**
      * Prints a blank line.
      * @return this console.
      */
     Console print() {
-        stdout.println();
+        if (!muted) {
+            stdout.println();
+        }
         return this;
     }
 
@@ -86,7 +109,9 @@ class Console {
      * @return this console.
      */
     Console print(String line) {
-        stdout.println(decorate(line));
+        if (!muted) {
+            stdout.println(decorate(line));
+        }
         return this;
     }
 
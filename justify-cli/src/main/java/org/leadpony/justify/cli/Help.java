@@ -59,6 +59,8 @@ class Help extends AbstractCommand {
         console.print(getMessage("title"));
         console.print(getMessage("usage"));
         console.print("  " + getMessage("command"));
+        console.print("  " + getMessage("command.serve"));
+        console.print("  " + getMessage("command.analyze"));
         console.print();
         printAllOptions();
     }
@@ -71,6 +71,17 @@ public class Launcher {
         if (args.isEmpty() || args.contains("-h")) {
             return new Help(console);
         }
+        if (args.get(0).equals("serve")) {
+            args.remove(0);
+            return new Serve(console);
+        }
+        if (args.get(0).equals("analyze")) {
+            args.remove(0);
+            return new Analyze(console);
+        }
+        if (args.contains(ValidateOption.SERVER.preferredName())) {
+            return new Client(console);
+        }
         return new Validate(console);
     }
 
@@ -45,6 +45,18 @@ enum Message {
     INSTANCE_MALFORMED,
     CATALOG_MALFORMED,
 
+    SERVER_STARTED,
+    SERVER_TOKEN,
+    SERVER_STOPPED,
+
+    PROFILE_TITLE,
+    PROFILE_COLUMNS,
+
+    ANALYSIS_EVALUATORS,
+    ANALYSIS_COLUMNS,
+    ANALYSIS_FINDINGS,
+    ANALYSIS_NO_FINDINGS,
+
     PATH_OR_URL,
 
     /*
@@ -55,6 +67,7 @@ enum Message {
     OPTION_MISSING,
     OPTION_ARGUMENT_MISSING,
     OPTION_ARGUMENT_INVALID,
+    ARGUMENT_UNRECOGNIZED,
 
     SCHEMA_NOT_FOUND,
     INSTANCE_NOT_FOUND,
@@ -63,7 +76,9 @@ enum Message {
     SCHEMA_FAILED,
     CATALOG_FAILED,
 
-    ACCESS_FAILED;
+    ACCESS_FAILED,
+    SERVER_UNAVAILABLE,
+    SERVER_UNAUTHORIZED;
 
     private static final String BUNDLE_NAME = Message.class.getPackage().getName() + ".messages";
     private static final ResourceBundle BUNDLE = ResourceBundle.getBundle(BUNDLE_NAME);
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Machine-readable formats of the validation results.
+ *
+ * @author leadpony
+ */
+enum OutputFormat {
+    /**
+     * A single JSON document containing all of the results.
+     */
+    JSON,
+    /**
+     * JSON Lines, one record per line.
+     */
+    JSONL,
+    /**
+     * Static Analysis Results Interchange Format (SARIF) version 2.1.0.
+     */
+    SARIF;
+
+    /**
+     * Returns the format specified by the name.
+     *
+     * @param name the name of the format, case-insensitive.
+     * @return the found format.
+     * @throws IllegalArgumentException if no such format exists.
+     */
+    static OutputFormat byName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Creates a report writing in this format.
+     *
+     * @param out the stream to which the report will be written.
+     * @return newly created report.
+     */
+    Report createReport(OutputStream out) {
+        switch (this) {
+        case JSON:
+            return new Report.JsonReport(out);
+        case JSONL:
+            return new Report.JsonLinesReport(out);
+        case SARIF:
+            return new Report.SarifReport(out);
+        default:
+            throw new IllegalStateException();
+        }
+    }
+}
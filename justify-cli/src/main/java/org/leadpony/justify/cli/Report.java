@@ -0,0 +1,449 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonLocation;
+
+import org.leadpony.justify.api.Problem;
+
+/**
+ * A report of validation results written in a machine-readable format.
+ *
+ * <p>
+ * Problems are written as compact records as soon as each document is
+ * validated. The messages are identified by their keys and never localized.
+ * </p>
+ *
+ * @author leadpony
+ */
+abstract class Report {
+
+    /**
+     * Kinds of the documents to be validated.
+     *
+     * @author leadpony
+     */
+    enum Kind {
+        CATALOG("catalog"),
+        SCHEMA("schema"),
+        INSTANCE("instance");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+    }
+
+    private static final JsonGeneratorFactory GENERATOR_FACTORY = Json.createGeneratorFactory(null);
+
+    private final BufferedWriter buffer;
+    private final Writer writer;
+    private final long startTime = System.nanoTime();
+
+    private long schemas;
+    private long instances;
+    private long validDocuments;
+    private long invalidDocuments;
+    private long malformedDocuments;
+    private long problems;
+    private long validationTime;
+
+    /**
+     * Constructs this report.
+     *
+     * @param out the stream to which this report will be written. The stream
+     *            will not be closed by this report.
+     */
+    protected Report(OutputStream out) {
+        this.buffer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // Generators closed by the subclasses must not close the stream.
+        this.writer = new NonClosingWriter(this.buffer);
+    }
+
+    /**
+     * Adds the result of a document successfully parsed.
+     *
+     * @param kind     the kind of the document.
+     * @param location the location of the document.
+     * @param problems the problems found in the document, may be empty.
+     * @param nanos    the time elapsed for the validation, in nanoseconds.
+     */
+    void addResult(Kind kind, Location location, List<Problem> problems, long nanos) {
+        count(kind, nanos);
+        if (problems.isEmpty()) {
+            validDocuments++;
+        } else {
+            invalidDocuments++;
+            this.problems += Problems.countLeast(problems);
+        }
+        writeResult(kind, location, problems, null);
+    }
+
+    /**
+     * Adds the result of a document which is not well-formed.
+     *
+     * @param kind     the kind of the document.
+     * @param location the location of the document.
+     * @param error    the description of the error.
+     * @param nanos    the time elapsed for the validation, in nanoseconds.
+     */
+    void addMalformed(Kind kind, Location location, String error, long nanos) {
+        count(kind, nanos);
+        malformedDocuments++;
+        writeResult(kind, location, Collections.emptyList(), error);
+    }
+
+    /**
+     * Writes the summary and flushes all of the records.
+     */
+    void close() {
+        writeSummary();
+        try {
+            buffer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the result of a document.
+     *
+     * @param kind     the kind of the document.
+     * @param location the location of the document.
+     * @param problems the problems found in the document, may be empty.
+     * @param error    the description of the parsing error, or {@code null}.
+     */
+    protected abstract void writeResult(Kind kind, Location location, List<Problem> problems, String error);
+
+    /**
+     * Writes the summary of this report.
+     */
+    protected abstract void writeSummary();
+
+    protected Writer writer() {
+        return writer;
+    }
+
+    protected JsonGenerator createGenerator() {
+        return GENERATOR_FACTORY.createGenerator(writer);
+    }
+
+    protected static void writeProblem(JsonGenerator g, Problem problem) {
+        g.writeStartObject();
+        writeProblemMembers(g, problem);
+        g.writeEnd();
+    }
+
+    protected static void writeProblemMembers(JsonGenerator g, Problem problem) {
+        writeStringOrNull(g, "pointer", problem.getPointer());
+        writeStringOrNull(g, "keyword", problem.getKeyword());
+        JsonLocation location = problem.getLocation();
+        if (location != null) {
+            g.writeStartObject("location")
+                .write("line", location.getLineNumber())
+                .write("column", location.getColumnNumber())
+                .write("offset", location.getStreamOffset())
+                .writeEnd();
+        }
+        writeStringOrNull(g, "messageKey", problem.getMessageKey());
+        if (problem.hasBranches()) {
+            g.writeStartArray("branches");
+            for (int i = 0; i < problem.countBranches(); i++) {
+                g.writeStartArray();
+                for (Problem child : problem.getBranch(i)) {
+                    writeProblem(g, child);
+                }
+                g.writeEnd();
+            }
+            g.writeEnd();
+        }
+    }
+
+    protected static void writeStringOrNull(JsonGenerator g, String name, String value) {
+        if (value != null) {
+            g.write(name, value);
+        } else {
+            g.writeNull(name);
+        }
+    }
+
+    protected void writeSummaryMembers(JsonGenerator g) {
+        g.write("schemas", schemas)
+            .write("instances", instances)
+            .write("valid", validDocuments)
+            .write("invalid", invalidDocuments)
+            .write("malformed", malformedDocuments)
+            .write("problems", problems)
+            .write("validationMillis", TimeUnit.NANOSECONDS.toMillis(validationTime))
+            .write("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+    private void count(Kind kind, long nanos) {
+        if (kind == Kind.SCHEMA) {
+            schemas++;
+        } else if (kind == Kind.INSTANCE) {
+            instances++;
+        }
+        validationTime += nanos;
+    }
+
+    /**
+     * A report written as a single JSON document.
+     *
+     * @author leadpony
+     */
+    static class JsonReport extends Report {
+
+        private final JsonGenerator generator;
+
+        JsonReport(OutputStream out) {
+            super(out);
+            this.generator = createGenerator();
+            this.generator.writeStartObject().writeStartArray("results");
+        }
+
+        @Override
+        protected void writeResult(Kind kind, Location location, List<Problem> problems, String error) {
+            JsonGenerator g = this.generator;
+            g.writeStartObject()
+                .write("kind", kind.label())
+                .write("document", location.toString())
+                .write("valid", problems.isEmpty() && error == null);
+            if (error != null) {
+                g.write("error", error);
+            }
+            g.writeStartArray("problems");
+            for (Problem problem : problems) {
+                writeProblem(g, problem);
+            }
+            g.writeEnd().writeEnd();
+        }
+
+        @Override
+        protected void writeSummary() {
+            JsonGenerator g = this.generator;
+            g.writeEnd().writeStartObject("summary");
+            writeSummaryMembers(g);
+            g.writeEnd().writeEnd();
+            g.close();
+        }
+    }
+
+    /**
+     * A report written as JSON Lines.
+     *
+     * @author leadpony
+     */
+    static class JsonLinesReport extends Report {
+
+        JsonLinesReport(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        protected void writeResult(Kind kind, Location location, List<Problem> problems, String error) {
+            String document = location.toString();
+            for (Problem problem : problems) {
+                writeLine(g -> {
+                    g.writeStartObject()
+                        .write("type", "problem")
+                        .write("kind", kind.label())
+                        .write("document", document);
+                    writeProblemMembers(g, problem);
+                    g.writeEnd();
+                });
+            }
+            writeLine(g -> {
+                g.writeStartObject()
+                    .write("type", "result")
+                    .write("kind", kind.label())
+                    .write("document", document)
+                    .write("valid", problems.isEmpty() && error == null);
+                if (error != null) {
+                    g.write("error", error);
+                }
+                g.writeEnd();
+            });
+        }
+
+        @Override
+        protected void writeSummary() {
+            writeLine(g -> {
+                g.writeStartObject().write("type", "summary");
+                writeSummaryMembers(g);
+                g.writeEnd();
+            });
+        }
+
+        private void writeLine(Consumer<JsonGenerator> consumer) {
+            JsonGenerator g = createGenerator();
+            consumer.accept(g);
+            g.close();
+            try {
+                writer().write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * A report written in Static Analysis Results Interchange Format (SARIF).
+     *
+     * @author leadpony
+     */
+    static class SarifReport extends Report {
+
+        private static final String SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+        private static final String INFORMATION_URI = "https://github.com/leadpony/justify";
+
+        private final JsonGenerator generator;
+
+        SarifReport(OutputStream out) {
+            super(out);
+            this.generator = createGenerator();
+            JsonGenerator g = this.generator;
+            g.writeStartObject()
+                .write("$schema", SCHEMA)
+                .write("version", "2.1.0")
+                .writeStartArray("runs")
+                .writeStartObject()
+                .writeStartObject("tool")
+                .writeStartObject("driver")
+                .write("name", "justify")
+                .write("informationUri", INFORMATION_URI);
+            String version = Report.class.getPackage().getImplementationVersion();
+            if (version != null) {
+                g.write("version", version);
+            }
+            g.writeEnd().writeEnd().writeStartArray("results");
+        }
+
+        @Override
+        protected void writeResult(Kind kind, Location location, List<Problem> problems, String error) {
+            String document = toUri(location);
+            if (error != null) {
+                writeSarifResult(document, "MALFORMED", error, null, null);
+            }
+            for (Problem problem : problems) {
+                writeSarifResult(document, problem);
+            }
+        }
+
+        private void writeSarifResult(String document, Problem problem) {
+            String key = problem.getMessageKey();
+            if (key == null) {
+                key = "PROBLEM";
+            }
+            String pointer = problem.getPointer();
+            StringBuilder text = new StringBuilder(key);
+            if (problem.getKeyword() != null) {
+                text.append(" (").append(problem.getKeyword()).append(')');
+            }
+            if (pointer != null) {
+                text.append(" at \"").append(pointer).append('"');
+            }
+            writeSarifResult(document, key, text.toString(), problem.getLocation(), pointer);
+        }
+
+        private void writeSarifResult(String document, String ruleId, String text,
+                JsonLocation location, String pointer) {
+            JsonGenerator g = this.generator;
+            g.writeStartObject()
+                .write("ruleId", ruleId)
+                .write("level", "error")
+                .writeStartObject("message").write("text", text).writeEnd()
+                .writeStartArray("locations")
+                .writeStartObject()
+                .writeStartObject("physicalLocation")
+                .writeStartObject("artifactLocation").write("uri", document).writeEnd();
+            if (location != null && location.getLineNumber() > 0) {
+                g.writeStartObject("region")
+                    .write("startLine", location.getLineNumber())
+                    .write("startColumn", Math.max(1, location.getColumnNumber()))
+                    .writeEnd();
+            }
+            g.writeEnd();
+            if (pointer != null) {
+                g.writeStartArray("logicalLocations")
+                    .writeStartObject().write("fullyQualifiedName", pointer).writeEnd()
+                    .writeEnd();
+            }
+            g.writeEnd().writeEnd().writeEnd();
+        }
+
+        private static String toUri(Location location) {
+            try {
+                return location.toURL().toString();
+            } catch (MalformedURLException e) {
+                return location.toString();
+            }
+        }
+
+        @Override
+        protected void writeSummary() {
+            JsonGenerator g = this.generator;
+            g.writeEnd()
+                .writeStartArray("invocations")
+                .writeStartObject()
+                .write("executionSuccessful", true)
+                .writeStartObject("properties");
+            writeSummaryMembers(g);
+            g.writeEnd().writeEnd().writeEnd()
+                .writeEnd().writeEnd().writeEnd();
+            g.close();
+        }
+    }
+
+    /**
+     * A writer which does not close the underlying writer.
+     *
+     * @author leadpony
+     */
+    private static class NonClosingWriter extends FilterWriter {
+
+        NonClosingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+
+/**
+ * A cache of the schemas which were already read and validated.
+ *
+ * <p>
+ * A cached schema is used only if neither the schema file nor any of the
+ * local files resolved while reading the schema were modified after the schema
+ * was read. The schemas read from remote locations are assumed to be never
+ * modified, and are kept until the server stops. Instances of this class are
+ * safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @author leadpony
+ */
+class SchemaCache {
+
+    private final JsonValidationService service;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs this cache.
+     *
+     * @param service the validation service shared by all commands using this
+     *                cache.
+     */
+    SchemaCache(JsonValidationService service) {
+        this.service = service;
+    }
+
+    /**
+     * Returns the validation service.
+     *
+     * @return the validation service.
+     */
+    JsonValidationService getService() {
+        return service;
+    }
+
+    /**
+     * Returns the schema cached.
+     *
+     * @param location the location of the schema.
+     * @param strict   whether the schema was read strictly or not.
+     * @param catalog  the catalog used for reading the schema.
+     * @return the cached schema, or {@code null} if not found or outdated.
+     */
+    JsonSchema get(Location location, boolean strict, Map<URI, Location> catalog) {
+        Entry entry = entries.get(createKey(location, strict, catalog));
+        if (entry != null && entry.isUpToDate()) {
+            return entry.schema;
+        }
+        return null;
+    }
+
+    /**
+     * Adds the schema to this cache.
+     *
+     * @param location the location of the schema.
+     * @param strict   whether the schema was read strictly or not.
+     * @param catalog  the catalog used for reading the schema.
+     * @param schema   the schema to be cached.
+     * @param resolved the locations of the schemas resolved while reading the
+     *                 schema.
+     */
+    void put(Location location, boolean strict, Map<URI, Location> catalog, JsonSchema schema,
+            Collection<Location> resolved) {
+        Map<Location, Long> stamps = new LinkedHashMap<>();
+        stamps.put(location, lastModified(location));
+        for (Location referenced : resolved) {
+            stamps.put(referenced, lastModified(referenced));
+        }
+        entries.put(createKey(location, strict, catalog), new Entry(schema, stamps));
+    }
+
+    private static String createKey(Location location, boolean strict, Map<URI, Location> catalog) {
+        StringBuilder builder = new StringBuilder(location.toString());
+        builder.append('\n').append(strict);
+        for (Map.Entry<URI, Location> entry : new TreeMap<>(catalog).entrySet()) {
+            builder.append('\n').append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        return builder.toString();
+    }
+
+    private static long lastModified(Location location) {
+        if (location instanceof LocalLocation) {
+            Path path = ((LocalLocation) location).path();
+            try {
+                return Files.getLastModifiedTime(path).toMillis() * 31 + Files.size(path);
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * An entry of the cache.
+     *
+     * @author leadpony
+     */
+    private static class Entry {
+
+        final JsonSchema schema;
+        // the stamps of the schema file and the files resolved.
+        final Map<Location, Long> stamps;
+
+        Entry(JsonSchema schema, Map<Location, Long> stamps) {
+            this.schema = schema;
+            this.stamps = stamps;
+        }
+
+        boolean isUpToDate() {
+            for (Map.Entry<Location, Long> entry : stamps.entrySet()) {
+                if (lastModified(entry.getKey()) != entry.getValue()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
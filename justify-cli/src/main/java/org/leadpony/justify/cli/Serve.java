@@ -0,0 +1,381 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import static org.leadpony.justify.cli.Message.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.leadpony.justify.api.JsonValidationService;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A command implementation executing "serve" command.
+ *
+ * <p>
+ * This command keeps running as a local HTTP server and validates the files
+ * on behalf of the clients started with "-server" option. The schemas read
+ * once are kept in memory and reused by the subsequent requests until the
+ * files are modified.
+ * </p>
+ *
+ * <p>
+ * The server accepts the following requests.
+ * </p>
+ * <dl>
+ * <dt>{@code POST /validate}</dt>
+ * <dd>Validates the files. The body of the request is a JSON array of the
+ * command line arguments for "validate" command, and the body of the response
+ * is a JSON object containing {@code status}, {@code output} and
+ * {@code error}.</dd>
+ * <dt>{@code POST /shutdown}</dt>
+ * <dd>Stops the server.</dd>
+ * </dl>
+ *
+ * <p>
+ * Every request must carry the token printed when the server started in
+ * {@code Authorization} header as a bearer token, and must have the content
+ * type of {@code application/json}. The requests sent to a host other than
+ * the loopback address, and the requests from the web pages not served by the
+ * loopback address, are rejected. This prevents other local users and the web
+ * pages opened in a browser from reading files through the server.
+ * </p>
+ *
+ * @author leadpony
+ */
+class Serve extends AbstractCommand {
+
+    /**
+     * The port number used by default.
+     */
+    static final int DEFAULT_PORT = 9876;
+
+    private static final int BAD_REQUEST = 400;
+    private static final int UNAUTHORIZED = 401;
+    private static final int FORBIDDEN = 403;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int UNSUPPORTED_MEDIA_TYPE = 415;
+    private static final int OK = 200;
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int TOKEN_BYTES = 32;
+
+    private final SchemaCache schemaCache = new SchemaCache(JsonValidationService.newInstance());
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private Map<URI, Location> catalog = Collections.emptyMap();
+    private byte[] token;
+
+    /**
+     * Constructs this command.
+     *
+     * @param console the console to which messages will be outputted.
+     */
+    Serve(Console console) {
+        super(console);
+    }
+
+    @Override
+    public Status execute(List<String> args) {
+        parseCommandArguments(args);
+        loadCatalog();
+        String token = (String) getOptionValue(ServeOption.TOKEN);
+        if (token == null) {
+            token = generateToken();
+        }
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+
+        Integer port = (Integer) getOptionValue(ServeOption.PORT);
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpServer server;
+        try {
+            server = HttpServer.create(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port != null ? port : DEFAULT_PORT), 0);
+        } catch (IOException e) {
+            executor.shutdown();
+            throw new CommandException(e);
+        }
+        server.createContext("/validate", this::handleValidate);
+        server.createContext("/shutdown", this::handleShutdown);
+        server.setExecutor(executor);
+        server.start();
+        console.print(SERVER_STARTED, "http://localhost:" + server.getAddress().getPort() + "/");
+        console.print(SERVER_TOKEN, token);
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            server.stop(0);
+            executor.shutdown();
+        }
+        console.print(SERVER_STOPPED);
+        return Status.VALID;
+    }
+
+    @Override
+    protected Option findOptionByName(String arg) {
+        try {
+            return ServeOption.byName(arg);
+        } catch (NoSuchElementException e) {
+            return super.findOptionByName(arg);
+        }
+    }
+
+    @Override
+    protected void processNonOptionArguments(List<String> args) {
+        throw new CommandException(ARGUMENT_UNRECOGNIZED, args.get(0));
+    }
+
+    private void loadCatalog() {
+        Location location = (Location) getOptionValue(ServeOption.CATALOG);
+        @SuppressWarnings("unchecked")
+        List<Location> refs = (List<Location>) getOptionValues(ServeOption.REFERENCE);
+        if (location != null || !refs.isEmpty()) {
+            Validate validate = new Validate(console, schemaCache, Collections.emptyMap());
+            this.catalog = Collections.unmodifiableMap(validate.loadCatalog(location, refs));
+        }
+    }
+
+    private static String generateToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void handleValidate(HttpExchange exchange) throws IOException {
+        try {
+            if (!acceptRequest(exchange)) {
+                return;
+            }
+            List<String> args;
+            try {
+                args = readArguments(exchange.getRequestBody());
+            } catch (JsonException | ClassCastException e) {
+                exchange.sendResponseHeaders(BAD_REQUEST, -1);
+                return;
+            }
+            sendResult(exchange, validate(args));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleShutdown(HttpExchange exchange) throws IOException {
+        try {
+            if (!acceptRequest(exchange)) {
+                return;
+            }
+            exchange.sendResponseHeaders(OK, -1);
+            stopped.countDown();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Checks the request and sends the error response if the request is not
+     * acceptable.
+     *
+     * @param exchange the exchange of the request.
+     * @return {@code true} if the request is acceptable, {@code false} if the
+     *         error response was sent.
+     * @throws IOException if an I/O error occurred while sending the response.
+     */
+    private boolean acceptRequest(HttpExchange exchange) throws IOException {
+        int status = checkRequest(exchange);
+        if (status != OK) {
+            exchange.sendResponseHeaders(status, -1);
+            return false;
+        }
+        return true;
+    }
+
+    private int checkRequest(HttpExchange exchange) {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            return METHOD_NOT_ALLOWED;
+        }
+        Headers headers = exchange.getRequestHeaders();
+        String host = headers.getFirst("Host");
+        if (host == null || !isLoopbackHost(host)) {
+            return FORBIDDEN;
+        }
+        String origin = headers.getFirst("Origin");
+        if (origin != null && !isLoopbackOrigin(origin)) {
+            return FORBIDDEN;
+        }
+        if (!isAuthorized(headers.getFirst("Authorization"))) {
+            return UNAUTHORIZED;
+        }
+        if (!isJson(headers.getFirst("Content-Type"))) {
+            return UNSUPPORTED_MEDIA_TYPE;
+        }
+        return OK;
+    }
+
+    private boolean isAuthorized(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] actual = authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(actual, token);
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int index = contentType.indexOf(';');
+        String mediaType = (index >= 0) ? contentType.substring(0, index) : contentType;
+        return mediaType.trim().equalsIgnoreCase("application/json");
+    }
+
+    private static boolean isLoopbackOrigin(String origin) {
+        try {
+            String host = new URI(origin).getHost();
+            return host != null && isLoopbackHost(host);
+        } catch (URISyntaxException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the host name with the optional port is the loopback address.
+     * The name is not looked up, so that a name rebound to the loopback
+     * address is rejected.
+     *
+     * @param host the host name, which may be followed by a port.
+     * @return {@code true} if the host is the loopback address.
+     */
+    private static boolean isLoopbackHost(String host) {
+        String name = host;
+        if (name.startsWith("[")) {
+            int end = name.indexOf(']');
+            if (end < 0) {
+                return false;
+            }
+            name = name.substring(1, end);
+        } else {
+            int colon = name.lastIndexOf(':');
+            if (colon >= 0) {
+                name = name.substring(0, colon);
+            }
+        }
+        return name.equalsIgnoreCase("localhost")
+                || name.equals("::1")
+                || name.matches("127\\.[0-9]+\\.[0-9]+\\.[0-9]+");
+    }
+
+    private static List<String> readArguments(InputStream in) {
+        try (JsonReader reader = Json.createReader(in)) {
+            JsonArray array = reader.readArray();
+            List<String> args = new LinkedList<>();
+            for (JsonValue value : array) {
+                args.add(((JsonString) value).getString());
+            }
+            return args;
+        }
+    }
+
+    private Result validate(List<String> args) {
+        Result result = new Result();
+        Console console = new Console(result.out, result.err);
+        try {
+            result.status = new Validate(console, schemaCache, catalog).execute(args);
+        } catch (Exception e) {
+            console.error(e);
+            result.status = Status.FAILED;
+        }
+        return result;
+    }
+
+    private static void sendResult(HttpExchange exchange, Result result) throws IOException {
+        byte[] body = Json.createObjectBuilder()
+                .add("status", result.status.code())
+                .add("output", result.getOutput())
+                .add("error", result.getError())
+                .build()
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(OK, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * The result of a validation request.
+     *
+     * @author leadpony
+     */
+    private static class Result {
+
+        private final ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+        final PrintStream out = createPrintStream(outBytes);
+        final PrintStream err = createPrintStream(errBytes);
+        Status status;
+
+        String getOutput() {
+            out.flush();
+            return new String(outBytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        String getError() {
+            err.flush();
+            return new String(errBytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+
+        private static PrintStream createPrintStream(OutputStream out) {
+            try {
+                return new PrintStream(out, false, StandardCharsets.UTF_8.name());
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
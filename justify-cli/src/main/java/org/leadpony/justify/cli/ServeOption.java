@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Options of "serve" command.
+ *
+ * @author leadpony
+ */
+enum ServeOption implements Option {
+    PORT("-port"),
+    REFERENCE("-r"),
+    CATALOG("-catalog"),
+    TOKEN("-token");
+
+    private final String name;
+
+    private static final Map<String, ServeOption> OPTIONS = new HashMap<>();
+
+    static {
+        for (ServeOption value : values()) {
+            OPTIONS.put(value.name, value);
+        }
+    }
+
+    /**
+     * Constructs this option.
+     *
+     * @param name the name of this option.
+     */
+    ServeOption(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean isRequired() {
+        return false;
+    }
+
+    @Override
+    public String preferredName() {
+        return name;
+    }
+
+    @Override
+    public boolean requiresArgument() {
+        return true;
+    }
+
+    @Override
+    public boolean takesMultipleArguments() {
+        return this == REFERENCE;
+    }
+
+    @Override
+    public Object getTypedArgument(String string) {
+        switch (this) {
+        case PORT:
+            int port = Integer.parseInt(string);
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException();
+            }
+            return port;
+        case REFERENCE:
+        case CATALOG:
+            return Location.at(string);
+        default:
+            return string;
+        }
+    }
+
+    /**
+     * Returns the option of the specified name.
+     *
+     * @param name the name of the option.
+     * @return the option found.
+     * @throws NoSuchElementException if no option was found.
+     */
+    static ServeOption byName(String name) {
+        if (OPTIONS.containsKey(name)) {
+            return OPTIONS.get(name);
+        }
+        throw new NoSuchElementException();
+    }
+}
@@ -21,10 +21,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.FileSystemException;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -37,6 +42,7 @@ import javax.json.stream.JsonParser.Event;
 import javax.json.stream.JsonParserFactory;
 import javax.json.stream.JsonParsingException;
 
+import org.leadpony.justify.api.EvaluationProfiler;
 import org.leadpony.justify.api.JsonSchema;
 import org.leadpony.justify.api.JsonSchemaReader;
 import org.leadpony.justify.api.JsonSchemaReaderFactory;
@@ -44,6 +50,7 @@ import org.leadpony.justify.api.JsonValidatingException;
 import org.leadpony.justify.api.JsonValidationService;
 import org.leadpony.justify.api.Problem;
 import org.leadpony.justify.api.ProblemHandler;
+import org.leadpony.justify.api.ValidationConfig;
 import org.leadpony.justify.cli.Console.Color;
 
 /**
@@ -53,11 +60,19 @@ import org.leadpony.justify.cli.Console.Color;
  */
 class Validate extends AbstractCommand {
 
-    private final JsonValidationService service = JsonValidationService.newInstance();
+    private final JsonValidationService service;
     private final JsonParserFactory parserFactory = Json.createParserFactory(null);
 
     private final ProblemHandler problemPrinter;
     private final Catalog catalog;
+    private final SchemaCache schemaCache;
+    // the report in machine-readable format, or null if not requested.
+    private Report report;
+    // the profiler of the evaluations, or null if not requested.
+    private EvaluationProfiler profiler;
+
+    // the maximum number of the keywords printed in the profile.
+    private static final int MAX_PROFILE_ENTRIES = 20;
 
     /**
      * Constructs this command.
@@ -65,16 +80,48 @@ class Validate extends AbstractCommand {
      * @param console the console to which messages will be outputted.
      */
     Validate(Console console) {
+        this(console, new SchemaCache(JsonValidationService.newInstance()), Collections.emptyMap());
+    }
+
+    /**
+     * Constructs this command sharing the schemas with other commands.
+     *
+     * @param console     the console to which messages will be outputted.
+     * @param schemaCache the cache of the schemas already read.
+     * @param baseCatalog the catalog entries available in addition to the ones
+     *                    specified by the arguments.
+     */
+    Validate(Console console, SchemaCache schemaCache, Map<URI, Location> baseCatalog) {
         super(console);
+        this.service = schemaCache.getService();
         this.problemPrinter = service.createProblemPrinter(console::print);
         this.catalog = new Catalog();
+        this.catalog.putAll(baseCatalog);
+        this.schemaCache = schemaCache;
     }
 
     @Override
     public Status execute(List<String> args) {
         parseCommandArguments(args);
-        populateCatalog();
-        validateAll();
+        OutputFormat format = (OutputFormat) getOptionValue(ValidateOption.OUTPUT);
+        if (format != null) {
+            console.mute();
+            report = format.createReport(console.getOutput());
+        }
+        if (containsOption(ValidateOption.PROFILE)) {
+            profiler = service.createProfiler();
+        }
+        try {
+            populateCatalog();
+            validateAll();
+            if (profiler != null) {
+                printProfile();
+            }
+        } finally {
+            if (report != null) {
+                report.close();
+            }
+        }
         return getStatus();
     }
 
@@ -92,9 +139,27 @@ class Validate extends AbstractCommand {
         }
     }
 
-    private JsonSchema readSchemaAt(Location location) {
+    /**
+     * Reads a JSON schema, or takes it from the cache if already read.
+     *
+     * @param location the location of the JSON schema to be read.
+     * @return the schema read if successful, or {@code null} if errors occcured.
+     */
+    JsonSchema readSchemaAt(Location location) {
         console.print(VALIDATE_SCHEMA, location);
-        return validateSchemaAt(location);
+        final long startTime = System.nanoTime();
+        final boolean strict = containsOption(ValidateOption.STRICT);
+        JsonSchema schema = schemaCache.get(location, strict, catalog);
+        if (schema != null) {
+            addResult(Report.Kind.SCHEMA, location, Collections.emptyList(), startTime);
+            console.withColor(Color.SUCCESS).print(SCHEMA_VALID, location);
+            return schema;
+        }
+        schema = validateSchemaAt(location);
+        if (schema != null) {
+            schemaCache.put(location, strict, catalog, schema, catalog.getResolvedLocations());
+        }
+        return schema;
     }
 
     /**
@@ -105,17 +170,21 @@ class Validate extends AbstractCommand {
      */
     private JsonSchema validateSchemaAt(Location location) {
         JsonSchemaReaderFactory factory = createSchemaReaderFactory();
+        final long startTime = System.nanoTime();
         try (JsonSchemaReader reader = factory.createSchemaReader(openSchema(location))) {
             JsonSchema schema = reader.read();
+            addResult(Report.Kind.SCHEMA, location, Collections.emptyList(), startTime);
             console.withColor(Color.SUCCESS).print(SCHEMA_VALID, location);
             return schema;
         } catch (JsonValidatingException e) {
             List<Problem> problems = e.getProblems();
-            problemPrinter.handleProblems(problems);
+            addResult(Report.Kind.SCHEMA, location, problems, startTime);
+            printProblems(problems);
             console.withColor(Color.DANGER).print(SCHEMA_INVALID, location, Problems.countLeast(problems));
             setStatus(Status.INVALID);
             return null;
         } catch (JsonParsingException e) {
+            addMalformed(Report.Kind.SCHEMA, location, e, startTime);
             console.withColor(Color.DANGER).print(SCHEMA_MALFORMED, e);
             setStatus(Status.INVALID);
             return null;
@@ -145,9 +214,11 @@ class Validate extends AbstractCommand {
         List<Problem> problems = new ArrayList<>();
         ProblemHandler handler = createProblemHandler(problems);
 
-        try (JsonReader reader = service.createReader(openInstance(location), schema, handler)) {
+        final long startTime = System.nanoTime();
+        try (JsonReader reader = createInstanceReader(location, schema, handler)) {
             reader.readValue();
         } catch (JsonParsingException e) {
+            addMalformed(Report.Kind.INSTANCE, location, e, startTime);
             console.withColor(Color.DANGER).print(INSTANCE_MALFORMED, e);
             setStatus(Status.INVALID);
             return;
@@ -155,6 +226,7 @@ class Validate extends AbstractCommand {
             throw new CommandException(e);
         }
 
+        addResult(Report.Kind.INSTANCE, location, problems, startTime);
         if (problems.isEmpty()) {
             console.withColor(Color.SUCCESS).print(INSTANCE_VALID, location);
         } else {
@@ -163,13 +235,33 @@ class Validate extends AbstractCommand {
         }
     }
 
-    private void populateCatalog() {
-        Location catalog = (Location) getOptionValue(ValidateOption.CATALOG);
+    /**
+     * Populates the catalog with the entries specified by the options.
+     */
+    void populateCatalog() {
+        @SuppressWarnings("unchecked")
+        List<Location> refs = (List<Location>) getOptionValues(ValidateOption.REFERENCE);
+        populateCatalog((Location) getOptionValue(ValidateOption.CATALOG), refs);
+    }
+
+    /**
+     * Reads the catalog and the referenced schemas, and returns all of the
+     * entries found.
+     *
+     * @param catalog the location of the catalog, may be {@code null}.
+     * @param refs    the locations of the referenced schemas, may be empty.
+     * @return the entries of the catalog.
+     * @throws CommandException if the catalog is invalid.
+     */
+    Map<URI, Location> loadCatalog(Location catalog, List<Location> refs) {
+        populateCatalog(catalog, refs);
+        return new HashMap<>(this.catalog);
+    }
+
+    private void populateCatalog(Location catalog, List<Location> refs) {
         if (catalog != null) {
             readSchemaCatalogAt(catalog);
         }
-        @SuppressWarnings("unchecked")
-        List<Location> refs = (List<Location>) getOptionValues(ValidateOption.REFERENCE);
         if (refs != null) {
             for (Location ref : refs) {
                 addReferencedSchema(ref);
@@ -179,12 +271,14 @@ class Validate extends AbstractCommand {
 
     private void readSchemaCatalogAt(Location location) {
         console.print(READ_CATALOG, location);
+        final long startTime = System.nanoTime();
         JsonSchema schema = readSchemaFromResource("catalog.schema.json");
         List<Problem> problems = new ArrayList<>();
         ProblemHandler handler = createProblemHandler(problems);
         try (JsonParser parser = service.createParser(openCatalog(location), schema, handler)) {
             parseCatalog(parser, location);
             if (!problems.isEmpty()) {
+                addResult(Report.Kind.CATALOG, location, problems, startTime);
                 console.withColor(Color.DANGER).print(CATALOG_INVALID, location, Problems.countLeast(problems));
                 throw new CommandException(CATALOG_FAILED);
             }
@@ -306,6 +400,39 @@ class Validate extends AbstractCommand {
         }
     }
 
+    /**
+     * Creates a reader of the JSON instance. The local files are opened by the
+     * service, which reads large files through the memory mapped. If the
+     * profiling is requested, the reader records the evaluations in the profiler.
+     *
+     * @param location the location of the JSON instance.
+     * @param schema   the JSON schema against which the instance to be validated.
+     * @param handler  the handler of the problems found.
+     * @return newly created reader.
+     */
+    private JsonReader createInstanceReader(Location location, JsonSchema schema, ProblemHandler handler) {
+        if (profiler != null) {
+            ValidationConfig config = service.createValidationConfig()
+                    .withSchema(schema)
+                    .withProblemHandler(handler)
+                    .withProfiler(profiler);
+            return service.createReaderFactory(config.getAsMap()).createReader(openInstance(location));
+        }
+        if (location instanceof LocalLocation) {
+            try {
+                return service.createReader(((LocalLocation) location).path(), schema, handler);
+            } catch (JsonException e) {
+                if (e.getCause() instanceof NoSuchFileException) {
+                    throw new CommandException(INSTANCE_NOT_FOUND, location);
+                } else if (e.getCause() instanceof FileSystemException) {
+                    throw new CommandException(ACCESS_FAILED, location);
+                }
+                throw e;
+            }
+        }
+        return service.createReader(openInstance(location), schema, handler);
+    }
+
     private static InputStream openCatalog(Location location) {
         try {
             return location.openStream();
@@ -319,10 +446,46 @@ class Validate extends AbstractCommand {
     private ProblemHandler createProblemHandler(List<Problem> problems) {
         return found -> {
             problems.addAll(found);
-            this.problemPrinter.handleProblems(found);
+            printProblems(found);
         };
     }
 
+    private void printProblems(List<Problem> problems) {
+        if (report == null) {
+            this.problemPrinter.handleProblems(problems);
+        }
+    }
+
+    private void printProfile() {
+        List<EvaluationProfiler.Entry> entries = profiler.getEntries();
+        int size = Math.min(entries.size(), MAX_PROFILE_ENTRIES);
+        console.print(PROFILE_TITLE, size, entries.size());
+        console.print(PROFILE_COLUMNS);
+        for (EvaluationProfiler.Entry entry : entries.subList(0, size)) {
+            console.print(String.format("%10.3f %10.3f %10d %10d %8d %8d  %s %s",
+                    entry.getWallTime() / 1e6,
+                    entry.getCpuTime() / 1e6,
+                    entry.getEventCount(),
+                    entry.getEvaluatorCount(),
+                    entry.getTrueCount(),
+                    entry.getFalseCount(),
+                    entry.getSchemaLocation(),
+                    entry.getKeyword()));
+        }
+    }
+
+    private void addResult(Report.Kind kind, Location location, List<Problem> problems, long startTime) {
+        if (report != null) {
+            report.addResult(kind, location, problems, System.nanoTime() - startTime);
+        }
+    }
+
+    private void addMalformed(Report.Kind kind, Location location, JsonParsingException e, long startTime) {
+        if (report != null) {
+            report.addMalformed(kind, location, e.getMessage(), System.nanoTime() - startTime);
+        }
+    }
+
     @Override
     protected Option findOptionByName(String arg) {
         try {
@@ -344,6 +507,15 @@ class Validate extends AbstractCommand {
         addOption(ValidateOption.INSTANCE, tyepd);
     }
 
+    /**
+     * Returns the validation service used by this command.
+     *
+     * @return the validation service.
+     */
+    JsonValidationService getService() {
+        return service;
+    }
+
     @Override
     protected Set<? extends Option> getRequiredOptions() {
         return EnumSet.of(ValidateOption.SCHEMA);
@@ -361,8 +533,21 @@ class Validate extends AbstractCommand {
          */
         private static final long serialVersionUID = 1L;
 
+        // the locations of the referenced schemas read so far.
+        private final Set<Location> resolvedLocations = new LinkedHashSet<>();
+
+        /**
+         * Returns the locations of the referenced schemas read so far.
+         *
+         * @return the locations of the referenced schemas.
+         */
+        Set<Location> getResolvedLocations() {
+            return resolvedLocations;
+        }
+
         @Override
         protected JsonSchema readReferencedSchema(Location location) {
+            resolvedLocations.add(location);
             console.print(VALIDATE_REFERENCED_SCHEMA, location);
             return validateSchemaAt(location);
         }
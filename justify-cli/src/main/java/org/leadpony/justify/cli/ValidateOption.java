@@ -15,6 +15,8 @@
  */
 package org.leadpony.justify.cli;
 
+import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -30,7 +32,11 @@ enum ValidateOption implements Option {
     INSTANCE("-i"),
     REFERENCE("-r"),
     CATALOG("-catalog"),
-    STRICT("-strict");
+    STRICT("-strict"),
+    OUTPUT("-output", "--output"),
+    SERVER("-server"),
+    TOKEN("-token"),
+    PROFILE("-profile", "--profile");
 
     private final String[] names;
 
@@ -70,6 +76,9 @@ enum ValidateOption implements Option {
         case INSTANCE:
         case REFERENCE:
         case CATALOG:
+        case OUTPUT:
+        case SERVER:
+        case TOKEN:
             return true;
         default:
             return false;
@@ -95,6 +104,14 @@ enum ValidateOption implements Option {
         case REFERENCE:
         case CATALOG:
             return Location.at(string);
+        case OUTPUT:
+            return OutputFormat.byName(string);
+        case SERVER:
+            try {
+                return new URL(string);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
         default:
             return string;
         }
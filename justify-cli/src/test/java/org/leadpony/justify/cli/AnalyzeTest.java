@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test cases for "analyze" command.
+ *
+ * @author leadpony
+ */
+public class AnalyzeTest {
+
+    private static final Path BASE_DIR = Paths.get("target", "test-classes");
+
+    private Status status;
+
+    @Test
+    public void analyzeShouldPrintEvaluatorCounts() {
+        String output = launch("analyze", "-s", "arrays.schema.json");
+
+        assertThat(status).isEqualTo(Status.VALID);
+        assertThat(output).contains(Message.ANALYSIS_EVALUATORS.format(8));
+        assertThat(output).containsPattern("(?m)^\\s+0\\s+2$");
+        assertThat(output).containsPattern("(?m)^\\s+2\\s+3$");
+        assertThat(output).contains(Message.ANALYSIS_NO_FINDINGS.toString());
+    }
+
+    @Test
+    public void analyzeShouldPrintFindings() {
+        String output = launch("analyze", "-s", "redos.schema.json");
+
+        assertThat(status).isEqualTo(Status.VALID);
+        assertThat(output).contains(Message.ANALYSIS_FINDINGS.format(2));
+        assertThat(output).contains("NESTED_QUANTIFIER https://example.com/redos.schema.json#/properties/words");
+        assertThat(output).contains("UNBOUNDED_UNIQUE_ITEMS https://example.com/redos.schema.json#/properties/tags");
+    }
+
+    @Test
+    public void analyzeShouldFailIfSchemaIsInvalid() {
+        String output = launch("analyze", "-s", "person-invalid.schema.json");
+
+        assertThat(status).isEqualTo(Status.INVALID);
+        assertThat(output).doesNotContain(Message.ANALYSIS_COLUMNS.toString());
+    }
+
+    @Test
+    public void analyzeShouldNotAcceptInstances() {
+        launch("analyze", "-s", "person.schema.json", "-i", "person.json");
+
+        assertThat(status).isEqualTo(Status.FAILED);
+    }
+
+    private String launch(String... args) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(out, true, "UTF-8"));
+            status = new Launcher().launch(resolveFiles(args));
+            return out.toString("UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            System.setOut(original);
+        }
+    }
+
+    private static String[] resolveFiles(String[] args) {
+        String[] result = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            result[i] = arg.endsWith(".json") ? BASE_DIR.resolve(arg).toString() : arg;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test cases for the machine-readable output of "validate" command.
+ *
+ * @author leadpony
+ */
+public class OutputTest {
+
+    private static final Path BASE_DIR = Paths.get("target", "test-classes");
+
+    private Status status;
+
+    @Test
+    public void jsonShouldContainAllResults() {
+        String output = launch("--output", "json", "-s", "person.schema.json",
+                "-i", "person.json", "person-invalid.json", "person-malformed.json");
+
+        assertThat(status).isEqualTo(Status.INVALID);
+        JsonObject report = parse(output);
+        assertThat(report.getJsonArray("results")).hasSize(4);
+        JsonObject invalid = report.getJsonArray("results").getJsonObject(2);
+        assertThat(invalid.getString("kind")).isEqualTo("instance");
+        assertThat(invalid.getBoolean("valid")).isFalse();
+        JsonObject problem = invalid.getJsonArray("problems").getJsonObject(0);
+        assertThat(problem.getString("messageKey")).startsWith("INSTANCE_PROBLEM_");
+        assertThat(problem.containsKey("pointer")).isTrue();
+        assertThat(problem.containsKey("keyword")).isTrue();
+        assertThat(problem.getJsonObject("location").getInt("line")).isPositive();
+        assertThat(report.getJsonArray("results").getJsonObject(3).containsKey("error")).isTrue();
+
+        JsonObject summary = report.getJsonObject("summary");
+        assertThat(summary.getInt("schemas")).isEqualTo(1);
+        assertThat(summary.getInt("instances")).isEqualTo(3);
+        assertThat(summary.getInt("valid")).isEqualTo(2);
+        assertThat(summary.getInt("invalid")).isEqualTo(1);
+        assertThat(summary.getInt("malformed")).isEqualTo(1);
+    }
+
+    @Test
+    public void jsonlShouldWriteOneRecordPerLine() {
+        String output = launch("-output", "jsonl", "-s", "person.schema.json", "-i", "person-invalid.json");
+
+        assertThat(status).isEqualTo(Status.INVALID);
+        List<JsonObject> records = new ArrayList<>();
+        for (String line : output.split("\n")) {
+            records.add(parse(line));
+        }
+        assertThat(records.get(0).getString("type")).isEqualTo("result");
+        assertThat(records.get(1).getString("type")).isEqualTo("problem");
+        assertThat(records.get(records.size() - 1).getString("type")).isEqualTo("summary");
+    }
+
+    @Test
+    public void sarifShouldContainResults() {
+        String output = launch("-output", "sarif", "-s", "person.schema.json", "-i", "person-invalid.json");
+
+        assertThat(status).isEqualTo(Status.INVALID);
+        JsonObject run = parse(output).getJsonArray("runs").getJsonObject(0);
+        assertThat(run.getJsonObject("tool").getJsonObject("driver").getString("name")).isEqualTo("justify");
+        JsonObject result = run.getJsonArray("results").getJsonObject(0);
+        assertThat(result.getString("ruleId")).startsWith("INSTANCE_PROBLEM_");
+        assertThat(result.getJsonArray("locations")).isNotEmpty();
+    }
+
+    @Test
+    public void unknownFormatShouldFail() {
+        launch("-output", "xml", "-s", "person.schema.json");
+        assertThat(status).isEqualTo(Status.FAILED);
+    }
+
+    private String launch(String... args) {
+        PrintStream original = System.out;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            System.setOut(new PrintStream(out, true, "UTF-8"));
+            status = new Launcher().launch(resolveFiles(args));
+            return out.toString("UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            System.setOut(original);
+        }
+    }
+
+    private static String[] resolveFiles(String[] args) {
+        String[] result = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            result[i] = arg.endsWith(".json") ? BASE_DIR.resolve(arg).toString() : arg;
+        }
+        return result;
+    }
+
+    private static JsonObject parse(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.leadpony.justify.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The test cases for "serve" command and "-server" option.
+ *
+ * @author leadpony
+ */
+public class ServeTest {
+
+    private static final Path BASE_DIR = Paths.get("target", "test-classes");
+    private static final String TOKEN = "secret";
+    private static final String JSON = "application/json";
+    private static final String LOCAL_HOST = "localhost";
+
+    private static String server;
+    private static Thread thread;
+    private static Status serverStatus;
+
+    @BeforeAll
+    public static void setUpOnce() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = "http://localhost:" + port + "/";
+        thread = new Thread(() -> {
+            serverStatus = new Launcher().launch(new String[] {
+                "serve", "-port", String.valueOf(port), "-token", TOKEN});
+        });
+        thread.start();
+        waitForServer();
+    }
+
+    @AfterAll
+    public static void tearDownOnce() throws Exception {
+        assertThat(post("shutdown", LOCAL_HOST, TOKEN, JSON, null)).isEqualTo(200);
+        thread.join(10000);
+        assertThat(serverStatus).isEqualTo(Status.VALID);
+    }
+
+    @Test
+    public void validInstanceShouldBeValid() {
+        Status status = launch("-s", "company.schema.json", "-i", "company.json",
+                "-catalog", "catalog.json");
+        assertThat(status).isEqualTo(Status.VALID);
+    }
+
+    @Test
+    public void invalidInstanceShouldBeInvalid() {
+        Status status = launch("-s", "company.schema.json", "-i", "company-invalid.json",
+                "-r", "person.schema.json", "geographical-location.schema.json");
+        assertThat(status).isEqualTo(Status.INVALID);
+    }
+
+    @Test
+    public void schemaShouldBeReused() {
+        assertThat(launch("-s", "person.schema.json", "-i", "person.json")).isEqualTo(Status.VALID);
+        assertThat(launch("-s", "person.schema.json", "-i", "person-invalid.json")).isEqualTo(Status.INVALID);
+    }
+
+    @Test
+    public void missingSchemaShouldFail() {
+        Status status = launch("-s", "nonexistent.schema.json", "-i", "person.json");
+        assertThat(status).isEqualTo(Status.FAILED);
+    }
+
+    @Test
+    public void unavailableServerShouldFail() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Status status = new Launcher().launch(new String[] {
+                "-server", "http://localhost:" + port + "/", "-s", "person.schema.json"});
+        assertThat(status).isEqualTo(Status.FAILED);
+    }
+
+    @Test
+    public void modifiedReferencedSchemaShouldBeReadAgain(@TempDir Path dir) throws IOException {
+        Path schema = dir.resolve("root.schema.json");
+        Path referenced = dir.resolve("item.schema.json");
+        Path instance = dir.resolve("item.json");
+        Files.write(schema, "{\"$ref\":\"http://example.org/item.schema.json\"}".getBytes(StandardCharsets.UTF_8));
+        Files.write(instance, "\"foo\"".getBytes(StandardCharsets.UTF_8));
+        writeReferencedSchema(referenced, "string");
+
+        String[] args = {"-s", schema.toString(), "-i", instance.toString(), "-r", referenced.toString()};
+        assertThat(launch(args)).isEqualTo(Status.VALID);
+
+        writeReferencedSchema(referenced, "integer");
+        assertThat(launch(args)).isEqualTo(Status.INVALID);
+    }
+
+    @Test
+    public void clientWithoutTokenShouldFail() {
+        Status status = new Launcher().launch(new String[] {
+                "-server", server, "-s", BASE_DIR.resolve("person.schema.json").toString()});
+        assertThat(status).isEqualTo(Status.FAILED);
+    }
+
+    @Test
+    public void requestWithoutTokenShouldBeRejected() throws IOException {
+        assertThat(post("validate", LOCAL_HOST, null, JSON, null)).isEqualTo(401);
+        assertThat(post("shutdown", LOCAL_HOST, null, JSON, null)).isEqualTo(401);
+        assertThat(post("shutdown", LOCAL_HOST, "wrong", JSON, null)).isEqualTo(401);
+    }
+
+    @Test
+    public void requestFromForeignOriginShouldBeRejected() throws IOException {
+        assertThat(post("validate", LOCAL_HOST, TOKEN, JSON, "http://example.org")).isEqualTo(403);
+        assertThat(post("validate", LOCAL_HOST, TOKEN, JSON, "null")).isEqualTo(403);
+    }
+
+    @Test
+    public void requestToForeignHostShouldBeRejected() throws IOException {
+        assertThat(post("validate", "example.org", TOKEN, JSON, null)).isEqualTo(403);
+    }
+
+    @Test
+    public void requestWithoutJsonShouldBeRejected() throws IOException {
+        assertThat(post("validate", LOCAL_HOST, TOKEN, "text/plain", null)).isEqualTo(415);
+        assertThat(post("shutdown", LOCAL_HOST, TOKEN, null, null)).isEqualTo(415);
+    }
+
+    private static Status launch(String... args) {
+        String[] actual = new String[args.length + 4];
+        actual[0] = "-server";
+        actual[1] = server;
+        actual[2] = "-token";
+        actual[3] = TOKEN;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            actual[i + 4] = arg.endsWith(".json") ? BASE_DIR.resolve(arg).toString() : arg;
+        }
+        return new Launcher().launch(actual);
+    }
+
+    /**
+     * Sends a request through a socket, because {@link HttpURLConnection} does
+     * not allow to specify some of the headers.
+     *
+     * @return the status code of the response.
+     */
+    private static int post(String path, String host, String token, String contentType, String origin)
+            throws IOException {
+        URL url = new URL(server);
+        StringBuilder request = new StringBuilder("POST /").append(path).append(" HTTP/1.1\r\n");
+        request.append("Host: ").append(host).append("\r\n");
+        if (token != null) {
+            request.append("Authorization: Bearer ").append(token).append("\r\n");
+        }
+        if (contentType != null) {
+            request.append("Content-Type: ").append(contentType).append("\r\n");
+        }
+        if (origin != null) {
+            request.append("Origin: ").append(origin).append("\r\n");
+        }
+        request.append("Content-Length: 2\r\nConnection: close\r\n\r\n[]");
+        try (Socket socket = new Socket(url.getHost(), url.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(request.toString().getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            StringBuilder statusLine = new StringBuilder();
+            int c = in.read();
+            while (c >= 0 && c != '\r') {
+                statusLine.append((char) c);
+                c = in.read();
+            }
+            return Integer.parseInt(statusLine.toString().split(" ")[1]);
+        }
+    }
+
+    private static void writeReferencedSchema(Path path, String type) throws IOException {
+        String schema = "{\"$id\":\"http://example.org/item.schema.json\",\"type\":\"" + type + "\"}";
+        Files.write(path, schema.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void waitForServer() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            try {
+                HttpURLConnection connection = (HttpURLConnection) new URL(server).openConnection();
+                connection.getResponseCode();
+                return;
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the validation with the operands reordered by the
+ * results of the previous validations.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class AdaptiveOrderingTest {
+
+    private static JsonValidationService service;
+
+    private static final int ITERATIONS = 2000;
+
+    @Test
+    public void anyOfShouldReportBranchesInDeclarationOrder() {
+        JsonSchema schema = readSchema("{\"anyOf\":["
+                + "{\"type\":\"string\"},"
+                + "{\"type\":\"boolean\"},"
+                + "{\"type\":\"integer\",\"minimum\":0}"
+                + "]}");
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertThat(validate(schema, String.valueOf(i))).isEmpty();
+        }
+
+        List<Problem> problems = validate(schema, "-1");
+
+        assertThat(problems).hasSize(1);
+        assertThat(problems.get(0).getKeyword()).isEqualTo("anyOf");
+        assertThat(problems.get(0).countBranches()).isEqualTo(3);
+        assertThat(problems.get(0).getBranch(0)).extracting(Problem::getKeyword).containsExactly("type");
+        assertThat(problems.get(0).getBranch(1)).extracting(Problem::getKeyword).containsExactly("type");
+        assertThat(problems.get(0).getBranch(2)).extracting(Problem::getKeyword).containsExactly("minimum");
+    }
+
+    @Test
+    public void keywordsShouldBeReportedInDeclarationOrder() {
+        JsonSchema schema = readSchema("{"
+                + "\"if\":{\"type\":\"string\",\"minLength\":2,\"pattern\":\"^a\"},"
+                + "\"then\":{\"maxLength\":3},"
+                + "\"type\":\"string\",\"minLength\":2,\"pattern\":\"^a\""
+                + "}");
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertThat(validate(schema, "\"b\"")).hasSize(2);
+            assertThat(validate(schema, "\"ab\"")).isEmpty();
+        }
+
+        assertThat(validate(schema, "\"b\"")).extracting(Problem::getKeyword)
+            .containsExactly("minLength", "pattern");
+        assertThat(validate(schema, "\"abcd\"")).extracting(Problem::getKeyword)
+            .containsExactly("maxLength");
+    }
+
+    private static JsonSchema readSchema(String json) {
+        return service.readSchema(new StringReader(json));
+    }
+
+    private static List<Problem> validate(JsonSchema schema, String json) {
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(json), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        return problems;
+    }
+}
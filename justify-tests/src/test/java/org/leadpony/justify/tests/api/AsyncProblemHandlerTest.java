@@ -0,0 +1,287 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.AsyncProblemHandler;
+import org.leadpony.justify.api.AsyncProblemHandler.OverflowPolicy;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ProblemHandler;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the asynchronous problem handlers.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class AsyncProblemHandlerTest {
+
+    private static JsonValidationService service;
+
+    private static final String SCHEMA = "{\"type\":\"array\",\"items\":{\"type\":\"integer\"}}";
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void handlerShouldDeliverProblemsInOrder() {
+        List<Problem> problems = findProblems(100);
+        RecordingHandler recorder = new RecordingHandler();
+
+        try (AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(recorder)
+                .withExecutor(executor)
+                .withCapacity(8)
+                .build()) {
+            for (Problem problem : problems) {
+                handler.handleProblems(Collections.singletonList(problem));
+            }
+        }
+
+        assertThat(recorder.getProblems()).containsExactlyElementsOf(problems);
+        for (int i = 0; i < problems.size(); i++) {
+            assertThat(recorder.getProblems().get(i)).isSameAs(problems.get(i));
+        }
+    }
+
+    @Test
+    public void handlerShouldDeliverProblemsInBatches() {
+        List<Problem> problems = findProblems(10);
+        CountDownLatch latch = new CountDownLatch(1);
+        RecordingHandler recorder = new RecordingHandler(latch);
+
+        try (AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(recorder)
+                .withExecutor(executor)
+                .withMaxBatchSize(4)
+                .build()) {
+            handler.handleProblems(problems.subList(0, 1));
+            // The first batch is blocked until all the problems are added.
+            awaitDelivery(recorder);
+            handler.handleProblems(problems.subList(1, 10));
+            latch.countDown();
+        }
+
+        assertThat(recorder.getBatchSizes()).containsExactly(1, 4, 4, 1);
+        assertThat(recorder.getProblems()).containsExactlyElementsOf(problems);
+    }
+
+    @Test
+    public void handlerShouldBlockWhileBufferIsFull() throws InterruptedException {
+        List<Problem> problems = findProblems(6);
+        CountDownLatch latch = new CountDownLatch(1);
+        RecordingHandler recorder = new RecordingHandler(latch);
+        AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(recorder)
+                .withExecutor(executor)
+                .withCapacity(2)
+                .withOverflowPolicy(OverflowPolicy.BLOCK)
+                .build();
+
+        Thread producer = new Thread(() -> handler.handleProblems(problems));
+        producer.start();
+        producer.join(200);
+        assertThat(producer.isAlive()).isTrue();
+
+        latch.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+        assertThat(producer.isAlive()).isFalse();
+        handler.close();
+
+        assertThat(recorder.getProblems()).containsExactlyElementsOf(problems);
+        assertThat(handler.getDroppedCount()).isZero();
+    }
+
+    @Test
+    public void handlerShouldDropOldestProblems() {
+        List<Problem> problems = findProblems(6);
+        CountDownLatch latch = new CountDownLatch(1);
+        RecordingHandler recorder = new RecordingHandler(latch);
+
+        AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(recorder)
+                .withExecutor(executor)
+                .withCapacity(2)
+                .withOverflowPolicy(OverflowPolicy.DROP_OLDEST)
+                .build();
+        handler.handleProblems(problems.subList(0, 1));
+        awaitDelivery(recorder);
+        handler.handleProblems(problems.subList(1, 6));
+        latch.countDown();
+        handler.close();
+
+        assertThat(recorder.getProblems())
+            .containsExactly(problems.get(0), problems.get(4), problems.get(5));
+        assertThat(handler.getDroppedCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void handlerShouldCountNewProblemsOnly() {
+        List<Problem> problems = findProblems(6);
+        CountDownLatch latch = new CountDownLatch(1);
+        RecordingHandler recorder = new RecordingHandler(latch);
+
+        AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(recorder)
+                .withExecutor(executor)
+                .withCapacity(2)
+                .withOverflowPolicy(OverflowPolicy.COUNT_ONLY)
+                .build();
+        handler.handleProblems(problems.subList(0, 1));
+        awaitDelivery(recorder);
+        handler.handleProblems(problems.subList(1, 6));
+        latch.countDown();
+        handler.close();
+
+        assertThat(recorder.getProblems())
+            .containsExactly(problems.get(0), problems.get(1), problems.get(2));
+        assertThat(handler.getDroppedCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void closeShouldRejectNewProblems() {
+        AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(problems -> {
+        }).withExecutor(executor).build();
+        handler.close();
+
+        List<Problem> problems = findProblems(1);
+        assertThatThrownBy(() -> handler.handleProblems(problems))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void flushShouldRethrowException() {
+        List<Problem> problems = findProblems(2);
+        RuntimeException thrown = new IllegalArgumentException("failed");
+        List<Problem> delivered = Collections.synchronizedList(new ArrayList<>());
+        AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(batch -> {
+            delivered.addAll(batch);
+            throw thrown;
+        }).withExecutor(executor).withMaxBatchSize(1).build();
+
+        handler.handleProblems(problems);
+
+        assertThatThrownBy(handler::flush).isSameAs(thrown);
+        assertThat(delivered).containsExactlyElementsOf(problems);
+        handler.flush();
+    }
+
+    @Test
+    public void handlerShouldBeUsedAsFactory() {
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+        RecordingHandler recorder = new RecordingHandler();
+        int documents = 20;
+
+        try (AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(recorder)
+                .withExecutor(executor)
+                .build()) {
+            JsonReaderFactory factory = service.createReaderFactory(null, schema, handler);
+            for (int i = 0; i < documents; i++) {
+                try (JsonReader reader = factory.createReader(new StringReader("[1,\"a\",2,\"b\"]"))) {
+                    reader.readValue();
+                }
+            }
+        }
+
+        assertThat(recorder.getProblems()).hasSize(documents * 2);
+        assertThat(recorder.getProblems()).extracting(Problem::getPointer)
+            .containsSequence("/1", "/3", "/1", "/3");
+    }
+
+    private static List<Problem> findProblems(int size) {
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+        String json = Collections.nCopies(size, "\"x\"").stream()
+                .collect(Collectors.joining(",", "[", "]"));
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(json), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        assertThat(problems).hasSize(size);
+        return problems;
+    }
+
+    private static void awaitDelivery(RecordingHandler recorder) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (recorder.getBatchSizes().isEmpty() && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * A problem handler recording the problems delivered.
+     *
+     * @author leadpony
+     */
+    private static class RecordingHandler implements ProblemHandler {
+
+        private final CountDownLatch latch;
+        private final List<Problem> problems = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingHandler() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingHandler(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void handleProblems(List<Problem> problems) {
+            this.batchSizes.add(problems.size());
+            this.problems.addAll(problems);
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Problem> getProblems() {
+            return problems;
+        }
+
+        List<Integer> getBatchSizes() {
+            return batchSizes;
+        }
+    }
+}
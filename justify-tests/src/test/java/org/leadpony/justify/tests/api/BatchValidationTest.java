@@ -0,0 +1,348 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationLimitException;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.api.ValidationResult;
+import org.leadpony.justify.api.ValidationSource;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the validation of JSON documents in a batch.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class BatchValidationTest {
+
+    private static JsonValidationService service;
+
+    private static final String SCHEMA = "{"
+            + "\"definitions\":{"
+            + "\"node\":{"
+            + "\"type\":\"object\","
+            + "\"required\":[\"name\"],"
+            + "\"properties\":{"
+            + "\"name\":{\"type\":\"string\",\"pattern\":\"^[a-z]+$\"},"
+            + "\"children\":{\"type\":\"array\",\"items\":{\"$ref\":\"#/definitions/node\"}}"
+            + "},"
+            + "\"patternProperties\":{\"^x-\":{\"format\":\"date\"}},"
+            + "\"additionalProperties\":false"
+            + "}},"
+            + "\"$ref\":\"#/definitions/node\""
+            + "}";
+
+    private static final int DOCUMENTS = 2000;
+    private static final int THREADS = 16;
+
+    private static ExecutorService executor;
+
+    @BeforeAll
+    public static void setUpOnce() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    public static void tearDownOnce() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void validateAllShouldReturnResultsInOrder() {
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+
+        List<ValidationResult> results = service.validateAll(
+                Stream.of(source("a", "{\"name\":\"a\"}"), source("b", "{}"), source("c", "{\"name\":\"c\"}")),
+                schema).collect(Collectors.toList());
+
+        assertThat(results).extracting(result -> result.getSource().getName())
+            .containsExactly("a", "b", "c");
+        assertThat(results).extracting(ValidationResult::isValid)
+            .containsExactly(true, false, true);
+        assertThat(results.get(1).getProblems()).extracting(Problem::getKeyword)
+            .containsExactly("required");
+    }
+
+    @Test
+    public void validateAllShouldReportUnreadableDocuments() {
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+        ValidationSource missing = new ValidationSource() {
+            @Override
+            public String getName() {
+                return "missing";
+            }
+
+            @Override
+            public InputStream openStream() throws FileNotFoundException {
+                throw new FileNotFoundException("missing");
+            }
+        };
+
+        List<ValidationResult> results = service.validateAll(
+                Stream.of(missing, source("broken", "{\"name\":"), source("valid", "{\"name\":\"a\"}")),
+                schema, executor, 2).collect(Collectors.toList());
+
+        assertThat(results.get(0).getException()).hasCauseInstanceOf(FileNotFoundException.class);
+        assertThat(results.get(1).getException()).isNotNull();
+        assertThat(results.get(1).isValid()).isFalse();
+        assertThat(results.get(2).isValid()).isTrue();
+    }
+
+    @Test
+    public void validateAllShouldApplyResourceLimits() {
+        ValidationConfig config = service.createValidationConfig()
+                .withSchema(service.readSchema(new StringReader(SCHEMA)))
+                .withMaxContainerSize(2);
+
+        List<ValidationResult> results = service.validateAll(
+                Stream.of(source("small", "{\"name\":\"a\"}"),
+                        source("large", "{\"name\":\"a\",\"x-a\":\"2020-01-01\",\"x-b\":\"2020-01-02\"}")),
+                config, executor, 2).collect(Collectors.toList());
+
+        assertThat(results.get(0).isValid()).isTrue();
+        assertThat(results.get(1).getException()).isInstanceOf(JsonValidationLimitException.class);
+    }
+
+    @Test
+    public void validateAllShouldUseVirtualThreadsOnJava21() throws Exception {
+        assumeTrue(javaVersion() >= 21);
+
+        Thread thread = findDefaultThread();
+
+        assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(Boolean.TRUE);
+        assertThat(thread.getName()).startsWith("justify-batch-");
+    }
+
+    @Test
+    public void validateAllShouldUseDaemonThreadsBeforeJava21() {
+        assumeTrue(javaVersion() < 21);
+
+        Thread thread = findDefaultThread();
+
+        assertThat(thread.isDaemon()).isTrue();
+        assertThat(thread.getName()).isEqualTo("justify-batch");
+    }
+
+    @Test
+    public void validateAllShouldLimitConcurrency() {
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Stream<ValidationSource> sources = createDocuments(200).map(source -> new ValidationSource() {
+            @Override
+            public String getName() {
+                return source.getName();
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                return new FilterInputStream(source.openStream()) {
+                    private boolean closed;
+
+                    @Override
+                    public void close() throws IOException {
+                        if (!closed) {
+                            closed = true;
+                            running.decrementAndGet();
+                        }
+                        super.close();
+                    }
+                };
+            }
+        });
+
+        long count = service.validateAll(sources, schema, executor, 3).count();
+
+        assertThat(count).isEqualTo(200);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    public void validateAllShouldRejectNonPositiveConcurrency() {
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+
+        assertThatThrownBy(() -> service.validateAll(Stream.empty(), schema, executor, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Validates many documents against a schema shared by the threads and
+     * compares the results with the sequential validation using a schema of
+     * its own.
+     */
+    @Test
+    public void validateAllShouldShareSchemaSafely() {
+        JsonSchema shared = service.createSchemaReaderFactoryBuilder()
+                .withLazyReferenceResolution(true)
+                .build()
+                .createSchemaReader(new StringReader(SCHEMA))
+                .read();
+        JsonSchema own = service.readSchema(new StringReader(SCHEMA));
+
+        List<ValidationResult> results = service.validateAll(createDocuments(DOCUMENTS), shared, executor, THREADS)
+                .collect(Collectors.toList());
+
+        assertThat(results).hasSize(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            ValidationResult result = results.get(i);
+            assertThat(result.getSource().getName()).isEqualTo(String.valueOf(i));
+            assertThat(result.getException()).isNull();
+            assertThat(describe(result.getProblems()))
+                .isEqualTo(describe(validateSequentially(createDocument(i), own)));
+        }
+    }
+
+    @Test
+    public void closeShouldCancelPendingValidations() {
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+        AtomicInteger opened = new AtomicInteger();
+        Stream<ValidationSource> sources = createDocuments(10).map(source -> new ValidationSource() {
+            @Override
+            public String getName() {
+                return source.getName();
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                opened.incrementAndGet();
+                return source.openStream();
+            }
+        });
+        // Runs the first task immediately and defers the others.
+        List<Runnable> deferred = new ArrayList<>();
+        Executor executor = task -> {
+            if (opened.get() == 0 && deferred.isEmpty()) {
+                task.run();
+            } else {
+                deferred.add(task);
+            }
+        };
+
+        try (Stream<ValidationResult> results = service.validateAll(sources, schema, executor, 4)) {
+            assertThat(results.iterator().next().getSource().getName()).isEqualTo("0");
+        }
+        deferred.forEach(Runnable::run);
+
+        assertThat(deferred).hasSize(3);
+        assertThat(opened.get()).isEqualTo(1);
+    }
+
+    private static Stream<ValidationSource> createDocuments(int size) {
+        return IntStream.range(0, size).mapToObj(i -> source(String.valueOf(i), createDocument(i)));
+    }
+
+    /**
+     * Creates a document whose validity depends on the index.
+     */
+    private static String createDocument(int index) {
+        StringBuilder builder = new StringBuilder("{\"name\":");
+        builder.append(index % 7 == 0 ? "\"Node\"" : "\"node\"");
+        if (index % 5 == 0) {
+            builder.append(",\"x-date\":\"2020-13-01\"");
+        }
+        builder.append(",\"children\":[");
+        for (int i = 0; i < index % 4; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(i == 2 && index % 3 == 0 ? "{\"unknown\":1}" : "{\"name\":\"child\"}");
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Finds the thread in which the default executor validates a document.
+     */
+    private static Thread findDefaultThread() {
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        ValidationSource source = new ValidationSource() {
+            @Override
+            public String getName() {
+                return "a";
+            }
+
+            @Override
+            public InputStream openStream() {
+                thread.set(Thread.currentThread());
+                return new ByteArrayInputStream("{\"name\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        assertThat(service.validateAll(Stream.of(source), schema).count()).isEqualTo(1);
+        return thread.get();
+    }
+
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version");
+        if (version.startsWith("1.")) {
+            version = version.substring(2);
+        }
+        return Integer.parseInt(version);
+    }
+
+    private static ValidationSource source(String name, String content) {
+        return ValidationSource.of(name, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Problem> validateSequentially(String document, JsonSchema schema) {
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(document), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        return problems;
+    }
+
+    private static List<String> describe(List<Problem> problems) {
+        return problems.stream()
+                .map(problem -> problem.getPointer() + " " + problem.getKeyword())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.EvaluationProfiler;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing {@link EvaluationProfiler}.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class EvaluationProfilerTest {
+
+    private static JsonValidationService service;
+
+    private static final String SCHEMA = "{"
+            + "\"$id\":\"http://example.org/person.json\","
+            + "\"type\":\"object\","
+            + "\"properties\":{"
+            + "\"name\":{\"type\":\"string\",\"minLength\":1},"
+            + "\"tags\":{\"type\":\"array\",\"items\":{\"type\":\"string\"}}"
+            + "},"
+            + "\"required\":[\"name\"]"
+            + "}";
+
+    @Test
+    public void getEntriesShouldReturnStatisticsPerKeyword() {
+        EvaluationProfiler profiler = service.createProfiler();
+
+        List<Problem> problems = validate(profiler, "{\"name\":\"\",\"tags\":[\"a\",\"b\",3]}");
+
+        assertThat(problems).hasSize(2);
+        Map<String, EvaluationProfiler.Entry> entries = toMap(profiler.getEntries());
+        assertThat(entries).containsOnlyKeys(
+                "http://example.org/person.json# type",
+                "http://example.org/person.json# properties",
+                "http://example.org/person.json# required",
+                "http://example.org/person.json#/properties/name type",
+                "http://example.org/person.json#/properties/name minLength",
+                "http://example.org/person.json#/properties/tags type",
+                "http://example.org/person.json#/properties/tags items",
+                "http://example.org/person.json#/properties/tags/items type");
+
+        EvaluationProfiler.Entry items = entries.get("http://example.org/person.json#/properties/tags/items type");
+        assertThat(items.getEvaluatorCount()).isEqualTo(3);
+        assertThat(items.getTrueCount()).isEqualTo(2);
+        assertThat(items.getFalseCount()).isEqualTo(1);
+
+        EvaluationProfiler.Entry properties = entries.get("http://example.org/person.json# properties");
+        assertThat(properties.getEvaluatorCount()).isEqualTo(1);
+        assertThat(properties.getFalseCount()).isEqualTo(1);
+        assertThat(properties.getEventCount()).isGreaterThan(1);
+        assertThat(properties.getWallTime()).isPositive();
+        assertThat(profiler.getEventCount()).isGreaterThanOrEqualTo(properties.getEventCount());
+    }
+
+    @Test
+    public void getEntriesShouldBeSortedByWallTime() {
+        EvaluationProfiler profiler = service.createProfiler();
+
+        validate(profiler, "{\"name\":\"foo\",\"tags\":[\"a\",\"b\",\"c\"]}");
+
+        List<EvaluationProfiler.Entry> entries = profiler.getEntries();
+        assertThat(entries).isNotEmpty();
+        for (int i = 1; i < entries.size(); i++) {
+            assertThat(entries.get(i).getWallTime()).isLessThanOrEqualTo(entries.get(i - 1).getWallTime());
+        }
+    }
+
+    @Test
+    public void getEntriesShouldAccumulateOverInstances() {
+        EvaluationProfiler profiler = service.createProfiler();
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+
+        validate(profiler, schema, "{\"name\":\"foo\"}");
+        validate(profiler, schema, "{\"name\":\"bar\"}");
+
+        Map<String, EvaluationProfiler.Entry> entries = toMap(profiler.getEntries());
+        EvaluationProfiler.Entry entry = entries.get("http://example.org/person.json#/properties/name minLength");
+        assertThat(entry.getEvaluatorCount()).isEqualTo(2);
+        assertThat(entry.getTrueCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void resetShouldDiscardStatistics() {
+        EvaluationProfiler profiler = service.createProfiler();
+        validate(profiler, "{\"name\":\"foo\"}");
+
+        profiler.reset();
+
+        assertThat(profiler.getEntries()).isEmpty();
+        assertThat(profiler.getEventCount()).isZero();
+    }
+
+    @Test
+    public void profilerShouldBeRegisteredAsMBean() throws Exception {
+        EvaluationProfiler profiler = service.createProfiler();
+        validate(profiler, "{\"name\":\"foo\"}");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("org.leadpony.justify:type=EvaluationProfiler,name=test");
+        server.registerMBean(profiler, name);
+        try {
+            CompositeData[] entries = (CompositeData[]) server.getAttribute(name, "Entries");
+            assertThat(entries).hasSize(profiler.getEntries().size());
+            assertThat(entries[0].get("keyword")).isNotNull();
+            assertThat(server.getAttribute(name, "EventCount")).isEqualTo(profiler.getEventCount());
+
+            server.invoke(name, "reset", null, null);
+
+            assertThat(profiler.getEntries()).isEmpty();
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    private static List<Problem> validate(EvaluationProfiler profiler, String instance) {
+        return validate(profiler, service.readSchema(new StringReader(SCHEMA)), instance);
+    }
+
+    private static List<Problem> validate(EvaluationProfiler profiler, JsonSchema schema, String instance) {
+        List<Problem> problems = new ArrayList<>();
+        ValidationConfig config = service.createValidationConfig()
+                .withSchema(schema)
+                .withProblemHandler(problems::addAll)
+                .withProfiler(profiler);
+        JsonReaderFactory factory = service.createReaderFactory(config.getAsMap());
+        try (JsonReader reader = factory.createReader(new StringReader(instance))) {
+            reader.readValue();
+        }
+        return problems;
+    }
+
+    private static Map<String, EvaluationProfiler.Entry> toMap(List<EvaluationProfiler.Entry> entries) {
+        Map<String, EvaluationProfiler.Entry> map = new HashMap<>();
+        for (EvaluationProfiler.Entry entry : entries) {
+            map.put(entry.getSchemaLocation() + " " + entry.getKeyword(), entry);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * A test class for testing the events of JDK Flight Recorder.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class FlightRecorderTest {
+
+    private static JsonValidationService service;
+
+    private static final String ID = "http://example.org/person.json";
+
+    private static final String SCHEMA = "{"
+            + "\"$id\":\"" + ID + "\","
+            + "\"type\":\"object\","
+            + "\"properties\":{"
+            + "\"name\":{\"$ref\":\"#/definitions/name\"}"
+            + "},"
+            + "\"definitions\":{"
+            + "\"name\":{\"type\":\"string\"}"
+            + "}"
+            + "}";
+
+    @Test
+    public void eventsShouldBeRecorded(@TempDir Path dir) throws IOException {
+        assumeTrue(isFlightRecorderEnabled(), "The classes for Java 11 are not loaded from the multi-release JAR.");
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("org.leadpony.justify.SchemaRead");
+            recording.enable("org.leadpony.justify.ReferenceResolution");
+            recording.enable("org.leadpony.justify.Validation");
+            recording.enable("org.leadpony.justify.SlowKeyword").withThreshold(Duration.ZERO);
+            recording.start();
+
+            JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+            List<Problem> problems = new ArrayList<>();
+            try (JsonReader reader = service.createReader(
+                    new StringReader("{\"name\":42}"), schema, problems::addAll)) {
+                reader.readValue();
+            }
+            assertThat(problems).hasSize(1);
+
+            recording.stop();
+            Path file = dir.resolve("recording.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        RecordedEvent read = findEvent(events, "org.leadpony.justify.SchemaRead", "schemaId", ID);
+        assertThat(read.getInt("keywords")).isEqualTo(6);
+        assertThat(read.getInt("references")).isEqualTo(1);
+
+        RecordedEvent resolution = findEvent(events, "org.leadpony.justify.ReferenceResolution",
+                "reference", ID + "#/definitions/name");
+        assertThat(resolution.getBoolean("resolved")).isTrue();
+
+        RecordedEvent validation = findEvent(events, "org.leadpony.justify.Validation", "schemaId", ID);
+        assertThat(validation.getLong("events")).isEqualTo(4);
+        assertThat(validation.getBoolean("valid")).isFalse();
+        assertThat(validation.getInt("problems")).isEqualTo(1);
+
+        List<String> keywords = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.leadpony.justify.SlowKeyword"))
+                .filter(e -> ID.equals(e.getString("schemaId")))
+                .map(e -> e.getString("keyword"))
+                .collect(Collectors.toList());
+        assertThat(keywords).contains("properties");
+    }
+
+    /**
+     * Checks if the classes emitting the events are loaded. They are packaged
+     * only in the multi-release JAR, and are not found when the library is
+     * loaded from its directory of classes, as in the reactor build.
+     */
+    private static boolean isFlightRecorderEnabled() {
+        try {
+            Class.forName("org.leadpony.justify.internal.jfr.SchemaReadEvent", false,
+                    JsonValidationService.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static RecordedEvent findEvent(List<RecordedEvent> events, String name, String field, String value) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .filter(e -> value.equals(e.getString(field)))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(name + " was not recorded"));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the JSON generators which validate the output.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class JsonGeneratorTest {
+
+    private static JsonValidationService service;
+
+    public static Stream<Arguments> fixtures() {
+        return Stream.of(
+                Arguments.of("{\"type\":\"integer\",\"minimum\":0}", "-1"),
+                Arguments.of("{\"type\":\"string\",\"format\":\"date\"}", "\"2020-01-32\""),
+                Arguments.of("{\"type\":\"string\",\"pattern\":\"^a\"}", "\"abc\""),
+                Arguments.of("{\"const\":{\"a\":[1,2]}}", "{\"a\":[1.0,2.00]}"),
+                Arguments.of("{\"enum\":[\"x\",[1,true],null]}", "[1,false]"),
+                Arguments.of("{\"uniqueItems\":true}", "[1,2,1.0]"),
+                Arguments.of("{\"required\":[\"a\",\"b\"]}", "{\"a\":1}"),
+                Arguments.of("{\"propertyNames\":{\"maxLength\":1}}", "{\"a\":1,\"bc\":2}"),
+                Arguments.of("{\"items\":{\"required\":[\"id\"],\"properties\":{\"id\":{\"const\":1}}}}",
+                        "[{\"id\":1},{\"id\":2},{}]"),
+                Arguments.of("{\"not\":{\"required\":[\"a\"]}}", "{\"a\":null}"),
+                Arguments.of("{\"anyOf\":[{\"type\":\"boolean\"},{\"maximum\":1}]}", "[true,2]"),
+                Arguments.of("{\"additionalProperties\":false,\"properties\":{\"a\":{}}}",
+                        "{\"a\":{\"b\":[[]]},\"c\":3}"),
+                Arguments.of("true", "{\"a\":[1,2,{}]}"),
+                Arguments.of("false", "42"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    public void writeShouldReportSameProblemsAsParser(String schemaJson, String instanceJson) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+        JsonValue instance = readValue(instanceJson);
+        List<Problem> problems = new ArrayList<>();
+        StringWriter writer = new StringWriter();
+
+        try (JsonGenerator generator = service.createGenerator(writer, schema, problems::addAll)) {
+            generator.write(instance);
+        }
+
+        assertThat(readValue(writer.toString())).isEqualTo(instance);
+        assertThat(describe(problems)).isEqualTo(validateByParser(schema, instanceJson));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    public void writeIncrementallyShouldReportSameProblemsAsParser(String schemaJson, String instanceJson) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+        JsonValue instance = readValue(instanceJson);
+        List<Problem> problems = new ArrayList<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = service.createGenerator(out, schema, problems::addAll)) {
+            writeIncrementally(generator, null, instance);
+        }
+
+        assertThat(readValue(new String(out.toByteArray(), StandardCharsets.UTF_8))).isEqualTo(instance);
+        assertThat(describe(problems)).isEqualTo(validateByParser(schema, instanceJson));
+    }
+
+    @Test
+    public void writeShouldValidateNamedValues() {
+        JsonSchema schema = service.readSchema(new StringReader("{"
+                + "\"properties\":{"
+                + "\"name\":{\"type\":\"string\"},"
+                + "\"age\":{\"type\":\"integer\",\"minimum\":0},"
+                + "\"tags\":{\"type\":\"array\",\"maxItems\":1},"
+                + "\"address\":{\"required\":[\"city\"]}"
+                + "}}"));
+        List<Problem> problems = new ArrayList<>();
+
+        try (JsonGenerator generator = service.createGenerator(new StringWriter(), schema, problems::addAll)) {
+            generator.writeStartObject()
+                .write("name", 42)
+                .write("age", -1L)
+                .writeStartArray("tags").write("a").write("b").writeEnd()
+                .writeStartObject("address").writeNull("zip").writeEnd()
+                .writeEnd();
+        }
+
+        assertThat(problems).extracting(Problem::getPointer)
+            .containsExactly("/name", "/age", "/tags", "/address");
+    }
+
+    @Test
+    public void writeShouldNotFillDefaultValues() {
+        JsonSchema schema = service.readSchema(new StringReader("{"
+                + "\"properties\":{"
+                + "\"a\":{\"type\":\"integer\",\"default\":1},"
+                + "\"b\":{\"type\":\"object\",\"properties\":{\"c\":{\"default\":true}}},"
+                + "\"d\":{\"type\":\"string\"}"
+                + "}}"));
+        String instanceJson = "{\"b\":{},\"d\":42,\"e\":[1,{}]}";
+        JsonValue instance = readValue(instanceJson);
+        List<Problem> problems = new ArrayList<>();
+        Map<String, ?> config = service.createValidationConfig()
+                .withDefaultValues(true)
+                .getAsMap();
+        StringWriter writer = new StringWriter();
+
+        try (JsonGenerator generator = service.createJsonProvider(schema, parser -> problems::addAll)
+                .createGeneratorFactory(config)
+                .createGenerator(writer)) {
+            writeIncrementally(generator, null, instance);
+        }
+
+        assertThat(readValue(writer.toString())).isEqualTo(instance);
+        assertThat(describe(problems)).isEqualTo(validateByParser(schema, instanceJson));
+    }
+
+    private static void writeIncrementally(JsonGenerator generator, String name, JsonValue value) {
+        if (name != null) {
+            generator.writeKey(name);
+        }
+        switch (value.getValueType()) {
+        case ARRAY:
+            generator.writeStartArray();
+            for (JsonValue item : (JsonArray) value) {
+                writeIncrementally(generator, null, item);
+            }
+            generator.writeEnd();
+            break;
+        case OBJECT:
+            generator.writeStartObject();
+            for (Map.Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+                writeIncrementally(generator, entry.getKey(), entry.getValue());
+            }
+            generator.writeEnd();
+            break;
+        case STRING:
+            generator.write(((JsonString) value).getString());
+            break;
+        case NUMBER:
+            JsonNumber number = (JsonNumber) value;
+            if (number.isIntegral()) {
+                generator.write(number.intValue());
+            } else {
+                generator.write(new BigDecimal(number.toString()));
+            }
+            break;
+        case TRUE:
+            generator.write(true);
+            break;
+        case FALSE:
+            generator.write(false);
+            break;
+        default:
+            generator.writeNull();
+            break;
+        }
+    }
+
+    private static List<String> validateByParser(JsonSchema schema, String instanceJson) {
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(instanceJson), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        return describe(problems);
+    }
+
+    private static List<String> describe(List<Problem> problems) {
+        return problems.stream()
+                .map(problem -> problem.getPointer() + " " + problem.getMessageKey())
+                .collect(Collectors.toList());
+    }
+
+    private static JsonValue readValue(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readValue();
+        }
+    }
+}
@@ -21,9 +21,13 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 
 import java.io.StringReader;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
+import javax.json.JsonReader;
 import javax.json.JsonValue;
 import javax.json.stream.JsonParsingException;
 
@@ -36,6 +40,7 @@ import org.leadpony.justify.api.JsonSchemaReader;
 import org.leadpony.justify.api.JsonSchemaReaderFactory;
 import org.leadpony.justify.api.JsonValidatingException;
 import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
 import org.leadpony.justify.tests.helper.ApiTest;
 import org.leadpony.justify.tests.helper.JsonAssertions;
 import org.leadpony.justify.tests.helper.JsonSource;
@@ -212,6 +217,66 @@ public class JsonSchemaReaderTest {
         }
     }
 
+    private static final String SCHEMA_WITH_UNRESOLVABLE_REFERENCE = "{"
+            + "\"properties\":{"
+            + "\"foo\":{\"$ref\":\"#/definitions/foo\"},"
+            + "\"bar\":{\"$ref\":\"#/definitions/nonexistent\"}"
+            + "},"
+            + "\"definitions\":{\"foo\":{\"type\":\"string\"}}"
+            + "}";
+
+    @Test
+    public void readShouldThrowIfReferenceIsUnresolvable() {
+        JsonSchemaReader reader = service.createSchemaReader(new StringReader(SCHEMA_WITH_UNRESOLVABLE_REFERENCE));
+        Throwable thrown = catchThrowable(() -> reader.read());
+        assertThat(thrown).isInstanceOf(JsonValidatingException.class);
+    }
+
+    @Test
+    public void readShouldNotResolveReferencesIfLazy() {
+        JsonSchemaReaderFactory factory = service.createSchemaReaderFactoryBuilder()
+                .withLazyReferenceResolution(true)
+                .build();
+        JsonSchemaReader reader = factory.createSchemaReader(new StringReader(SCHEMA_WITH_UNRESOLVABLE_REFERENCE));
+        JsonSchema schema = reader.read();
+
+        assertThat(validate(schema, "{\"foo\":\"hello\"}")).isEmpty();
+        assertThat(validate(schema, "{\"foo\":42}"))
+            .extracting(Problem::getKeyword)
+            .containsExactly("type");
+        assertThat(validate(schema, "{\"bar\":42}"))
+            .extracting(Problem::getKeyword)
+            .containsExactly("$ref");
+    }
+
+    @Test
+    public void readShouldDeferLoopDetectionIfLazy() {
+        String source = "{"
+                + "\"properties\":{\"foo\":{\"$ref\":\"#/definitions/a\"}},"
+                + "\"definitions\":{"
+                + "\"a\":{\"$ref\":\"#/definitions/b\"},"
+                + "\"b\":{\"allOf\":[{\"$ref\":\"#/definitions/a\"}]}"
+                + "}}";
+        JsonSchemaReaderFactory factory = service.createSchemaReaderFactoryBuilder()
+                .withLazyReferenceResolution(true)
+                .build();
+        JsonSchemaReader reader = factory.createSchemaReader(new StringReader(source));
+        JsonSchema schema = reader.read();
+
+        assertThat(validate(schema, "{}")).isEmpty();
+        List<Problem> problems = validate(schema, "{\"foo\":42}");
+        assertThat(problems)
+            .anyMatch(problem -> problem.getMessage(Locale.ROOT).contains("infinite recursive looping"));
+    }
+
+    private static List<Problem> validate(JsonSchema schema, String instance) {
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(instance), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        return problems;
+    }
+
     private static JsonSchema readSchema(JsonValue value) {
         return readSchema(value.toString());
     }
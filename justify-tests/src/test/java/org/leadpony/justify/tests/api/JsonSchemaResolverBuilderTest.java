@@ -0,0 +1,225 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonSchemaReaderFactory;
+import org.leadpony.justify.api.JsonSchemaResolver;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A test class for testing the {@link JsonSchemaResolver} built by
+ * {@link org.leadpony.justify.api.JsonSchemaResolverBuilder}.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class JsonSchemaResolverBuilderTest {
+
+    private static JsonValidationService service;
+
+    private static final Map<String, String> DOCUMENTS = new HashMap<>();
+    private static final Map<String, AtomicInteger> REQUESTS = new ConcurrentHashMap<>();
+
+    private static HttpServer server;
+    private static URI baseUri;
+
+    static {
+        DOCUMENTS.put("/person.json", "{"
+                + "\"type\":\"object\","
+                + "\"properties\":{"
+                + "\"name\":{\"$ref\":\"defs.json#/definitions/name\"},"
+                + "\"address\":{\"$ref\":\"address.json\"},"
+                + "\"friends\":{\"type\":\"array\",\"items\":{\"$ref\":\"person.json\"}}"
+                + "}}");
+        DOCUMENTS.put("/address.json", "{"
+                + "\"type\":\"object\","
+                + "\"properties\":{"
+                + "\"city\":{\"$ref\":\"defs.json#/definitions/name\"},"
+                + "\"owner\":{\"$ref\":\"person.json\"}"
+                + "},"
+                + "\"required\":[\"city\"]"
+                + "}");
+        DOCUMENTS.put("/defs.json", "{"
+                + "\"definitions\":{"
+                + "\"name\":{\"type\":\"string\",\"minLength\":1}"
+                + "}}");
+    }
+
+    @BeforeAll
+    public static void setUpOnce() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            REQUESTS.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+            String document = DOCUMENTS.get(path);
+            if (document == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                byte[] body = document.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/schema+json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        baseUri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    @AfterAll
+    public static void tearDownOnce() {
+        server.stop(0);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        REQUESTS.clear();
+    }
+
+    @Test
+    public void resolveSchemaShouldLoadEachDocumentOnlyOnce() {
+        JsonSchemaResolver resolver = service.createSchemaResolverBuilder().build();
+
+        JsonSchema schema = resolver.resolveSchema(baseUri.resolve("person.json"));
+
+        assertThat(schema).isNotNull();
+        assertThat(resolver.resolveSchema(baseUri.resolve("person.json"))).isSameAs(schema);
+        assertThat(REQUESTS).containsOnlyKeys("/person.json", "/address.json", "/defs.json");
+        assertThat(REQUESTS.values()).allMatch(count -> count.get() == 1);
+    }
+
+    @Test
+    public void resolveSchemaShouldResolveJsonPointer() {
+        JsonSchemaResolver resolver = service.createSchemaResolverBuilder().build();
+
+        JsonSchema schema = resolver.resolveSchema(baseUri.resolve("defs.json#/definitions/name"));
+
+        assertThat(schema).isNotNull();
+        assertThat(schema.getKeywordValue("minLength").toString()).isEqualTo("1");
+    }
+
+    @Test
+    public void resolveSchemaShouldReturnNullIfNotFound() {
+        JsonSchemaResolver resolver = service.createSchemaResolverBuilder().build();
+
+        assertThat(resolver.resolveSchema(baseUri.resolve("nonexistent.json"))).isNull();
+    }
+
+    @Test
+    public void validateShouldUseSchemasReferencingEachOther() {
+        JsonSchemaResolver resolver = service.createSchemaResolverBuilder().build();
+        JsonSchemaReaderFactory factory = service.createSchemaReaderFactoryBuilder()
+                .withSchemaResolver(resolver)
+                .build();
+        String root = "{\"$ref\":\"" + baseUri.resolve("person.json") + "\"}";
+        JsonSchema schema = factory.createSchemaReader(new StringReader(root)).read();
+
+        String instance = "{"
+                + "\"name\":\"Alice\","
+                + "\"address\":{\"city\":\"\",\"owner\":{\"name\":\"Bob\",\"address\":{}}},"
+                + "\"friends\":[{\"name\":42}]"
+                + "}";
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(instance), schema, problems::addAll)) {
+            reader.readValue();
+        }
+
+        assertThat(problems).extracting(Problem::getPointer)
+            .containsExactlyInAnyOrder("/address/city", "/address/owner/address", "/friends/0/name");
+    }
+
+    @Test
+    public void resolveSchemaShouldLoadFromFileSystem(@TempDir Path dir) throws IOException {
+        for (Map.Entry<String, String> entry : DOCUMENTS.entrySet()) {
+            Files.write(dir.resolve(entry.getKey().substring(1)),
+                    entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        JsonSchemaResolver resolver = service.createSchemaResolverBuilder().build();
+
+        JsonSchema schema = resolver.resolveSchema(dir.resolve("address.json").toUri());
+
+        assertThat(schema).isNotNull();
+        assertThat(schema.containsKeyword("required")).isTrue();
+        assertThat(REQUESTS).isEmpty();
+    }
+
+    @Test
+    public void resolveSchemaShouldUseCustomLoader() {
+        JsonSchemaResolver resolver = service.createSchemaResolverBuilder()
+                .withLoader("mem", location -> {
+                    String document = DOCUMENTS.get(location.getPath());
+                    if (document == null) {
+                        return null;
+                    }
+                    return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+                })
+                .build();
+
+        assertThat(resolver.resolveSchema(URI.create("mem:/person.json"))).isNotNull();
+        assertThat(resolver.resolveSchema(URI.create("mem:/nonexistent.json"))).isNull();
+        assertThat(REQUESTS).isEmpty();
+    }
+
+    @Test
+    public void resolveSchemaShouldReuseCacheDirectory(@TempDir Path dir) {
+        JsonSchemaResolver first = service.createSchemaResolverBuilder()
+                .withCacheDirectory(dir)
+                .build();
+        assertThat(first.resolveSchema(baseUri.resolve("person.json"))).isNotNull();
+        assertThat(REQUESTS).hasSize(3);
+
+        REQUESTS.clear();
+        JsonSchemaResolver second = service.createSchemaResolverBuilder()
+                .withCacheDirectory(dir)
+                .build();
+        assertThat(second.resolveSchema(baseUri.resolve("person.json"))).isNotNull();
+        assertThat(REQUESTS).isEmpty();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing
+ * {@link JsonValidationService#validate(JsonSchema, JsonValue)}.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class JsonValueValidationTest {
+
+    private static JsonValidationService service;
+
+    public static Stream<Arguments> fixtures() {
+        return Stream.of(
+                Arguments.of("{\"const\":1}", "1.0", true),
+                Arguments.of("{\"const\":1}", "2", false),
+                Arguments.of("{\"const\":{\"a\":[1,2]}}", "{\"a\":[1.0,2.00]}", true),
+                Arguments.of("{\"const\":{\"a\":[1,2]}}", "{\"a\":[2,1]}", false),
+                Arguments.of("{\"enum\":[\"x\",[1,true],null]}", "[1.0,true]", true),
+                Arguments.of("{\"enum\":[\"x\",[1,true],null]}", "[1,false]", false),
+                Arguments.of("{\"enum\":[\"x\",[1,true],null]}", "null", true),
+                Arguments.of("{\"uniqueItems\":true}", "[1,\"1\",[1],{\"a\":1}]", true),
+                Arguments.of("{\"uniqueItems\":true}", "[1,2,1.0]", false),
+                Arguments.of("{\"uniqueItems\":true}", "[{\"a\":1,\"b\":2},{\"b\":2,\"a\":1.0}]", false),
+                Arguments.of("{\"required\":[\"a\",\"b\"]}", "{\"a\":1,\"b\":2,\"c\":3}", true),
+                Arguments.of("{\"required\":[\"a\",\"b\"]}", "{\"a\":1}", false),
+                Arguments.of("{\"required\":[\"a\"]}", "[]", true),
+                Arguments.of("{\"items\":{\"required\":[\"id\"],\"properties\":{\"id\":{\"const\":1}}}}",
+                        "[{\"id\":1},{\"id\":1.0}]", true),
+                Arguments.of("{\"items\":{\"required\":[\"id\"],\"properties\":{\"id\":{\"const\":1}}}}",
+                        "[{\"id\":1},{}]", false),
+                Arguments.of("{\"uniqueItems\":true,\"items\":{\"enum\":[1,2]}}", "[1,1.0,3]", false),
+                Arguments.of("{\"required\":[\"a\"],\"properties\":{\"b\":{\"type\":\"string\"}}}",
+                        "{\"b\":1}", false),
+                Arguments.of("{\"not\":{\"required\":[\"a\"]}}", "{\"a\":1}", false),
+                Arguments.of("{\"not\":{\"required\":[\"a\",\"b\"]},\"properties\":{\"c\":{\"type\":\"string\"}}}",
+                        "{\"a\":1,\"c\":2,\"b\":3}", false),
+                Arguments.of("{\"not\":{\"uniqueItems\":true}}", "[1,1]", true),
+                Arguments.of("{\"not\":{\"const\":\"a\"}}", "\"a\"", false),
+                Arguments.of("{\"type\":\"string\",\"minLength\":2}", "\"a\"", false),
+                Arguments.of("true", "{\"a\":[1,2,{}]}", true),
+                Arguments.of("false", "42", false));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    public void validateShouldReturnSameResultAsParser(String schemaJson, String instanceJson, boolean valid) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+        JsonValue instance = readValue(instanceJson);
+
+        List<Problem> actual = service.validate(schema, instance);
+
+        assertThat(actual.isEmpty()).isEqualTo(valid);
+        assertThat(actual).extracting(Problem::getMessageKey)
+            .containsExactlyInAnyOrderElementsOf(validateByParser(schema, instanceJson));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    public void validateShouldReportProblemsInSameOrderAsParser(String schemaJson, String instanceJson,
+            boolean valid) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+        JsonValue instance = readValue(instanceJson);
+
+        List<Problem> actual = service.validate(schema, instance);
+
+        assertThat(actual).extracting(Problem::getMessageKey)
+            .containsExactlyElementsOf(validateByParser(schema, instanceJson));
+    }
+
+    @Test
+    public void validateShouldReportItemsBeforeUniqueItems() {
+        JsonSchema schema = service.readSchema(new StringReader(
+                "{\"uniqueItems\":true,\"items\":{\"enum\":[1,2]}}"));
+        JsonValue instance = readValue("[1,1.0,3]");
+
+        List<Problem> problems = service.validate(schema, instance);
+
+        assertThat(problems).extracting(Problem::getPointer, Problem::getKeyword)
+            .containsExactly(tuple("/2", "enum"), tuple("", "uniqueItems"));
+    }
+
+    @Test
+    public void validateShouldReportPointersOfProblems() {
+        JsonSchema schema = service.readSchema(new StringReader(
+                "{\"properties\":{\"items\":{\"items\":{\"required\":[\"id\"]}}}}"));
+        JsonValue instance = readValue("{\"items\":[{\"id\":1},{},{\"id\":2},{}]}");
+
+        List<Problem> problems = service.validate(schema, instance);
+
+        assertThat(problems).extracting(Problem::getPointer)
+            .containsExactly("/items/1", "/items/3");
+    }
+
+    private static List<String> validateByParser(JsonSchema schema, String instanceJson) {
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(instanceJson), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        List<String> keys = new ArrayList<>();
+        problems.forEach(problem -> keys.add(problem.getMessageKey()));
+        return keys;
+    }
+
+    private static JsonValue readValue(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readValue();
+        }
+    }
+}
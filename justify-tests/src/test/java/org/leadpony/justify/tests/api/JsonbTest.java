@@ -86,6 +86,39 @@ public class JsonbTest {
         printer.print(problems);
     }
 
+    @Test
+    public void toJsonShouldSerialize() {
+        JsonSchema s = service.readSchema(new StringReader(PERSON_SCHEMA));
+        List<Problem> problems = new ArrayList<>();
+        JsonProvider provider = service.createJsonProvider(s, parser -> problems::addAll);
+        Jsonb jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+        Person person = new Person();
+        person.name = "John Smith";
+        person.age = 46;
+
+        String json = jsonb.toJson(person);
+
+        assertThat(json).isEqualTo("{\"age\":46,\"name\":\"John Smith\"}");
+        assertThat(problems).isEmpty();
+    }
+
+    @Test
+    public void toJsonShouldReportProblemsIfInvalid() {
+        JsonSchema s = service.readSchema(new StringReader(PERSON_SCHEMA));
+        List<Problem> problems = new ArrayList<>();
+        JsonProvider provider = service.createJsonProvider(s, parser -> problems::addAll);
+        Jsonb jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+        Person person = new Person();
+        person.age = -1;
+
+        jsonb.toJson(person);
+
+        assertThat(problems).extracting(Problem::getKeyword)
+            .containsExactlyInAnyOrder("minimum", "required");
+
+        printer.print(problems);
+    }
+
     /**
      * A POJO class.
      *
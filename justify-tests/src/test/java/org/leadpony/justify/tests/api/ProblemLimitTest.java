@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.AggregatedProblem;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the limits of problems configured by
+ * {@link ValidationConfig}.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class ProblemLimitTest {
+
+    private static JsonValidationService service;
+
+    private static final String SCHEMA = "{"
+            + "\"type\":\"array\","
+            + "\"items\":{"
+            + "\"type\":\"object\","
+            + "\"required\":[\"id\"],"
+            + "\"properties\":{\"name\":{\"type\":\"string\"}}"
+            + "}}";
+
+    private JsonSchema schema;
+    private ValidationConfig config;
+    private List<Problem> problems;
+
+    @BeforeEach
+    public void setUp() {
+        schema = service.readSchema(new StringReader(SCHEMA));
+        problems = new ArrayList<>();
+        config = service.createValidationConfig()
+                .withSchema(schema)
+                .withProblemHandler(problems::addAll);
+    }
+
+    @Test
+    public void withMaxProblemsShouldLimitProblems() {
+        config.withMaxProblems(3);
+
+        validate(createItems(10, "{}"));
+
+        assertThat(problems).hasSize(4);
+        assertThat(problems.subList(0, 3)).extracting(Problem::getPointer)
+            .containsExactly("/0", "/1", "/2");
+        assertThat(problems.get(3).getMessageKey()).isEqualTo("INSTANCE_PROBLEM_OMITTED");
+        assertThat(problems.get(3).parametersAsMap().get("count")).isEqualTo(7);
+    }
+
+    @Test
+    public void withMaxProblemsPerKeywordShouldLimitProblems() {
+        config.withMaxProblemsPerKeyword(2);
+
+        validate(createItems(5, "{\"name\":42}"));
+
+        assertThat(problems).extracting(Problem::getKeyword)
+            .containsExactly("type", "required", "type", "required", null);
+        assertThat(problems.get(4).parametersAsMap().get("count")).isEqualTo(6);
+    }
+
+    @Test
+    public void withMaxProblemsPerSubtreeShouldLimitProblems() {
+        config.withMaxProblemsPerSubtree(1);
+
+        validate(createItems(3, "{\"name\":42}"));
+
+        assertThat(problems).extracting(Problem::getPointer)
+            .containsExactly("/0/name", "/1/name", "/2/name", "");
+        assertThat(problems.get(3).parametersAsMap().get("count")).isEqualTo(3);
+    }
+
+    @Test
+    public void withProblemAggregationShouldAggregateProblems() {
+        config.withProblemAggregation(true);
+
+        validate(createItems(10, "{}"));
+
+        assertThat(problems).hasSize(1);
+        assertThat(problems.get(0)).isInstanceOf(AggregatedProblem.class);
+        AggregatedProblem problem = (AggregatedProblem) problems.get(0);
+        assertThat(problem.getCount()).isEqualTo(10);
+        assertThat(problem.getKeyword()).isEqualTo("required");
+        assertThat(problem.getFirstPointer()).isEqualTo("/0");
+        assertThat(problem.getLastPointer()).isEqualTo("/9");
+        assertThat(problem.getSamplePointers()).containsExactly("/0", "/1", "/2", "/3", "/4");
+        assertThat(problem.getMessage()).contains("10");
+    }
+
+    @Test
+    public void withProblemAggregationShouldKeepSingleProblemAsIs() {
+        config.withProblemAggregation(true);
+
+        validate("[{},{\"id\":1,\"name\":42}]");
+
+        assertThat(problems).hasSize(2);
+        assertThat(problems).noneMatch(problem -> problem instanceof AggregatedProblem);
+        assertThat(problems).extracting(Problem::getPointer)
+            .containsExactly("/0", "/1/name");
+    }
+
+    @Test
+    public void withProblemAggregationShouldBeLimitedByMaxProblems() {
+        config.withProblemAggregation(true).withMaxProblems(1);
+
+        validate(createItems(4, "{\"name\":42}"));
+
+        assertThat(problems).hasSize(2);
+        assertThat(((AggregatedProblem) problems.get(0)).getCount()).isEqualTo(4);
+        assertThat(problems.get(1).parametersAsMap().get("count")).isEqualTo(4);
+    }
+
+    @Test
+    public void validateShouldReportAllProblemsByDefault() {
+        validate(createItems(10, "{}"));
+
+        assertThat(problems).hasSize(10);
+    }
+
+    private void validate(String instance) {
+        JsonReaderFactory factory = service.createReaderFactory(config.getAsMap());
+        try (JsonReader reader = factory.createReader(new StringReader(instance))) {
+            reader.readValue();
+        }
+    }
+
+    private static String createItems(int size, String item) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> item)
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the "propertyNames" keyword evaluated repeatedly
+ * against the same schema.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class PropertyNamesCachingTest {
+
+    private static JsonValidationService service;
+
+    private static final String[] DOCUMENTS = {
+        "{\"alpha\":1,\"beta\":2}",
+        "{\"alpha\":1,\"Gamma\":2,\"beta\":3}",
+        "{\"beta\":1,\"alpha\":2}",
+        "{\"Gamma\":1,\"alpha\":{\"Gamma\":2}}",
+        "{\"alpha\":1,\"beta\":2,\"delta\":3}",
+    };
+
+    private static final int MANY_NAMES = 5000;
+
+    private static final String[][] EXPECTED_POINTERS = {
+        {},
+        {""},
+        {},
+        {""},
+        {},
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{\"propertyNames\":{\"pattern\":\"^[a-z]+$\"}}",
+        "{\"propertyNames\":{\"pattern\":\"^[a-z]+$\",\"default\":\"a\"}}",
+        "{\"definitions\":{\"name\":{\"pattern\":\"^[a-z]+$\"}},"
+            + "\"propertyNames\":{\"$ref\":\"#/definitions/name\"}}",
+        "{\"propertyNames\":{\"allOf\":[{\"pattern\":\"^[a-z]+$\"},{\"maxLength\":5}]}}",
+    })
+    public void validateShouldReportSameProblemsRepeatedly(String schemaJson) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < DOCUMENTS.length; i++) {
+                List<Problem> problems = validate(schema, DOCUMENTS[i]);
+                assertThat(problems).extracting(Problem::getPointer)
+                    .containsExactly(EXPECTED_POINTERS[i]);
+                for (Problem problem : problems) {
+                    assertThat(problem.getKeyword()).isIn("pattern", "propertyNames");
+                    assertThat(problem.getLocation()).isNotNull();
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{\"propertyNames\":{\"pattern\":\"^[a-z]+$\"}}",
+        "{\"not\":{\"propertyNames\":{\"pattern\":\"^[a-z]+$\"}}}",
+    })
+    public void validateShouldNotBeAffectedByOtherDocuments(String schemaJson) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+        boolean negated = schemaJson.startsWith("{\"not\"");
+
+        assertThat(validate(schema, "{\"alpha\":1}").isEmpty()).isNotEqualTo(negated);
+        assertThat(validate(schema, "{\"Alpha\":1}").isEmpty()).isEqualTo(negated);
+        assertThat(validate(schema, "{\"alpha\":1}").isEmpty()).isNotEqualTo(negated);
+    }
+
+    @Test
+    public void validateShouldReportSameProblemsAfterManyNames() {
+        JsonSchema schema = service.readSchema(new StringReader("{\"propertyNames\":{\"pattern\":\"^[a-z]+$\"}}"));
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < MANY_NAMES; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("\"").append(nameOf(i)).append("\":").append(i);
+        }
+        String many = builder.append('}').toString();
+
+        for (int round = 0; round < 3; round++) {
+            assertThat(validate(schema, many)).isEmpty();
+            for (int i = 0; i < DOCUMENTS.length; i++) {
+                assertThat(validate(schema, DOCUMENTS[i])).extracting(Problem::getPointer)
+                    .containsExactly(EXPECTED_POINTERS[i]);
+            }
+        }
+    }
+
+    private static String nameOf(int index) {
+        StringBuilder builder = new StringBuilder();
+        int value = index;
+        do {
+            builder.append((char) ('a' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return builder.toString();
+    }
+
+    private static List<Problem> validate(JsonSchema schema, String json) {
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(json), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        return problems;
+    }
+}
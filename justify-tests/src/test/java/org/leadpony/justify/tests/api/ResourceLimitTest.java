@@ -0,0 +1,280 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.json.Json;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonValue;
+
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.JsonValidationLimitException;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the limits of resources configured by
+ * {@link ValidationConfig}.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class ResourceLimitTest {
+
+    private static JsonValidationService service;
+
+    private static final String RECURSIVE_SCHEMA = "{"
+            + "\"type\":\"array\","
+            + "\"items\":{\"$ref\":\"#\"}"
+            + "}";
+
+    private ValidationConfig config;
+    private List<Problem> problems;
+
+    @BeforeEach
+    public void setUp() {
+        problems = new ArrayList<>();
+        config = service.createValidationConfig()
+                .withSchema(service.readSchema(new StringReader(RECURSIVE_SCHEMA)))
+                .withProblemHandler(problems::addAll);
+    }
+
+    @Test
+    public void withMaxDepthShouldRejectDeepInstance() {
+        config.withMaxDepth(10);
+
+        Problem problem = validateOverLimit(nest(100, "[", "]"));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_DEPTH");
+        assertThat(problem.parametersAsMap().get("limit")).isEqualTo(10);
+        assertThat(problem.getLocation().getColumnNumber()).isEqualTo(11);
+    }
+
+    @Test
+    public void withMaxDepthShouldAcceptInstanceAtLimit() {
+        config.withMaxDepth(10);
+
+        validate(nest(10, "[", "]"));
+
+        assertThat(problems).isEmpty();
+    }
+
+    @Test
+    public void withMaxDepthShouldRejectInstanceAfterResultDetermined() {
+        config.withSchema(service.readSchema(new StringReader("{\"type\":\"object\"}")))
+            .withMaxDepth(10);
+
+        Problem problem = validateOverLimit(nest(100, "{\"a\":", "}"));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_DEPTH");
+        assertThat(problem.getPointer()).isNull();
+    }
+
+    @Test
+    public void withMaxEvaluatorsShouldRejectRecursiveEvaluation() {
+        config.withMaxEvaluators(50);
+
+        Problem problem = validateOverLimit(nest(100, "[", "]"));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_EVALUATORS");
+        assertThat(problem.parametersAsMap().get("limit")).isEqualTo(50);
+        assertThat(problem.getPointer()).startsWith("/0/0/0/0/0/0/0/0/0/0");
+    }
+
+    @Test
+    public void withMaxStringLengthShouldRejectLongString() {
+        config.withSchema(service.readSchema(new StringReader("{\"items\":{\"type\":\"string\"}}")))
+            .withMaxStringLength(5);
+
+        Problem problem = validateOverLimit("[1,\"abcde\",\"abcdef\"]");
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_STRING_LENGTH");
+        assertThat(problems).extracting(Problem::getPointer).containsExactly("/0");
+    }
+
+    @Test
+    public void withMaxStringLengthShouldRejectLongPropertyName() {
+        config.withMaxStringLength(5);
+
+        Problem problem = validateOverLimit("{\"abcdef\":1}");
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_STRING_LENGTH");
+    }
+
+    @Test
+    public void withMaxContainerSizeShouldRejectLargeArray() {
+        config.withMaxContainerSize(10);
+
+        Problem problem = validateOverLimit(repeat(11, "[]", "[", "]"));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_CONTAINER_SIZE");
+        assertThat(problem.parametersAsMap().get("limit")).isEqualTo(10);
+    }
+
+    @Test
+    public void withMaxContainerSizeShouldRejectLargeObject() {
+        config.withSchema(service.readSchema(new StringReader("{}")))
+            .withMaxContainerSize(2);
+
+        Problem problem = validateOverLimit("{\"a\":[1,2],\"b\":{\"c\":3},\"d\":4}");
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_CONTAINER_SIZE");
+    }
+
+    @Test
+    public void withMaxContainerSizeShouldAcceptContainersAtLimit() {
+        config.withMaxContainerSize(10);
+
+        validate(repeat(10, repeat(10, "[]", "[", "]"), "[", "]"));
+
+        assertThat(problems).isEmpty();
+    }
+
+    @Test
+    public void validateShouldNotLimitResourcesByDefault() {
+        validate(nest(100, "[", "]"));
+
+        assertThat(problems).isEmpty();
+    }
+
+    @Test
+    public void validateStreamShouldRejectDeepInstance() {
+        config.withMaxDepth(10);
+
+        Problem problem = validateOverLimit(() -> service.validate(toStream(nest(100, "[", "]")), config));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_DEPTH");
+    }
+
+    @Test
+    public void validateBufferShouldRejectLargeArray() {
+        config.withMaxContainerSize(10);
+
+        Problem problem = validateOverLimit(() -> service.validate(toBuffer(repeat(11, "[]", "[", "]")), config));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_CONTAINER_SIZE");
+    }
+
+    @Test
+    public void validateValueShouldRejectLongString() {
+        config.withSchema(service.readSchema(new StringReader("{\"items\":{\"type\":\"string\"}}")))
+            .withMaxStringLength(5);
+        JsonValue instance = Json.createReader(new StringReader("[\"abcde\",\"abcdef\"]")).readValue();
+
+        Problem problem = validateOverLimit(() -> service.validate(instance, config));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_STRING_LENGTH");
+    }
+
+    @Test
+    public void validateStreamShouldRejectDeepInstanceSkipped() {
+        config.withSchema(service.readSchema(new StringReader("{\"required\":[\"a\"]}")))
+            .withMaxDepth(10);
+        String instance = "{\"b\":" + nest(100, "[", "]") + ",\"a\":1}";
+
+        Problem problem = validateOverLimit(() -> service.validate(toStream(instance), config));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_DEPTH");
+    }
+
+    @Test
+    public void validateBufferShouldRejectLargeArraySkipped() {
+        config.withSchema(service.readSchema(new StringReader("{\"required\":[\"a\"]}")))
+            .withMaxContainerSize(10);
+        String instance = "{\"b\":{\"c\":" + repeat(11, "1", "[", "]") + "},\"a\":1}";
+
+        Problem problem = validateOverLimit(() -> service.validate(toBuffer(instance), config));
+
+        assertThat(problem.getMessageKey()).isEqualTo("INSTANCE_PROBLEM_MAX_CONTAINER_SIZE");
+    }
+
+    @Test
+    public void validateBufferShouldAcceptSkippedContainersAtLimit() {
+        config.withSchema(service.readSchema(new StringReader("{\"required\":[\"a\"]}")))
+            .withMaxDepth(10)
+            .withMaxContainerSize(10);
+        String instance = "{\"b\":" + nest(9, "[", "]") + ",\"c\":" + repeat(10, "1", "[", "]") + ",\"a\":1}";
+
+        service.validate(toBuffer(instance), config);
+
+        assertThat(problems).isEmpty();
+    }
+
+    @Test
+    public void validateStreamShouldRequireSchemaInConfig() {
+        ValidationConfig empty = service.createValidationConfig();
+
+        assertThatThrownBy(() -> service.validate(toStream("[]"), empty))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void validate(String instance) {
+        JsonReaderFactory factory = service.createReaderFactory(config.getAsMap());
+        try (JsonReader reader = factory.createReader(new StringReader(instance))) {
+            reader.readValue();
+        }
+    }
+
+    private Problem validateOverLimit(String instance) {
+        return validateOverLimit(() -> validate(instance));
+    }
+
+    private Problem validateOverLimit(ThrowingCallable callable) {
+        JsonValidationLimitException thrown = catchThrowableOfType(callable, JsonValidationLimitException.class);
+        assertThat(thrown).isNotNull();
+        assertThat(thrown.getProblems()).hasSize(1);
+        return thrown.getProblems().get(0);
+    }
+
+    private static ByteArrayInputStream toStream(String instance) {
+        return new ByteArrayInputStream(instance.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer toBuffer(String instance) {
+        return ByteBuffer.wrap(instance.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String nest(int depth, String start, String end) {
+        StringBuilder builder = new StringBuilder();
+        IntStream.range(0, depth).forEach(i -> builder.append(start));
+        IntStream.range(0, depth).forEach(i -> builder.append(end));
+        return builder.toString();
+    }
+
+    private static String repeat(int size, String item, String start, String end) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> item)
+                .collect(Collectors.joining(",", start, end));
+    }
+}
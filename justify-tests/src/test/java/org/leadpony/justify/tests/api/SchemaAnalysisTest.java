@@ -0,0 +1,165 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.SchemaAnalysis;
+import org.leadpony.justify.api.SchemaAnalysis.Finding;
+import org.leadpony.justify.api.SchemaAnalysis.Kind;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing {@link SchemaAnalysis}.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class SchemaAnalysisTest {
+
+    private static JsonValidationService service;
+
+    private static SchemaAnalysis analyze(String json) {
+        JsonSchema schema = service.readSchema(new StringReader(json));
+        return service.analyzeSchema(schema);
+    }
+
+    @Test
+    public void analyzeSchemaShouldCountEvaluatorsAtEachDepth() {
+        SchemaAnalysis analysis = analyze("{"
+                + "\"type\":\"object\","
+                + "\"properties\":{"
+                + "\"name\":{\"type\":\"string\",\"minLength\":1},"
+                + "\"tags\":{\"type\":\"array\",\"items\":{\"type\":\"string\"}}"
+                + "},"
+                + "\"required\":[\"name\"]"
+                + "}");
+
+        assertThat(analysis.getEvaluatorCounts()).containsExactly(3L, 2L, 1L);
+        assertThat(analysis.getMaxFanOut()).isEqualTo(6L);
+        assertThat(analysis.getFindings()).isEmpty();
+    }
+
+    @Test
+    public void analyzeSchemaShouldSumInPlaceSubschemas() {
+        SchemaAnalysis analysis = analyze("{"
+                + "\"allOf\":[{\"type\":\"string\"},{\"minLength\":1,\"maxLength\":5}]"
+                + "}");
+
+        assertThat(analysis.getEvaluatorCounts()).containsExactly(4L);
+    }
+
+    @Test
+    public void analyzeSchemaShouldFindNestedQuantifier() {
+        SchemaAnalysis analysis = analyze("{"
+                + "\"properties\":{\"a\":{\"pattern\":\"^(\\\\w+\\\\s?)*$\"}}"
+                + "}");
+
+        assertThat(analysis.getFindings()).hasSize(1);
+        Finding finding = analysis.getFindings().get(0);
+        assertThat(finding.getKind()).isEqualTo(Kind.NESTED_QUANTIFIER);
+        assertThat(finding.getLocation()).isEqualTo("#/properties/a");
+        assertThat(finding.getKeyword()).isEqualTo("pattern");
+        assertThat(finding.getDetail()).isEqualTo("^(\\w+\\s?)*$");
+    }
+
+    @Test
+    public void analyzeSchemaShouldFindQuantifiedAlternation() {
+        SchemaAnalysis analysis = analyze("{"
+                + "\"patternProperties\":{\"^(a|ab)+$\":{}}"
+                + "}");
+
+        assertThat(analysis.getFindings())
+            .extracting(Finding::getKind, Finding::getKeyword)
+            .containsExactly(tuple(Kind.QUANTIFIED_ALTERNATION, "patternProperties"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "^[a-z]+$",
+            "^(\\\\d{3})-(\\\\d{4})$",
+            "^(ab)*$",
+            "^([+*(|])+$",
+            "^(a|b){2,3}$"
+    })
+    public void analyzeSchemaShouldAcceptSafePattern(String pattern) {
+        SchemaAnalysis analysis = analyze("{\"pattern\":\"" + pattern + "\"}");
+
+        assertThat(analysis.getFindings()).isEmpty();
+    }
+
+    @Test
+    public void analyzeSchemaShouldFindManyPatternProperties() {
+        StringBuilder builder = new StringBuilder("{\"patternProperties\":{");
+        for (int i = 0; i < 10; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("\"^x").append(i).append("\":{}");
+        }
+        builder.append("}}");
+
+        SchemaAnalysis analysis = analyze(builder.toString());
+
+        assertThat(analysis.getFindings()).extracting(Finding::getKind)
+            .containsExactly(Kind.MANY_PATTERN_PROPERTIES);
+    }
+
+    @Test
+    public void analyzeSchemaShouldFindUnboundedUniqueItems() {
+        assertThat(analyze("{\"uniqueItems\":true}").getFindings())
+            .extracting(Finding::getKind)
+            .containsExactly(Kind.UNBOUNDED_UNIQUE_ITEMS);
+        assertThat(analyze("{\"uniqueItems\":true,\"maxItems\":10}").getFindings()).isEmpty();
+    }
+
+    @Test
+    public void analyzeSchemaShouldFindDisjunctions() {
+        SchemaAnalysis analysis = analyze("{"
+                + "\"anyOf\":[{\"type\":\"string\"},{\"not\":{\"type\":\"null\"}}]"
+                + "}");
+
+        assertThat(analysis.getFindings())
+            .extracting(Finding::getLocation, Finding::getKeyword)
+            .containsExactlyInAnyOrder(
+                    tuple("#", "anyOf"),
+                    tuple("#/anyOf/1", "not"));
+    }
+
+    @Test
+    public void analyzeSchemaShouldFindRecursiveReference() {
+        SchemaAnalysis analysis = analyze("{"
+                + "\"type\":\"object\","
+                + "\"properties\":{"
+                + "\"children\":{\"type\":\"array\",\"items\":{\"$ref\":\"#\"}}"
+                + "}}");
+
+        assertThat(analysis.getFindings()).hasSize(1);
+        Finding finding = analysis.getFindings().get(0);
+        assertThat(finding.getKind()).isEqualTo(Kind.RECURSIVE_REFERENCE);
+        assertThat(finding.getLocation()).isEqualTo("#/properties/children/items");
+        assertThat(analysis.getEvaluatorCounts()).containsExactly(2L, 2L);
+    }
+}
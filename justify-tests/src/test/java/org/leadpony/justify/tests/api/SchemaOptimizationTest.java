@@ -0,0 +1,249 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonSchemaReaderFactory;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the schemas read with the optimization enabled.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class SchemaOptimizationTest {
+
+    private static JsonValidationService service;
+
+    private static final String NESTED_ALL_OF = "{"
+            + "\"allOf\":[{\"allOf\":[{\"type\":\"string\"},{\"minLength\":2}]},{\"maxLength\":4}]"
+            + "}";
+
+    private static final String REFERENCED_ALL_OF = "{"
+            + "\"definitions\":{\"s\":{\"type\":\"string\"}},"
+            + "\"allOf\":[{\"$ref\":\"#/definitions/s\"},{\"minLength\":1}]"
+            + "}";
+
+    private static final String RECURSIVE_ALL_OF = "{"
+            + "\"type\":\"object\","
+            + "\"properties\":{\"c\":{\"allOf\":[{\"$ref\":\"#\"},{\"required\":[\"c\"]}]}}"
+            + "}";
+
+    private static final String CONSTANT_ANY_OF = "{"
+            + "\"anyOf\":[true,{\"type\":\"string\"}]"
+            + "}";
+
+    private static final String DUPLICATED_ANY_OF = "{"
+            + "\"anyOf\":[{\"type\":\"string\"},{\"type\":\"string\"},{\"type\":\"number\"}]"
+            + "}";
+
+    private static final String DUPLICATED_ANY_OF_WITH_MINIMUM = "{"
+            + "\"anyOf\":[{\"type\":\"string\"},{\"type\":\"string\"},{\"minimum\":5}]"
+            + "}";
+
+    private static final String DUPLICATED_ALL_OF = "{"
+            + "\"allOf\":[{\"minimum\":5},{\"minimum\":5}]"
+            + "}";
+
+    private static final String DUPLICATED_REFERENCES = "{"
+            + "\"definitions\":{\"s\":{\"type\":\"string\"}},"
+            + "\"allOf\":[{\"$ref\":\"#/definitions/s\"},{\"$ref\":\"#/definitions/s\"}]"
+            + "}";
+
+    private static final String DUPLICATED_ONE_OF = "{"
+            + "\"oneOf\":[{\"type\":\"string\"},{\"type\":\"string\"}]"
+            + "}";
+
+    private static final String CONSTANT_IF = "{"
+            + "\"if\":true,\"then\":{\"type\":\"string\"},\"else\":{\"type\":\"number\"}"
+            + "}";
+
+    private static final String CONSTANT_IF_FALSE = "{"
+            + "\"if\":false,\"then\":{\"type\":\"string\"},\"else\":{\"type\":\"number\"}"
+            + "}";
+
+    private static final String IMPLIED_ASSERTIONS = "{"
+            + "\"allOf\":["
+            + "{\"type\":\"number\",\"minimum\":0},"
+            + "{\"type\":\"integer\",\"minimum\":1},"
+            + "{\"type\":\"integer\",\"required\":[]}"
+            + "]}";
+
+    public static Stream<Arguments> equivalentFixtures() {
+        return Stream.of(
+                Arguments.of(NESTED_ALL_OF, "\"abc\""),
+                Arguments.of(NESTED_ALL_OF, "\"a\""),
+                Arguments.of(NESTED_ALL_OF, "\"abcdef\""),
+                Arguments.of(NESTED_ALL_OF, "42"),
+                Arguments.of(REFERENCED_ALL_OF, "\"x\""),
+                Arguments.of(REFERENCED_ALL_OF, "\"\""),
+                Arguments.of(REFERENCED_ALL_OF, "1"),
+                Arguments.of(RECURSIVE_ALL_OF, "{\"c\":{\"c\":{}}}"),
+                Arguments.of(RECURSIVE_ALL_OF, "{\"c\":{\"c\":1}}"),
+                Arguments.of(RECURSIVE_ALL_OF, "{\"c\":{}}"),
+                Arguments.of(CONSTANT_ANY_OF, "1"),
+                Arguments.of(DUPLICATED_ANY_OF, "\"x\""),
+                Arguments.of(DUPLICATED_ANY_OF, "true"),
+                Arguments.of(DUPLICATED_ANY_OF_WITH_MINIMUM, "1"),
+                Arguments.of(DUPLICATED_ANY_OF_WITH_MINIMUM, "\"x\""),
+                Arguments.of(DUPLICATED_ALL_OF, "1"),
+                Arguments.of(DUPLICATED_ALL_OF, "5"),
+                Arguments.of(DUPLICATED_REFERENCES, "1"),
+                Arguments.of(DUPLICATED_REFERENCES, "\"x\""),
+                Arguments.of(DUPLICATED_ONE_OF, "\"x\""),
+                Arguments.of(DUPLICATED_ONE_OF, "1"),
+                Arguments.of(CONSTANT_IF, "\"x\""),
+                Arguments.of(CONSTANT_IF, "1"),
+                Arguments.of(CONSTANT_IF_FALSE, "\"x\""),
+                Arguments.of(CONSTANT_IF_FALSE, "1"),
+                Arguments.of(IMPLIED_ASSERTIONS, "2"),
+                Arguments.of(IMPLIED_ASSERTIONS, "0")
+                );
+    }
+
+    @ParameterizedTest
+    @MethodSource("equivalentFixtures")
+    public void optimizedSchemaShouldReportSameProblems(String schema, String instance) {
+        List<Problem> expected = validate(readSchema(schema, false), instance);
+        List<Problem> actual = validate(readSchema(schema, true), instance);
+
+        assertThat(describe(actual)).containsExactlyInAnyOrderElementsOf(describe(expected));
+    }
+
+    @Test
+    public void optimizedSchemaShouldReportAllDuplicatedBranches() {
+        JsonSchema original = readSchema(DUPLICATED_ANY_OF_WITH_MINIMUM, false);
+        JsonSchema optimized = readSchema(DUPLICATED_ANY_OF_WITH_MINIMUM, true);
+
+        List<Problem> expected = validate(original, "1");
+        List<Problem> actual = validate(optimized, "1");
+
+        assertThat(expected).hasSize(1);
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).countBranches()).isEqualTo(expected.get(0).countBranches()).isEqualTo(3);
+    }
+
+    @Test
+    public void optimizedSchemaShouldReportAllDuplicatedSubschemas() {
+        JsonSchema original = readSchema(DUPLICATED_ALL_OF, false);
+        JsonSchema optimized = readSchema(DUPLICATED_ALL_OF, true);
+
+        assertThat(keywordsOf(validate(original, "1"))).containsExactly("minimum", "minimum");
+        assertThat(keywordsOf(validate(optimized, "1"))).containsExactly("minimum", "minimum");
+    }
+
+    @ParameterizedTest
+    @MethodSource("equivalentFixtures")
+    public void negatedOptimizedSchemaShouldReportSameResult(String schema, String instance) {
+        JsonSchema expected = service.createSchemaBuilderFactory().createBuilder()
+                .withNot(readSchema(schema, false))
+                .build();
+        JsonSchema actual = service.createSchemaBuilderFactory().createBuilder()
+                .withNot(readSchema(schema, true))
+                .build();
+
+        assertThat(validate(actual, instance).isEmpty()).isEqualTo(validate(expected, instance).isEmpty());
+    }
+
+    @Test
+    public void optimizedSchemaShouldReportImpliedAssertions() {
+        JsonSchema original = readSchema(IMPLIED_ASSERTIONS, false);
+        JsonSchema optimized = readSchema(IMPLIED_ASSERTIONS, true);
+
+        assertThat(keywordsOf(validate(original, "\"x\""))).containsExactly("type", "type", "type");
+        assertThat(keywordsOf(validate(optimized, "\"x\""))).containsExactly("type", "type", "type");
+        assertThat(keywordsOf(validate(original, "-1"))).containsExactly("minimum", "minimum");
+        assertThat(keywordsOf(validate(optimized, "-1"))).containsExactly("minimum", "minimum");
+    }
+
+    @Test
+    public void optimizedSchemaShouldKeepProblemLocation() {
+        List<Problem> problems = validate(readSchema(NESTED_ALL_OF, true), "\"a\"");
+
+        assertThat(problems).hasSize(1);
+        Problem problem = problems.get(0);
+        assertThat(problem.getKeyword()).isEqualTo("minLength");
+        assertThat(problem.getSchema().toJson().toString()).isEqualTo("{\"minLength\":2}");
+    }
+
+    @Test
+    public void optimizedSchemaShouldKeepJson() {
+        JsonSchema original = readSchema(RECURSIVE_ALL_OF, false);
+        JsonSchema optimized = readSchema(RECURSIVE_ALL_OF, true);
+
+        assertThat(optimized.toJson()).isEqualTo(original.toJson());
+        assertThat(optimized.getSubschemaAt("/properties/c/allOf/1").toJson())
+            .isEqualTo(original.getSubschemaAt("/properties/c/allOf/1").toJson());
+    }
+
+    private static JsonSchema readSchema(String json, boolean optimized) {
+        JsonSchemaReaderFactory factory = service.createSchemaReaderFactoryBuilder()
+                .withOptimization(optimized)
+                .build();
+        return factory.createSchemaReader(new StringReader(json)).read();
+    }
+
+    private static List<Problem> validate(JsonSchema schema, String instance) {
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(instance), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        return problems;
+    }
+
+    /**
+     * Describes the problems including their branches, which are compared
+     * between the original and the optimized schemas.
+     */
+    private static List<String> describe(List<Problem> problems) {
+        return problems.stream().map(SchemaOptimizationTest::describe).collect(Collectors.toList());
+    }
+
+    private static String describe(Problem problem) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(problem.getKeyword())
+            .append('@').append(problem.getPointer())
+            .append(' ').append(problem.getSchema().toJson())
+            .append(' ').append(problem.getMessage(Locale.ROOT));
+        for (int i = 0; i < problem.countBranches(); i++) {
+            builder.append(" [").append(describe(problem.getBranch(i))).append(']');
+        }
+        return builder.toString();
+    }
+
+    private static List<String> keywordsOf(List<Problem> problems) {
+        return problems.stream().map(Problem::getKeyword).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.json.JsonReader;
+
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+
+/**
+ * A benchmark measuring the startup time of the validation service.
+ *
+ * <p>
+ * Each measurement runs in a fresh JVM, which is the situation of short-lived
+ * processes like command line tools. This class can also be run directly as a
+ * Java application.
+ * </p>
+ *
+ * @author leadpony
+ */
+public class StartupTest {
+
+    private static final Logger LOG = Logger.getLogger(StartupTest.class.getName());
+
+    private static final String SCHEMA = "{"
+            + "\"$schema\":\"http://json-schema.org/draft-07/schema#\","
+            + "\"type\":\"object\","
+            + "\"properties\":{"
+            + "\"file\":{\"type\":\"string\",\"pattern\":\"^[a-z]+\\\\.json$\"},"
+            + "\"host\":{\"type\":\"string\",\"format\":\"idn-hostname\"}"
+            + "}}";
+
+    private static final String INSTANCE = "{\"file\":\"person.json\",\"host\":\"example.com\"}";
+
+    private static final long TIMEOUT_SECONDS = 60;
+
+    @Test
+    public void startupShouldNotLoadUnicodeProperties() throws IOException, InterruptedException {
+        List<String> lines = runInNewProcess("-verbose:class");
+
+        assertThat(lines).contains("valid");
+        assertThat(lines).noneMatch(line -> line.contains("com.ibm.icu."));
+    }
+
+    @Test
+    public void measureStartup() throws IOException, InterruptedException {
+        List<String> lines = runInNewProcess();
+
+        assertThat(lines).contains("valid");
+        lines.stream().filter(line -> line.contains(" ms")).forEach(LOG::info);
+    }
+
+    private static List<String> runInNewProcess(String... options) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        for (String option : options) {
+            command.add(option);
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StartupTest.class.getName());
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        assertThat(process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        assertThat(process.exitValue()).isEqualTo(0);
+        return lines;
+    }
+
+    /**
+     * Creates the service, reads a schema and validates an instance, printing
+     * the time elapsed for each step.
+     *
+     * @param args the arguments, not used.
+     */
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        JsonValidationService service = JsonValidationService.newInstance();
+        long created = System.nanoTime();
+        JsonSchema schema = service.readSchema(new StringReader(SCHEMA));
+        long read = System.nanoTime();
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(INSTANCE), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        long validated = System.nanoTime();
+
+        System.out.println("newInstance: " + toMillis(created - start) + " ms");
+        System.out.println("readSchema: " + toMillis(read - created) + " ms");
+        System.out.println("validate: " + toMillis(validated - read) + " ms");
+        System.out.println(problems.isEmpty() ? "valid" : "invalid");
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
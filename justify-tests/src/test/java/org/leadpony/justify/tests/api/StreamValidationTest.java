@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.json.JsonException;
+import javax.json.JsonReader;
+import javax.json.stream.JsonParsingException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ProblemHandler;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing
+ * {@link JsonValidationService#validate(InputStream, JsonSchema, ProblemHandler)}
+ * and {@link JsonValidationService#validate(ByteBuffer, JsonSchema, ProblemHandler)}.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class StreamValidationTest {
+
+    private static JsonValidationService service;
+
+    private static final String PAYLOAD = "{\"a\":[1,{\"b\":null},[]],\"c\":{\"d\":{\"e\":\"f\"}}}";
+
+    private static final String MALFORMED_SCHEMA = "{\"properties\":{\"a\":{\"maxLength\":3}}}";
+
+    public static Stream<Arguments> fixtures() {
+        return Stream.of(
+                Arguments.of("{\"properties\":{\"id\":{\"type\":\"integer\"}},\"required\":[\"id\"]}",
+                        "{\"id\":1,\"payload\":" + PAYLOAD + "}"),
+                Arguments.of("{\"properties\":{\"id\":{\"type\":\"integer\"}},\"required\":[\"id\"]}",
+                        "{\"payload\":" + PAYLOAD + ",\"id\":\"x\"}"),
+                Arguments.of("{\"properties\":{\"id\":{\"type\":\"integer\"}},\"required\":[\"id\"]}",
+                        "{\"payload\":" + PAYLOAD + "}"),
+                Arguments.of("{\"properties\":{\"payload\":{\"properties\":{\"c\":{\"type\":\"array\"}}}}}",
+                        "{\"payload\":" + PAYLOAD + "}"),
+                Arguments.of("{\"additionalProperties\":{\"type\":\"object\"}}",
+                        "{\"x\":" + PAYLOAD + ",\"y\":[" + PAYLOAD + "]}"),
+                Arguments.of("{\"additionalProperties\":true,\"maxProperties\":1}",
+                        "{\"x\":" + PAYLOAD + ",\"y\":" + PAYLOAD + "}"),
+                Arguments.of("{\"items\":[{\"type\":\"object\"}],\"minItems\":3}",
+                        "[" + PAYLOAD + ",[" + PAYLOAD + "]]"),
+                Arguments.of("{\"items\":{\"required\":[\"a\"]}}",
+                        "[" + PAYLOAD + ",{\"x\":" + PAYLOAD + "}]"),
+                Arguments.of("{\"anyOf\":[{\"required\":[\"a\"]},{\"required\":[\"b\"]}]}",
+                        "{\"x\":" + PAYLOAD + ",\"b\":[]}"),
+                Arguments.of("{\"oneOf\":[{\"required\":[\"a\"]},{\"required\":[\"b\"]}]}",
+                        "{\"a\":" + PAYLOAD + ",\"b\":[]}"),
+                Arguments.of("{\"not\":{\"required\":[\"a\"]}}",
+                        "{\"a\":" + PAYLOAD + "}"),
+                Arguments.of("{\"if\":{\"required\":[\"a\"]},\"then\":{\"properties\":{\"a\":{\"maxProperties\":1}}}}",
+                        "{\"a\":" + PAYLOAD + "}"),
+                Arguments.of("{\"contains\":{\"required\":[\"e\"]}}",
+                        "[" + PAYLOAD + ",{\"e\":1}]"),
+                Arguments.of("{\"propertyNames\":{\"maxLength\":1}}",
+                        "{\"a\":" + PAYLOAD + ",\"bb\":" + PAYLOAD + "}"),
+                Arguments.of("{\"properties\":{\"x\":{\"const\":" + PAYLOAD + "}}}",
+                        "{\"x\":" + PAYLOAD + "}"),
+                Arguments.of("{\"uniqueItems\":true}",
+                        "[" + PAYLOAD + "," + PAYLOAD + "]"),
+                Arguments.of("true", PAYLOAD),
+                Arguments.of("false", PAYLOAD));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    public void validateShouldReportSameProblemsAsReader(String schemaJson, String instanceJson) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+
+        List<Problem> actual = new ArrayList<>();
+        service.validate(toStream(instanceJson), schema, actual::addAll);
+
+        assertThat(describe(actual)).containsExactlyElementsOf(describe(readAll(schema, instanceJson)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    public void validateBufferShouldReportSameProblemsAsReader(String schemaJson, String instanceJson) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+
+        List<Problem> actual = new ArrayList<>();
+        service.validate(ByteBuffer.wrap(instanceJson.getBytes(StandardCharsets.UTF_8)), schema, actual::addAll);
+
+        assertThat(describe(actual)).containsExactlyElementsOf(describe(readAll(schema, instanceJson)));
+    }
+
+    public static Stream<String> malformedInstances() {
+        return Stream.of(
+                "{\"b\":[1,2",
+                "{\"b\":{\"c\":1",
+                "{\"b\":[1,}",
+                "{\"b\":[[[1]]",
+                "{}x",
+                "{} {}",
+                "01");
+    }
+
+    @ParameterizedTest
+    @MethodSource("malformedInstances")
+    @Timeout(10)
+    public void validateShouldThrowIfInstanceIsMalformed(String instanceJson) {
+        JsonSchema schema = service.readSchema(new StringReader(MALFORMED_SCHEMA));
+
+        assertThatThrownBy(() -> service.validate(toStream(instanceJson), schema, problems -> { }))
+            .isInstanceOf(JsonParsingException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("malformedInstances")
+    @Timeout(10)
+    public void validateBufferShouldThrowIfInstanceIsMalformed(String instanceJson) {
+        JsonSchema schema = service.readSchema(new StringReader(MALFORMED_SCHEMA));
+        ByteBuffer buffer = ByteBuffer.wrap(instanceJson.getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> service.validate(buffer, schema, problems -> { }))
+            .isInstanceOf(JsonParsingException.class);
+    }
+
+    @Test
+    public void validateBufferShouldReportLocationsOfProblems() {
+        JsonSchema schema = service.readSchema(new StringReader(
+                "{\"items\":{\"properties\":{\"name\":{\"maxLength\":3}}}}"));
+        String instanceJson = "[\n{\"name\":\"\u00e9t\u00e9\"},\n{\"name\":\"\u00e9t\u00e9s\"}\n]";
+
+        List<Problem> actual = new ArrayList<>();
+        service.validate(ByteBuffer.wrap(instanceJson.getBytes(StandardCharsets.UTF_8)), schema, actual::addAll);
+
+        List<Problem> expected = readAll(schema, instanceJson);
+        assertThat(actual).hasSize(1);
+        assertThat(actual.get(0).getPointer()).isEqualTo("/1/name");
+        assertThat(actual.get(0).getLocation().getLineNumber())
+            .isEqualTo(expected.get(0).getLocation().getLineNumber());
+        assertThat(actual.get(0).getLocation().getColumnNumber())
+            .isEqualTo(expected.get(0).getLocation().getColumnNumber());
+    }
+
+    @Test
+    public void validateShouldReadFromPath(@TempDir Path dir) throws IOException {
+        Path path = dir.resolve("instance.json");
+        Files.write(path, "{\"payload\":{\"a\":[1,2]},\"id\":\"x\"}".getBytes(StandardCharsets.UTF_8));
+        JsonSchema schema = service.readSchema(new StringReader(
+                "{\"properties\":{\"id\":{\"type\":\"integer\"}}}"));
+
+        List<Problem> problems = new ArrayList<>();
+        service.validate(path, schema, problems::addAll);
+
+        assertThat(problems).extracting(Problem::getPointer).containsExactly("/id");
+    }
+
+    @Test
+    public void validateShouldThrowIfPathDoesNotExist(@TempDir Path dir) {
+        JsonSchema schema = service.readSchema(new StringReader("{}"));
+
+        assertThatThrownBy(() -> service.validate(dir.resolve("nonexistent.json"), schema, problems -> { }))
+            .isInstanceOf(JsonException.class);
+    }
+
+    private static List<Problem> readAll(JsonSchema schema, String instanceJson) {
+        List<Problem> problems = new ArrayList<>();
+        try (JsonReader reader = service.createReader(new StringReader(instanceJson), schema, problems::addAll)) {
+            reader.readValue();
+        }
+        return problems;
+    }
+
+    private static List<String> describe(List<Problem> problems) {
+        List<String> descriptions = new ArrayList<>();
+        problems.forEach(problem -> descriptions.add(problem.getPointer() + ":" + problem.getMessageKey()));
+        return descriptions;
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
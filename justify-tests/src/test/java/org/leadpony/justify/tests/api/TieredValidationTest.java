@@ -0,0 +1,274 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.tests.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import javax.json.JsonValue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationLimitException;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.SpecVersion;
+import org.leadpony.justify.api.TieredValidationResult;
+import org.leadpony.justify.api.TieredValidator;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.api.ValidationTier;
+import org.leadpony.justify.tests.helper.ApiTest;
+
+/**
+ * A test class for testing the validation in tiers.
+ *
+ * @author leadpony
+ */
+@ApiTest
+public class TieredValidationTest {
+
+    private static JsonValidationService service;
+
+    private static final String SCHEMA = "{"
+            + "\"$schema\":\"http://json-schema.org/draft-07/schema#\","
+            + "\"definitions\":{"
+            + "\"node\":{"
+            + "\"type\":\"object\","
+            + "\"required\":[\"name\"],"
+            + "\"properties\":{"
+            + "\"id\":{\"type\":\"integer\",\"minimum\":1},"
+            + "\"name\":{\"type\":\"string\",\"pattern\":\"^[a-z]+$\"},"
+            + "\"children\":{\"type\":\"array\",\"items\":{\"$ref\":\"#/definitions/node\"}}"
+            + "},"
+            + "\"patternProperties\":{\"^x-\":{\"format\":\"date\"}},"
+            + "\"additionalProperties\":false,"
+            + "\"allOf\":[{\"required\":[\"id\"]}]"
+            + "}},"
+            + "\"$ref\":\"#/definitions/node\""
+            + "}";
+
+    private static final String STRUCTURAL_SCHEMA = "{"
+            + "\"$schema\":\"http://json-schema.org/draft-07/schema#\","
+            + "\"definitions\":{"
+            + "\"node\":{"
+            + "\"type\":\"object\","
+            + "\"required\":[\"name\"],"
+            + "\"properties\":{"
+            + "\"id\":{\"type\":\"integer\"},"
+            + "\"name\":{\"type\":\"string\"},"
+            + "\"children\":{\"type\":\"array\"}"
+            + "},"
+            + "\"patternProperties\":{\"^x-\":{}},"
+            + "\"additionalProperties\":false"
+            + "}},"
+            + "\"$ref\":\"#/definitions/node\""
+            + "}";
+
+    private static final String VALID = "{\"id\":1,\"name\":\"a\",\"x-date\":\"2020-01-01\"}";
+    private static final String INVALID_IN_FULL = "{\"name\":\"A\",\"x-date\":\"2020-13-01\"}";
+    private static final String INVALID_IN_STRUCTURE = "{\"name\":1,\"unknown\":true}";
+
+    @Test
+    public void getSchemaShouldReturnStructuralSubset() {
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(SCHEMA)).build();
+
+        JsonValue actual = validator.getSchema(ValidationTier.STRUCTURE).toJson();
+
+        assertThat(actual).isEqualTo(readSchema(STRUCTURAL_SCHEMA).toJson());
+    }
+
+    @Test
+    public void validateShouldApplyOnlyStructureByDefault() {
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(SCHEMA)).build();
+
+        TieredValidationResult result = validator.validate("a", toBuffer(INVALID_IN_FULL));
+
+        assertThat(result.getKey()).isEqualTo("a");
+        assertThat(result.getTiers()).containsExactly(ValidationTier.STRUCTURE);
+        assertThat(result.isValidated(ValidationTier.FULL)).isFalse();
+        assertThat(result.getProblems(ValidationTier.FULL)).isEmpty();
+        assertThat(result.isValid()).isTrue();
+    }
+
+    @Test
+    public void validateShouldFindStructuralProblems() {
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(SCHEMA)).build();
+
+        TieredValidationResult result = validator.validate(null, toBuffer(INVALID_IN_STRUCTURE));
+
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.getProblems(ValidationTier.STRUCTURE)).extracting(Problem::getPointer)
+            .containsExactlyInAnyOrder("/name", "/unknown");
+    }
+
+    @Test
+    public void validateShouldApplyFullSchemaToSampledDocuments() {
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(SCHEMA))
+                .withSampleRate(1.0)
+                .build();
+
+        TieredValidationResult result = validator.validate("a", toBuffer(INVALID_IN_FULL));
+
+        assertThat(result.getTiers()).containsExactly(ValidationTier.STRUCTURE, ValidationTier.FULL);
+        assertThat(result.getProblems(ValidationTier.STRUCTURE)).isEmpty();
+        assertThat(result.getProblems(ValidationTier.FULL)).isNotEmpty();
+        assertThat(result.isValid()).isFalse();
+    }
+
+    @Test
+    public void validateShouldApplyValidationConfigToBothTiers() {
+        ValidationConfig config = service.createValidationConfig().withMaxDepth(2);
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(SCHEMA))
+                .withValidationConfig(config)
+                .withSampleRate(1.0)
+                .build();
+        String deep = "{\"name\":\"a\",\"children\":[{\"name\":\"b\"}]}";
+
+        assertThatThrownBy(() -> validator.validate("a", toBuffer(deep)))
+            .isInstanceOf(JsonValidationLimitException.class);
+    }
+
+    @Test
+    public void validateShouldApplyFullSchemaToRequestedKeys() {
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(SCHEMA))
+                .withFullValidation(key -> key.startsWith("audit-"))
+                .build();
+
+        TieredValidationResult requested = validator.validate("audit-1", toBuffer(INVALID_IN_FULL));
+        TieredValidationResult other = validator.validate("other", toBuffer(INVALID_IN_FULL));
+        TieredValidationResult unkeyed = validator.validate(null, toBuffer(INVALID_IN_FULL));
+
+        assertThat(requested.isValidated(ValidationTier.FULL)).isTrue();
+        assertThat(requested.isValid()).isFalse();
+        assertThat(other.isValidated(ValidationTier.FULL)).isFalse();
+        assertThat(unkeyed.isValidated(ValidationTier.FULL)).isFalse();
+    }
+
+    @Test
+    public void validateShouldNotRejectDocumentsValidInFull() {
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(SCHEMA))
+                .withSampleRate(1.0)
+                .build();
+
+        TieredValidationResult result = validator.validate("a",
+                toBuffer("{\"id\":1,\"name\":\"a\",\"children\":[" + VALID + "]}"));
+
+        assertThat(result.getProblems(ValidationTier.STRUCTURE)).isEmpty();
+        assertThat(result.getProblems(ValidationTier.FULL)).isEmpty();
+    }
+
+    @Test
+    public void validateShouldCountDocumentsPerTier() {
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(SCHEMA))
+                .withFullValidation("full"::equals)
+                .build();
+
+        validator.validate("full", toBuffer(INVALID_IN_FULL));
+        validator.validate("a", toBuffer(VALID));
+        validator.validate("b", toBuffer(INVALID_IN_STRUCTURE));
+
+        assertThat(validator.getValidatedCount(ValidationTier.STRUCTURE)).isEqualTo(3);
+        assertThat(validator.getInvalidCount(ValidationTier.STRUCTURE)).isEqualTo(1);
+        assertThat(validator.getValidatedCount(ValidationTier.FULL)).isEqualTo(1);
+        assertThat(validator.getInvalidCount(ValidationTier.FULL)).isEqualTo(1);
+    }
+
+    /**
+     * Schemas whose structural subsets must accept the instance valid against
+     * the whole schema. The instance is the same for all of them.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // an external reference with siblings ignored by the original schema
+            "{\"$id\":\"http://example.com/s.json\",\"definitions\":{\"a\":{\"type\":\"string\"}},"
+            + "\"properties\":{\"p\":{\"$ref\":\"http://example.com/s.json#/definitions/a\",\"type\":\"object\"}}}",
+            // a local reference with siblings
+            "{\"definitions\":{\"a\":{\"type\":\"string\"}},"
+            + "\"properties\":{\"p\":{\"$ref\":\"#/definitions/a\",\"type\":\"object\"}}}",
+            // references to the subschemas which are not kept
+            "{\"items\":{\"type\":\"string\"},\"properties\":{\"p\":{\"$ref\":\"#/items\"}}}",
+            "{\"definitions\":{\"x\":{\"items\":{\"type\":\"string\"}}},"
+            + "\"properties\":{\"p\":{\"$ref\":\"#/definitions/x/items\"}}}",
+            "{\"anyOf\":[{\"$id\":\"#foo\",\"type\":\"string\"},true],\"properties\":{\"p\":{\"$ref\":\"#foo\"}}}",
+            // a reference to the definition inside a schema replaced
+            "{\"properties\":{\"p\":{\"$ref\":\"#/properties/q/definitions/a\"},"
+            + "\"q\":{\"$ref\":\"#/anyOf/0\",\"definitions\":{\"a\":{\"type\":\"string\"}}}},"
+            + "\"anyOf\":[{\"type\":\"string\"},true]}"
+    })
+    public void validateShouldNotRejectDocumentsValidAgainstReferences(String schema) {
+        TieredValidator validator = service.createTieredValidatorBuilder(readSchema(schema))
+                .withSampleRate(1.0)
+                .build();
+
+        TieredValidationResult result = validator.validate("a", toBuffer("{\"p\":\"x\",\"q\":\"y\"}"));
+
+        assertThat(result.getProblems(ValidationTier.FULL)).isEmpty();
+        assertThat(result.getProblems(ValidationTier.STRUCTURE)).isEmpty();
+    }
+
+    @Test
+    public void validateShouldFollowAnchorsKept() {
+        JsonSchema schema = readSchema("{\"definitions\":{\"a\":{\"$id\":\"#foo\",\"type\":\"string\"}},"
+                + "\"properties\":{\"p\":{\"$ref\":\"#foo\"}}}");
+        TieredValidator validator = service.createTieredValidatorBuilder(schema).build();
+
+        TieredValidationResult result = validator.validate("a", toBuffer("{\"p\":1}"));
+
+        assertThat(result.getProblems(ValidationTier.STRUCTURE)).extracting(Problem::getKeyword)
+            .containsExactly("type");
+    }
+
+    @Test
+    public void validateShouldKeepSpecVersionOfSchema() {
+        JsonSchema schema = service.createSchemaReaderFactoryBuilder()
+                .withDefaultSpecVersion(SpecVersion.DRAFT_04)
+                .build()
+                .createSchemaReader(new StringReader(
+                        "{\"definitions\":{\"a\":{\"id\":\"#foo\",\"type\":\"string\"}},"
+                        + "\"properties\":{\"p\":{\"$ref\":\"#foo\"}}}"))
+                .read();
+        TieredValidator validator = service.createTieredValidatorBuilder(schema).build();
+
+        TieredValidationResult result = validator.validate("a", toBuffer("{\"p\":1}"));
+
+        assertThat(result.getProblems(ValidationTier.STRUCTURE)).extracting(Problem::getKeyword)
+            .containsExactly("type");
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {-0.1, 1.1, Double.NaN})
+    public void withSampleRateShouldRejectRateOutOfRange(double rate) {
+        JsonSchema schema = readSchema(SCHEMA);
+
+        assertThatThrownBy(() -> service.createTieredValidatorBuilder(schema).withSampleRate(rate))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static JsonSchema readSchema(String schema) {
+        return service.readSchema(new StringReader(schema));
+    }
+
+    private static ByteBuffer toBuffer(String document) {
+        return ByteBuffer.wrap(document.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -24,6 +24,7 @@ module org.leadpony.justify {
     requires com.ibm.icu;
     requires transitive java.json;
     requires java.logging;
+    requires static java.management;
 
     uses org.leadpony.justify.spi.ContentEncodingScheme;
     uses org.leadpony.justify.spi.ContentMimeType;
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.List;
+
+/**
+ * A problem which represents multiple occurrences of the same problem found at
+ * different locations in the JSON instance.
+ *
+ * <p>
+ * Problems of this type are reported only when the problem aggregation is
+ * enabled by {@link ValidationConfig#withProblemAggregation(boolean)}. The
+ * location, the pointer and the parameters of this problem are the ones of the
+ * first occurrence.
+ * </p>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ */
+public interface AggregatedProblem extends Problem {
+
+    /**
+     * Returns the number of the occurrences of this problem.
+     *
+     * @return the number of the occurrences, which is at least one.
+     */
+    int getCount();
+
+    /**
+     * Returns the JSON pointer where this problem occurred first.
+     *
+     * @return the JSON pointer of the first occurrence. This may be {@code null}.
+     */
+    default String getFirstPointer() {
+        return getPointer();
+    }
+
+    /**
+     * Returns the JSON pointer where this problem occurred last.
+     *
+     * @return the JSON pointer of the last occurrence. This may be {@code null}.
+     */
+    String getLastPointer();
+
+    /**
+     * Returns the JSON pointers of the occurrences sampled from the beginning of
+     * the instance. The number of the pointers is limited and may be less than
+     * {@link #getCount()}.
+     *
+     * @return the unmodifiable list of the sampled pointers, never be
+     *         {@code null}.
+     */
+    List<String> getSamplePointers();
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.List;
+
+import javax.json.stream.JsonParser;
+
+/**
+ * A problem handler which passes the problems to another handler
+ * asynchronously, so that a slow handler does not stall the validation.
+ *
+ * <p>
+ * The problems are stored in a bounded buffer and delivered in batches to the
+ * underlying handler by a single task at a time, in the same order as they
+ * were found. The problem instances are passed as they are, without being
+ * copied. When the buffer is full, the problems are handled according to the
+ * {@link OverflowPolicy} of this handler.
+ * </p>
+ *
+ * <p>
+ * This handler can be shared by multiple parsers or readers, also as a
+ * {@link ProblemHandlerFactory} which returns this handler itself for each
+ * parser. It must be closed to deliver the problems remaining in the buffer.
+ * Instances of this type are safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ * @see JsonValidationService#createAsyncProblemHandlerBuilder(ProblemHandler)
+ */
+public interface AsyncProblemHandler extends ProblemHandler, ProblemHandlerFactory, AutoCloseable {
+
+    /**
+     * Adds the problems to the buffer of this handler.
+     *
+     * @param problems the problems found, cannot be {@code null}.
+     * @throws IllegalStateException if this handler was already closed.
+     */
+    @Override
+    void handleProblems(List<Problem> problems);
+
+    /**
+     * Returns this handler itself for any parser.
+     *
+     * @param parser the JSON parser for which problem handler will be returned.
+     * @return this handler.
+     */
+    @Override
+    default ProblemHandler createProblemHandler(JsonParser parser) {
+        return this;
+    }
+
+    /**
+     * Waits until all the problems added so far have been delivered to the
+     * underlying handler.
+     *
+     * <p>
+     * If the underlying handler threw an exception since the last call of this
+     * method, the exception is rethrown by this method. The problems after the
+     * failed batch are delivered regardless.
+     * </p>
+     *
+     * @throws IllegalStateException if the current thread was interrupted while
+     *                               waiting.
+     */
+    void flush();
+
+    /**
+     * Delivers the problems remaining in the buffer and closes this handler.
+     * Any problem added after this method was called is rejected. The exception
+     * thrown by the underlying handler is rethrown as described in
+     * {@link #flush()}.
+     */
+    @Override
+    void close();
+
+    /**
+     * Returns the number of problems which were not delivered because the buffer
+     * was full.
+     *
+     * @return the number of problems dropped.
+     */
+    long getDroppedCount();
+
+    /**
+     * The policies of the problems found while the buffer is full.
+     *
+     * @author leadpony
+     */
+    enum OverflowPolicy {
+        /**
+         * Blocks the thread adding the problem until the buffer has room.
+         */
+        BLOCK,
+        /**
+         * Drops the oldest problem in the buffer to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Drops the new problem, which is only counted.
+         */
+        COUNT_ONLY
+    }
+}
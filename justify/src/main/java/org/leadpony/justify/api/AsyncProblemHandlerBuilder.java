@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A builder interface for building an {@link AsyncProblemHandler} instance.
+ *
+ * <p>
+ * The following code sample shows how to build a handler publishing the
+ * problems to a slow sink without stalling the validation.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * try (AsyncProblemHandler handler = service.createAsyncProblemHandlerBuilder(sink)
+ *         .withCapacity(4096)
+ *         .withOverflowPolicy(AsyncProblemHandler.OverflowPolicy.DROP_OLDEST)
+ *         .build()) {
+ *     JsonProvider provider = service.createJsonProvider(schema, handler);
+ *     // Uses the provider.
+ * }
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * Each instance of this type is NOT safe for use by multiple concurrent
+ * threads.
+ * </p>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ */
+public interface AsyncProblemHandlerBuilder {
+
+    /**
+     * Builds a new instance of {@link AsyncProblemHandler}.
+     *
+     * @return newly created instance of {@link AsyncProblemHandler}, never be
+     *         {@code null}.
+     */
+    AsyncProblemHandler build();
+
+    /**
+     * Specifies the maximum number of problems held in the buffer. By default,
+     * the buffer holds 1024 problems.
+     *
+     * @param capacity the capacity of the buffer, must be positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code capacity} is not
+     *                                  positive.
+     */
+    AsyncProblemHandlerBuilder withCapacity(int capacity);
+
+    /**
+     * Specifies the maximum number of problems delivered to the underlying
+     * handler at a time. By default, a batch holds up to 256 problems.
+     *
+     * @param maxBatchSize the maximum size of a batch, must be positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code maxBatchSize} is
+     *                                  not positive.
+     */
+    AsyncProblemHandlerBuilder withMaxBatchSize(int maxBatchSize);
+
+    /**
+     * Specifies the policy of the problems found while the buffer is full. By
+     * default, {@link AsyncProblemHandler.OverflowPolicy#BLOCK} is used.
+     *
+     * @param policy the policy of the overflowing problems.
+     * @return this builder.
+     * @throws NullPointerException if the specified {@code policy} is
+     *                              {@code null}.
+     */
+    AsyncProblemHandlerBuilder withOverflowPolicy(AsyncProblemHandler.OverflowPolicy policy);
+
+    /**
+     * Specifies the executor running the task delivering the problems. By
+     * default, an internal pool of daemon threads is used.
+     *
+     * @param executor the executor running the delivery.
+     * @return this builder.
+     * @throws NullPointerException if the specified {@code executor} is
+     *                              {@code null}.
+     */
+    AsyncProblemHandlerBuilder withExecutor(Executor executor);
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.List;
+
+import javax.management.MXBean;
+
+/**
+ * A profiler which records the cost of the evaluations for each keyword in the
+ * schemas.
+ *
+ * <p>
+ * A profiler is enabled by passing it to
+ * {@link ValidationConfig#withProfiler(EvaluationProfiler)}. Every evaluator
+ * created for a keyword is then decorated with one that records the number of
+ * the evaluators created, the number of the parser events processed, the time
+ * spent and the results of the evaluations. The times recorded for a keyword
+ * which has subschemas, such as {@code "properties"}, include the times spent
+ * by the keywords in the subschemas. Nothing is decorated when no profiler is
+ * specified.
+ * </p>
+ *
+ * <p>
+ * This type is also a JMX MXBean. The following code sample shows how to
+ * expose a profiler through the platform MBean server. The module
+ * {@code java.management} is optional for this library, so it must be added to
+ * the application in order to register the profiler or to measure the CPU
+ * time.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * EvaluationProfiler profiler = service.createProfiler();
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(profiler,
+ *     new ObjectName("org.leadpony.justify:type=EvaluationProfiler"));
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * Each instance of this type is safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ */
+@MXBean
+public interface EvaluationProfiler {
+
+    /**
+     * Returns the snapshot of the statistics recorded so far. The entries are
+     * sorted in descending order of the wall-clock time.
+     *
+     * @return the unmodifiable list of the entries, never be {@code null}.
+     */
+    List<Entry> getEntries();
+
+    /**
+     * Returns the total number of the parser events processed by all of the
+     * evaluators.
+     *
+     * @return the total number of the events.
+     */
+    long getEventCount();
+
+    /**
+     * Discards all of the statistics recorded so far.
+     */
+    void reset();
+
+    /**
+     * The statistics recorded for a keyword in a schema.
+     *
+     * @author leadpony
+     */
+    interface Entry {
+
+        /**
+         * Returns the location of the schema which contains the keyword. The
+         * location is a URI with a JSON pointer as its fragment if the schema can
+         * be located, or the identifier of the schema otherwise. The location is
+         * an empty string if neither is available.
+         *
+         * @return the location of the schema, never be {@code null}.
+         */
+        String getSchemaLocation();
+
+        /**
+         * Returns the name of the keyword.
+         *
+         * @return the name of the keyword, never be {@code null}.
+         */
+        String getKeyword();
+
+        /**
+         * Returns the number of the evaluators created for the keyword.
+         *
+         * @return the number of the evaluators.
+         */
+        long getEvaluatorCount();
+
+        /**
+         * Returns the number of the parser events processed by the evaluators.
+         *
+         * @return the number of the events.
+         */
+        long getEventCount();
+
+        /**
+         * Returns the wall-clock time spent by the evaluators.
+         *
+         * @return the time in nanoseconds.
+         */
+        long getWallTime();
+
+        /**
+         * Returns the CPU time spent by the evaluators.
+         *
+         * @return the time in nanoseconds, or zero if the JVM does not support the
+         *         measurement of the CPU time or the module
+         *         {@code java.management} is not available.
+         */
+        long getCpuTime();
+
+        /**
+         * Returns the number of the evaluations which resulted in success.
+         *
+         * @return the number of the successful evaluations.
+         */
+        long getTrueCount();
+
+        /**
+         * Returns the number of the evaluations which resulted in failure.
+         *
+         * @return the number of the failed evaluations.
+         */
+        long getFalseCount();
+    }
+}
@@ -66,6 +66,23 @@ public interface Evaluator {
         return false;
     }
 
+    /**
+     * Checks whether this evaluator ignores all the events inside the array or
+     * object which has just started at the specified depth. When this method
+     * returns {@code true}, the contents of the container may be skipped and
+     * only the event closing the container will be passed to
+     * {@link #evaluate(JsonParser.Event, int, ProblemDispatcher)}. This method
+     * returns {@code false} by default.
+     *
+     * @param depth the depth where the array or object started.
+     * @return {@code true} if this evaluator does not need the contents of the
+     *         container, otherwise {@code false}.
+     * @since 2.1.0
+     */
+    default boolean ignoresSubtree(int depth) {
+        return false;
+    }
+
     /**
      * The evaluator which evaluates anything as true.
      */
@@ -74,5 +91,10 @@ public interface Evaluator {
         public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
             return Result.TRUE;
         }
+
+        @Override
+        public boolean ignoresSubtree(int depth) {
+            return true;
+        }
     };
 }
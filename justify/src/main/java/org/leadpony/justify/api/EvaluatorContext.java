@@ -49,6 +49,19 @@ public interface EvaluatorContext {
      */
     String getPointer();
 
+    /**
+     * Returns the JSON value which starts at the current parser event, if the
+     * instance being validated is already held in memory. Evaluators can use the
+     * returned value instead of building it from the subsequent parser events.
+     *
+     * @return the JSON value at the current position, or {@code null} if the
+     *         value is not available.
+     * @since 2.1.0
+     */
+    default JsonValue getCurrentValue() {
+        return null;
+    }
+
     /**
      * Returns the instance of JSON provider.
      *
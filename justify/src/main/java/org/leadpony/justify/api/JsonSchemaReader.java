@@ -93,6 +93,20 @@ public interface JsonSchemaReader extends Closeable {
      */
     String METASCHEMA = "org.leadpony.justify.api.JsonSchemaReader.METASCHEMA";
 
+    /**
+     * The property used to specify whether the schema references are resolved
+     * on first use or not.
+     */
+    String LAZY_REFERENCE_RESOLUTION = "org.leadpony.justify.api.JsonSchemaReader.LAZY_REFERENCE_RESOLUTION";
+
+    /**
+     * The property used to specify whether the schema read is optimized for
+     * validation or not.
+     *
+     * @since 2.1.0
+     */
+    String OPTIMIZATION = "org.leadpony.justify.api.JsonSchemaReader.OPTIMIZATION";
+
     /**
      * Returns a JSON schema that is represented in the input source. This method
      * needs to be called only once for a reader instance.
@@ -143,4 +143,47 @@ public interface JsonSchemaReaderFactoryBuilder {
      *                              {@code null}.
      */
     JsonSchemaReaderFactoryBuilder withMetaschema(JsonSchema metaschema);
+
+    /**
+     * Specifies whether the schema references are resolved on first use or not.
+     *
+     * <p>
+     * By default, all of the references in the schema are resolved and checked
+     * for infinite recursive looping when the schema is read, and the reader
+     * reports any problem found. If this option is enabled, each reference is
+     * resolved only when it is evaluated for the first time, and unresolvable
+     * or looping references are reported as validation problems instead. This
+     * may reduce the time and the memory needed for reading a large schema of
+     * which only a small part will be used.
+     * </p>
+     *
+     * @param enabled {@code true} to resolve the references on first use,
+     *                {@code false} to resolve them when the schema is read.
+     * @return this builder.
+     */
+    JsonSchemaReaderFactoryBuilder withLazyReferenceResolution(boolean enabled);
+
+    /**
+     * Specifies whether the schema read is optimized for validation or not.
+     *
+     * <p>
+     * If this option is enabled, the reader rewrites the evaluation of the schema
+     * after all of the references are resolved. The subschemas of nested
+     * {@code "allOf"} and small non-recursive {@code "$ref"} are flattened into
+     * the enclosing schemas, and {@code "anyOf"} and {@code "if"} with constant
+     * subschemas are folded. The schema itself and its JSON representation are
+     * not changed.
+     * </p>
+     *
+     * <p>
+     * The optimization never changes whether an instance is valid or not, nor the
+     * problems reported. This value is {@code false} by default.
+     * </p>
+     *
+     * @param enabled {@code true} to optimize the schema, {@code false} to
+     *                evaluate the schema as written.
+     * @return this builder.
+     * @since 2.1.0
+     */
+    JsonSchemaReaderFactoryBuilder withOptimization(boolean enabled);
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+
+/**
+ * A builder interface for building a {@link JsonSchemaResolver} instance which
+ * loads and caches external JSON schemas.
+ *
+ * <p>
+ * The resolver built by this builder keeps every schema it has loaded in a
+ * concurrent cache, optionally backed by a directory on disk. When a schema
+ * document is fetched, the resolver scans it for external {@code $ref} targets
+ * and starts loading them in parallel, before they are actually requested.
+ * </p>
+ *
+ * <p>
+ * The following code sample shows how to build a resolver and use it for
+ * reading a schema.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * JsonValidationService service = JsonValidationService.newInstance();
+ * JsonSchemaResolver resolver = service.createSchemaResolverBuilder()
+ *     .withCacheDirectory(Paths.get("schema-cache"))
+ *     .build();
+ * JsonSchemaReaderFactory factory = service.createSchemaReaderFactoryBuilder()
+ *     .withSchemaResolver(resolver)
+ *     .build();
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * Each instance of this type is NOT safe for use by multiple concurrent
+ * threads. The built resolver is safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ */
+public interface JsonSchemaResolverBuilder {
+
+    /**
+     * Builds a new instance of {@link JsonSchemaResolver}.
+     *
+     * @return newly created instance of {@link JsonSchemaResolver}, never be
+     *         {@code null}.
+     */
+    JsonSchemaResolver build();
+
+    /**
+     * Specifies the directory where the loaded schema documents will be stored.
+     * Documents found in the directory will be used instead of loading them
+     * again. Documents with {@code file} scheme are never stored. By default, no
+     * directory is used.
+     *
+     * @param directory the directory where the loaded schema documents will be
+     *                  stored.
+     * @return this builder.
+     * @throws NullPointerException if the specified {@code directory} is
+     *                              {@code null}.
+     */
+    JsonSchemaResolverBuilder withCacheDirectory(Path directory);
+
+    /**
+     * Specifies the loader of schema documents for the given URI scheme. The
+     * specified loader replaces the default one for the scheme.
+     *
+     * <p>
+     * By default, documents with {@code file} scheme are loaded from the file
+     * system and documents with any other scheme, including {@code jar}, are
+     * loaded with {@link java.net.URL#openStream()}.
+     * </p>
+     *
+     * @param scheme the URI scheme, such as {@code "https"}.
+     * @param loader the loader of schema documents.
+     * @return this builder.
+     * @throws NullPointerException if any of the specified parameters is
+     *                              {@code null}.
+     */
+    JsonSchemaResolverBuilder withLoader(String scheme, Loader loader);
+
+    /**
+     * Specifies the executor to be used for loading schema documents in
+     * parallel. By default, an internal pool of daemon threads is used.
+     *
+     * @param executor the executor to be used for loading schema documents.
+     * @return this builder.
+     * @throws NullPointerException if the specified {@code executor} is
+     *                              {@code null}.
+     */
+    JsonSchemaResolverBuilder withExecutor(Executor executor);
+
+    /**
+     * A loader of schema documents identified by URI.
+     *
+     * @author leadpony
+     */
+    @FunctionalInterface
+    interface Loader {
+
+        /**
+         * Opens the stream for reading the schema document.
+         *
+         * @param location the location of the schema document, which does not
+         *                 have any fragment.
+         * @return the input stream to read the document, or {@code null} if the
+         *         document does not exist.
+         * @throws IOException if an I/O error occurred while opening the stream.
+         */
+        InputStream openStream(URI location) throws IOException;
+    }
+}
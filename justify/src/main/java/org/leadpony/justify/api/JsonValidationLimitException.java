@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.Collections;
+
+/**
+ * {@code JsonValidationLimitException} indicates that a JSON instance exceeded
+ * one of the limits on the resources consumed by the validation, such as the
+ * nesting depth or the number of evaluators.
+ *
+ * <p>
+ * The exception holds a single problem describing the limit exceeded. The
+ * problems found before the limit was reached have been already passed to the
+ * problem handler.
+ * </p>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ * @see ValidationConfig#withMaxDepth(int)
+ * @see ValidationConfig#withMaxEvaluators(int)
+ * @see ValidationConfig#withMaxStringLength(int)
+ * @see ValidationConfig#withMaxContainerSize(int)
+ */
+@SuppressWarnings("serial")
+public class JsonValidationLimitException extends JsonValidatingException {
+
+    /**
+     * Constructs a new runtime exception.
+     *
+     * @param problem the problem describing the limit exceeded.
+     */
+    public JsonValidationLimitException(Problem problem) {
+        super(Collections.singletonList(problem));
+    }
+}
@@ -17,17 +17,25 @@
 package org.leadpony.justify.api;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.json.JsonException;
 import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
+import javax.json.JsonValue;
 import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
 import javax.json.stream.JsonParser;
 import javax.json.stream.JsonParserFactory;
 
@@ -100,6 +108,16 @@ public interface JsonValidationService extends JsonSchemaReaderFactory {
      */
     JsonSchemaReaderFactoryBuilder createSchemaReaderFactoryBuilder();
 
+    /**
+     * Creates a builder for building a JSON schema resolver which loads and
+     * caches external JSON schemas.
+     *
+     * @return newly created instance of JSON schema resolver builder.
+     * @see JsonSchemaResolverBuilder
+     * @since 2.1.0
+     */
+    JsonSchemaResolverBuilder createSchemaResolverBuilder();
+
     /**
      * Reads a JSON schema from a byte stream. The character encoding of the stream
      * is determined as described in RFC 7159.
@@ -211,6 +229,29 @@ public interface JsonValidationService extends JsonSchemaReaderFactory {
      */
     ValidationConfig createValidationConfig();
 
+    /**
+     * Creates a profiler which records the cost of the evaluations for each
+     * keyword. The profiler is enabled by passing it to
+     * {@link ValidationConfig#withProfiler(EvaluationProfiler)}.
+     *
+     * @return newly created profiler, never be {@code null}.
+     * @since 2.1.0
+     */
+    EvaluationProfiler createProfiler();
+
+    /**
+     * Analyzes the specified schema statically and estimates the cost of the
+     * validation against it. All of the schemas referenced from the specified
+     * schema are also analyzed.
+     *
+     * @param schema the schema to be analyzed, cannot be {@code null}.
+     * @return the result of the analysis, never be {@code null}.
+     * @throws NullPointerException if the specified {@code schema} is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    SchemaAnalysis analyzeSchema(JsonSchema schema);
+
     /**
      * Creates a parser factory for creating {@code JsonParser} instances. Parsers
      * created by the factory can validate JSON documents while parsing.
@@ -454,9 +495,355 @@ public interface JsonValidationService extends JsonSchemaReaderFactory {
     JsonReader createReader(JsonParser parser, JsonSchema schema, ProblemHandler handler);
 
     /**
-     * Creates a JSON provider for validating JSON documents while parsing and
-     * reading. This method is intended to be used with Java API for JSON Binding
-     * (JSON-B).
+     * Creates a JSON generator writing to the specified character stream, which
+     * validates the JSON document while writing.
+     *
+     * <p>
+     * Each call to the generator is checked by the same evaluators as the
+     * parsers validating the input, and the document is never parsed again.
+     * The problems found are passed to the handler as soon as they are found,
+     * after the value causing them has been written. The problems carry no
+     * location in the output.
+     * </p>
+     *
+     * @param writer  the character stream to which JSON is to be written.
+     * @param schema  the JSON schema to apply when validating JSON document.
+     * @param handler the object which handles problems found during the
+     *                validation, cannot be {@code null}.
+     * @return newly created instance of {@code JsonGenerator}, which is defined
+     *         in the JSON Processing API. It must be closed by the method caller
+     *         after use.
+     * @throws NullPointerException if any of specified parameters is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    JsonGenerator createGenerator(Writer writer, JsonSchema schema, ProblemHandler handler);
+
+    /**
+     * Creates a JSON generator writing to the specified byte stream, which
+     * validates the JSON document while writing. The characters written to the
+     * stream are encoded in UTF-8.
+     *
+     * <p>
+     * The document is validated as described in
+     * {@link #createGenerator(Writer, JsonSchema, ProblemHandler)}.
+     * </p>
+     *
+     * @param out     the byte stream to which JSON is to be written.
+     * @param schema  the JSON schema to apply when validating JSON document.
+     * @param handler the object which handles problems found during the
+     *                validation, cannot be {@code null}.
+     * @return newly created instance of {@code JsonGenerator}, which is defined
+     *         in the JSON Processing API. It must be closed by the method caller
+     *         after use.
+     * @throws NullPointerException if any of specified parameters is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    JsonGenerator createGenerator(OutputStream out, JsonSchema schema, ProblemHandler handler);
+
+    /**
+     * Validates a JSON value already held in memory, such as the one read by
+     * {@link JsonReader} or serialized by Java API for JSON Binding (JSON-B).
+     *
+     * <p>
+     * The value is validated directly without being serialized. Keywords
+     * comparing values, such as {@code const}, {@code enum} and
+     * {@code uniqueItems}, reuse the existing values in the tree, and
+     * {@code required} looks up the properties by key.
+     * </p>
+     *
+     * @param schema   the JSON schema to apply when validating the value.
+     * @param instance the JSON value to validate.
+     * @return the unmodifiable list of the problems found. The list is empty if
+     *         the value is valid.
+     * @throws NullPointerException if any of specified parameters is {@code null}.
+     * @since 2.1.0
+     */
+    List<Problem> validate(JsonSchema schema, JsonValue instance);
+
+    /**
+     * Validates a JSON document read from a byte stream, without building any
+     * value or delivering the parser events to the caller. The character
+     * encoding of the stream is determined as described in RFC 7159.
+     *
+     * <p>
+     * The arrays and objects which no keyword in the schema needs to inspect,
+     * such as the properties unconstrained by the schema, are skipped by the
+     * underlying parser, though their syntax is still checked. The rest of the
+     * document is not evaluated once the result of the validation is determined.
+     * It is still read to check its syntax unless any problem was found, so the
+     * syntax errors following a problem may not be reported.
+     * </p>
+     *
+     * @param in      the byte stream from which JSON is to be read. The specified
+     *                stream will be closed automatically in this method.
+     * @param schema  the JSON schema to apply when validating JSON document.
+     * @param handler the object which handles problems found during the
+     *                validation, cannot be {@code null}.
+     * @throws JsonException        if an I/O error or a syntax error occurs
+     *                              while reading.
+     * @throws NullPointerException if any of specified parameters is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    void validate(InputStream in, JsonSchema schema, ProblemHandler handler);
+
+    /**
+     * Validates a JSON document read from a path, without building any value or
+     * delivering the parser events to the caller.
+     *
+     * <p>
+     * The arrays and objects which no keyword in the schema needs to inspect
+     * are skipped as described in
+     * {@link #validate(InputStream, JsonSchema, ProblemHandler)}.
+     * </p>
+     *
+     * @param path    the path from which JSON is to be read.
+     * @param schema  the JSON schema to apply when validating JSON document.
+     * @param handler the object which handles problems found during the
+     *                validation, cannot be {@code null}.
+     * @throws JsonException        if an I/O error or a syntax error occurs
+     *                              while reading.
+     * @throws NullPointerException if any of specified parameters is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    void validate(Path path, JsonSchema schema, ProblemHandler handler);
+
+    /**
+     * Validates a JSON document encoded in UTF-8 and held in a byte buffer,
+     * without building any value or delivering the parser events to the caller.
+     *
+     * <p>
+     * The document is read by the tokenizer built into this library instead of
+     * the JSON-P provider. The tokenizer works directly on the bytes and does
+     * not decode the strings which are never inspected by the keywords. The
+     * arrays and objects which no keyword in the schema needs to inspect are
+     * skipped as described in
+     * {@link #validate(InputStream, JsonSchema, ProblemHandler)}.
+     * </p>
+     *
+     * <p>
+     * A file up to 2 GB can be validated without being read into the heap by
+     * passing the buffer mapped with
+     * {@link java.nio.channels.FileChannel#map FileChannel.map()}. Larger files
+     * can be validated with {@link #validate(Path, JsonSchema, ProblemHandler)},
+     * which reads large files through the windows mapped into memory.
+     * </p>
+     *
+     * @param buffer  the buffer holding the document from its current position
+     *                to its limit. Neither the position nor the limit will be
+     *                modified by this method.
+     * @param schema  the JSON schema to apply when validating JSON document.
+     * @param handler the object which handles problems found during the
+     *                validation, cannot be {@code null}.
+     * @throws JsonException        if a syntax error occurs while reading.
+     * @throws NullPointerException if any of specified parameters is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    void validate(ByteBuffer buffer, JsonSchema schema, ProblemHandler handler);
+
+    /**
+     * Validates a JSON value already held in memory with the specified
+     * configuration.
+     *
+     * <p>
+     * The value is validated as described in
+     * {@link #validate(JsonSchema, JsonValue)}. The configuration must contain
+     * the schema to apply, and its problem handler receives the problems found.
+     * The limits of the problems and the resources, and the profiler, given in
+     * the configuration are applied to the validation.
+     * </p>
+     *
+     * @param instance the JSON value to validate.
+     * @param config   the configuration of the validation.
+     * @throws JsonValidationLimitException if any of the resource limits given
+     *                                      in the configuration is exceeded.
+     * @throws NullPointerException         if any of specified parameters is
+     *                                      {@code null}.
+     * @throws IllegalArgumentException     if the configuration does not contain
+     *                                      the schema.
+     * @since 2.1.0
+     */
+    void validate(JsonValue instance, ValidationConfig config);
+
+    /**
+     * Validates a JSON document read from a byte stream with the specified
+     * configuration.
+     *
+     * <p>
+     * The document is validated as described in
+     * {@link #validate(InputStream, JsonSchema, ProblemHandler)}. The
+     * configuration must contain the schema to apply, and its problem handler
+     * receives the problems found. The limits of the problems and the
+     * resources, and the profiler, given in the configuration are applied to
+     * the validation, including the arrays and objects skipped by the parser.
+     * The default values are never filled by this method.
+     * </p>
+     *
+     * @param in     the byte stream from which JSON is to be read. The specified
+     *               stream will be closed automatically in this method.
+     * @param config the configuration of the validation.
+     * @throws JsonException            if an I/O error or a syntax error occurs
+     *                                  while reading, or if any of the resource
+     *                                  limits is exceeded.
+     * @throws NullPointerException     if any of specified parameters is
+     *                                  {@code null}.
+     * @throws IllegalArgumentException if the configuration does not contain the
+     *                                  schema.
+     * @since 2.1.0
+     */
+    void validate(InputStream in, ValidationConfig config);
+
+    /**
+     * Validates a JSON document read from a path with the specified
+     * configuration.
+     *
+     * <p>
+     * The configuration is applied as described in
+     * {@link #validate(InputStream, ValidationConfig)}.
+     * </p>
+     *
+     * @param path   the path from which JSON is to be read.
+     * @param config the configuration of the validation.
+     * @throws JsonException            if an I/O error or a syntax error occurs
+     *                                  while reading, or if any of the resource
+     *                                  limits is exceeded.
+     * @throws NullPointerException     if any of specified parameters is
+     *                                  {@code null}.
+     * @throws IllegalArgumentException if the configuration does not contain the
+     *                                  schema.
+     * @since 2.1.0
+     */
+    void validate(Path path, ValidationConfig config);
+
+    /**
+     * Validates a JSON document encoded in UTF-8 and held in a byte buffer with
+     * the specified configuration.
+     *
+     * <p>
+     * The document is read as described in
+     * {@link #validate(ByteBuffer, JsonSchema, ProblemHandler)}, and the
+     * configuration is applied as described in
+     * {@link #validate(InputStream, ValidationConfig)}.
+     * </p>
+     *
+     * @param buffer the buffer holding the document from its current position
+     *               to its limit. Neither the position nor the limit will be
+     *               modified by this method.
+     * @param config the configuration of the validation.
+     * @throws JsonException            if a syntax error occurs while reading, or
+     *                                  if any of the resource limits is
+     *                                  exceeded.
+     * @throws NullPointerException     if any of specified parameters is
+     *                                  {@code null}.
+     * @throws IllegalArgumentException if the configuration does not contain the
+     *                                  schema.
+     * @since 2.1.0
+     */
+    void validate(ByteBuffer buffer, ValidationConfig config);
+
+    /**
+     * Validates the JSON documents supplied by the specified sources in
+     * parallel, using the default executor of this library. On Java 21 and later
+     * the documents are validated in virtual threads.
+     *
+     * <p>
+     * This method is equivalent to
+     * {@link #validateAll(Stream, JsonSchema, Executor, int)} with the default
+     * executor and the default maximum number of documents validated at the
+     * same time.
+     * </p>
+     *
+     * @param sources the sources of the JSON documents.
+     * @param schema  the JSON schema to apply when validating the documents.
+     * @return the stream of the results, in the same order as the sources.
+     * @throws NullPointerException if any of specified parameters is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    Stream<ValidationResult> validateAll(Stream<? extends ValidationSource> sources, JsonSchema schema);
+
+    /**
+     * Validates the JSON documents supplied by the specified sources in
+     * parallel, using the specified executor.
+     *
+     * <p>
+     * The documents are validated as described in
+     * {@link #validate(InputStream, JsonSchema, ProblemHandler)}. The schema is
+     * shared by all the documents, while each document is validated by its own
+     * validator confined to a single task. The sources are pulled lazily from
+     * the stream as the results are consumed, and at most
+     * {@code maxConcurrency} documents are validated or waiting for their
+     * results to be consumed at the same time.
+     * </p>
+     *
+     * <p>
+     * The returned stream is sequential. Closing it closes the stream of the
+     * sources and cancels the validations not started yet.
+     * </p>
+     *
+     * @param sources        the sources of the JSON documents.
+     * @param schema         the JSON schema to apply when validating the
+     *                       documents.
+     * @param executor       the executor running the validations.
+     * @param maxConcurrency the maximum number of documents validated at the
+     *                       same time, must be positive.
+     * @return the stream of the results, in the same order as the sources.
+     * @throws NullPointerException     if any of specified parameters is
+     *                                  {@code null}.
+     * @throws IllegalArgumentException if the specified {@code maxConcurrency} is
+     *                                  not positive.
+     * @since 2.1.0
+     */
+    Stream<ValidationResult> validateAll(Stream<? extends ValidationSource> sources, JsonSchema schema,
+            Executor executor, int maxConcurrency);
+
+    /**
+     * Validates the JSON documents supplied by the specified sources in
+     * parallel with the specified configuration, using the specified executor.
+     *
+     * <p>
+     * The documents are validated as described in
+     * {@link #validateAll(Stream, JsonSchema, Executor, int)}, and the
+     * configuration is applied to each document as described in
+     * {@link #validate(InputStream, ValidationConfig)}. The problems are
+     * collected into the results, so any problem handler in the configuration
+     * is ignored. A document exceeding any of the resource limits is reported
+     * as a result with the exception.
+     * </p>
+     *
+     * @param sources        the sources of the JSON documents.
+     * @param config         the configuration of the validation.
+     * @param executor       the executor running the validations.
+     * @param maxConcurrency the maximum number of documents validated at the
+     *                       same time, must be positive.
+     * @return the stream of the results, in the same order as the sources.
+     * @throws NullPointerException     if any of specified parameters is
+     *                                  {@code null}.
+     * @throws IllegalArgumentException if the configuration does not contain the
+     *                                  schema, or if the specified
+     *                                  {@code maxConcurrency} is not positive.
+     * @since 2.1.0
+     */
+    Stream<ValidationResult> validateAll(Stream<? extends ValidationSource> sources, ValidationConfig config,
+            Executor executor, int maxConcurrency);
+
+    /**
+     * Creates a JSON provider for validating JSON documents while parsing,
+     * reading and writing. This method is intended to be used with Java API for
+     * JSON Binding (JSON-B).
+     *
+     * <p>
+     * Since 2.1.0, the generators created by the provider also validate the
+     * documents they write, as described in
+     * {@link #createGenerator(Writer, JsonSchema, ProblemHandler)}, which allows
+     * the objects serialized by JSON-B to be validated in a single pass. The
+     * generators never fill the default values, even if
+     * {@link ValidationConfig#DEFAULT_VALUES} is enabled in the configuration.
+     * </p>
      *
      * @param schema         the JSON schema to apply when validating JSON document.
      * @param handlerFactory the factory to supply problem handlers, cannot be
@@ -519,6 +906,32 @@ public interface JsonValidationService extends JsonSchemaReaderFactory {
      */
     ProblemPrinterBuilder createProblemPrinterBuilder(Consumer<String> lineConsumer);
 
+    /**
+     * Creates a builder instance which can be used to build a problem handler
+     * passing the problems to the specified handler asynchronously.
+     *
+     * @param handler the underlying handler to which the problems will be
+     *                passed.
+     * @return newly created instance of the builder.
+     * @throws NullPointerException if the specified {@code handler} is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    AsyncProblemHandlerBuilder createAsyncProblemHandlerBuilder(ProblemHandler handler);
+
+    /**
+     * Creates a builder instance which can be used to build a validator applying
+     * the specified schema to the documents in tiers. See {@link TieredValidator}
+     * for the tiers of the validation.
+     *
+     * @param schema the JSON schema to apply when validating the documents.
+     * @return newly created instance of the builder.
+     * @throws NullPointerException if the specified {@code schema} is
+     *                              {@code null}.
+     * @since 2.1.0
+     */
+    TieredValidatorBuilder createTieredValidatorBuilder(JsonSchema schema);
+
     /**
      * Returns the underlying JSON provider used by this service.
      *
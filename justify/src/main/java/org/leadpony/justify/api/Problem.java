@@ -122,6 +122,18 @@ public interface Problem {
      */
     String getKeyword();
 
+    /**
+     * Returns the key identifying the kind of this problem. The key does not
+     * depend on any locale and can be used by programs consuming the problems.
+     *
+     * @return the key identifying the kind of this problem. This may be
+     *         {@code null} if the problem does not have any key.
+     * @since 2.1.0
+     */
+    default String getMessageKey() {
+        return null;
+    }
+
     /**
      * Returns all parameters of this problem as a map.
      *
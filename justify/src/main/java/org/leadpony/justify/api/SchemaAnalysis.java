@@ -0,0 +1,164 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.List;
+
+/**
+ * The result of the static analysis of a JSON schema, which estimates the cost
+ * of the validation without reading any JSON instances.
+ *
+ * <p>
+ * The analysis walks all of the subschemas reachable from the analyzed schema,
+ * including the ones referenced by {@code "$ref"}, and counts the evaluators
+ * which may be created for the instance at each nesting depth in the worst
+ * case. It also reports the keywords which are known to be expensive, such as
+ * regular expressions prone to catastrophic backtracking.
+ * </p>
+ *
+ * <p>
+ * The following code sample shows how to analyze a schema.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * JsonValidationService service = JsonValidationService.newInstance();
+ * JsonSchema schema = service.readSchema(Paths.get("news.schema.json"));
+ * SchemaAnalysis analysis = service.analyzeSchema(schema);
+ * for (SchemaAnalysis.Finding finding : analysis.getFindings()) {
+ *     System.out.println(finding);
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ */
+public interface SchemaAnalysis {
+
+    /**
+     * Returns the number of the evaluators which may be created for the instance
+     * at each nesting depth in the worst case. The first element is for the root
+     * of the instance, the second is for its properties or items, and so on. A
+     * subschema referenced recursively is counted only at the depth where it is
+     * first applied.
+     *
+     * @return the unmodifiable list of the counts, never be {@code null}.
+     */
+    List<Long> getEvaluatorCounts();
+
+    /**
+     * Returns the maximum number of the evaluators which may receive a single
+     * parser event. An event at some depth is delivered to all of the evaluators
+     * created for the enclosing values, therefore this is the sum of all of the
+     * counts returned by {@link #getEvaluatorCounts()}.
+     *
+     * @return the maximum number of the evaluators receiving an event.
+     */
+    long getMaxFanOut();
+
+    /**
+     * Returns the keywords found to be expensive or risky.
+     *
+     * @return the unmodifiable list of the findings, never be {@code null}.
+     */
+    List<Finding> getFindings();
+
+    /**
+     * A keyword found by the analysis.
+     *
+     * @author leadpony
+     */
+    interface Finding {
+
+        /**
+         * Returns the kind of this finding.
+         *
+         * @return the kind of this finding, never be {@code null}.
+         */
+        Kind getKind();
+
+        /**
+         * Returns the location of the schema which contains the keyword, such as
+         * {@code "#/properties/name"}.
+         *
+         * @return the location of the schema, never be {@code null}.
+         */
+        String getLocation();
+
+        /**
+         * Returns the name of the keyword found.
+         *
+         * @return the name of the keyword, never be {@code null}.
+         */
+        String getKeyword();
+
+        /**
+         * Returns the detail of this finding, such as the regular expression found.
+         *
+         * @return the detail of this finding, never be {@code null}.
+         */
+        String getDetail();
+    }
+
+    /**
+     * The kinds of findings.
+     *
+     * @author leadpony
+     */
+    enum Kind {
+        /**
+         * A regular expression which has an unbounded quantifier nested in another
+         * unbounded quantifier, such as {@code "(a+)*"}. Matching such an expression
+         * may take exponential time for some inputs.
+         */
+        NESTED_QUANTIFIER,
+
+        /**
+         * A regular expression which repeats an alternation unboundedly, such as
+         * {@code "(a|ab)*"}. Matching such an expression may backtrack heavily if
+         * the alternatives overlap.
+         */
+        QUANTIFIED_ALTERNATION,
+
+        /**
+         * A {@code "patternProperties"} with so many regular expressions that every
+         * property name is matched against all of them.
+         */
+        MANY_PATTERN_PROPERTIES,
+
+        /**
+         * A {@code "uniqueItems"} not limited by {@code "maxItems"}. All of the items
+         * in the array must be kept in memory and compared with each other.
+         */
+        UNBOUNDED_UNIQUE_ITEMS,
+
+        /**
+         * A disjunction, such as {@code "anyOf"}, {@code "oneOf"} or {@code "not"},
+         * which must buffer the problems found in its subschemas until the result
+         * is determined.
+         */
+        PROBLEM_BUFFERING,
+
+        /**
+         * A {@code "$ref"} which refers to the schema containing it, directly or
+         * indirectly. The evaluators created for such a schema grow with the depth
+         * of the instance.
+         */
+        RECURSIVE_REFERENCE
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The result of the validation performed by {@link TieredValidator}.
+ *
+ * @author leadpony
+ * @since 2.1.0
+ */
+public interface TieredValidationResult {
+
+    /**
+     * Returns the key of the validated document.
+     *
+     * @return the key of the document, may be {@code null}.
+     */
+    String getKey();
+
+    /**
+     * Returns the tiers in which the document was validated.
+     *
+     * @return the unmodifiable set of the tiers, which always contains
+     *         {@link ValidationTier#STRUCTURE}.
+     */
+    Set<ValidationTier> getTiers();
+
+    /**
+     * Checks if the document was validated in the specified tier.
+     *
+     * @param tier the tier of the validation.
+     * @return {@code true} if the document was validated in the tier,
+     *         {@code false} otherwise.
+     * @throws NullPointerException if the specified {@code tier} is
+     *                              {@code null}.
+     */
+    default boolean isValidated(ValidationTier tier) {
+        return getTiers().contains(tier);
+    }
+
+    /**
+     * Returns the problems found in the specified tier.
+     *
+     * @param tier the tier of the validation.
+     * @return the unmodifiable list of problems, which may be empty but never be
+     *         {@code null}. The list is empty if the document was not validated
+     *         in the tier.
+     * @throws NullPointerException if the specified {@code tier} is
+     *                              {@code null}.
+     */
+    List<Problem> getProblems(ValidationTier tier);
+
+    /**
+     * Checks if no problem was found in any of the tiers performed.
+     *
+     * @return {@code true} if the document is valid in all the tiers performed,
+     *         {@code false} otherwise.
+     */
+    default boolean isValid() {
+        for (ValidationTier tier : getTiers()) {
+            if (!getProblems(tier).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.nio.ByteBuffer;
+
+import javax.json.JsonException;
+
+/**
+ * A validator applying the validation in tiers to a stream of JSON documents.
+ *
+ * <p>
+ * Every document is validated in {@link ValidationTier#STRUCTURE} tier, which
+ * checks only the structure and the types of the document. The whole schema is
+ * applied in {@link ValidationTier#FULL} tier only to the documents sampled at
+ * the configured rate and to the documents whose keys are requested
+ * explicitly. This keeps the cost of the validation of each document low while
+ * still detecting the violations of the whole schema statistically.
+ * </p>
+ *
+ * <p>
+ * The following code sample shows how to validate all the messages in the
+ * cheap tier and one percent of them in the full tier.
+ * </p>
+ *
+ * <pre>
+ * <code>
+ * TieredValidator validator = service.createTieredValidatorBuilder(schema)
+ *         .withSampleRate(0.01)
+ *         .withFullValidation(key -&gt; key.startsWith("audit-"))
+ *         .build();
+ * TieredValidationResult result = validator.validate(message.key(), message.value());
+ * if (!result.isValid()) {
+ *     // Handles the invalid message.
+ * }
+ * </code>
+ * </pre>
+ *
+ * <p>
+ * Each instance of this type is safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ * @see JsonValidationService#createTieredValidatorBuilder(JsonSchema)
+ */
+public interface TieredValidator {
+
+    /**
+     * Validates the UTF-8 document in the specified buffer in the tiers
+     * selected for the document.
+     *
+     * @param key    the key identifying the document, such as the key of the
+     *               message carrying it. This may be {@code null}.
+     * @param buffer the buffer holding the document from its current position
+     *               to its limit. Neither the position nor the limit will be
+     *               modified by this method.
+     * @return the result of the validation, never be {@code null}.
+     * @throws JsonException        if a syntax error occurs while reading.
+     * @throws NullPointerException if the specified {@code buffer} is
+     *                              {@code null}.
+     */
+    TieredValidationResult validate(String key, ByteBuffer buffer);
+
+    /**
+     * Returns the schema applied in the specified tier.
+     *
+     * @param tier the tier of the validation.
+     * @return the schema applied in the tier, never be {@code null}.
+     * @throws NullPointerException if the specified {@code tier} is
+     *                              {@code null}.
+     */
+    JsonSchema getSchema(ValidationTier tier);
+
+    /**
+     * Returns the number of the documents validated so far in the specified
+     * tier.
+     *
+     * @param tier the tier of the validation.
+     * @return the number of the documents validated in the tier.
+     * @throws NullPointerException if the specified {@code tier} is
+     *                              {@code null}.
+     */
+    long getValidatedCount(ValidationTier tier);
+
+    /**
+     * Returns the number of the documents found invalid so far in the specified
+     * tier.
+     *
+     * @param tier the tier of the validation.
+     * @return the number of the invalid documents in the tier.
+     * @throws NullPointerException if the specified {@code tier} is
+     *                              {@code null}.
+     */
+    long getInvalidCount(ValidationTier tier);
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.function.Predicate;
+
+/**
+ * A builder interface for building a {@link TieredValidator} instance.
+ *
+ * <p>
+ * Each instance of this type is NOT safe for use by multiple concurrent
+ * threads.
+ * </p>
+ *
+ * @author leadpony
+ * @since 2.1.0
+ */
+public interface TieredValidatorBuilder {
+
+    /**
+     * Builds a new instance of {@link TieredValidator}.
+     *
+     * @return newly created instance of {@link TieredValidator}, never be
+     *         {@code null}.
+     */
+    TieredValidator build();
+
+    /**
+     * Specifies the rate of the documents randomly sampled for the validation
+     * in {@link ValidationTier#FULL} tier. By default, no documents are sampled.
+     *
+     * @param rate the rate of the sampled documents, from {@code 0.0} to
+     *             {@code 1.0}. {@code 1.0} means all the documents.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code rate} is out of
+     *                                  range.
+     */
+    TieredValidatorBuilder withSampleRate(double rate);
+
+    /**
+     * Specifies the keys of the documents always validated in
+     * {@link ValidationTier#FULL} tier regardless of the sampling. The predicate
+     * is not called for the documents without keys.
+     *
+     * @param keys the predicate selecting the keys of the documents.
+     * @return this builder.
+     * @throws NullPointerException if the specified {@code keys} is
+     *                              {@code null}.
+     */
+    TieredValidatorBuilder withFullValidation(Predicate<String> keys);
+
+    /**
+     * Specifies the configuration applied to the validation in both tiers, such
+     * as the limits of the problems and the resources. The schema and the
+     * problem handler in the configuration are ignored. The configuration is
+     * copied when this method is called.
+     *
+     * @param config the configuration of the validation.
+     * @return this builder.
+     * @throws NullPointerException if the specified {@code config} is
+     *                              {@code null}.
+     */
+    TieredValidatorBuilder withValidationConfig(ValidationConfig config);
+}
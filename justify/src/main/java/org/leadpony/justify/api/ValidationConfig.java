@@ -50,6 +50,76 @@ public interface ValidationConfig {
      */
     String SCHEMA = "org.leadpony.justify.api.ValidationConfig.SCHEMA";
 
+    /**
+     * The property used to specify the maximum number of problems to be reported
+     * for a JSON instance.
+     *
+     * @since 2.1.0
+     */
+    String MAX_PROBLEMS = "org.leadpony.justify.api.ValidationConfig.MAX_PROBLEMS";
+
+    /**
+     * The property used to specify the maximum number of problems to be reported
+     * for each keyword in the schema.
+     *
+     * @since 2.1.0
+     */
+    String MAX_PROBLEMS_PER_KEYWORD = "org.leadpony.justify.api.ValidationConfig.MAX_PROBLEMS_PER_KEYWORD";
+
+    /**
+     * The property used to specify the maximum number of problems to be reported
+     * for each top-level subtree of a JSON instance.
+     *
+     * @since 2.1.0
+     */
+    String MAX_PROBLEMS_PER_SUBTREE = "org.leadpony.justify.api.ValidationConfig.MAX_PROBLEMS_PER_SUBTREE";
+
+    /**
+     * The property used to specify whether repeated problems will be aggregated
+     * or not.
+     *
+     * @since 2.1.0
+     */
+    String PROBLEM_AGGREGATION = "org.leadpony.justify.api.ValidationConfig.PROBLEM_AGGREGATION";
+
+    /**
+     * The property used to specify the profiler of the evaluations.
+     *
+     * @since 2.1.0
+     */
+    String PROFILER = "org.leadpony.justify.api.ValidationConfig.PROFILER";
+
+    /**
+     * The property used to specify the maximum nesting depth of a JSON instance.
+     *
+     * @since 2.1.0
+     */
+    String MAX_DEPTH = "org.leadpony.justify.api.ValidationConfig.MAX_DEPTH";
+
+    /**
+     * The property used to specify the maximum number of evaluators created for
+     * a JSON instance.
+     *
+     * @since 2.1.0
+     */
+    String MAX_EVALUATORS = "org.leadpony.justify.api.ValidationConfig.MAX_EVALUATORS";
+
+    /**
+     * The property used to specify the maximum length of strings in a JSON
+     * instance.
+     *
+     * @since 2.1.0
+     */
+    String MAX_STRING_LENGTH = "org.leadpony.justify.api.ValidationConfig.MAX_STRING_LENGTH";
+
+    /**
+     * The property used to specify the maximum number of items in an array or
+     * properties in an object.
+     *
+     * @since 2.1.0
+     */
+    String MAX_CONTAINER_SIZE = "org.leadpony.justify.api.ValidationConfig.MAX_CONTAINER_SIZE";
+
     /**
      * Returns all configuration properties as an unmodifiable map.
      *
@@ -129,4 +199,133 @@ public interface ValidationConfig {
      * @return this builder.
      */
     ValidationConfig withDefaultValues(boolean usingDefaultValues);
+
+    /**
+     * Specifies the maximum number of problems to be reported for a JSON instance.
+     * The problems found after the limit was reached are counted but discarded,
+     * and a single problem telling how many problems were omitted is reported at
+     * the end of the instance. By default, the number of problems is unlimited.
+     *
+     * @param maxProblems the maximum number of problems, must be positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code maxProblems} is
+     *                                  not positive.
+     * @since 2.1.0
+     */
+    ValidationConfig withMaxProblems(int maxProblems);
+
+    /**
+     * Specifies the maximum number of problems to be reported for each keyword
+     * in the schema. Occurrences of the same keyword in different subschemas are
+     * counted separately. By default, the number of problems is unlimited.
+     *
+     * @param maxProblems the maximum number of problems per keyword, must be
+     *                    positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code maxProblems} is
+     *                                  not positive.
+     * @since 2.1.0
+     */
+    ValidationConfig withMaxProblemsPerKeyword(int maxProblems);
+
+    /**
+     * Specifies the maximum number of problems to be reported for each subtree
+     * of the JSON instance. A subtree is an item of the root array or a property
+     * value of the root object. By default, the number of problems is unlimited.
+     *
+     * @param maxProblems the maximum number of problems per subtree, must be
+     *                    positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code maxProblems} is
+     *                                  not positive.
+     * @since 2.1.0
+     */
+    ValidationConfig withMaxProblemsPerSubtree(int maxProblems);
+
+    /**
+     * Specifies whether repeated problems will be aggregated or not. When the
+     * aggregation is enabled, problems caused by the same keyword in the same
+     * schema with the same kind are collapsed into a single
+     * {@link AggregatedProblem}, which is reported at the end of the instance.
+     * By default, the aggregation is disabled.
+     *
+     * @param aggregating {@code true} to aggregate repeated problems.
+     *                    {@code false} to report every problem separately.
+     * @return this builder.
+     * @since 2.1.0
+     */
+    ValidationConfig withProblemAggregation(boolean aggregating);
+
+    /**
+     * Specifies the profiler which records the cost of the evaluations for each
+     * keyword. By default, no profiler is used and the evaluations are not
+     * measured at all.
+     *
+     * @param profiler the profiler of the evaluations.
+     * @return this builder.
+     * @throws NullPointerException if the specified {@code profiler} is
+     *                              {@code null}.
+     * @since 2.1.0
+     * @see JsonValidationService#createProfiler()
+     */
+    ValidationConfig withProfiler(EvaluationProfiler profiler);
+
+    /**
+     * Specifies the maximum nesting depth of a JSON instance, which is the number
+     * of arrays and objects enclosing each other. For example, the depth of
+     * {@code [{"a":1}]} is two. By default, the depth is unlimited.
+     *
+     * <p>
+     * This limit and the others on the resources are checked while the instance
+     * is parsed. When any of them is exceeded, the validation stops immediately
+     * with a {@link JsonValidationLimitException}, whatever problem handler is
+     * used.
+     * </p>
+     *
+     * @param maxDepth the maximum nesting depth, must be positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code maxDepth} is not
+     *                                  positive.
+     * @since 2.1.0
+     */
+    ValidationConfig withMaxDepth(int maxDepth);
+
+    /**
+     * Specifies the maximum number of evaluators created for a JSON instance.
+     * An evaluator is created for each keyword applied to each value in the
+     * instance, including the keywords in the schemas referenced recursively.
+     * By default, the number of evaluators is unlimited.
+     *
+     * @param maxEvaluators the maximum number of evaluators, must be positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code maxEvaluators} is
+     *                                  not positive.
+     * @since 2.1.0
+     */
+    ValidationConfig withMaxEvaluators(int maxEvaluators);
+
+    /**
+     * Specifies the maximum length of strings in a JSON instance, including
+     * property names. By default, the length is unlimited.
+     *
+     * @param maxLength the maximum length of strings in characters, must be
+     *                  positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code maxLength} is not
+     *                                  positive.
+     * @since 2.1.0
+     */
+    ValidationConfig withMaxStringLength(int maxLength);
+
+    /**
+     * Specifies the maximum number of items in each array and properties in each
+     * object of a JSON instance. By default, the size is unlimited.
+     *
+     * @param maxSize the maximum size of arrays and objects, must be positive.
+     * @return this builder.
+     * @throws IllegalArgumentException if the specified {@code maxSize} is not
+     *                                  positive.
+     * @since 2.1.0
+     */
+    ValidationConfig withMaxContainerSize(int maxSize);
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.util.List;
+
+import javax.json.JsonException;
+
+/**
+ * The result of the validation of a JSON document in a batch.
+ *
+ * @author leadpony
+ * @since 2.1.0
+ * @see JsonValidationService#validateAll(java.util.stream.Stream, JsonSchema)
+ */
+public interface ValidationResult {
+
+    /**
+     * Returns the source of the validated document.
+     *
+     * @return the source of the document, never be {@code null}.
+     */
+    ValidationSource getSource();
+
+    /**
+     * Returns the problems found in the document.
+     *
+     * @return the unmodifiable list of problems, which may be empty but never be
+     *         {@code null}. The list contains the problems found before the
+     *         exception if the document could not be read to the end.
+     */
+    List<Problem> getProblems();
+
+    /**
+     * Returns the exception which prevented the document from being read, such
+     * as an I/O error or a syntax error.
+     *
+     * @return the exception thrown while reading the document, or {@code null}
+     *         if the document was read successfully.
+     */
+    JsonException getException();
+
+    /**
+     * Checks if the document was read successfully and no problem was found.
+     *
+     * @return {@code true} if the document is valid, {@code false} otherwise.
+     */
+    default boolean isValid() {
+        return getException() == null && getProblems().isEmpty();
+    }
+}
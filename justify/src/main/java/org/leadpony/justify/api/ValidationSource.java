@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A source of a JSON document to be validated in a batch.
+ *
+ * @author leadpony
+ * @since 2.1.0
+ * @see JsonValidationService#validateAll(java.util.stream.Stream, JsonSchema)
+ */
+public interface ValidationSource {
+
+    /**
+     * Returns the name identifying this source, such as the path of the file.
+     *
+     * @return the name of this source, never be {@code null}.
+     */
+    String getName();
+
+    /**
+     * Opens the stream for reading the JSON document. This method is called
+     * only once for each validation, and the returned stream will be closed
+     * after the validation.
+     *
+     * @return the input stream to read the document.
+     * @throws IOException if an I/O error occurred while opening the stream.
+     */
+    InputStream openStream() throws IOException;
+
+    /**
+     * Creates a source reading the JSON document from the specified path.
+     *
+     * @param path the path of the JSON document.
+     * @return newly created source.
+     * @throws NullPointerException if the specified {@code path} is {@code null}.
+     */
+    static ValidationSource of(Path path) {
+        Objects.requireNonNull(path, "path must not be null.");
+        return new ValidationSource() {
+            @Override
+            public String getName() {
+                return path.toString();
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return Files.newInputStream(path);
+            }
+        };
+    }
+
+    /**
+     * Creates a source reading the JSON document from the specified bytes. The
+     * character encoding of the bytes is determined as described in RFC 7159.
+     *
+     * @param name    the name identifying the source.
+     * @param content the bytes of the JSON document, which will not be copied.
+     * @return newly created source.
+     * @throws NullPointerException if any of the specified parameters is
+     *                              {@code null}.
+     */
+    static ValidationSource of(String name, byte[] content) {
+        Objects.requireNonNull(name, "name must not be null.");
+        Objects.requireNonNull(content, "content must not be null.");
+        return new ValidationSource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public InputStream openStream() {
+                return new ByteArrayInputStream(content);
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.api;
+
+/**
+ * The tiers of the validation performed by {@link TieredValidator}.
+ *
+ * @author leadpony
+ * @since 2.1.0
+ */
+public enum ValidationTier {
+    /**
+     * The cheap tier applied to every document, which checks only the structure
+     * and the types of the document. This tier uses the subset of the schema
+     * composed of {@code type}, {@code required}, {@code properties},
+     * {@code patternProperties} and {@code additionalProperties} keywords,
+     * together with the local references to the definitions holding them. The
+     * subschemas referencing the external schemas or the subschemas not kept in
+     * the subset accept any values in this tier.
+     *
+     * <p>
+     * The subset is never more restrictive than the original schema, that is,
+     * any document valid against the original schema is also valid in this
+     * tier.
+     * </p>
+     */
+    STRUCTURE,
+
+    /**
+     * The tier applying the whole schema to the document, which is performed
+     * only for the documents sampled or requested explicitly.
+     */
+    FULL
+}
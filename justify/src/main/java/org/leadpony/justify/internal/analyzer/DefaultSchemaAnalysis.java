@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.analyzer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.leadpony.justify.api.SchemaAnalysis;
+
+/**
+ * The default implementation of {@link SchemaAnalysis}.
+ *
+ * @author leadpony
+ */
+class DefaultSchemaAnalysis implements SchemaAnalysis {
+
+    private final List<Long> evaluatorCounts;
+    private final long maxFanOut;
+    private final List<Finding> findings;
+
+    /**
+     * Constructs this analysis.
+     *
+     * @param counts   the number of the evaluators at each depth.
+     * @param findings the findings of the analysis.
+     */
+    DefaultSchemaAnalysis(long[] counts, List<Finding> findings) {
+        List<Long> list = new ArrayList<>(counts.length);
+        long total = 0;
+        for (long count : counts) {
+            list.add(count);
+            total = SchemaAnalyzer.saturatedAdd(total, count);
+        }
+        this.evaluatorCounts = Collections.unmodifiableList(list);
+        this.maxFanOut = total;
+        this.findings = Collections.unmodifiableList(findings);
+    }
+
+    @Override
+    public List<Long> getEvaluatorCounts() {
+        return evaluatorCounts;
+    }
+
+    @Override
+    public long getMaxFanOut() {
+        return maxFanOut;
+    }
+
+    @Override
+    public List<Finding> getFindings() {
+        return findings;
+    }
+
+    /**
+     * A finding of the analysis.
+     *
+     * @author leadpony
+     */
+    static class DefaultFinding implements Finding {
+
+        private final Kind kind;
+        private final String location;
+        private final String keyword;
+        private final String detail;
+
+        DefaultFinding(Kind kind, String location, String keyword, String detail) {
+            this.kind = kind;
+            this.location = location;
+            this.keyword = keyword;
+            this.detail = detail;
+        }
+
+        @Override
+        public Kind getKind() {
+            return kind;
+        }
+
+        @Override
+        public String getLocation() {
+            return location;
+        }
+
+        @Override
+        public String getKeyword() {
+            return keyword;
+        }
+
+        @Override
+        public String getDetail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " " + location + " \"" + keyword + "\": " + detail;
+        }
+    }
+}
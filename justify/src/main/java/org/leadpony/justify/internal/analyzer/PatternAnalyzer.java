@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.analyzer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.leadpony.justify.api.SchemaAnalysis.Kind;
+
+/**
+ * An analyzer of the regular expressions which finds the constructs prone to
+ * catastrophic backtracking.
+ *
+ * <p>
+ * This analyzer does not parse the regular expression completely. It only
+ * tracks the groups and the quantifiers applied to them, which is sufficient
+ * to find the well-known patterns such as {@code "(a+)+"} and
+ * {@code "(a|aa)*"}.
+ * </p>
+ *
+ * @author leadpony
+ */
+final class PatternAnalyzer {
+
+    private PatternAnalyzer() {
+    }
+
+    /**
+     * Analyzes the specified regular expression.
+     *
+     * @param pattern the regular expression to analyze.
+     * @return the kind of the risk found, or {@code null} if nothing was found.
+     */
+    static Kind analyze(String pattern) {
+        Deque<Group> groups = new ArrayDeque<>();
+        Group current = new Group();
+        Kind found = null;
+        final int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i++);
+            switch (c) {
+            case '\\':
+                i++;
+                break;
+            case '[':
+                i = skipCharacterClass(pattern, i);
+                break;
+            case '(':
+                groups.push(current);
+                current = new Group();
+                break;
+            case ')':
+                if (groups.isEmpty()) {
+                    break;
+                }
+                Group inner = current;
+                current = groups.pop();
+                if (isUnboundedQuantifierAt(pattern, i)) {
+                    if (inner.unbounded) {
+                        return Kind.NESTED_QUANTIFIER;
+                    } else if (inner.alternation) {
+                        found = Kind.QUANTIFIED_ALTERNATION;
+                    }
+                }
+                current.unbounded |= inner.unbounded;
+                break;
+            case '|':
+                current.alternation = true;
+                break;
+            case '*':
+            case '+':
+            case '{':
+                if (isUnboundedQuantifierAt(pattern, i - 1)) {
+                    current.unbounded = true;
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        return found;
+    }
+
+    private static int skipCharacterClass(String pattern, int start) {
+        final int length = pattern.length();
+        int i = start;
+        if (i < length && pattern.charAt(i) == '^') {
+            i++;
+        }
+        if (i < length && pattern.charAt(i) == ']') {
+            i++;
+        }
+        while (i < length) {
+            char c = pattern.charAt(i++);
+            if (c == '\\') {
+                i++;
+            } else if (c == ']') {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isUnboundedQuantifierAt(String pattern, int index) {
+        if (index >= pattern.length()) {
+            return false;
+        }
+        char c = pattern.charAt(index);
+        if (c == '*' || c == '+') {
+            return true;
+        } else if (c != '{') {
+            return false;
+        }
+        // Accepts only the form of "{n,}".
+        int i = index + 1;
+        final int length = pattern.length();
+        while (i < length && Character.isDigit(pattern.charAt(i))) {
+            i++;
+        }
+        return i > index + 1
+                && i + 1 < length
+                && pattern.charAt(i) == ','
+                && pattern.charAt(i + 1) == '}';
+    }
+
+    /**
+     * A group in the regular expression.
+     *
+     * @author leadpony
+     */
+    private static class Group {
+        // true if the group contains an unbounded quantifier.
+        boolean unbounded;
+        // true if the group contains an alternation at the top level.
+        boolean alternation;
+    }
+}
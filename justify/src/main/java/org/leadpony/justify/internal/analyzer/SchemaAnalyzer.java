@@ -0,0 +1,340 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.analyzer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.SchemaAnalysis;
+import org.leadpony.justify.api.SchemaAnalysis.Finding;
+import org.leadpony.justify.api.SchemaAnalysis.Kind;
+import org.leadpony.justify.internal.analyzer.DefaultSchemaAnalysis.DefaultFinding;
+import org.leadpony.justify.internal.schema.BasicJsonSchema;
+import org.leadpony.justify.internal.schema.SchemaReference;
+
+/**
+ * A static analyzer of the schemas.
+ *
+ * <p>
+ * The cost of a schema is represented as an array of the evaluator counts
+ * indexed by the depth of the instance relative to the one validated by the
+ * schema. The costs of the subschemas applied to the same instance are summed,
+ * while the costs of the subschemas which are alternatives to each other, such
+ * as the ones in {@code "properties"}, are merged by taking the maximum at each
+ * depth.
+ * </p>
+ *
+ * <p>
+ * Each instance of this class is NOT safe for use by multiple concurrent
+ * threads.
+ * </p>
+ *
+ * @author leadpony
+ */
+public class SchemaAnalyzer {
+
+    /**
+     * The number of the regular expressions in {@code "patternProperties"}
+     * regarded as too many.
+     */
+    static final int MANY_PATTERN_PROPERTIES = 10;
+
+    /**
+     * The maximum depth of the instance to be analyzed.
+     */
+    static final int MAX_DEPTH = 64;
+
+    private static final long[] NONE = {};
+
+    private final Map<String, Finding> findings = new LinkedHashMap<>();
+    private final Set<JsonSchema> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+    // the costs of the schemas analyzed without cutting any recursions.
+    private final Map<JsonSchema, long[]> costs = new IdentityHashMap<>();
+    private int recursions;
+
+    /**
+     * Analyzes the specified schema.
+     *
+     * @param root the schema to analyze.
+     * @return the result of the analysis.
+     */
+    public SchemaAnalysis analyze(JsonSchema root) {
+        long[] cost = analyzeSchema(root, baseLocationOf(root));
+        int length = cost.length;
+        while (length > 1 && cost[length - 1] == 0) {
+            length--;
+        }
+        long[] counts = new long[Math.max(length, 1)];
+        System.arraycopy(cost, 0, counts, 0, length);
+        return new DefaultSchemaAnalysis(counts, new ArrayList<>(findings.values()));
+    }
+
+    private long[] analyzeSchema(JsonSchema schema, String location) {
+        long[] cost = costs.get(schema);
+        if (cost != null) {
+            return cost;
+        }
+        final int recursionsBefore = this.recursions;
+        visiting.add(schema);
+        try {
+            if (schema instanceof SchemaReference) {
+                cost = analyzeReference((SchemaReference) schema, location);
+            } else {
+                cost = analyzeKeywords(schema, location);
+            }
+        } finally {
+            visiting.remove(schema);
+        }
+        if (this.recursions == recursionsBefore) {
+            costs.put(schema, cost);
+        }
+        return cost;
+    }
+
+    private long[] analyzeReference(SchemaReference reference, String location) {
+        JsonSchema target = reference.getReferencedSchema();
+        if (visiting.contains(target)) {
+            this.recursions++;
+            addFinding(Kind.RECURSIVE_REFERENCE, location, "$ref", reference.ref().toString());
+            return NONE;
+        }
+        return analyzeSchema(target, locationOf(reference.getTargetId()));
+    }
+
+    private long[] analyzeKeywords(JsonSchema schema, String location) {
+        JsonValue json = schema.toJson();
+        if (json.getValueType() != JsonValue.ValueType.OBJECT) {
+            return (json == JsonValue.FALSE) ? new long[] {1} : NONE;
+        }
+        JsonObject object = json.asJsonObject();
+        long[] cost = {countEvaluatables(schema)};
+        for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+            String keyword = entry.getKey();
+            JsonValue value = entry.getValue();
+            switch (keyword) {
+            case "allOf":
+            case "anyOf":
+            case "oneOf":
+                if (value.getValueType() == JsonValue.ValueType.ARRAY) {
+                    int size = ((JsonArray) value).size();
+                    for (int i = 0; i < size; i++) {
+                        cost = add(cost, analyzeSubschema(schema, "/" + keyword + "/" + i, location));
+                    }
+                    if (!keyword.equals("allOf")) {
+                        addFinding(Kind.PROBLEM_BUFFERING, location, keyword, size + " subschema(s)");
+                    }
+                }
+                break;
+            case "not":
+                cost = add(cost, analyzeSubschema(schema, "/not", location));
+                addFinding(Kind.PROBLEM_BUFFERING, location, keyword, "1 subschema");
+                break;
+            case "if":
+            case "then":
+            case "else":
+                cost = add(cost, analyzeSubschema(schema, "/" + keyword, location));
+                break;
+            case "dependencies":
+                if (value.getValueType() == JsonValue.ValueType.OBJECT) {
+                    for (String name : value.asJsonObject().keySet()) {
+                        cost = add(cost, analyzeSubschema(schema, "/dependencies/" + escape(name), location));
+                    }
+                }
+                break;
+            case "pattern":
+                if (value.getValueType() == JsonValue.ValueType.STRING) {
+                    analyzePattern(((JsonString) value).getString(), location, keyword);
+                }
+                break;
+            case "uniqueItems":
+                if (value == JsonValue.TRUE && !object.containsKey("maxItems")) {
+                    addFinding(Kind.UNBOUNDED_UNIQUE_ITEMS, location, keyword, "no \"maxItems\"");
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        long[] child = max(analyzeProperties(schema, object, location), analyzeItems(schema, object, location));
+        return add(cost, shift(child));
+    }
+
+    private long[] analyzeProperties(JsonSchema schema, JsonObject object, String location) {
+        long[] named = NONE;
+        JsonValue properties = object.get("properties");
+        if (properties != null && properties.getValueType() == JsonValue.ValueType.OBJECT) {
+            for (String name : properties.asJsonObject().keySet()) {
+                named = max(named, analyzeSubschema(schema, "/properties/" + escape(name), location));
+            }
+        }
+        long[] patterns = NONE;
+        JsonValue patternProperties = object.get("patternProperties");
+        if (patternProperties != null && patternProperties.getValueType() == JsonValue.ValueType.OBJECT) {
+            Set<String> keys = patternProperties.asJsonObject().keySet();
+            for (String pattern : keys) {
+                analyzePattern(pattern, location, "patternProperties");
+                patterns = add(patterns, analyzeSubschema(schema, "/patternProperties/" + escape(pattern), location));
+            }
+            if (keys.size() >= MANY_PATTERN_PROPERTIES) {
+                addFinding(Kind.MANY_PATTERN_PROPERTIES, location, "patternProperties",
+                        keys.size() + " pattern(s)");
+            }
+        }
+        long[] child = max(add(named, patterns), analyzeSubschema(schema, "/additionalProperties", location));
+        return add(child, analyzeSubschema(schema, "/propertyNames", location));
+    }
+
+    private long[] analyzeItems(JsonSchema schema, JsonObject object, String location) {
+        long[] child = NONE;
+        JsonValue items = object.get("items");
+        if (items != null && items.getValueType() == JsonValue.ValueType.ARRAY) {
+            int size = ((JsonArray) items).size();
+            for (int i = 0; i < size; i++) {
+                child = max(child, analyzeSubschema(schema, "/items/" + i, location));
+            }
+            child = max(child, analyzeSubschema(schema, "/additionalItems", location));
+        } else {
+            child = analyzeSubschema(schema, "/items", location);
+        }
+        return add(child, analyzeSubschema(schema, "/contains", location));
+    }
+
+    private long[] analyzeSubschema(JsonSchema schema, String pointer, String location) {
+        JsonSchema subschema = schema.getSubschemaAt(pointer);
+        if (subschema == null || subschema == schema) {
+            return NONE;
+        }
+        return analyzeSchema(subschema, location + pointer);
+    }
+
+    private void analyzePattern(String pattern, String location, String keyword) {
+        Kind kind = PatternAnalyzer.analyze(pattern);
+        if (kind != null) {
+            addFinding(kind, location, keyword, pattern);
+        }
+    }
+
+    private void addFinding(Kind kind, String location, String keyword, String detail) {
+        String key = kind + " " + location + " " + keyword + " " + detail;
+        if (!findings.containsKey(key)) {
+            findings.put(key, new DefaultFinding(kind, location, keyword, detail));
+        }
+    }
+
+    private static int countEvaluatables(JsonSchema schema) {
+        if (schema instanceof BasicJsonSchema) {
+            return ((BasicJsonSchema) schema).getEvaluatableCount();
+        }
+        return 0;
+    }
+
+    private static String baseLocationOf(JsonSchema root) {
+        if (!root.hasId()) {
+            return "#";
+        }
+        String id = root.id().toString();
+        int index = id.indexOf('#');
+        return (index >= 0) ? id.substring(0, index + 1) : id + "#";
+    }
+
+    private static String locationOf(URI id) {
+        String location = id.toString();
+        return (id.getRawFragment() != null) ? location : location + "#";
+    }
+
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * Adds the evaluator counts at each depth.
+     *
+     * @param a the first costs.
+     * @param b the second costs.
+     * @return the sum of the costs.
+     */
+    private static long[] add(long[] a, long[] b) {
+        if (b.length > a.length) {
+            long[] t = a;
+            a = b;
+            b = t;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        long[] sum = a.clone();
+        for (int i = 0; i < b.length; i++) {
+            sum[i] = saturatedAdd(sum[i], b[i]);
+        }
+        return sum;
+    }
+
+    /**
+     * Takes the maximum of the evaluator counts at each depth.
+     *
+     * @param a the first costs.
+     * @param b the second costs.
+     * @return the maximum of the costs.
+     */
+    private static long[] max(long[] a, long[] b) {
+        if (b.length > a.length) {
+            long[] t = a;
+            a = b;
+            b = t;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+        long[] max = a.clone();
+        for (int i = 0; i < b.length; i++) {
+            max[i] = Math.max(max[i], b[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Moves the costs of the child instances one level deeper.
+     *
+     * @param child the costs of the child instances.
+     * @return the shifted costs.
+     */
+    private static long[] shift(long[] child) {
+        if (child.length == 0) {
+            return NONE;
+        }
+        int length = Math.min(child.length + 1, MAX_DEPTH);
+        long[] shifted = new long[length];
+        System.arraycopy(child, 0, shifted, 1, length - 1);
+        return shifted;
+    }
+
+    static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return (sum < 0) ? Long.MAX_VALUE : sum;
+    }
+}
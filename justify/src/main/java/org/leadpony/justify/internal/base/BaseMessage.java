@@ -30,7 +30,7 @@ interface BaseMessage extends Localizable {
 
     @Override
     default String getLocalized(Locale locale) {
-        return getBundle(locale).getString(name());
+        return MessageTemplate.of(this, locale).getPattern();
     }
 
     default String format(Map<String, Object> arguments) {
@@ -38,10 +38,19 @@ interface BaseMessage extends Localizable {
     }
 
     default String format(Map<String, Object> arguments, Locale locale) {
-        ResourceBundle bundle = getBundle(locale);
-        String pattern = bundle.getString(name());
-        MessageFormatter formatter = new MessageFormatter(pattern, bundle);
-        return formatter.format(arguments);
+        return MessageTemplate.of(this, locale).format(arguments);
+    }
+
+    /**
+     * Formats this message and appends it to the specified builder.
+     *
+     * @param arguments the values for variables.
+     * @param locale    the locale for which the message will be localized.
+     * @param builder   the builder to which the formatted message will be
+     *                  appended.
+     */
+    default void formatTo(Map<String, Object> arguments, Locale locale, StringBuilder builder) {
+        MessageTemplate.of(this, locale).formatTo(arguments, builder);
     }
 
     String name();
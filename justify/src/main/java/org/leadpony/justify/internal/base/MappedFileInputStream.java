@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An {@link InputStream} type which reads a file through the windows mapped
+ * into memory one after another.
+ *
+ * <p>
+ * Each window is aligned on the multiple of its size and is no longer than
+ * {@link Integer#MAX_VALUE}, which allows this stream to read the files
+ * larger than 2 GB.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class MappedFileInputStream extends InputStream {
+
+    /**
+     * The size of the files to be mapped at least. Smaller files are read
+     * through the channel without mapping.
+     */
+    static final long MAPPING_THRESHOLD = 16L * 1024 * 1024;
+
+    /**
+     * The default size of each window.
+     */
+    static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    /**
+     * Constructs this stream.
+     *
+     * @param channel    the channel of the file to read.
+     * @param size       the size of the file in bytes.
+     * @param windowSize the size of each window in bytes.
+     */
+    MappedFileInputStream(FileChannel channel, long size, long windowSize) {
+        assert windowSize > 0 && windowSize <= Integer.MAX_VALUE;
+        this.channel = channel;
+        this.size = size;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Opens the input stream for reading the specified file. The file is mapped
+     * into memory only if it is large enough.
+     *
+     * @param path the path of the file to read.
+     * @return newly created input stream.
+     * @throws IOException if an I/O error has occurred.
+     */
+    public static InputStream open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < MAPPING_THRESHOLD) {
+                return Channels.newInputStream(channel);
+            }
+            return new MappedFileInputStream(channel, size, DEFAULT_WINDOW_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fillWindow()) {
+            return -1;
+        }
+        return window.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return 0;
+        }
+        if (!fillWindow()) {
+            return -1;
+        }
+        int n = Math.min(len, window.remaining());
+        window.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && fillWindow()) {
+            int step = (int) Math.min(n - skipped, window.remaining());
+            window.position(window.position() + step);
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        long position = (window != null) ? windowStart + window.position() : 0;
+        return (int) Math.min(size - position, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Maps the next window if the current one is exhausted.
+     *
+     * @return {@code true} if any bytes remain, {@code false} at the end of the
+     *         file.
+     * @throws IOException if an I/O error has occurred.
+     */
+    private boolean fillWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        long next = (window != null) ? windowStart + window.capacity() : 0;
+        if (next >= size) {
+            return false;
+        }
+        window = channel.map(FileChannel.MapMode.READ_ONLY, next, Math.min(windowSize, size - next));
+        windowStart = next;
+        return true;
+    }
+}
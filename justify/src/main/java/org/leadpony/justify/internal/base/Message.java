@@ -119,6 +119,12 @@ public enum Message implements BaseMessage {
 
     INSTANCE_PROBLEM_NOT_FOUND,
     INSTANCE_PROBLEM_UNKNOWN,
+    INSTANCE_PROBLEM_AGGREGATED,
+    INSTANCE_PROBLEM_OMITTED,
+    INSTANCE_PROBLEM_MAX_DEPTH,
+    INSTANCE_PROBLEM_MAX_EVALUATORS,
+    INSTANCE_PROBLEM_MAX_STRING_LENGTH,
+    INSTANCE_PROBLEM_MAX_CONTAINER_SIZE,
 
     /* Problem messages for schema validation */
 
@@ -137,6 +143,8 @@ public enum Message implements BaseMessage {
 
     PARSER_ILLEGAL_STATE,
     PARSER_UNEXPECTED_EOI,
+    PARSER_UNEXPECTED_CHAR,
+    PARSER_INVALID_TOKEN,
 
     /* Problem messages for JSON reader */
 
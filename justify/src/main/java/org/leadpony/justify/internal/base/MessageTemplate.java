@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.leadpony.justify.api.Localizable;
+
+/**
+ * A message pattern compiled into a sequence of literal and variable segments.
+ *
+ * <p>
+ * Each message is compiled only once per locale and the compiled templates are
+ * cached. Instances of this class are immutable and safe for use by multiple
+ * concurrent threads.
+ * </p>
+ *
+ * @author leadpony
+ */
+final class MessageTemplate {
+
+    private static final ConcurrentMap<Locale, ConcurrentMap<BaseMessage, MessageTemplate>> CACHE =
+            new ConcurrentHashMap<>();
+
+    private final String pattern;
+    private final ResourceBundle bundle;
+    private final Segment[] segments;
+    private final int estimatedLength;
+
+    /**
+     * Returns the template of the specified message for the specified locale.
+     *
+     * @param message the message.
+     * @param locale  the locale for which the message will be localized.
+     * @return the compiled template, never be {@code null}.
+     */
+    static MessageTemplate of(BaseMessage message, Locale locale) {
+        ConcurrentMap<BaseMessage, MessageTemplate> templates = CACHE.get(locale);
+        if (templates == null) {
+            templates = CACHE.computeIfAbsent(locale, key -> new ConcurrentHashMap<>());
+        }
+        MessageTemplate template = templates.get(message);
+        if (template == null) {
+            ResourceBundle bundle = message.getBundle(locale);
+            template = compile(bundle.getString(message.name()), bundle);
+            MessageTemplate existing = templates.putIfAbsent(message, template);
+            if (existing != null) {
+                template = existing;
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Compiles the message pattern.
+     *
+     * @param pattern the message pattern.
+     * @param bundle  the resource bundle to be used for localization.
+     * @return the compiled template.
+     */
+    static MessageTemplate compile(String pattern, ResourceBundle bundle) {
+        List<Segment> segments = new ArrayList<>();
+        final int length = pattern.length();
+        int offset = 0;
+        while (offset < length) {
+            int begin = pattern.indexOf('{', offset);
+            if (begin < 0) {
+                segments.add(new Literal(pattern.substring(offset)));
+                break;
+            }
+            if (begin > offset) {
+                segments.add(new Literal(pattern.substring(offset, begin)));
+            }
+            int end = pattern.indexOf('}', begin + 1);
+            if (end < 0) {
+                end = length;
+            }
+            segments.add(Variable.parse(pattern.substring(begin + 1, end)));
+            offset = end + 1;
+        }
+        return new MessageTemplate(pattern, bundle, segments.toArray(new Segment[segments.size()]));
+    }
+
+    private MessageTemplate(String pattern, ResourceBundle bundle, Segment[] segments) {
+        this.pattern = pattern;
+        this.bundle = bundle;
+        this.segments = segments;
+        this.estimatedLength = pattern.length() + segments.length * 8;
+    }
+
+    /**
+     * Returns the original pattern of this template.
+     *
+     * @return the original pattern.
+     */
+    String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Formats the message.
+     *
+     * @param arguments the values for variables.
+     * @return the formatted message.
+     * @throws IllegalArgumentException if any variable is undefined.
+     */
+    String format(Map<String, Object> arguments) {
+        StringBuilder builder = new StringBuilder(estimatedLength);
+        formatTo(arguments, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Formats the message and appends it to the specified builder.
+     *
+     * @param arguments the values for variables.
+     * @param builder   the builder to which the formatted message will be
+     *                  appended.
+     * @throws IllegalArgumentException if any variable is undefined.
+     */
+    void formatTo(Map<String, Object> arguments, StringBuilder builder) {
+        for (Segment segment : segments) {
+            segment.appendTo(builder, arguments, bundle);
+        }
+    }
+
+    /**
+     * A segment of the template.
+     *
+     * @author leadpony
+     */
+    private interface Segment {
+
+        void appendTo(StringBuilder builder, Map<String, Object> arguments, ResourceBundle bundle);
+    }
+
+    /**
+     * A literal segment.
+     *
+     * @author leadpony
+     */
+    private static final class Literal implements Segment {
+
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Map<String, Object> arguments, ResourceBundle bundle) {
+            builder.append(text);
+        }
+    }
+
+    /**
+     * A variable segment with the modifiers resolved in advance.
+     *
+     * @author leadpony
+     */
+    private static final class Variable implements Segment {
+
+        private static final Modifier[] NO_MODIFIERS = {};
+
+        private final String name;
+        private final Modifier[] modifiers;
+
+        static Variable parse(String spec) {
+            int separator = spec.indexOf('|');
+            if (separator < 0) {
+                return new Variable(spec, NO_MODIFIERS);
+            }
+            List<Modifier> modifiers = new ArrayList<>();
+            String name = spec.substring(0, separator);
+            while (separator >= 0) {
+                int next = spec.indexOf('|', separator + 1);
+                String modifier = (next < 0) ? spec.substring(separator + 1) : spec.substring(separator + 1, next);
+                modifiers.add(Modifier.byName(modifier));
+                separator = next;
+            }
+            return new Variable(name, modifiers.toArray(new Modifier[modifiers.size()]));
+        }
+
+        private Variable(String name, Modifier[] modifiers) {
+            this.name = name;
+            this.modifiers = modifiers;
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, Map<String, Object> arguments, ResourceBundle bundle) {
+            Object value = arguments.get(name);
+            if (value == null && !arguments.containsKey(name)) {
+                throw new IllegalArgumentException("variable \"" + name + "\" is undefined.");
+            }
+            append(builder, value, bundle);
+        }
+
+        private void append(StringBuilder builder, Object value, ResourceBundle bundle) {
+            if (value == null) {
+                builder.append("null");
+            } else if (value instanceof Collection<?>) {
+                builder.append('[');
+                boolean first = true;
+                for (Object item : (Collection<?>) value) {
+                    if (!first) {
+                        builder.append(", ");
+                    }
+                    append(builder, item, bundle);
+                    first = false;
+                }
+                builder.append(']');
+            } else {
+                String string = stringify(value, bundle);
+                for (Modifier modifier : modifiers) {
+                    string = modifier.apply(string);
+                }
+                builder.append(string);
+            }
+        }
+
+        private static String stringify(Object value, ResourceBundle bundle) {
+            if (value instanceof String) {
+                return (String) value;
+            } else if (value instanceof Localizable) {
+                return ((Localizable) value).getLocalized(bundle.getLocale());
+            } else if (value instanceof Enum<?>) {
+                Enum<?> actual = (Enum<?>) value;
+                String key = actual.getClass().getSimpleName() + "." + actual.name();
+                if (bundle.containsKey(key)) {
+                    return bundle.getString(key);
+                } else {
+                    return actual.name();
+                }
+            } else {
+                return value.toString();
+            }
+        }
+    }
+
+    /**
+     * Variable modifier.
+     *
+     * @author leadpony
+     */
+    private enum Modifier {
+
+        CAPITALIZE() {
+            @Override
+            String apply(String t) {
+                if (t.isEmpty() || Character.isUpperCase(t.charAt(0))) {
+                    return t;
+                }
+                char[] chars = t.toCharArray();
+                chars[0] = Character.toUpperCase(chars[0]);
+                return new String(chars);
+            }
+        },
+
+        QUOTE() {
+            @Override
+            String apply(String t) {
+                return new StringBuilder(t.length() + 2)
+                        .append('"')
+                        .append(t)
+                        .append('"')
+                        .toString();
+            }
+        };
+
+        abstract String apply(String t);
+
+        static Modifier byName(String name) {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        }
+    }
+}
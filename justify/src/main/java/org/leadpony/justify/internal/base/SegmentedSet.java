@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe set which remembers a bounded number of elements.
+ *
+ * <p>
+ * The elements are stored in two segments. When the current segment is full,
+ * it becomes the previous one and the elements in the old previous segment are
+ * forgotten. The elements found in the previous segment are moved to the
+ * current segment, so the elements recurring are kept while the others are
+ * evicted.
+ * </p>
+ *
+ * @param <E> the type of the elements.
+ * @author leadpony
+ */
+public class SegmentedSet<E> {
+
+    private final int segmentSize;
+    private volatile Set<E> current = ConcurrentHashMap.newKeySet();
+    private volatile Set<E> previous = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs this set.
+     *
+     * @param maxSize the maximum number of the elements to be remembered.
+     */
+    public SegmentedSet(int maxSize) {
+        this.segmentSize = Math.max(1, maxSize / 2);
+    }
+
+    /**
+     * Checks if this set contains the specified element.
+     *
+     * @param element the element to check.
+     * @return {@code true} if this set contains the element.
+     */
+    public boolean contains(E element) {
+        if (current.contains(element)) {
+            return true;
+        }
+        if (previous.contains(element)) {
+            add(element);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the specified element to this set.
+     *
+     * @param element the element to add.
+     */
+    public void add(E element) {
+        Set<E> segment = current;
+        if (segment.size() >= segmentSize) {
+            segment = rotate(segment);
+        }
+        segment.add(element);
+    }
+
+    private synchronized Set<E> rotate(Set<E> full) {
+        if (current == full) {
+            previous = full;
+            current = ConcurrentHashMap.newKeySet();
+        }
+        return current;
+    }
+}
@@ -49,11 +49,7 @@ abstract class AbstractStreamJsonParser extends AbstractJsonParser {
 
     @Override
     public final Event next() {
-        Event event = fetchNextEvent();
-        event = process(event);
-        setCurrentEvent(event);
-        postprocess();
-        return event;
+        return deliverEvent(fetchNextEvent());
     }
 
     @Override
@@ -150,6 +146,21 @@ abstract class AbstractStreamJsonParser extends AbstractJsonParser {
     protected void postprocess() {
     }
 
+    /**
+     * Delivers the specified parser event as if it were fetched by
+     * {@link #next()}. This is used for the events which the underlying parser
+     * consumed without returning them, such as the end of a skipped container.
+     *
+     * @param event the parser event to deliver.
+     * @return the event to be delivered to the client.
+     */
+    protected final Event deliverEvent(Event event) {
+        event = process(event);
+        setCurrentEvent(event);
+        postprocess();
+        return event;
+    }
+
     private JsonArray buildArray() {
         JsonArrayBuilder builder = getJsonBuilderFactory().createArrayBuilder();
         while (hasNext()) {
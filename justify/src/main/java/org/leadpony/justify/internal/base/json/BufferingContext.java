@@ -0,0 +1,33 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+/**
+ * A context which may provide the buffer of the subtrees shared by the
+ * evaluators.
+ *
+ * @author leadpony
+ */
+public interface BufferingContext {
+
+    /**
+     * Returns the buffer of the subtrees assigned to this context.
+     *
+     * @return the buffer of the subtrees, or {@code null} if not available.
+     */
+    SubtreeBuffer getSubtreeBuffer();
+}
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+/**
+ * An immutable sequence of parser events flattened from the members of a JSON
+ * object or a JSON array in advance.
+ *
+ * <p>
+ * Each member of the original object or array occupies a contiguous range of
+ * the events, which allows any subset of the members to be replayed without
+ * copying. The sequence ends with the event closing the object or the array.
+ * Instances of this class are safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class JsonEventTape {
+
+    private final Event[] events;
+    private final Object[] values;
+    private final int[] memberStarts;
+    private final String[] keys;
+    private final JsonValue[] memberValues;
+    private final Map<String, Integer> keyIndices;
+
+    private JsonEventTape(Builder builder, String[] keys, JsonValue[] memberValues) {
+        this.events = builder.events.toArray(new Event[0]);
+        this.values = builder.values.toArray();
+        this.memberStarts = builder.memberStarts.stream().mapToInt(Integer::intValue).toArray();
+        this.keys = keys;
+        this.memberValues = memberValues;
+        if (keys != null) {
+            Map<String, Integer> indices = new HashMap<>();
+            for (int i = 0; i < keys.length; i++) {
+                indices.put(keys[i], i);
+            }
+            this.keyIndices = indices;
+        } else {
+            this.keyIndices = Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Creates a tape of the properties of a JSON object.
+     *
+     * @param properties the properties of the object.
+     * @return newly created tape.
+     */
+    public static JsonEventTape ofProperties(Map<String, JsonValue> properties) {
+        Builder builder = new Builder();
+        String[] keys = new String[properties.size()];
+        JsonValue[] memberValues = new JsonValue[properties.size()];
+        int i = 0;
+        for (Map.Entry<String, JsonValue> entry : properties.entrySet()) {
+            builder.startMember();
+            builder.add(Event.KEY_NAME, entry.getKey());
+            builder.append(entry.getValue());
+            keys[i] = entry.getKey();
+            memberValues[i++] = entry.getValue();
+        }
+        builder.startMember();
+        builder.add(Event.END_OBJECT, null);
+        return new JsonEventTape(builder, keys, memberValues);
+    }
+
+    /**
+     * Creates a tape of the items of a JSON array. An item may be {@code null},
+     * which is represented as a member without any events.
+     *
+     * @param items the items of the array.
+     * @return newly created tape.
+     */
+    public static JsonEventTape ofItems(List<JsonValue> items) {
+        Builder builder = new Builder();
+        JsonValue[] memberValues = new JsonValue[items.size()];
+        int i = 0;
+        for (JsonValue item : items) {
+            builder.startMember();
+            if (item != null) {
+                builder.append(item);
+            }
+            memberValues[i++] = item;
+        }
+        builder.startMember();
+        builder.add(Event.END_ARRAY, null);
+        return new JsonEventTape(builder, null, memberValues);
+    }
+
+    /**
+     * Returns the number of the members in this tape.
+     *
+     * @return the number of the members.
+     */
+    public int getMemberCount() {
+        return memberValues.length;
+    }
+
+    /**
+     * Returns the index of the property which has the specified key.
+     *
+     * @param key the key of the property.
+     * @return the index of the property, or -1 if not found.
+     */
+    public int indexOfKey(String key) {
+        Integer index = keyIndices.get(key);
+        return (index != null) ? index : -1;
+    }
+
+    /**
+     * Returns the key of the property at the specified index.
+     *
+     * @param index the index of the property.
+     * @return the key of the property.
+     */
+    public String getKey(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Returns the value of the member at the specified index.
+     *
+     * @param index the index of the member.
+     * @return the value of the member, may be {@code null}.
+     */
+    public JsonValue getValue(int index) {
+        return memberValues[index];
+    }
+
+    /**
+     * Creates a parser which replays the members in the specified range,
+     * followed by the closing event.
+     *
+     * @param from    the index of the first member, inclusive.
+     * @param to      the index of the last member, exclusive.
+     * @param skipped the indices of the members to skip, may be {@code null}.
+     * @return newly created parser.
+     */
+    public JsonParser createParser(int from, int to, BitSet skipped) {
+        return new Player(from, to, skipped);
+    }
+
+    /**
+     * A builder of tapes.
+     *
+     * @author leadpony
+     */
+    private static final class Builder {
+
+        private final List<Event> events = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+        private final List<Integer> memberStarts = new ArrayList<>();
+
+        void startMember() {
+            memberStarts.add(events.size());
+        }
+
+        void add(Event event, Object value) {
+            events.add(event);
+            values.add(value);
+        }
+
+        void append(JsonValue value) {
+            switch (value.getValueType()) {
+            case ARRAY:
+                add(Event.START_ARRAY, value);
+                for (JsonValue item : (JsonArray) value) {
+                    append(item);
+                }
+                add(Event.END_ARRAY, null);
+                break;
+            case OBJECT:
+                add(Event.START_OBJECT, value);
+                for (Map.Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+                    add(Event.KEY_NAME, entry.getKey());
+                    append(entry.getValue());
+                }
+                add(Event.END_OBJECT, null);
+                break;
+            case STRING:
+                add(Event.VALUE_STRING, value);
+                break;
+            case NUMBER:
+                add(Event.VALUE_NUMBER, value);
+                break;
+            case TRUE:
+                add(Event.VALUE_TRUE, value);
+                break;
+            case FALSE:
+                add(Event.VALUE_FALSE, value);
+                break;
+            case NULL:
+                add(Event.VALUE_NULL, value);
+                break;
+            default:
+                throw new IllegalArgumentException();
+            }
+        }
+    }
+
+    /**
+     * A parser replaying the events in the tape.
+     *
+     * @author leadpony
+     */
+    private final class Player extends AbstractJsonParser {
+
+        private final int to;
+        private final BitSet skipped;
+        private int member;
+        private int position;
+        private int end;
+        private int current = -1;
+
+        Player(int from, int to, BitSet skipped) {
+            this.to = to;
+            this.skipped = skipped;
+            this.member = from - 1;
+            nextMember();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public Event next() {
+            if (!hasNext()) {
+                throw newParsingException();
+            }
+            current = position++;
+            Event event = events[current];
+            setCurrentEvent(event);
+            if (position == end && member < to) {
+                nextMember();
+            }
+            return event;
+        }
+
+        @Override
+        public String getString() {
+            Event event = getCurrentEvent();
+            if (event == null) {
+                throw newIllegalStateException("getString");
+            }
+            switch (event) {
+            case KEY_NAME:
+                return (String) values[current];
+            case VALUE_STRING:
+                return ((JsonString) values[current]).getString();
+            case VALUE_NUMBER:
+                return values[current].toString();
+            default:
+                throw newIllegalStateException("getString");
+            }
+        }
+
+        @Override
+        public boolean isIntegralNumber() {
+            return currentNumber("isIntegralNumber").isIntegral();
+        }
+
+        @Override
+        public int getInt() {
+            return currentNumber("getInt").intValue();
+        }
+
+        @Override
+        public long getLong() {
+            return currentNumber("getLong").longValue();
+        }
+
+        @Override
+        public BigDecimal getBigDecimal() {
+            return currentNumber("getBigDecimal").bigDecimalValue();
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            return SimpleJsonLocation.UNKNOWN;
+        }
+
+        @Override
+        public JsonObject getObject() {
+            if (getCurrentEvent() != Event.START_OBJECT) {
+                throw newIllegalStateException("getObject");
+            }
+            return (JsonObject) values[current];
+        }
+
+        @Override
+        public JsonValue getValue() {
+            Event event = getCurrentEvent();
+            if (event == null || event == Event.KEY_NAME
+                    || event == Event.END_ARRAY || event == Event.END_OBJECT) {
+                throw newIllegalStateException("getValue");
+            }
+            return (JsonValue) values[current];
+        }
+
+        @Override
+        public JsonArray getArray() {
+            if (getCurrentEvent() != Event.START_ARRAY) {
+                throw newIllegalStateException("getArray");
+            }
+            return (JsonArray) values[current];
+        }
+
+        @Override
+        public void close() {
+            // Does nothing
+        }
+
+        @Override
+        protected JsonLocation getLastCharLocation() {
+            return SimpleJsonLocation.UNKNOWN;
+        }
+
+        @Override
+        protected boolean isInCollection() {
+            return getCurrentEvent() != null;
+        }
+
+        /**
+         * Moves to the next member to be replayed, or to the closing event if
+         * there are no more members.
+         */
+        private void nextMember() {
+            do {
+                member++;
+            } while (member < to && isSkipped(member));
+            if (member < to) {
+                position = memberStarts[member];
+                end = memberStarts[member + 1];
+            } else {
+                position = memberStarts[memberStarts.length - 1];
+                end = events.length;
+            }
+        }
+
+        private boolean isSkipped(int index) {
+            return (skipped != null && skipped.get(index))
+                    || memberStarts[index] == memberStarts[index + 1];
+        }
+
+        private JsonNumber currentNumber(String method) {
+            if (getCurrentEvent() != Event.VALUE_NUMBER) {
+                throw newIllegalStateException(method);
+            }
+            return (JsonNumber) values[current];
+        }
+    }
+}
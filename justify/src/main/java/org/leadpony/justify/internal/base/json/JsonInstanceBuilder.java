@@ -33,6 +33,8 @@ public final class JsonInstanceBuilder {
     private final RootScope rootScope = new RootScope();
     private final JsonBuilderFactory builderFactory;
     private Scope currentScope = rootScope;
+    // the value completed by the last event.
+    private JsonValue lastValue;
 
     /**
      * Constructs this builder.
@@ -52,6 +54,7 @@ public final class JsonInstanceBuilder {
      *         this builder is completed.
      */
     public boolean append(Event event, JsonParser parser) {
+        this.lastValue = null;
         this.currentScope = this.currentScope.process(event, parser);
         return (this.currentScope != this.rootScope);
     }
@@ -65,6 +68,22 @@ public final class JsonInstanceBuilder {
         return rootScope.getRootValue();
     }
 
+    /**
+     * Returns the value completed by the last event appended, which may be a
+     * value nested in the value being built.
+     *
+     * @return the value completed, or {@code null} if the last event did not
+     *         complete any value.
+     */
+    public JsonValue getLastValue() {
+        return lastValue;
+    }
+
+    private JsonValue completed(JsonValue value) {
+        this.lastValue = value;
+        return value;
+    }
+
     private static JsonValue getLiteral(Event event, JsonParser parser) {
         switch (event) {
         case VALUE_TRUE:
@@ -118,7 +137,7 @@ public final class JsonInstanceBuilder {
             case VALUE_NUMBER:
             case VALUE_STRING:
             case KEY_NAME:
-                append(getLiteral(event, parser));
+                append(completed(getLiteral(event, parser)));
                 break;
             default:
                 assert false;
@@ -164,10 +183,10 @@ public final class JsonInstanceBuilder {
             case VALUE_NULL:
             case VALUE_NUMBER:
             case VALUE_STRING:
-                append(getLiteral(event, parser));
+                append(completed(getLiteral(event, parser)));
                 break;
             case END_ARRAY:
-                parent.append(builder.build());
+                parent.append(completed(builder.build()));
                 return parent;
             default:
                 assert false;
@@ -212,11 +231,11 @@ public final class JsonInstanceBuilder {
             case VALUE_NULL:
             case VALUE_NUMBER:
             case VALUE_STRING:
-                builder.add(this.propertyName, getLiteral(event, parser));
+                builder.add(this.propertyName, completed(getLiteral(event, parser)));
                 this.propertyName = null;
                 break;
             case END_OBJECT:
-                parent.append(builder.build());
+                parent.append(completed(builder.build()));
                 return parent;
             default:
                 assert false;
@@ -70,9 +70,28 @@ public final class JsonValueParser extends AbstractJsonParser {
         this.scope = new ObjectScope(value, GLOBAL_SCOPE);
     }
 
+    /**
+     * Constructs this parser for a JSON value of any type.
+     *
+     * @param value the JSON value to parse.
+     */
+    public JsonValueParser(JsonValue value) {
+        switch (value.getValueType()) {
+        case ARRAY:
+            this.scope = new ArrayScope((JsonArray) value);
+            break;
+        case OBJECT:
+            this.scope = new ObjectScope((JsonObject) value);
+            break;
+        default:
+            this.scope = new ScalarScope(value);
+            break;
+        }
+    }
+
     @Override
     public boolean hasNext() {
-        return scope != GLOBAL_SCOPE;
+        return scope.hasEvent();
     }
 
     @Override
@@ -174,6 +193,22 @@ public final class JsonValueParser extends AbstractJsonParser {
         // Does nothing
     }
 
+    /**
+     * Returns the JSON value which started at the current event. Unlike
+     * {@link #getValue()}, this method does not advance the parser.
+     *
+     * @return the JSON value at the current position, or {@code null} if the
+     *         current event does not start any value.
+     */
+    public JsonValue getCurrentValue() {
+        Event event = getCurrentEvent();
+        if (event == null || event == Event.KEY_NAME
+                || event == Event.END_ARRAY || event == Event.END_OBJECT) {
+            return null;
+        }
+        return scope.getValue();
+    }
+
     /* As a AbstractJsonParser */
 
     @Override
@@ -203,6 +238,10 @@ public final class JsonValueParser extends AbstractJsonParser {
 
         Event getEvent(JsonValueParser parser);
 
+        default boolean hasEvent() {
+            return true;
+        }
+
         default String getKey() {
             throw new UnsupportedOperationException();
         }
@@ -217,6 +256,11 @@ public final class JsonValueParser extends AbstractJsonParser {
      */
     static class GlobalScope implements Scope {
 
+        @Override
+        public boolean hasEvent() {
+            return false;
+        }
+
         @Override
         public Event getEvent(JsonValueParser parser) {
             throw new NoSuchElementException();
@@ -228,6 +272,40 @@ public final class JsonValueParser extends AbstractJsonParser {
         }
     }
 
+    /**
+     * A scope of a single scalar value.
+     *
+     * @author leadpony
+     */
+    static class ScalarScope implements Scope {
+
+        private final JsonValue value;
+        private boolean consumed;
+
+        ScalarScope(JsonValue value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean hasEvent() {
+            return !consumed;
+        }
+
+        @Override
+        public Event getEvent(JsonValueParser parser) {
+            if (consumed) {
+                throw new NoSuchElementException();
+            }
+            consumed = true;
+            return getEventStarting(value);
+        }
+
+        @Override
+        public JsonValue getValue() {
+            return value;
+        }
+    }
+
     /**
      * A scope of JSON arrays or JSON objects.
      *
@@ -268,11 +346,15 @@ public final class JsonValueParser extends AbstractJsonParser {
         }
 
         ArrayScope(List<JsonValue> items, Scope outerScope) {
+            this(items, outerScope, null);
+        }
+
+        ArrayScope(List<JsonValue> items, Scope outerScope, JsonValue currentValue) {
             super(outerScope);
             this.items = items;
             this.length = items.size();
             this.state = ArrayState.ITEM;
-            this.currentValue = null;
+            this.currentValue = currentValue;
         }
 
         @Override
@@ -324,10 +406,10 @@ public final class JsonValueParser extends AbstractJsonParser {
                         event = getEventStarting(value);
                         switch (event) {
                         case START_ARRAY:
-                            parser.setScope(new ArrayScope((JsonArray) value, scope));
+                            parser.setScope(new ArrayScope((JsonArray) value, scope, value));
                             break;
                         case START_OBJECT:
-                            parser.setScope(new ObjectScope((JsonObject) value, scope));
+                            parser.setScope(new ObjectScope((JsonObject) value, scope, value));
                             break;
                         default:
                             break;
@@ -366,10 +448,14 @@ public final class JsonValueParser extends AbstractJsonParser {
         }
 
         ObjectScope(Map<String, JsonValue> properties, Scope outerScope) {
+            this(properties, outerScope, null);
+        }
+
+        ObjectScope(Map<String, JsonValue> properties, Scope outerScope, JsonValue currentValue) {
             super(outerScope);
             this.iterator = properties.entrySet().iterator();
             this.state = ObjectState.KEY;
-            this.currentValue = null;
+            this.currentValue = currentValue;
         }
 
         @Override
@@ -438,10 +524,10 @@ public final class JsonValueParser extends AbstractJsonParser {
                     Event event = getEventStarting(value);
                     switch (event) {
                     case START_ARRAY:
-                        parser.setScope(new ArrayScope((JsonArray) value, scope));
+                        parser.setScope(new ArrayScope((JsonArray) value, scope, value));
                         break;
                     case START_OBJECT:
-                        parser.setScope(new ObjectScope((JsonObject) value, scope));
+                        parser.setScope(new ObjectScope((JsonObject) value, scope, value));
                         break;
                     default:
                         break;
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * Utility methods comparing JSON values in the way JSON Schema defines.
+ *
+ * <p>
+ * Unlike {@link JsonValue#equals(Object)}, numbers are compared by their
+ * numeric values, that is, {@code 1} and {@code 1.0} are equal, at any depth
+ * of the values.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class JsonValues {
+
+    private JsonValues() {
+    }
+
+    /**
+     * Checks if two JSON values are equal.
+     *
+     * @param a the first value to compare.
+     * @param b the second value to compare.
+     * @return {@code true} if the two values are equal.
+     */
+    public static boolean equals(JsonValue a, JsonValue b) {
+        if (a == b) {
+            return true;
+        }
+        if (a.getValueType() != b.getValueType()) {
+            return false;
+        }
+        switch (a.getValueType()) {
+        case NUMBER:
+            return ((JsonNumber) a).bigDecimalValue().compareTo(((JsonNumber) b).bigDecimalValue()) == 0;
+        case ARRAY:
+            return equals((JsonArray) a, (JsonArray) b);
+        case OBJECT:
+            return equals((JsonObject) a, (JsonObject) b);
+        case STRING:
+            return a.equals(b);
+        default:
+            // true, false and null
+            return true;
+        }
+    }
+
+    /**
+     * Returns the hash code of the JSON value, which is consistent with
+     * {@link #equals(JsonValue, JsonValue)}.
+     *
+     * @param value the JSON value.
+     * @return the hash code of the value.
+     */
+    public static int hashCode(JsonValue value) {
+        switch (value.getValueType()) {
+        case NUMBER:
+            return ((JsonNumber) value).bigDecimalValue().stripTrailingZeros().hashCode();
+        case ARRAY:
+            int hash = 1;
+            for (JsonValue item : (JsonArray) value) {
+                hash = 31 * hash + hashCode(item);
+            }
+            return hash;
+        case OBJECT:
+            int sum = 0;
+            for (Map.Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+                sum += entry.getKey().hashCode() ^ hashCode(entry.getValue());
+            }
+            return sum;
+        case STRING:
+            return value.hashCode();
+        default:
+            return value.getValueType().ordinal();
+        }
+    }
+
+    private static boolean equals(JsonArray a, JsonArray b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        Iterator<JsonValue> it = b.iterator();
+        for (JsonValue item : a) {
+            if (!equals(item, it.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(JsonObject a, JsonObject b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (Map.Entry<String, JsonValue> entry : a.entrySet()) {
+            JsonValue other = b.get(entry.getKey());
+            if (other == null || !equals(entry.getValue(), other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
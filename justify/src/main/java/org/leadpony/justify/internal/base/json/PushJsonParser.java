@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+import java.math.BigDecimal;
+
+import javax.json.JsonNumber;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonLocation;
+
+/**
+ * A JSON parser type which delivers the events pushed by the caller one by
+ * one, instead of reading them from any source.
+ *
+ * <p>
+ * Each event is pushed with the scalar value it carries, and should be
+ * consumed by {@link #next()} before the next event is pushed. This parser
+ * allows the events produced by a JSON generator to be validated in the same
+ * way as the events read from a document.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class PushJsonParser extends AbstractJsonParser {
+
+    private Event pendingEvent;
+    private JsonValue pendingValue;
+    private JsonValue currentValue;
+    private int depth;
+
+    /**
+     * Pushes the next event to this parser.
+     *
+     * @param event the event to be delivered next.
+     * @param value the value carried by the event, which is required for
+     *              {@link Event#KEY_NAME}, {@link Event#VALUE_STRING} and
+     *              {@link Event#VALUE_NUMBER}, and ignored for others.
+     */
+    public void push(Event event, JsonValue value) {
+        assert pendingEvent == null;
+        this.pendingEvent = event;
+        this.pendingValue = value;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pendingEvent != null;
+    }
+
+    @Override
+    public Event next() {
+        Event event = pendingEvent;
+        if (event == null) {
+            throw newParsingException();
+        }
+        if (ParserEvents.isStartOfContainer(event)) {
+            depth++;
+        } else if (ParserEvents.isEndOfContainer(event)) {
+            depth--;
+        }
+        setCurrentEvent(event);
+        this.currentValue = pendingValue;
+        this.pendingEvent = null;
+        this.pendingValue = null;
+        return event;
+    }
+
+    @Override
+    public String getString() {
+        Event event = getCurrentEvent();
+        if (event == Event.KEY_NAME || event == Event.VALUE_STRING) {
+            return ((JsonString) currentValue).getString();
+        } else if (event == Event.VALUE_NUMBER) {
+            return currentValue.toString();
+        }
+        throw newIllegalStateException("getString");
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+        return getNumber("isIntegralNumber").isIntegral();
+    }
+
+    @Override
+    public int getInt() {
+        return getNumber("getInt").intValue();
+    }
+
+    @Override
+    public long getLong() {
+        return getNumber("getLong").longValue();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        return getNumber("getBigDecimal").bigDecimalValue();
+    }
+
+    @Override
+    public JsonValue getValue() {
+        Event event = getCurrentEvent();
+        if (event == null) {
+            throw newIllegalStateException("getValue");
+        }
+        switch (event) {
+        case VALUE_TRUE:
+            return JsonValue.TRUE;
+        case VALUE_FALSE:
+            return JsonValue.FALSE;
+        case VALUE_NULL:
+            return JsonValue.NULL;
+        case KEY_NAME:
+        case VALUE_STRING:
+        case VALUE_NUMBER:
+            return currentValue;
+        default:
+            // The contents of the array or object are not pushed yet.
+            throw newIllegalStateException("getValue");
+        }
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+        return SimpleJsonLocation.UNKNOWN;
+    }
+
+    @Override
+    public void close() {
+        // Does nothing
+    }
+
+    @Override
+    protected JsonLocation getLastCharLocation() {
+        return SimpleJsonLocation.UNKNOWN;
+    }
+
+    @Override
+    protected boolean isInCollection() {
+        return depth > 0;
+    }
+
+    private JsonNumber getNumber(String method) {
+        if (getCurrentEvent() != Event.VALUE_NUMBER) {
+            throw newIllegalStateException(method);
+        }
+        return (JsonNumber) currentValue;
+    }
+}
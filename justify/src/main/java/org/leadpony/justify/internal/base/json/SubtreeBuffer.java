@@ -0,0 +1,228 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.leadpony.justify.api.EvaluatorContext;
+
+/**
+ * A buffer which materializes the subtrees of the instance requested by the
+ * evaluators.
+ *
+ * <p>
+ * All the evaluators requesting the same subtree share the single value built
+ * by this buffer, which receives every parser event before the evaluators do.
+ * The subtree nested in another subtree being built is taken from the builder
+ * of the outer subtree instead of being built again. Each subtree is released
+ * as soon as the event following its end arrives.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class SubtreeBuffer {
+
+    private final JsonBuilderFactory builderFactory;
+    // the subtrees being built, the outermost first.
+    private final List<Entry> entries = new ArrayList<>();
+
+    private Event currentEvent;
+    private JsonParser currentParser;
+    private long eventIndex;
+
+    /**
+     * Constructs this buffer.
+     *
+     * @param builderFactory the factory of JSON builders.
+     */
+    public SubtreeBuffer(JsonBuilderFactory builderFactory) {
+        this.builderFactory = builderFactory;
+    }
+
+    /**
+     * Opens the subtree starting at the current event of the evaluation. If
+     * the context does not provide any buffer, the subtree is built by the
+     * caller only.
+     *
+     * @param context the context of the evaluation.
+     * @return the subtree opened, never be {@code null}.
+     */
+    public static Subtree openSubtree(EvaluatorContext context) {
+        if (context instanceof BufferingContext) {
+            SubtreeBuffer buffer = ((BufferingContext) context).getSubtreeBuffer();
+            if (buffer != null) {
+                return buffer.open();
+            }
+        }
+        return new PrivateSubtree(context.getJsonBuilderFactory());
+    }
+
+    /**
+     * Receives the parser event before the evaluators.
+     *
+     * @param event  the event triggered by the parser.
+     * @param parser the parser.
+     */
+    public void process(Event event, JsonParser parser) {
+        eventIndex++;
+        currentEvent = event;
+        currentParser = parser;
+        if (!entries.isEmpty()) {
+            entries.removeIf(Entry::isCompleted);
+            for (Entry entry : entries) {
+                entry.append(event, parser);
+            }
+        }
+    }
+
+    /**
+     * Opens the subtree starting at the current event. The subtree opened by
+     * another evaluator at the same event is returned if exists.
+     *
+     * @return the subtree opened.
+     */
+    private Subtree open() {
+        int size = entries.size();
+        if (size > 0) {
+            Entry last = entries.get(size - 1);
+            if (last.startIndex == eventIndex) {
+                return last;
+            }
+        }
+        Entry enclosing = findEnclosingEntry();
+        Entry entry;
+        if (enclosing != null) {
+            entry = new Entry(eventIndex, enclosing.builder, true);
+        } else {
+            entry = new Entry(eventIndex, new JsonInstanceBuilder(builderFactory), false);
+        }
+        entry.append(currentEvent, currentParser);
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * Finds the entry being built which encloses the subtree starting at the
+     * current event.
+     *
+     * @return the entry found, or {@code null} if there is no such entry.
+     */
+    private Entry findEnclosingEntry() {
+        if (currentEvent == Event.KEY_NAME) {
+            return null;
+        }
+        for (Entry entry : entries) {
+            if (!entry.isCompleted() && entry.startIndex < eventIndex) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A subtree of the instance.
+     *
+     * @author leadpony
+     */
+    public interface Subtree {
+
+        /**
+         * Receives the event in this subtree and returns the value if completed.
+         * This method must be called for every event of this subtree.
+         *
+         * @param event  the event triggered by the parser.
+         * @param parser the parser.
+         * @return the value of this subtree, or {@code null} if not completed
+         *         yet.
+         */
+        JsonValue update(Event event, JsonParser parser);
+    }
+
+    /**
+     * A subtree built by this buffer.
+     *
+     * @author leadpony
+     */
+    private final class Entry implements Subtree {
+
+        private final long startIndex;
+        // the builder of this subtree, or of the outer subtree if nested.
+        private final JsonInstanceBuilder builder;
+        private final boolean nested;
+        private int depth;
+        private JsonValue value;
+
+        Entry(long startIndex, JsonInstanceBuilder builder, boolean nested) {
+            this.startIndex = startIndex;
+            this.builder = builder;
+            this.nested = nested;
+        }
+
+        @Override
+        public JsonValue update(Event event, JsonParser parser) {
+            return value;
+        }
+
+        void append(Event event, JsonParser parser) {
+            if (nested) {
+                // The outer subtree has already received the event.
+                if (event == Event.START_ARRAY || event == Event.START_OBJECT) {
+                    depth++;
+                } else if (event == Event.END_ARRAY || event == Event.END_OBJECT) {
+                    depth--;
+                }
+                if (depth == 0) {
+                    value = builder.getLastValue();
+                }
+            } else if (!builder.append(event, parser)) {
+                value = builder.build();
+            }
+        }
+
+        boolean isCompleted() {
+            return value != null;
+        }
+    }
+
+    /**
+     * A subtree built by a single evaluator.
+     *
+     * @author leadpony
+     */
+    private static final class PrivateSubtree implements Subtree {
+
+        private final JsonInstanceBuilder builder;
+
+        PrivateSubtree(JsonBuilderFactory builderFactory) {
+            this.builder = new JsonInstanceBuilder(builderFactory);
+        }
+
+        @Override
+        public JsonValue update(Event event, JsonParser parser) {
+            if (builder.append(event, parser)) {
+                return null;
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,713 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParsingException;
+
+import org.leadpony.justify.internal.base.Message;
+
+/**
+ * A JSON parser which reads the UTF-8 encoded bytes held in a
+ * {@link ByteBuffer} directly.
+ *
+ * <p>
+ * Strings are not decoded until {@link #getString()} is called for them, and
+ * their lengths can be obtained without decoding by
+ * {@link #getStringLength()}. Key names are looked up by their encoded bytes in
+ * a table of the names already found, so that the same key repeated in the
+ * document is decoded only once.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class Utf8JsonParser extends AbstractStreamJsonParser {
+
+    private static final int STATE_ROOT = 0;
+    private static final int STATE_ARRAY_FIRST = 1;
+    private static final int STATE_ARRAY_NEXT = 2;
+    private static final int STATE_OBJECT_FIRST = 3;
+    private static final int STATE_OBJECT_NEXT = 4;
+    private static final int STATE_OBJECT_VALUE = 5;
+    private static final int STATE_END = 6;
+
+    /*
+     * The maximum number of digits of the integer which can be parsed without
+     * BigDecimal.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    private static final byte[] TRUE_BYTES = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE_BYTES = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL_BYTES = {'n', 'u', 'l', 'l'};
+
+    private static final Event[] VALUE_EVENTS = {
+        Event.START_OBJECT,
+        Event.START_ARRAY,
+        Event.VALUE_STRING,
+        Event.VALUE_NUMBER,
+        Event.VALUE_TRUE,
+        Event.VALUE_FALSE,
+        Event.VALUE_NULL
+    };
+
+    private final ByteBuffer input;
+    private final int start;
+    private final int limit;
+    private int pos;
+
+    private int state = STATE_ROOT;
+    private int[] returnStates = new int[16];
+    private int depth;
+
+    /* The range and the properties of the current token. */
+    private int tokenStart;
+    private int tokenEnd;
+    private boolean escaped;
+    private boolean plainInteger;
+    private String string;
+    private BigDecimal number;
+
+    private long lineNumber = 1;
+    private int lineStart;
+
+    private final KeyTable keys = new KeyTable();
+
+    /**
+     * Constructs this parser. The bytes from the current position to the limit
+     * of the buffer are parsed, and neither the position nor the limit will be
+     * modified by this parser.
+     *
+     * @param input        the buffer holding the UTF-8 encoded JSON document.
+     * @param jsonProvider the JSON provider.
+     */
+    public Utf8JsonParser(ByteBuffer input, JsonProvider jsonProvider) {
+        super(jsonProvider);
+        this.input = input;
+        this.start = input.position();
+        this.limit = input.limit();
+        this.pos = skipByteOrderMark(this.start);
+        this.lineStart = this.pos;
+    }
+
+    /* As a JsonParser */
+
+    @Override
+    public boolean hasNext() {
+        if (state == STATE_END) {
+            int c = skipWhitespace();
+            if (c >= 0) {
+                throw newUnexpectedCharException(c);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String getString() {
+        Event event = getCurrentEvent();
+        if (string == null) {
+            if (event == Event.KEY_NAME) {
+                string = escaped ? decodeEscaped() : keys.get(tokenStart, tokenEnd);
+            } else if (event == Event.VALUE_STRING) {
+                string = escaped ? decodeEscaped() : decode(tokenStart, tokenEnd);
+            } else if (event == Event.VALUE_NUMBER) {
+                string = decode(tokenStart, tokenEnd);
+            } else {
+                throw newIllegalStateException("getString");
+            }
+        }
+        return string;
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+        requireNumber("isIntegralNumber");
+        return plainInteger || getBigDecimal().scale() == 0;
+    }
+
+    @Override
+    public int getInt() {
+        requireNumber("getInt");
+        if (plainInteger && tokenEnd - tokenStart < 10) {
+            return (int) parseLong();
+        }
+        return getBigDecimal().intValue();
+    }
+
+    @Override
+    public long getLong() {
+        requireNumber("getLong");
+        if (plainInteger && tokenEnd - tokenStart <= MAX_LONG_DIGITS) {
+            return parseLong();
+        }
+        return getBigDecimal().longValue();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        requireNumber("getBigDecimal");
+        if (number == null) {
+            char[] chars = new char[tokenEnd - tokenStart];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) input.get(tokenStart + i);
+            }
+            number = new BigDecimal(chars);
+        }
+        return number;
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+        int columns = 0;
+        for (int i = lineStart; i < pos; i++) {
+            int b = input.get(i) & 0xff;
+            if (b >= 0xf0) {
+                // supplementary character as a surrogate pair
+                columns += 2;
+            } else if ((b & 0xc0) != 0x80) {
+                columns++;
+            }
+        }
+        return new SimpleJsonLocation(lineNumber, columns + 1, pos - start);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /* As an AbstractStreamJsonParser */
+
+    @Override
+    public JsonValue getJsonNumber() {
+        if (plainInteger && tokenEnd - tokenStart <= MAX_LONG_DIGITS) {
+            return getJsonProvider().createValue(parseLong());
+        }
+        return getJsonProvider().createValue(getBigDecimal());
+    }
+
+    @Override
+    protected Event fetchNextEvent() {
+        string = null;
+        number = null;
+        int c = skipWhitespace();
+        switch (state) {
+        case STATE_ROOT:
+            return readValue(c, STATE_END);
+        case STATE_ARRAY_FIRST:
+            if (c == ']') {
+                return endContainer(Event.END_ARRAY);
+            }
+            return readValue(c, STATE_ARRAY_NEXT);
+        case STATE_ARRAY_NEXT:
+            if (c == ']') {
+                return endContainer(Event.END_ARRAY);
+            }
+            skipSeparator(c, ',', Event.END_ARRAY);
+            return readValue(skipWhitespace(), STATE_ARRAY_NEXT);
+        case STATE_OBJECT_FIRST:
+            if (c == '}') {
+                return endContainer(Event.END_OBJECT);
+            }
+            return readKey(c);
+        case STATE_OBJECT_NEXT:
+            if (c == '}') {
+                return endContainer(Event.END_OBJECT);
+            }
+            skipSeparator(c, ',', Event.END_OBJECT);
+            return readKey(skipWhitespace());
+        case STATE_OBJECT_VALUE:
+            skipSeparator(c, ':', VALUE_EVENTS);
+            return readValue(skipWhitespace(), STATE_OBJECT_NEXT);
+        default:
+            throw newIllegalStateException("next");
+        }
+    }
+
+    @Override
+    protected boolean isInCollection() {
+        Event event = getCurrentEvent();
+        return depth > 0 || event == Event.END_ARRAY || event == Event.END_OBJECT;
+    }
+
+    /* As a Utf8JsonParser */
+
+    /**
+     * Returns the length of the current key name or string value in code
+     * points. The string is not decoded unless it contains escape sequences.
+     *
+     * @return the length of the string.
+     * @throws IllegalStateException if the current event is neither
+     *                               {@code KEY_NAME} nor {@code VALUE_STRING}.
+     */
+    public int getStringLength() {
+        Event event = getCurrentEvent();
+        if (event != Event.KEY_NAME && event != Event.VALUE_STRING) {
+            throw newIllegalStateException("getStringLength");
+        }
+        if (escaped) {
+            String value = getString();
+            return value.codePointCount(0, value.length());
+        }
+        return countCodePoints(tokenStart, tokenEnd);
+    }
+
+    private int skipByteOrderMark(int index) {
+        if (limit - index >= 3
+                && input.get(index) == (byte) 0xef
+                && input.get(index + 1) == (byte) 0xbb
+                && input.get(index + 2) == (byte) 0xbf) {
+            return index + 3;
+        }
+        return index;
+    }
+
+    /**
+     * Skips the whitespace characters.
+     *
+     * @return the first byte which is not a whitespace, or -1 if the end of the
+     *         input was reached.
+     */
+    private int skipWhitespace() {
+        int i = pos;
+        while (i < limit) {
+            byte b = input.get(i);
+            if (b == ' ' || b == '\t' || b == '\r') {
+                i++;
+            } else if (b == '\n') {
+                lineNumber++;
+                lineStart = ++i;
+            } else {
+                pos = i;
+                return b & 0xff;
+            }
+        }
+        pos = i;
+        return -1;
+    }
+
+    private void skipSeparator(int c, char separator, Event... expected) {
+        if (c != separator) {
+            throw (c < 0) ? newParsingException(expected) : newUnexpectedCharException(c);
+        }
+        pos++;
+    }
+
+    private Event readValue(int c, int nextState) {
+        switch (c) {
+        case '{':
+            pos++;
+            pushState(nextState);
+            state = STATE_OBJECT_FIRST;
+            return Event.START_OBJECT;
+        case '[':
+            pos++;
+            pushState(nextState);
+            state = STATE_ARRAY_FIRST;
+            return Event.START_ARRAY;
+        case '"':
+            scanString();
+            state = nextState;
+            return Event.VALUE_STRING;
+        case 't':
+            scanLiteral(TRUE_BYTES);
+            state = nextState;
+            return Event.VALUE_TRUE;
+        case 'f':
+            scanLiteral(FALSE_BYTES);
+            state = nextState;
+            return Event.VALUE_FALSE;
+        case 'n':
+            scanLiteral(NULL_BYTES);
+            state = nextState;
+            return Event.VALUE_NULL;
+        case '-':
+        case '0':
+        case '1':
+        case '2':
+        case '3':
+        case '4':
+        case '5':
+        case '6':
+        case '7':
+        case '8':
+        case '9':
+            scanNumber();
+            state = nextState;
+            return Event.VALUE_NUMBER;
+        default:
+            throw (c < 0) ? newParsingException(VALUE_EVENTS) : newUnexpectedCharException(c);
+        }
+    }
+
+    private Event readKey(int c) {
+        if (c != '"') {
+            throw (c < 0) ? newParsingException(Event.KEY_NAME) : newUnexpectedCharException(c);
+        }
+        scanString();
+        state = STATE_OBJECT_VALUE;
+        return Event.KEY_NAME;
+    }
+
+    private Event endContainer(Event event) {
+        pos++;
+        state = returnStates[--depth];
+        return event;
+    }
+
+    private void pushState(int returnState) {
+        if (depth == returnStates.length) {
+            returnStates = Arrays.copyOf(returnStates, depth * 2);
+        }
+        returnStates[depth++] = returnState;
+    }
+
+    /**
+     * Scans a string starting with the quotation mark at the current position.
+     */
+    private void scanString() {
+        boolean foundEscape = false;
+        int i = pos + 1;
+        for (;;) {
+            if (i >= limit) {
+                pos = i;
+                throw newParsingException(Event.VALUE_STRING);
+            }
+            byte b = input.get(i);
+            if (b == '"') {
+                break;
+            } else if (b == '\\') {
+                foundEscape = true;
+                i = scanEscape(i);
+            } else if (b >= 0 && b < 0x20) {
+                pos = i;
+                throw newUnexpectedCharException(b);
+            } else {
+                i++;
+            }
+        }
+        tokenStart = pos + 1;
+        tokenEnd = i;
+        escaped = foundEscape;
+        pos = i + 1;
+    }
+
+    /**
+     * Scans an escape sequence.
+     *
+     * @param index the index of the backslash.
+     * @return the index following the escape sequence.
+     */
+    private int scanEscape(int index) {
+        int i = index + 1;
+        int c = (i < limit) ? input.get(i) : -1;
+        switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+        case 'b':
+        case 'f':
+        case 'n':
+        case 'r':
+        case 't':
+            return i + 1;
+        case 'u':
+            for (int j = 1; j <= 4; j++) {
+                if (i + j >= limit || Character.digit(input.get(i + j), 16) < 0) {
+                    throw newInvalidTokenException(index, Math.min(i + j + 1, limit));
+                }
+            }
+            return i + 5;
+        default:
+            throw newInvalidTokenException(index, Math.min(i + 1, limit));
+        }
+    }
+
+    private void scanLiteral(byte[] literal) {
+        int i = 0;
+        while (i < literal.length && pos + i < limit && input.get(pos + i) == literal[i]) {
+            i++;
+        }
+        if (i < literal.length) {
+            throw newInvalidTokenException(pos, Math.min(pos + i + 1, limit));
+        }
+        tokenStart = pos;
+        pos += literal.length;
+        tokenEnd = pos;
+    }
+
+    private void scanNumber() {
+        int i = pos;
+        if (input.get(i) == '-') {
+            i++;
+        }
+        if (i < limit && input.get(i) == '0') {
+            i++;
+        } else {
+            i = scanDigits(i);
+        }
+        boolean integer = true;
+        if (i < limit && input.get(i) == '.') {
+            i = scanDigits(i + 1);
+            integer = false;
+        }
+        if (i < limit && (input.get(i) == 'e' || input.get(i) == 'E')) {
+            i++;
+            if (i < limit && (input.get(i) == '+' || input.get(i) == '-')) {
+                i++;
+            }
+            i = scanDigits(i);
+            integer = false;
+        }
+        tokenStart = pos;
+        tokenEnd = i;
+        plainInteger = integer;
+        pos = i;
+    }
+
+    /**
+     * Scans one or more digits.
+     *
+     * @param index the index of the first digit.
+     * @return the index following the last digit.
+     */
+    private int scanDigits(int index) {
+        int i = index;
+        while (i < limit && isDigit(input.get(i))) {
+            i++;
+        }
+        if (i == index) {
+            throw newInvalidTokenException(pos, Math.min(i + 1, limit));
+        }
+        return i;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private long parseLong() {
+        int i = tokenStart;
+        boolean negative = input.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long value = 0;
+        while (i < tokenEnd) {
+            value = value * 10 + (input.get(i++) - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    private void requireNumber(String method) {
+        if (getCurrentEvent() != Event.VALUE_NUMBER) {
+            throw newIllegalStateException(method);
+        }
+    }
+
+    /**
+     * Counts the code points encoded in the specified range, which does not
+     * contain any escape sequences.
+     *
+     * @param from the index of the first byte, inclusive.
+     * @param to   the index of the last byte, exclusive.
+     * @return the number of code points.
+     */
+    private int countCodePoints(int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if ((input.get(i) & 0xc0) != 0x80) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String decode(int from, int to) {
+        if (input.hasArray()) {
+            return new String(input.array(), input.arrayOffset() + from, to - from, StandardCharsets.UTF_8);
+        }
+        return new String(copyBytes(from, to), StandardCharsets.UTF_8);
+    }
+
+    private byte[] copyBytes(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = input.get(from + i);
+        }
+        return bytes;
+    }
+
+    private String decodeEscaped() {
+        StringBuilder builder = new StringBuilder();
+        int runStart = tokenStart;
+        int i = tokenStart;
+        while (i < tokenEnd) {
+            if (input.get(i) != '\\') {
+                i++;
+                continue;
+            }
+            builder.append(decode(runStart, i));
+            byte c = input.get(i + 1);
+            switch (c) {
+            case 'b':
+                builder.append('\b');
+                break;
+            case 'f':
+                builder.append('\f');
+                break;
+            case 'n':
+                builder.append('\n');
+                break;
+            case 'r':
+                builder.append('\r');
+                break;
+            case 't':
+                builder.append('\t');
+                break;
+            case 'u':
+                builder.append((char) Integer.parseInt(decode(i + 2, i + 6), 16));
+                i += 4;
+                break;
+            default:
+                builder.append((char) c);
+                break;
+            }
+            i += 2;
+            runStart = i;
+        }
+        return builder.append(decode(runStart, tokenEnd)).toString();
+    }
+
+    private JsonParsingException newUnexpectedCharException(int c) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("char", (c < 0x20 || c >= 0x7f) ? String.format("U+%04X", c) : String.valueOf((char) c));
+        String message = Message.PARSER_UNEXPECTED_CHAR.format(args);
+        return new JsonParsingException(message, getLocation());
+    }
+
+    private JsonParsingException newInvalidTokenException(int from, int to) {
+        pos = from;
+        Map<String, Object> args = new HashMap<>();
+        args.put("token", decode(from, to));
+        String message = Message.PARSER_INVALID_TOKEN.format(args);
+        return new JsonParsingException(message, getLocation());
+    }
+
+    /**
+     * A table of the key names found in the document.
+     *
+     * @author leadpony
+     */
+    private final class KeyTable {
+
+        /*
+         * The maximum number of the key names to be kept, which protects the
+         * table from documents having unique key names.
+         */
+        private static final int MAX_ENTRIES = 4096;
+
+        private KeyEntry[] entries = new KeyEntry[64];
+        private int size;
+
+        /**
+         * Returns the key name encoded in the specified range.
+         *
+         * @param from the index of the first byte, inclusive.
+         * @param to   the index of the last byte, exclusive.
+         * @return the decoded key name.
+         */
+        String get(int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + input.get(i);
+            }
+            for (KeyEntry entry = entries[hash & (entries.length - 1)]; entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.matches(from, to)) {
+                    return entry.key;
+                }
+            }
+            String key = decode(from, to);
+            if (size < MAX_ENTRIES) {
+                add(new KeyEntry(copyBytes(from, to), key, hash));
+            }
+            return key;
+        }
+
+        private void add(KeyEntry entry) {
+            if (++size > entries.length * 3 / 4) {
+                KeyEntry[] oldEntries = this.entries;
+                this.entries = new KeyEntry[oldEntries.length * 2];
+                for (KeyEntry head : oldEntries) {
+                    for (KeyEntry e = head; e != null;) {
+                        KeyEntry next = e.next;
+                        link(e);
+                        e = next;
+                    }
+                }
+            }
+            link(entry);
+        }
+
+        private void link(KeyEntry entry) {
+            int index = entry.hash & (entries.length - 1);
+            entry.next = entries[index];
+            entries[index] = entry;
+        }
+    }
+
+    /**
+     * An entry in {@link KeyTable}.
+     *
+     * @author leadpony
+     */
+    private final class KeyEntry {
+
+        private final byte[] bytes;
+        private final String key;
+        private final int hash;
+        private KeyEntry next;
+
+        KeyEntry(byte[] bytes, String key, int hash) {
+            this.bytes = bytes;
+            this.key = key;
+            this.hash = hash;
+        }
+
+        boolean matches(int from, int to) {
+            if (to - from != bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (input.get(from + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.batch;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The default executor of the validations in a batch.
+ *
+ * <p>
+ * On Java 21 and later, this implementation runs each validation in a new
+ * virtual thread. The documents waiting for I/O do not occupy any platform
+ * thread, so more documents are validated at the same time by default. The
+ * virtual threads are created reflectively because this library is compiled
+ * for older versions of Java.
+ * </p>
+ *
+ * <p>
+ * On older versions, the validations run in a pool of daemon threads. The
+ * number of the threads is bounded by the maximum concurrency of each batch.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class BatchExecutor {
+
+    private static final int CONCURRENCY_PER_VIRTUAL_PROCESSOR = 8;
+
+    private BatchExecutor() {
+    }
+
+    /**
+     * Returns the default executor.
+     *
+     * @return the default executor, never be {@code null}.
+     */
+    public static Executor getDefault() {
+        return Holder.EXECUTOR;
+    }
+
+    /**
+     * Returns the default maximum number of documents validated at the same
+     * time.
+     *
+     * @return the default maximum concurrency.
+     */
+    public static int getDefaultConcurrency() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        return Holder.VIRTUAL ? processors * CONCURRENCY_PER_VIRTUAL_PROCESSOR : processors;
+    }
+
+    /**
+     * Finds the factory of the virtual threads, which is available on Java 21
+     * and later.
+     *
+     * @return the factory found, or {@code null} if virtual threads are not
+     *         available.
+     */
+    private static ThreadFactory findVirtualThreadFactory() {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class)
+                    .invoke(builder, "justify-batch-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            // Before Java 21, or virtual threads in preview are not enabled.
+            return null;
+        }
+    }
+
+    /**
+     * The holder of the executor created on first use.
+     *
+     * @author leadpony
+     */
+    private static final class Holder {
+
+        static final ThreadFactory VIRTUAL_FACTORY = findVirtualThreadFactory();
+        static final boolean VIRTUAL = VIRTUAL_FACTORY != null;
+        static final Executor EXECUTOR = VIRTUAL ? task -> VIRTUAL_FACTORY.newThread(task).start()
+                : Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "justify-batch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        private Holder() {
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.batch;
+
+import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.json.JsonException;
+
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.api.ValidationResult;
+import org.leadpony.justify.api.ValidationSource;
+
+/**
+ * A validator of JSON documents in a batch.
+ *
+ * <p>
+ * The sources are pulled from the iterator only by the thread consuming the
+ * results. Each source is validated by a task submitted to the executor, and
+ * at most the given number of tasks are kept in flight, including the ones
+ * whose results are not consumed yet. Nothing but the configuration
+ * properties, including the schema, is shared by the tasks.
+ * </p>
+ *
+ * @author leadpony
+ */
+public class BatchValidator implements Iterator<ValidationResult> {
+
+    private final JsonValidationService service;
+    private final Iterator<? extends ValidationSource> sources;
+    private final Map<String, ?> properties;
+    private final Executor executor;
+    private final int maxConcurrency;
+
+    private final Deque<CompletableFuture<ValidationResult>> pending = new ArrayDeque<>();
+
+    /**
+     * Constructs this validator.
+     *
+     * @param service        the validation service.
+     * @param sources        the sources of the JSON documents.
+     * @param properties     the configuration properties, including the schema.
+     * @param executor       the executor running the validations.
+     * @param maxConcurrency the maximum number of tasks in flight.
+     */
+    public BatchValidator(JsonValidationService service, Iterator<? extends ValidationSource> sources,
+            Map<String, ?> properties, Executor executor, int maxConcurrency) {
+        this.service = service;
+        this.sources = sources;
+        this.properties = properties;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Validates the JSON documents supplied by the specified sources.
+     *
+     * @param service        the validation service.
+     * @param sources        the sources of the JSON documents.
+     * @param properties     the configuration properties, including the schema.
+     * @param executor       the executor running the validations.
+     * @param maxConcurrency the maximum number of tasks in flight.
+     * @return the stream of the results in the same order as the sources.
+     */
+    public static Stream<ValidationResult> validateAll(JsonValidationService service,
+            Stream<? extends ValidationSource> sources,
+            Map<String, ?> properties, Executor executor, int maxConcurrency) {
+        BatchValidator validator = new BatchValidator(service, sources.iterator(), properties, executor,
+                maxConcurrency);
+        Spliterator<ValidationResult> spliterator = Spliterators.spliteratorUnknownSize(validator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(validator::cancel)
+                .onClose(sources::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        fill();
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public ValidationResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        // The future stays in the queue until done to keep the concurrency bounded.
+        CompletableFuture<ValidationResult> future = pending.peek();
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } finally {
+            pending.remove();
+        }
+    }
+
+    /**
+     * Cancels the validations not started yet.
+     */
+    public void cancel() {
+        for (CompletableFuture<ValidationResult> future : pending) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    private void fill() {
+        while (pending.size() < maxConcurrency && sources.hasNext()) {
+            ValidationSource source = requireNonNull(sources.next(), "source");
+            pending.add(CompletableFuture.supplyAsync(() -> validate(source), executor));
+        }
+    }
+
+    private ValidationResult validate(ValidationSource source) {
+        List<Problem> problems = new ArrayList<>();
+        JsonException exception = null;
+        try (InputStream in = source.openStream()) {
+            ValidationConfig config = service.createValidationConfig()
+                    .withProperties(properties)
+                    .withProblemHandler(problems::addAll);
+            service.validate(in, config);
+        } catch (IOException e) {
+            exception = new JsonException(e.getMessage(), e);
+        } catch (JsonException e) {
+            exception = e;
+        }
+        return new DefaultValidationResult(source, problems, exception);
+    }
+}
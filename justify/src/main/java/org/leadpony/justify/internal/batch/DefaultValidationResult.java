@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.batch;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.json.JsonException;
+
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationResult;
+import org.leadpony.justify.api.ValidationSource;
+
+/**
+ * The default implementation of {@link ValidationResult}.
+ *
+ * @author leadpony
+ */
+class DefaultValidationResult implements ValidationResult {
+
+    private final ValidationSource source;
+    private final List<Problem> problems;
+    private final JsonException exception;
+
+    DefaultValidationResult(ValidationSource source, List<Problem> problems, JsonException exception) {
+        this.source = source;
+        this.problems = Collections.unmodifiableList(problems);
+        this.exception = exception;
+    }
+
+    @Override
+    public ValidationSource getSource() {
+        return source;
+    }
+
+    @Override
+    public List<Problem> getProblems() {
+        return problems;
+    }
+
+    @Override
+    public JsonException getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(source.getName()).append(": ");
+        if (exception != null) {
+            builder.append(exception.getMessage());
+        } else {
+            builder.append(problems.size()).append(" problem(s)");
+        }
+        return builder.toString();
+    }
+}
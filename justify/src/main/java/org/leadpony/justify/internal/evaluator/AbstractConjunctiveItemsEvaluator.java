@@ -60,6 +60,11 @@ public abstract class AbstractConjunctiveItemsEvaluator extends AbstractLogicalE
         return Result.PENDING;
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        return depth > 0 && (childEvaluator == null || childEvaluator.ignoresSubtree(depth - 1));
+    }
+
     @Override
     public void append(Evaluator evaluator) {
         if (evaluator == Evaluator.ALWAYS_TRUE) {
@@ -76,6 +76,25 @@ public abstract class AbstractConjunctivePropertiesEvaluator extends AbstractLog
         return Result.PENDING;
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        if (depth == 0) {
+            return false;
+        }
+        final int childDepth = depth - 1;
+        if (firstChildEvaluator != null && !firstChildEvaluator.ignoresSubtree(childDepth)) {
+            return false;
+        }
+        if (additionalChildEvaluators != null) {
+            for (Evaluator child : additionalChildEvaluators) {
+                if (!child.ignoresSubtree(childDepth)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     @Override
     public void append(Evaluator evaluator) {
         if (evaluator == Evaluator.ALWAYS_TRUE) {
@@ -41,6 +41,11 @@ abstract class AbstractDisjunctiveChildrenEvaluator extends DisjunctiveEvaluator
         return super.evaluate(event, depth, dispatcher);
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        return depth > 0 && super.ignoresSubtree(depth - 1);
+    }
+
     @Override
     protected Result invokeOperandEvaluators(Event event, int depth, ProblemDispatcher dispatcher) {
         if (depth > 0) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.evaluator;
+
+import javax.json.stream.JsonParser.Event;
+
+import org.leadpony.justify.api.Evaluator;
+import org.leadpony.justify.api.ProblemDispatcher;
+import org.leadpony.justify.internal.problem.SilentProblemDispatcher;
+
+/**
+ * Evaluator for "allOf" boolean logic applied to a simple value, which
+ * evaluates the operands in adaptive order when no problems are needed.
+ *
+ * <p>
+ * If the problems are discarded by the dispatcher, the operands are evaluated
+ * in the order given by {@link AdaptiveOrder}, which puts the operands often
+ * evaluated as false first, and the evaluation stops at the first operand
+ * evaluated as false. Otherwise all the operands are evaluated in declaration
+ * order, which keeps the order of the problems found.
+ * </p>
+ *
+ * @author leadpony
+ */
+class AdaptiveConjunctiveEvaluator implements LogicalEvaluator {
+
+    private final AdaptiveOrder order;
+    // the operands in declaration order, null for the operands always true.
+    private final Evaluator[] operands;
+    private int size;
+
+    AdaptiveConjunctiveEvaluator(AdaptiveOrder order) {
+        this.order = order;
+        this.operands = new Evaluator[order.size()];
+    }
+
+    @Override
+    public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
+        if (dispatcher == SilentProblemDispatcher.SINGLETON) {
+            for (int index : order.getOrder()) {
+                Evaluator operand = operands[index];
+                if (operand != null && operand.evaluate(event, depth, dispatcher) == Result.FALSE) {
+                    order.record(index);
+                    return Result.FALSE;
+                }
+            }
+            return Result.TRUE;
+        }
+        Result finalResult = Result.TRUE;
+        for (int index = 0; index < size; index++) {
+            Evaluator operand = operands[index];
+            if (operand != null && operand.evaluate(event, depth, dispatcher) == Result.FALSE) {
+                order.record(index);
+                finalResult = Result.FALSE;
+            }
+        }
+        return finalResult;
+    }
+
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        for (int index = 0; index < size; index++) {
+            Evaluator operand = operands[index];
+            if (operand != null && !operand.ignoresSubtree(depth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void append(Evaluator evaluator) {
+        if (evaluator != Evaluator.ALWAYS_TRUE) {
+            operands[size] = evaluator;
+        }
+        size++;
+    }
+}
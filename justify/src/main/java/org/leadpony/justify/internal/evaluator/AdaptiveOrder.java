@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.evaluator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The order of the operands of a logical evaluator adapted to the results
+ * observed so far.
+ *
+ * <p>
+ * An operand is counted when it determined the result of the evaluation, that
+ * is, when it was evaluated as true in a disjunction or as false in a
+ * conjunction. The operands are sorted by their counts in descending order
+ * every time a fixed number of results were counted. The operands never
+ * counted keep the order in which they were declared.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are shared by all the evaluators created from the
+ * same schema, and are safe for use by multiple concurrent threads.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class AdaptiveOrder {
+
+    // the number of the results counted between the reorderings.
+    private static final int INTERVAL = 256;
+
+    private final AtomicLongArray counts;
+    private final AtomicInteger results = new AtomicInteger();
+    private volatile int[] order;
+
+    /**
+     * Constructs this order.
+     *
+     * @param size the number of the operands.
+     */
+    public AdaptiveOrder(int size) {
+        this.counts = new AtomicLongArray(size);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        this.order = order;
+    }
+
+    /**
+     * Returns the number of the operands.
+     *
+     * @return the number of the operands.
+     */
+    public int size() {
+        return counts.length();
+    }
+
+    /**
+     * Returns the indices of the operands in the order to be evaluated. The
+     * returned array must not be modified.
+     *
+     * @return the indices of the operands.
+     */
+    public int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Counts the operand which determined the result of the evaluation.
+     *
+     * @param index the index of the operand in declaration order.
+     */
+    public void record(int index) {
+        counts.incrementAndGet(index);
+        if (results.incrementAndGet() % INTERVAL == 0) {
+            reorder();
+        }
+    }
+
+    private void reorder() {
+        final int size = counts.length();
+        long[] snapshot = new long[size];
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        int[] newOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            // Stable insertion sort by the counts in descending order.
+            int j = i;
+            while (j > 0 && snapshot[newOrder[j - 1]] < snapshot[i]) {
+                newOrder[j] = newOrder[j - 1];
+                j--;
+            }
+            newOrder[j] = i;
+        }
+        this.order = newOrder;
+    }
+}
@@ -72,6 +72,17 @@ public class ConditionalEvaluator extends AbstractEvaluator {
         return Result.PENDING;
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        if (ifResult == Result.PENDING && !ifEvaluator.ignoresSubtree(depth)) {
+            return false;
+        }
+        if (ifResult != Result.FALSE && thenResult == Result.PENDING && !thenEvaluator.ignoresSubtree(depth)) {
+            return false;
+        }
+        return ifResult == Result.TRUE || elseResult != Result.PENDING || elseEvaluator.ignoresSubtree(depth);
+    }
+
     private Result updateEvaluation(Result result, Evaluator evaluator, Event event, int depth,
             ProblemDispatcher dispatcher) {
         if (result == Result.PENDING) {
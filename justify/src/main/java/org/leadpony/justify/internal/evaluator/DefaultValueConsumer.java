@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.evaluator;
+
+import java.util.BitSet;
+
+import org.leadpony.justify.internal.base.json.JsonEventTape;
+
+/**
+ * A context which accepts default values precompiled into
+ * {@link JsonEventTape}s. The default values are replayed from the tapes
+ * without being copied for each instance.
+ *
+ * @author leadpony
+ */
+public interface DefaultValueConsumer {
+
+    /**
+     * Inserts default properties at the end of the object.
+     *
+     * @param tape    the tape of the default properties.
+     * @param present the indices of the properties already present in the
+     *                object, may be {@code null}.
+     */
+    void putDefaultProperties(JsonEventTape tape, BitSet present);
+
+    /**
+     * Inserts default items at the end of the array.
+     *
+     * @param tape the tape of the default items.
+     * @param from the index of the first item to insert, inclusive.
+     * @param to   the index of the last item to insert, exclusive.
+     */
+    void putDefaultItems(JsonEventTape tape, int from, int to);
+}
@@ -25,9 +25,11 @@ import org.leadpony.justify.api.Problem;
 import org.leadpony.justify.api.ProblemDispatcher;
 import org.leadpony.justify.internal.problem.DefaultProblemDispatcher;
 import org.leadpony.justify.internal.problem.ProblemList;
+import org.leadpony.justify.internal.problem.SilentProblemDispatcher;
 
 /**
- * Evaluator which retains the found problems and dispatches them later.
+ * Evaluator which retains the found problems and dispatches them later. No
+ * problems are retained if the problems are discarded by the dispatcher given.
  *
  * @author leadpony
  */
@@ -47,9 +49,17 @@ class DeferredEvaluator implements Evaluator, DefaultProblemDispatcher {
 
     @Override
     public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
+        if (dispatcher == SilentProblemDispatcher.SINGLETON) {
+            return evaluator.evaluate(event, depth, dispatcher);
+        }
         return evaluator.evaluate(event, depth, this);
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        return evaluator.ignoresSubtree(depth);
+    }
+
     @Override
     public void dispatchProblem(Problem problem) {
         requireNonNull(problem, "problem");
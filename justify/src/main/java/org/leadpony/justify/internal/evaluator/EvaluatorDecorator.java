@@ -48,6 +48,11 @@ public class EvaluatorDecorator extends AbstractEvaluator {
         return finalResult;
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        return finalResult == null && real.ignoresSubtree(depth);
+    }
+
     @Override
     public boolean isAlwaysFalse() {
         return real.isAlwaysFalse();
@@ -16,6 +16,8 @@
 
 package org.leadpony.justify.internal.evaluator;
 
+import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.json.stream.JsonParser.Event;
@@ -69,6 +71,24 @@ public final class Evaluators {
         }
     }
 
+    /**
+     * Creates a conjunctive evaluator whose operands are evaluated in the
+     * specified order when no problems are needed.
+     *
+     * @param type  the type of the instance to validate.
+     * @param order the order of the operands shared by the evaluators.
+     * @return newly created evaluator.
+     */
+    public static LogicalEvaluator conjunctive(InstanceType type, AdaptiveOrder order) {
+        switch (type) {
+        case ARRAY:
+        case OBJECT:
+            return conjunctive(type);
+        default:
+            return new AdaptiveConjunctiveEvaluator(order);
+        }
+    }
+
     public static LogicalEvaluator disjunctive(EvaluatorContext context, InstanceType type) {
         switch (type) {
         case ARRAY:
@@ -80,13 +100,40 @@ public final class Evaluators {
         }
     }
 
-    public static LogicalEvaluator exclusive(EvaluatorContext context, InstanceType type, Stream<Evaluator> operands,
-            Stream<Evaluator> negated) {
+    /**
+     * Creates a disjunctive evaluator of the specified subschemas. The
+     * subschemas applied to a simple value are evaluated without collecting
+     * problems first in the specified order, and are evaluated again in
+     * declaration order only if all of them evaluated as false.
+     *
+     * @param context    the context of the evaluator to be created.
+     * @param type       the type of the instance to validate.
+     * @param subschemas the subschemas to evaluate.
+     * @param order      the order of the subschemas shared by the evaluators.
+     * @return newly created evaluator.
+     */
+    public static LogicalEvaluator disjunctive(EvaluatorContext context, InstanceType type,
+            List<JsonSchema> subschemas, AdaptiveOrder order) {
+        switch (type) {
+        case ARRAY:
+        case OBJECT:
+            LogicalEvaluator evaluator = disjunctive(context, type);
+            for (JsonSchema subschema : subschemas) {
+                evaluator.append(subschema.createEvaluator(context, type));
+            }
+            return evaluator;
+        default:
+            return new TwoPassDisjunctiveEvaluator(context, type, subschemas, order);
+        }
+    }
+
+    public static LogicalEvaluator exclusive(EvaluatorContext context, InstanceType type,
+            Supplier<Stream<Evaluator>> operands, Supplier<Stream<Evaluator>> negated) {
         switch (type) {
         case ARRAY:
-            return new ExclusiveEvaluator(context, Event.END_ARRAY, operands, negated);
+            return new ExclusiveEvaluator(context, Event.END_ARRAY, operands.get(), negated.get());
         case OBJECT:
-            return new ExclusiveEvaluator(context, Event.END_OBJECT, operands, negated);
+            return new ExclusiveEvaluator(context, Event.END_OBJECT, operands.get(), negated.get());
         default:
             return new SimpleExclusiveEvaluator(context, operands, negated);
         }
@@ -70,6 +70,23 @@ class ExclusiveEvaluator extends AbstractExclusiveEvaluator {
         return Result.PENDING;
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        if (evaluationsAsTrue <= 1 && !ignoresSubtree(operands, depth)) {
+            return false;
+        }
+        return ignoresSubtree(negated, depth);
+    }
+
+    private static boolean ignoresSubtree(List<DeferredEvaluator> evaluators, int depth) {
+        for (DeferredEvaluator evaluator : evaluators) {
+            if (!evaluator.ignoresSubtree(depth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void evaluateAll(Event event, int depth, ProblemDispatcher dispatcher) {
         Iterator<DeferredEvaluator> it = operands.iterator();
         while (it.hasNext()) {
@@ -46,6 +46,16 @@ class SimpleConjunctiveEvaluator extends ArrayList<Evaluator> implements Logical
         return finalResult;
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        for (Evaluator operand : this) {
+            if (!operand.ignoresSubtree(depth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void append(Evaluator evaluator) {
         if (evaluator == Evaluator.ALWAYS_TRUE) {
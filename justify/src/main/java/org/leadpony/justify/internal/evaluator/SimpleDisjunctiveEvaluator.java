@@ -29,6 +29,7 @@ import org.leadpony.justify.api.ProblemDispatcher;
 import org.leadpony.justify.internal.base.Message;
 import org.leadpony.justify.internal.problem.ProblemBuilder;
 import org.leadpony.justify.internal.problem.ProblemList;
+import org.leadpony.justify.internal.problem.SilentProblemDispatcher;
 
 /**
  * Evaluator for "anyOf" boolean logic.
@@ -58,6 +59,16 @@ class SimpleDisjunctiveEvaluator extends AbstractLogicalEvaluator
         return dispatchProblems(dispatcher);
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        for (DeferredEvaluator operand : operands) {
+            if (!operand.ignoresSubtree(depth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void append(Evaluator evaluator) {
         this.operands.add(new DeferredEvaluator(evaluator));
@@ -76,6 +87,9 @@ class SimpleDisjunctiveEvaluator extends AbstractLogicalEvaluator
     }
 
     protected Result dispatchProblems(ProblemDispatcher dispatcher) {
+        if (dispatcher == SilentProblemDispatcher.SINGLETON) {
+            return Result.FALSE;
+        }
         if (problemLists == null) {
             dispatchDefaultProblem(dispatcher);
         } else {
@@ -19,6 +19,7 @@ package org.leadpony.justify.internal.evaluator;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.json.stream.JsonParser.Event;
@@ -27,16 +28,26 @@ import org.leadpony.justify.api.EvaluatorContext;
 import org.leadpony.justify.api.Evaluator;
 import org.leadpony.justify.api.ProblemDispatcher;
 import org.leadpony.justify.internal.problem.ProblemList;
+import org.leadpony.justify.internal.problem.SilentProblemDispatcher;
 
 /**
+ * Evaluator for "oneOf" boolean logic applied to a simple value.
+ *
+ * <p>
+ * The operands are evaluated without collecting problems first. Only when the
+ * evaluation fails, the operands are created again and evaluated at the same
+ * event collecting the problems to report.
+ * </p>
+ *
  * @author leadpony
  */
 class SimpleExclusiveEvaluator extends AbstractExclusiveEvaluator {
 
-    private final Stream<Evaluator> operands;
-    private final Stream<Evaluator> negated;
+    private final Supplier<Stream<Evaluator>> operands;
+    private final Supplier<Stream<Evaluator>> negated;
 
-    SimpleExclusiveEvaluator(EvaluatorContext context, Stream<Evaluator> operands, Stream<Evaluator> negated) {
+    SimpleExclusiveEvaluator(EvaluatorContext context, Supplier<Stream<Evaluator>> operands,
+            Supplier<Stream<Evaluator>> negated) {
         super(context);
         this.operands = operands;
         this.negated = negated;
@@ -44,10 +55,14 @@ class SimpleExclusiveEvaluator extends AbstractExclusiveEvaluator {
 
     @Override
     public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
-        int evaluationsAsTrue = evaluateAll(event, depth, dispatcher);
+        int evaluationsAsTrue = countEvaluationsAsTrue(event, depth);
         if (evaluationsAsTrue == 1) {
             return Result.TRUE;
-        } else if (evaluationsAsTrue > 1) {
+        } else if (dispatcher == SilentProblemDispatcher.SINGLETON) {
+            return Result.FALSE;
+        } else if (evaluationsAsTrue == 0) {
+            evaluateAll(event, depth, dispatcher);
+        } else {
             evaluateAllNegated(event, depth, dispatcher);
         }
         return Result.FALSE;
@@ -57,30 +72,44 @@ class SimpleExclusiveEvaluator extends AbstractExclusiveEvaluator {
         return stream.map(DeferredEvaluator::new).iterator();
     }
 
-    private int evaluateAll(Event event, int depth, ProblemDispatcher dispatcher) {
-        List<ProblemList> problemLists = new ArrayList<>();
-        Iterator<DeferredEvaluator> it = iterator(operands);
+    /**
+     * Counts the operands evaluated as true without collecting problems.
+     *
+     * @param event the event to evaluate.
+     * @param depth the depth of the event.
+     * @return the number of the operands evaluated as true, up to 2.
+     */
+    private int countEvaluationsAsTrue(Event event, int depth) {
+        Iterator<Evaluator> it = operands.get().iterator();
         int evaluationsAsTrue = 0;
+        while (it.hasNext() && evaluationsAsTrue < 2) {
+            Result result = it.next().evaluate(event, depth, SilentProblemDispatcher.SINGLETON);
+            assert result != Result.PENDING;
+            if (result == Result.TRUE) {
+                ++evaluationsAsTrue;
+            }
+        }
+        return evaluationsAsTrue;
+    }
+
+    private void evaluateAll(Event event, int depth, ProblemDispatcher dispatcher) {
+        List<ProblemList> problemLists = new ArrayList<>();
+        Iterator<DeferredEvaluator> it = iterator(operands.get());
         while (it.hasNext()) {
             DeferredEvaluator current = it.next();
             Result result = current.evaluate(event, depth, dispatcher);
-            if (result == Result.TRUE) {
-                ++evaluationsAsTrue;
-            } else if (result == Result.FALSE) {
+            if (result == Result.FALSE) {
                 problemLists.add(current.problems());
             } else {
-                assert false;
+                assert result == Result.TRUE;
             }
         }
-        if (evaluationsAsTrue == 0) {
-            dispatchProblems(dispatcher, problemLists);
-        }
-        return evaluationsAsTrue;
+        dispatchProblems(dispatcher, problemLists);
     }
 
     private void evaluateAllNegated(Event event, int depth, ProblemDispatcher dispatcher) {
         List<ProblemList> problemLists = new ArrayList<>();
-        Iterator<DeferredEvaluator> it = iterator(negated);
+        Iterator<DeferredEvaluator> it = iterator(negated.get());
         while (it.hasNext()) {
             DeferredEvaluator current = it.next();
             Result result = current.evaluate(event, depth, dispatcher);
@@ -53,6 +53,16 @@ class SimpleNotExclusiveEvaluator extends AbstractLogicalEvaluator
         return finalizeResult(dispatcher);
     }
 
+    @Override
+    public boolean ignoresSubtree(int depth) {
+        for (DeferredEvaluator operand : operands) {
+            if (!operand.ignoresSubtree(depth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void append(Evaluator evaluator) {
         if (evaluator == Evaluator.ALWAYS_TRUE) {
@@ -75,7 +85,9 @@ class SimpleNotExclusiveEvaluator extends AbstractLogicalEvaluator
 
     protected Result finalizeResult(ProblemDispatcher dispatcher) {
         if (evaluationsAsFalse == 1) {
-            problemList.forEach(dispatcher::dispatchProblem);
+            if (problemList != null) {
+                problemList.forEach(dispatcher::dispatchProblem);
+            }
             return Result.FALSE;
         } else {
             return Result.TRUE;
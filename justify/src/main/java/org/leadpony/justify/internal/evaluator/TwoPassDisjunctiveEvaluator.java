@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.evaluator;
+
+import java.util.List;
+
+import javax.json.stream.JsonParser.Event;
+
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.api.InstanceType;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.ProblemDispatcher;
+import org.leadpony.justify.internal.problem.SilentProblemDispatcher;
+
+/**
+ * Evaluator for "anyOf" boolean logic applied to a simple value.
+ *
+ * <p>
+ * The subschemas are evaluated without collecting problems first, in the
+ * order given by {@link AdaptiveOrder}, which puts the subschemas often
+ * evaluated as true first. The evaluation stops at the first subschema
+ * evaluated as true. Only when all of the subschemas evaluated as false, they
+ * are evaluated again in declaration order at the same event collecting the
+ * problems to report.
+ * </p>
+ *
+ * @author leadpony
+ */
+class TwoPassDisjunctiveEvaluator extends SimpleDisjunctiveEvaluator {
+
+    private final InstanceType type;
+    private final List<JsonSchema> subschemas;
+    private final AdaptiveOrder order;
+
+    TwoPassDisjunctiveEvaluator(EvaluatorContext context, InstanceType type,
+            List<JsonSchema> subschemas, AdaptiveOrder order) {
+        super(context);
+        this.type = type;
+        this.subschemas = subschemas;
+        this.order = order;
+    }
+
+    @Override
+    public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
+        EvaluatorContext context = getContext();
+        for (int index : order.getOrder()) {
+            Result result = subschemas.get(index).createEvaluator(context, type)
+                    .evaluate(event, depth, SilentProblemDispatcher.SINGLETON);
+            if (result == Result.TRUE) {
+                order.record(index);
+                return Result.TRUE;
+            }
+        }
+        if (dispatcher == SilentProblemDispatcher.SINGLETON) {
+            return Result.FALSE;
+        }
+        for (JsonSchema subschema : subschemas) {
+            append(subschema.createEvaluator(context, type));
+        }
+        return super.evaluate(event, depth, dispatcher);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.jfr;
+
+import java.net.URI;
+
+import org.leadpony.justify.api.JsonSchema;
+
+/**
+ * The emitter of the events of JDK Flight Recorder.
+ *
+ * <p>
+ * This implementation is used on Java 8 and 9, where the JFR API is not
+ * available, and never emits any events. The implementation for Java 11 and
+ * later is packaged in the multi-release JAR and replaces this class.
+ * </p>
+ *
+ * <p>
+ * Each {@code begin} method returns an opaque event, or {@code null} if the
+ * event is disabled. The caller should skip the corresponding {@code end}
+ * method and the preparation of its arguments if the returned event is
+ * {@code null}.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class FlightRecorder {
+
+    private FlightRecorder() {
+    }
+
+    /**
+     * Begins the event of reading a schema.
+     *
+     * @return the event begun, or {@code null} if the event is disabled.
+     */
+    public static Object beginSchemaRead() {
+        return null;
+    }
+
+    /**
+     * Ends and commits the event of reading a schema.
+     *
+     * @param event      the event returned by {@link #beginSchemaRead()}.
+     * @param schema     the schema read, may be {@code null}.
+     * @param keywords   the number of the keywords read.
+     * @param references the number of the schema references read.
+     */
+    public static void endSchemaRead(Object event, JsonSchema schema, int keywords, int references) {
+    }
+
+    /**
+     * Begins the event of resolving a schema reference.
+     *
+     * @return the event begun, or {@code null} if the event is disabled.
+     */
+    public static Object beginReferenceResolution() {
+        return null;
+    }
+
+    /**
+     * Ends and commits the event of resolving a schema reference.
+     *
+     * @param event    the event returned by {@link #beginReferenceResolution()}.
+     * @param ref      the URI of the referenced schema.
+     * @param resolved {@code true} if the referenced schema was found.
+     */
+    public static void endReferenceResolution(Object event, URI ref, boolean resolved) {
+    }
+
+    /**
+     * Begins the event of validating a JSON document.
+     *
+     * @return the event begun, or {@code null} if the event is disabled.
+     */
+    public static Object beginValidation() {
+        return null;
+    }
+
+    /**
+     * Ends and commits the event of validating a JSON document.
+     *
+     * @param event    the event returned by {@link #beginValidation()}.
+     * @param schema   the schema against which the document was validated.
+     * @param bytes    the number of the bytes read, or -1 if unknown.
+     * @param events   the number of the parser events processed.
+     * @param problems the number of the problems found.
+     */
+    public static void endValidation(Object event, JsonSchema schema, long bytes, long events, int problems) {
+    }
+
+    /**
+     * Checks if the event of evaluating a keyword is enabled.
+     *
+     * @return {@code true} if the event is enabled.
+     */
+    public static boolean isKeywordEvaluationEnabled() {
+        return false;
+    }
+
+    /**
+     * Begins the event of evaluating a keyword.
+     *
+     * @return the event begun, or {@code null} if the event is disabled.
+     */
+    public static Object beginKeywordEvaluation() {
+        return null;
+    }
+
+    /**
+     * Ends and commits the event of evaluating a keyword. The event is recorded
+     * only when its duration exceeds the threshold.
+     *
+     * @param event          the event returned by
+     *                       {@link #beginKeywordEvaluation()}.
+     * @param schema         the schema containing the keyword.
+     * @param keyword        the name of the keyword.
+     * @param pointer        the JSON pointer of the instance evaluated.
+     * @param evaluationTime the time spent by the evaluator in nanoseconds.
+     * @param valid          {@code true} if the instance was valid.
+     */
+    public static void endKeywordEvaluation(Object event, JsonSchema schema, String keyword,
+            String pointer, long evaluationTime, boolean valid) {
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.jfr;
+
+import javax.json.stream.JsonParser.Event;
+
+import org.leadpony.justify.api.Evaluator;
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.ProblemDispatcher;
+import org.leadpony.justify.internal.evaluator.EvaluatorDecorator;
+
+/**
+ * An evaluator decorator which emits the event of evaluating a keyword.
+ *
+ * @author leadpony
+ */
+public class KeywordEvaluationRecorder extends EvaluatorDecorator {
+
+    private final Object event;
+    private final JsonSchema schema;
+    private final String keyword;
+    private final String pointer;
+    private long evaluationTime;
+    private boolean committed;
+
+    /**
+     * Constructs this evaluator.
+     *
+     * @param evaluator the evaluator of the keyword.
+     * @param context   the context of the evaluator.
+     * @param schema    the schema containing the keyword.
+     * @param keyword   the name of the keyword.
+     */
+    public KeywordEvaluationRecorder(Evaluator evaluator, EvaluatorContext context,
+            JsonSchema schema, String keyword) {
+        super(evaluator, context);
+        this.event = FlightRecorder.beginKeywordEvaluation();
+        this.schema = schema;
+        this.keyword = keyword;
+        this.pointer = context.getPointer();
+    }
+
+    @Override
+    public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
+        if (this.event == null || committed) {
+            return super.evaluate(event, depth, dispatcher);
+        }
+        final long startTime = System.nanoTime();
+        Result result = super.evaluate(event, depth, dispatcher);
+        evaluationTime += System.nanoTime() - startTime;
+        if (result != Result.PENDING) {
+            committed = true;
+            FlightRecorder.endKeywordEvaluation(this.event, schema, keyword, pointer,
+                    evaluationTime, result == Result.TRUE);
+        }
+        return result;
+    }
+}
@@ -17,6 +17,8 @@
 package org.leadpony.justify.internal.keyword.applicator;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.json.JsonValue;
 
@@ -26,6 +28,7 @@ import org.leadpony.justify.api.JsonSchema;
 import org.leadpony.justify.api.SpecVersion;
 import org.leadpony.justify.internal.annotation.KeywordType;
 import org.leadpony.justify.internal.annotation.Spec;
+import org.leadpony.justify.internal.evaluator.AdaptiveOrder;
 import org.leadpony.justify.internal.evaluator.Evaluators;
 import org.leadpony.justify.internal.evaluator.LogicalEvaluator;
 import org.leadpony.justify.internal.keyword.KeywordMapper;
@@ -51,17 +54,19 @@ public class AnyOf extends NaryBooleanLogic {
         return mapper;
     }
 
+    // the distinct subschemas in declaration order.
+    private final List<JsonSchema> operands;
+    private final AdaptiveOrder order;
+
     public AnyOf(JsonValue json, Collection<JsonSchema> subschemas) {
         super(json, subschemas);
+        this.operands = getSubschemas().distinct().collect(Collectors.toList());
+        this.order = new AdaptiveOrder(operands.size());
     }
 
     @Override
     protected LogicalEvaluator createLogicalEvaluator(EvaluatorContext context, InstanceType type) {
-        LogicalEvaluator evaluator = Evaluators.disjunctive(context, type);
-        getSubschemas().distinct()
-                .map(s -> s.createEvaluator(context, type))
-                .forEach(evaluator::append);
-        return evaluator;
+        return Evaluators.disjunctive(context, type, operands, order);
     }
 
     @Override
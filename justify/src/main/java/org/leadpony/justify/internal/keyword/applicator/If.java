@@ -59,6 +59,33 @@ public class If extends Conditional {
         super(schema);
     }
 
+    /**
+     * Returns the subschema specified by this keyword.
+     *
+     * @return the subschema of "if" keyword.
+     */
+    public JsonSchema getIfSchema() {
+        return getSubschema();
+    }
+
+    /**
+     * Returns the subschema specified by "then" keyword.
+     *
+     * @return the subschema of "then" keyword, or {@code null} if not specified.
+     */
+    public JsonSchema getThenSchema() {
+        return thenSchema;
+    }
+
+    /**
+     * Returns the subschema specified by "else" keyword.
+     *
+     * @return the subschema of "else" keyword, or {@code null} if not specified.
+     */
+    public JsonSchema getElseSchema() {
+        return elseSchema;
+    }
+
     @Override
     protected Evaluator doCreateEvaluator(EvaluatorContext context, InstanceType type) {
         Evaluator ifEvaluator = getSubschema().createEvaluator(context, type);
@@ -34,9 +34,11 @@ import org.leadpony.justify.api.ProblemDispatcher;
 import org.leadpony.justify.api.SpecVersion;
 import org.leadpony.justify.internal.annotation.KeywordType;
 import org.leadpony.justify.internal.annotation.Spec;
+import org.leadpony.justify.internal.base.json.JsonEventTape;
 import org.leadpony.justify.internal.base.json.ParserEvents;
 import org.leadpony.justify.internal.evaluator.AbstractConjunctiveItemsEvaluator;
 import org.leadpony.justify.internal.evaluator.AbstractDisjunctiveItemsEvaluator;
+import org.leadpony.justify.internal.evaluator.DefaultValueConsumer;
 import org.leadpony.justify.internal.evaluator.EvaluatorDecorator;
 import org.leadpony.justify.internal.keyword.ArrayKeyword;
 import org.leadpony.justify.internal.keyword.Evaluatable;
@@ -199,7 +201,7 @@ public abstract class Items extends Applicator implements ArrayKeyword {
 
         private final List<JsonSchema> subschemas;
         private JsonSchema defaultSchema = JsonSchema.TRUE;
-        private List<JsonValue> defaultValues;
+        private final JsonEventTape defaultValues;
 
         DiscreteItems(JsonValue json, List<JsonSchema> subschemas) {
             super(json);
@@ -308,14 +310,14 @@ public abstract class Items extends Applicator implements ArrayKeyword {
             };
         }
 
-        private List<JsonValue> findDefaultValues(List<JsonSchema> subschemas) {
+        private JsonEventTape findDefaultValues(List<JsonSchema> subschemas) {
             for (int i = subschemas.size() - 1; i >= 0; i--) {
                 if (subschemas.get(i).containsKeyword("default")) {
                     List<JsonValue> values = new ArrayList<>(i + 1);
                     for (int j = 0; j <= i; j++) {
                         values.add(subschemas.get(j).defaultValue());
                     }
-                    return values;
+                    return JsonEventTape.ofItems(values);
                 }
             }
             return null;
@@ -336,10 +338,10 @@ public abstract class Items extends Applicator implements ArrayKeyword {
      */
     private static class ItemsDefaultEvaluator extends EvaluatorDecorator {
 
-        private final List<JsonValue> defaultValues;
+        private final JsonEventTape defaultValues;
         private int size;
 
-        ItemsDefaultEvaluator(Evaluator evaluator, EvaluatorContext context, List<JsonValue> defaultValues) {
+        ItemsDefaultEvaluator(Evaluator evaluator, EvaluatorContext context, JsonEventTape defaultValues) {
             super(evaluator, context);
             this.defaultValues = defaultValues;
         }
@@ -356,20 +358,26 @@ public abstract class Items extends Applicator implements ArrayKeyword {
             return Result.PENDING;
         }
 
+        @Override
+        public boolean ignoresSubtree(int depth) {
+            return depth > 0 && super.ignoresSubtree(depth);
+        }
+
         private void supplyDefaultValues(int size) {
-            if (size < defaultValues.size()) {
-                List<JsonValue> valuesToPut = new ArrayList<>();
-                int i = size;
-                while (i < defaultValues.size()) {
-                    JsonValue value = defaultValues.get(i++);
-                    if (value != null) {
-                        valuesToPut.add(value);
-                    } else {
-                        break;
+            int end = size;
+            while (end < defaultValues.getMemberCount() && defaultValues.getValue(end) != null) {
+                end++;
+            }
+            if (end > size) {
+                EvaluatorContext context = getContext();
+                if (context instanceof DefaultValueConsumer) {
+                    ((DefaultValueConsumer) context).putDefaultItems(defaultValues, size, end);
+                } else {
+                    List<JsonValue> valuesToPut = new ArrayList<>(end - size);
+                    for (int i = size; i < end; i++) {
+                        valuesToPut.add(defaultValues.getValue(i));
                     }
-                }
-                if (!valuesToPut.isEmpty()) {
-                    getContext().putDefaultItems(valuesToPut);
+                    context.putDefaultItems(valuesToPut);
                 }
             }
         }
@@ -58,8 +58,8 @@ public class OneOf extends NaryBooleanLogic {
     @Override
     protected LogicalEvaluator createLogicalEvaluator(EvaluatorContext context, InstanceType type) {
         return Evaluators.exclusive(context, type,
-                getSubschemas().map(s -> s.createEvaluator(context, type)),
-                getSubschemas().map(s -> s.createNegatedEvaluator(context, type)));
+                () -> getSubschemas().map(s -> s.createEvaluator(context, type)),
+                () -> getSubschemas().map(s -> s.createNegatedEvaluator(context, type)));
     }
 
     @Override
@@ -16,6 +16,7 @@
 
 package org.leadpony.justify.internal.keyword.applicator;
 
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -33,6 +34,8 @@ import org.leadpony.justify.api.ProblemDispatcher;
 import org.leadpony.justify.api.SpecVersion;
 import org.leadpony.justify.internal.annotation.KeywordType;
 import org.leadpony.justify.internal.annotation.Spec;
+import org.leadpony.justify.internal.base.json.JsonEventTape;
+import org.leadpony.justify.internal.evaluator.DefaultValueConsumer;
 import org.leadpony.justify.internal.evaluator.EvaluatorDecorator;
 import org.leadpony.justify.internal.keyword.Evaluatable;
 import org.leadpony.justify.internal.keyword.KeywordMapper;
@@ -50,7 +53,7 @@ import org.leadpony.justify.internal.keyword.SchemaKeyword;
 public class Properties extends AbstractProperties<String> {
 
     private PatternProperties patternProperties;
-    private Map<String, JsonValue> defaultValues;
+    private final JsonEventTape defaultValues;
 
     /**
      * Returns the mapper which maps a JSON value to this keyword.
@@ -64,12 +67,7 @@ public class Properties extends AbstractProperties<String> {
 
     public Properties(JsonValue json, Map<String, JsonSchema> subschemas) {
         super(json, subschemas);
-        for (Map.Entry<String, JsonSchema> entry : subschemas.entrySet()) {
-            JsonSchema subschema = entry.getValue();
-            if (subschema.containsKeyword("default")) {
-                addDefaultValue(entry.getKey(), subschema.defaultValue());
-            }
-        }
+        this.defaultValues = findDefaultValues(subschemas);
     }
 
     @Override
@@ -115,11 +113,18 @@ public class Properties extends AbstractProperties<String> {
         return found;
     }
 
-    private void addDefaultValue(String key, JsonValue defaultValue) {
-        if (defaultValues == null) {
-            defaultValues = new LinkedHashMap<>();
+    private static JsonEventTape findDefaultValues(Map<String, JsonSchema> subschemas) {
+        Map<String, JsonValue> values = null;
+        for (Map.Entry<String, JsonSchema> entry : subschemas.entrySet()) {
+            JsonSchema subschema = entry.getValue();
+            if (subschema.containsKeyword("default")) {
+                if (values == null) {
+                    values = new LinkedHashMap<>();
+                }
+                values.put(entry.getKey(), subschema.defaultValue());
+            }
         }
-        defaultValues.put(key, defaultValue);
+        return (values != null) ? JsonEventTape.ofProperties(values) : null;
     }
 
     private Evaluator decorateEvaluator(Evaluator evaluator, EvaluatorContext context) {
@@ -136,21 +141,23 @@ public class Properties extends AbstractProperties<String> {
      */
     private static final class PropertiesDefaultEvaluator extends EvaluatorDecorator {
 
-        private final Map<String, JsonValue> defaultValues;
+        private final JsonEventTape defaultValues;
+        private BitSet present;
+        private int presentCount;
 
         private PropertiesDefaultEvaluator(Evaluator evaluator, EvaluatorContext context,
-                Map<String, JsonValue> defaultValues) {
+                JsonEventTape defaultValues) {
             super(evaluator, context);
-            this.defaultValues = new LinkedHashMap<>(defaultValues);
+            this.defaultValues = defaultValues;
         }
 
         @Override
         public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
             Result result = super.evaluate(event, depth, dispatcher);
             if (depth == 1 && event == Event.KEY_NAME) {
-                defaultValues.remove(getParser().getString());
+                markPresent(defaultValues.indexOfKey(getParser().getString()));
             } else if (depth == 0 && event == Event.END_OBJECT) {
-                if (!defaultValues.isEmpty()) {
+                if (presentCount < defaultValues.getMemberCount()) {
                     supplyDefaultValues();
                 }
                 return result;
@@ -158,8 +165,36 @@ public class Properties extends AbstractProperties<String> {
             return Result.PENDING;
         }
 
+        @Override
+        public boolean ignoresSubtree(int depth) {
+            return depth > 0 && super.ignoresSubtree(depth);
+        }
+
+        private void markPresent(int index) {
+            if (index >= 0) {
+                if (present == null) {
+                    present = new BitSet(defaultValues.getMemberCount());
+                }
+                if (!present.get(index)) {
+                    present.set(index);
+                    presentCount++;
+                }
+            }
+        }
+
         private void supplyDefaultValues() {
-            getContext().putDefaultProperties(defaultValues);
+            EvaluatorContext context = getContext();
+            if (context instanceof DefaultValueConsumer) {
+                ((DefaultValueConsumer) context).putDefaultProperties(defaultValues, present);
+            } else {
+                Map<String, JsonValue> values = new LinkedHashMap<>();
+                for (int i = 0; i < defaultValues.getMemberCount(); i++) {
+                    if (present == null || !present.get(i)) {
+                        values.put(defaultValues.getKey(i), defaultValues.getValue(i));
+                    }
+                }
+                context.putDefaultProperties(values);
+            }
         }
     }
 }
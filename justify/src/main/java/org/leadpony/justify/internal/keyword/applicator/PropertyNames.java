@@ -32,15 +32,26 @@ import org.leadpony.justify.api.EvaluatorContext;
 import org.leadpony.justify.internal.annotation.KeywordType;
 import org.leadpony.justify.internal.annotation.Spec;
 import org.leadpony.justify.internal.base.Message;
+import org.leadpony.justify.internal.base.SegmentedSet;
 import org.leadpony.justify.internal.evaluator.AbstractConjunctivePropertiesEvaluator;
 import org.leadpony.justify.internal.evaluator.AbstractDisjunctivePropertiesEvaluator;
 import org.leadpony.justify.internal.evaluator.Evaluators;
 import org.leadpony.justify.internal.keyword.KeywordMapper;
 import org.leadpony.justify.internal.problem.ProblemBuilder;
+import org.leadpony.justify.internal.schema.SchemaReference;
 
 /**
  * Combiner representing "propertyNames" keyword.
  *
+ * <p>
+ * The property names found valid are remembered by this keyword and shared by
+ * all the documents validated against the same schema, if the subschema does
+ * not contain any references nor default values. The valid names found later
+ * are not evaluated again, and the names not found recently are forgotten
+ * when too many names are remembered. The invalid names are always evaluated
+ * in order to report the problems at the actual locations.
+ * </p>
+ *
  * @author leadpony
  */
 @KeywordType("propertyNames")
@@ -58,8 +69,21 @@ public class PropertyNames extends UnaryCombiner {
         return mapper;
     }
 
+    // the maximum number of the valid names to be remembered.
+    private static final int MAX_CACHED_NAMES = 1024;
+    // the maximum length of the valid name to be remembered.
+    private static final int MAX_CACHED_NAME_LENGTH = 256;
+
+    // the valid names found so far, or null if the names cannot be cached.
+    private final SegmentedSet<String> validNames;
+
     public PropertyNames(JsonValue json, JsonSchema subschema) {
         super(subschema);
+        if (isContextFree(subschema)) {
+            this.validNames = new SegmentedSet<>(MAX_CACHED_NAMES);
+        } else {
+            this.validNames = null;
+        }
     }
 
     @Override
@@ -113,6 +137,9 @@ public class PropertyNames extends UnaryCombiner {
     }
 
     private Evaluator createPropertiesEvaluator(EvaluatorContext context, JsonSchema subschema) {
+        if (validNames != null) {
+            return createCachingPropertiesEvaluator(context, subschema);
+        }
         return new AbstractConjunctivePropertiesEvaluator(context) {
             @Override
             public void updateChildren(Event event, JsonParser parser) {
@@ -123,6 +150,57 @@ public class PropertyNames extends UnaryCombiner {
         };
     }
 
+    private Evaluator createCachingPropertiesEvaluator(EvaluatorContext context, JsonSchema subschema) {
+        return new AbstractConjunctivePropertiesEvaluator(context) {
+            @Override
+            public void updateChildren(Event event, JsonParser parser) {
+                if (event == Event.KEY_NAME) {
+                    String name = parser.getString();
+                    if (validNames.contains(name)) {
+                        return;
+                    }
+                    Evaluator evaluator = subschema.createEvaluator(context, InstanceType.STRING);
+                    if (evaluator != Evaluator.ALWAYS_TRUE) {
+                        append(createCachingPropertyEvaluator(evaluator, name));
+                    }
+                }
+            }
+        };
+    }
+
+    private Evaluator createCachingPropertyEvaluator(Evaluator evaluator, String name) {
+        return (event, depth, dispatcher) -> {
+            Result result = evaluator.evaluate(event, depth, dispatcher);
+            if (result == Result.TRUE) {
+                rememberValidName(name);
+            }
+            return result;
+        };
+    }
+
+    private void rememberValidName(String name) {
+        if (name.length() <= MAX_CACHED_NAME_LENGTH) {
+            validNames.add(name);
+        }
+    }
+
+    /**
+     * Checks if the result of the specified schema depends only on the name
+     * evaluated.
+     *
+     * @param schema the schema to check.
+     * @return {@code true} if the schema is context free.
+     */
+    private static boolean isContextFree(JsonSchema schema) {
+        if (schema.isBoolean()) {
+            return true;
+        }
+        if (schema instanceof SchemaReference || schema.containsKeyword("default")) {
+            return false;
+        }
+        return schema.getSubschemas().allMatch(PropertyNames::isContextFree);
+    }
+
     private Evaluator createNegatedPropertiesEvaluator(EvaluatorContext context, JsonSchema subschema) {
         return new AbstractDisjunctivePropertiesEvaluator(context, this) {
             @Override
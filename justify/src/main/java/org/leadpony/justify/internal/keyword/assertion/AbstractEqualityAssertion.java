@@ -16,15 +16,16 @@
 
 package org.leadpony.justify.internal.keyword.assertion;
 
-import javax.json.JsonBuilderFactory;
 import javax.json.JsonValue;
+import javax.json.stream.JsonParser.Event;
 
 import org.leadpony.justify.api.EvaluatorContext;
 import org.leadpony.justify.api.Evaluator;
 import org.leadpony.justify.api.InstanceType;
 import org.leadpony.justify.api.Problem;
 import org.leadpony.justify.api.Evaluator.Result;
-import org.leadpony.justify.internal.base.json.JsonInstanceBuilder;
+import org.leadpony.justify.internal.base.json.SubtreeBuffer;
+import org.leadpony.justify.internal.base.json.SubtreeBuffer.Subtree;
 import org.leadpony.justify.internal.problem.ProblemBuilder;
 
 /**
@@ -40,13 +41,12 @@ abstract class AbstractEqualityAssertion extends AbstractAssertion {
 
     @Override
     protected Evaluator doCreateEvaluator(EvaluatorContext context, InstanceType type) {
-        JsonBuilderFactory jsonBuilderFactory = context.getJsonBuilderFactory();
-        JsonInstanceBuilder builder = new JsonInstanceBuilder(jsonBuilderFactory);
+        Subtree subtree = openSubtree(context);
         return (event, depth, dispatcher) -> {
-            if (builder.append(event, context.getParser())) {
+            JsonValue value = buildValue(event, depth, context, subtree);
+            if (value == null) {
                 return Result.PENDING;
             }
-            JsonValue value = builder.build();
             if (testValue(value)) {
                 return Result.TRUE;
             }
@@ -59,13 +59,12 @@ abstract class AbstractEqualityAssertion extends AbstractAssertion {
 
     @Override
     protected Evaluator doCreateNegatedEvaluator(EvaluatorContext context, InstanceType type) {
-        JsonBuilderFactory jsonBuilderFactory = context.getJsonBuilderFactory();
-        JsonInstanceBuilder builder = new JsonInstanceBuilder(jsonBuilderFactory);
+        Subtree subtree = openSubtree(context);
         return (event, depth, dispatcher) -> {
-            if (builder.append(event, context.getParser())) {
+            JsonValue value = buildValue(event, depth, context, subtree);
+            if (value == null) {
                 return Result.PENDING;
             }
-            JsonValue value = builder.build();
             if (!testValue(value)) {
                 return Result.TRUE;
             }
@@ -78,6 +77,39 @@ abstract class AbstractEqualityAssertion extends AbstractAssertion {
 
     protected abstract boolean testValue(JsonValue value);
 
+    /**
+     * Opens the subtree of the instance to be tested, which is shared with the
+     * other evaluators at the same location. No subtree is needed if the
+     * instance is held in memory.
+     *
+     * @param context the context of the evaluation.
+     * @return the subtree opened, or {@code null} if not needed.
+     */
+    private static Subtree openSubtree(EvaluatorContext context) {
+        if (context.getCurrentValue() != null) {
+            return null;
+        }
+        return SubtreeBuffer.openSubtree(context);
+    }
+
+    /**
+     * Builds the value to be tested. If the instance is held in memory, the
+     * existing value is returned at the first event.
+     *
+     * @param event   the current parser event.
+     * @param depth   the depth of the current event.
+     * @param context the context of the evaluation.
+     * @param subtree the subtree of the value, may be {@code null}.
+     * @return the built value, or {@code null} if the value is not completed.
+     */
+    private static JsonValue buildValue(Event event, int depth, EvaluatorContext context,
+            Subtree subtree) {
+        if (subtree == null) {
+            return context.getCurrentValue();
+        }
+        return subtree.update(event, context.getParser());
+    }
+
     protected abstract Problem createProblem(ProblemBuilder builder);
 
     protected abstract Problem createNegatedProblem(ProblemBuilder builder);
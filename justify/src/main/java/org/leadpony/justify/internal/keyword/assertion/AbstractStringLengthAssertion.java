@@ -17,8 +17,13 @@
 package org.leadpony.justify.internal.keyword.assertion;
 
 import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import org.leadpony.justify.api.Evaluator;
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.api.InstanceType;
 import org.leadpony.justify.api.Problem;
 import org.leadpony.justify.internal.base.Message;
+import org.leadpony.justify.internal.base.json.Utf8JsonParser;
 import org.leadpony.justify.internal.problem.ProblemBuilder;
 
 /**
@@ -38,6 +43,26 @@ abstract class AbstractStringLengthAssertion extends AbstractStringAssertion {
         this.negatedMessage = negatedMessage;
     }
 
+    @Override
+    protected Evaluator doCreateEvaluator(EvaluatorContext context, InstanceType type) {
+        JsonParser parser = context.getParser();
+        if (parser instanceof Utf8JsonParser
+                && testLength(((Utf8JsonParser) parser).getStringLength(), this.limit)) {
+            return Evaluator.ALWAYS_TRUE;
+        }
+        return super.doCreateEvaluator(context, type);
+    }
+
+    @Override
+    protected Evaluator doCreateNegatedEvaluator(EvaluatorContext context, InstanceType type) {
+        JsonParser parser = context.getParser();
+        if (parser instanceof Utf8JsonParser
+                && !testLength(((Utf8JsonParser) parser).getStringLength(), this.limit)) {
+            return Evaluator.ALWAYS_TRUE;
+        }
+        return super.doCreateNegatedEvaluator(context, type);
+    }
+
     @Override
     protected boolean testValue(String value) {
         return testLength(countCharsIn(value), this.limit);
@@ -23,6 +23,7 @@ import org.leadpony.justify.api.SpecVersion;
 import org.leadpony.justify.internal.annotation.KeywordType;
 import org.leadpony.justify.internal.annotation.Spec;
 import org.leadpony.justify.internal.base.Message;
+import org.leadpony.justify.internal.base.json.JsonValues;
 import org.leadpony.justify.internal.keyword.KeywordMapper;
 import org.leadpony.justify.internal.problem.ProblemBuilder;
 
@@ -51,7 +52,7 @@ public class Const extends AbstractEqualityAssertion {
 
     @Override
     protected boolean testValue(JsonValue value) {
-        return value.equals(getValueAsJson());
+        return JsonValues.equals(value, getValueAsJson());
     }
 
     @Override
@@ -26,6 +26,7 @@ import org.leadpony.justify.api.SpecVersion;
 import org.leadpony.justify.internal.annotation.KeywordType;
 import org.leadpony.justify.internal.annotation.Spec;
 import org.leadpony.justify.internal.base.Message;
+import org.leadpony.justify.internal.base.json.JsonValues;
 import org.leadpony.justify.internal.keyword.KeywordMapper;
 import org.leadpony.justify.internal.problem.ProblemBuilder;
 
@@ -68,7 +69,7 @@ public class Enum extends AbstractEqualityAssertion {
     @Override
     protected boolean testValue(JsonValue value) {
         for (JsonValue expected : this.expected) {
-            if (value.equals(expected)) {
+            if (JsonValues.equals(value, expected)) {
                 return true;
             }
         }
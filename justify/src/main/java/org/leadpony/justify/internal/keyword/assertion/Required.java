@@ -19,6 +19,7 @@ package org.leadpony.justify.internal.keyword.assertion;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
+import javax.json.JsonObject;
 import javax.json.JsonString;
 import javax.json.JsonValue;
 import javax.json.JsonValue.ValueType;
@@ -95,6 +96,42 @@ public class Required extends AbstractAssertion implements ObjectKeyword {
         }
     }
 
+    /**
+     * Removes the properties present in the object held in memory. The object is
+     * looked up by key instead of waiting for the properties to be parsed.
+     *
+     * @param context the context of the evaluation.
+     * @param missing the names of the properties not found yet.
+     * @return {@code true} if the object is held in memory, {@code false}
+     *         otherwise.
+     */
+    private static boolean removePresent(EvaluatorContext context, Set<String> missing) {
+        JsonValue value = context.getCurrentValue();
+        if (value == null) {
+            return false;
+        }
+        JsonObject object = (JsonObject) value;
+        missing.removeIf(object::containsKey);
+        return true;
+    }
+
+    /**
+     * Checks if the object held in memory lacks any of the specified properties.
+     *
+     * @param context the context of the evaluation.
+     * @param names   the names of the properties.
+     * @return {@code true} if the object is held in memory and lacks any of the
+     *         properties, {@code false} otherwise.
+     */
+    private static boolean lacksAny(EvaluatorContext context, Set<String> names) {
+        JsonValue value = context.getCurrentValue();
+        if (value == null) {
+            return false;
+        }
+        JsonObject object = (JsonObject) value;
+        return !names.stream().allMatch(object::containsKey);
+    }
+
     /**
      * An evaluator of this keyword.
      *
@@ -122,6 +159,10 @@ public class Required extends AbstractAssertion implements ObjectKeyword {
                 } else {
                     return dispatchProblems(dispatcher);
                 }
+            } else if (depth == 0 && removePresent(getContext(), missing) && missing.isEmpty()) {
+                // The problems are dispatched at the end of the object
+                // as the evaluation of the streamed object does.
+                return Result.TRUE;
             }
             return Result.PENDING;
         }
@@ -165,6 +206,10 @@ public class Required extends AbstractAssertion implements ObjectKeyword {
                 } else {
                     return Result.TRUE;
                 }
+            } else if (depth == 0 && lacksAny(getContext(), missing)) {
+                // The problem is dispatched at the last of the names
+                // as the evaluation of the streamed object does.
+                return Result.TRUE;
             }
             return Result.PENDING;
         }
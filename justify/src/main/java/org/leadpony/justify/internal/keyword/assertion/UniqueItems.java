@@ -19,7 +19,7 @@ package org.leadpony.justify.internal.keyword.assertion;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.json.JsonBuilderFactory;
+import javax.json.JsonArray;
 import javax.json.JsonValue;
 import javax.json.stream.JsonParser.Event;
 
@@ -32,7 +32,9 @@ import org.leadpony.justify.api.SpecVersion;
 import org.leadpony.justify.internal.annotation.KeywordType;
 import org.leadpony.justify.internal.annotation.Spec;
 import org.leadpony.justify.internal.base.Message;
-import org.leadpony.justify.internal.base.json.JsonInstanceBuilder;
+import org.leadpony.justify.internal.base.json.JsonValues;
+import org.leadpony.justify.internal.base.json.SubtreeBuffer;
+import org.leadpony.justify.internal.base.json.SubtreeBuffer.Subtree;
 import org.leadpony.justify.internal.evaluator.AbstractEvaluator;
 import org.leadpony.justify.internal.keyword.ArrayKeyword;
 import org.leadpony.justify.internal.keyword.KeywordMapper;
@@ -86,16 +88,15 @@ public class UniqueItems extends AbstractAssertion implements ArrayKeyword {
      */
     private class AssertionEvaluator extends AbstractEvaluator {
 
-        private final JsonBuilderFactory builderFactory;
         private final Map<JsonValue, Integer> values = new HashMap<>();
         private boolean duplicated;
+        private boolean tested;
         private int firstOccurrenceAt, secondOccurrenceAt;
         private int index;
-        private JsonInstanceBuilder builder;
+        private Subtree item;
 
         protected AssertionEvaluator(EvaluatorContext context) {
             super(context);
-            this.builderFactory = context.getJsonBuilderFactory();
         }
 
         @Override
@@ -103,24 +104,29 @@ public class UniqueItems extends AbstractAssertion implements ArrayKeyword {
             if (depth == 0) {
                 if (event == Event.END_ARRAY) {
                     return getFinalResult(dispatcher);
-                } else {
-                    return Result.PENDING;
                 }
+                JsonValue array = getContext().getCurrentValue();
+                if (array != null) {
+                    testItems((JsonArray) array);
+                    tested = true;
+                    // The problem is dispatched at the end of the array as the
+                    // evaluation of the streamed array does.
+                    return isSatisfied() ? Result.TRUE : Result.PENDING;
+                }
+                return Result.PENDING;
             }
-            if (hasDuplicatedItems()) {
+            if (tested || hasDuplicatedItems()) {
                 return Result.PENDING;
             }
-            if (builder == null) {
-                builder = new JsonInstanceBuilder(builderFactory);
+            if (item == null) {
+                item = SubtreeBuffer.openSubtree(getContext());
             }
-            if (builder.append(event, getParser())) {
-                return Result.PENDING;
-            } else {
-                JsonValue value = builder.build();
-                builder = null;
+            JsonValue value = item.update(event, getParser());
+            if (value != null) {
+                item = null;
                 testItemValue(value, index++);
-                return Result.PENDING;
             }
+            return Result.PENDING;
         }
 
         private void testItemValue(JsonValue value, int index) {
@@ -133,10 +139,39 @@ public class UniqueItems extends AbstractAssertion implements ArrayKeyword {
             }
         }
 
+        /**
+         * Tests all items in the array held in memory.
+         *
+         * @param array the array to test.
+         */
+        private void testItems(JsonArray array) {
+            Map<ItemKey, Integer> keys = new HashMap<>();
+            int i = 0;
+            for (JsonValue item : array) {
+                Integer first = keys.putIfAbsent(new ItemKey(item), i);
+                if (first != null) {
+                    duplicated = true;
+                    firstOccurrenceAt = first;
+                    secondOccurrenceAt = i;
+                    return;
+                }
+                i++;
+            }
+        }
+
         protected final boolean hasDuplicatedItems() {
             return duplicated;
         }
 
+        /**
+         * Checks if the items tested satisfy this evaluator.
+         *
+         * @return {@code true} if the result is true.
+         */
+        protected boolean isSatisfied() {
+            return !duplicated;
+        }
+
         protected Result getFinalResult(ProblemDispatcher dispatcher) {
             if (duplicated) {
                 Problem p = createProblemBuilder(getContext())
@@ -163,6 +198,11 @@ public class UniqueItems extends AbstractAssertion implements ArrayKeyword {
             super(context);
         }
 
+        @Override
+        protected boolean isSatisfied() {
+            return hasDuplicatedItems();
+        }
+
         @Override
         protected Result getFinalResult(ProblemDispatcher dispatcher) {
             if (hasDuplicatedItems()) {
@@ -176,4 +216,31 @@ public class UniqueItems extends AbstractAssertion implements ArrayKeyword {
             }
         }
     }
+
+    /**
+     * A key of an item in the array, which compares items as JSON Schema
+     * defines.
+     *
+     * @author leadpony
+     */
+    private static final class ItemKey {
+
+        private final JsonValue value;
+        private final int hashCode;
+
+        ItemKey(JsonValue value) {
+            this.value = value;
+            this.hashCode = JsonValues.hashCode(value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ItemKey && JsonValues.equals(value, ((ItemKey) obj).value);
+        }
+    }
 }
@@ -15,60 +15,81 @@
  */
 package org.leadpony.justify.internal.keyword.assertion.format;
 
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.leadpony.justify.api.SpecVersion;
-import org.leadpony.justify.internal.annotation.Spec;
 import org.leadpony.justify.spi.FormatAttribute;
 
 /**
+ * The format attributes defined by the specifications.
+ *
+ * <p>
+ * The attributes for each version are registered statically, in accordance
+ * with the {@link org.leadpony.justify.internal.annotation.Spec} annotations
+ * of the attribute classes, and are instantiated only when the version is
+ * used for the first time.
+ * </p>
+ *
  * @author leadpony
  */
 public final class FormatAttributes {
 
-    private static final FormatAttribute[] ATTRIBUTE_LIST = {
-            new Date(),
-            new DateTime(),
-            new Email(),
-            new Hostname(),
-            new Ipv4(),
-            new Ipv6(),
-            new IdnEmail(),
-            new IdnHostname(),
-            new Iri(),
-            new IriReference(),
-            new JsonPointer(),
-            new Regex(),
-            new RelativeJsonPointer(),
-            new Time(),
-            new Uri(),
-            new UriReference(),
-            new UriTemplate()
-    };
-
-    private static final Map<SpecVersion, Map<String, FormatAttribute>> ATTRIBUTE_BY_SPEC = groupAttributesBySpec();
+    private static final Map<SpecVersion, Map<String, FormatAttribute>> ATTRIBUTE_BY_SPEC =
+            new EnumMap<>(SpecVersion.class);
 
+    /**
+     * Returns the format attributes defined by the specified version.
+     *
+     * @param version the version of the specification.
+     * @return the map of the format attributes keyed by the names.
+     */
     public static Map<String, FormatAttribute> getAttributes(SpecVersion version) {
-        return ATTRIBUTE_BY_SPEC.get(version);
-    }
-
-    private static Map<SpecVersion, Map<String, FormatAttribute>> groupAttributesBySpec() {
-        Map<SpecVersion, Map<String, FormatAttribute>> map = new HashMap<>();
-
-        for (SpecVersion version : SpecVersion.values()) {
-            map.put(version, new HashMap<>());
+        synchronized (ATTRIBUTE_BY_SPEC) {
+            return ATTRIBUTE_BY_SPEC.computeIfAbsent(version,
+                    v -> Collections.unmodifiableMap(createAttributes(v)));
         }
+    }
 
-        for (FormatAttribute attribute : ATTRIBUTE_LIST) {
-            Spec[] specs = attribute.getClass().getAnnotationsByType(Spec.class);
-            for (Spec spec : specs) {
-                map.get(spec.value()).put(attribute.name(), attribute);
-            }
+    private static Map<String, FormatAttribute> createAttributes(SpecVersion version) {
+        Map<String, FormatAttribute> map = new HashMap<>();
+        add(map, new DateTime());
+        add(map, new Email());
+        add(map, new Hostname());
+        add(map, new Ipv4());
+        add(map, new Ipv6());
+        add(map, new Regex());
+        add(map, new Uri());
+        switch (version) {
+        case DRAFT_07:
+            add(map, new Date());
+            add(map, new IdnEmail());
+            add(map, new IdnHostname());
+            add(map, new Iri());
+            add(map, new IriReference());
+            add(map, new RelativeJsonPointer());
+            add(map, new Time());
+            add(map, new JsonPointer());
+            add(map, new UriReference());
+            add(map, new UriTemplate());
+            break;
+        case DRAFT_06:
+            add(map, new JsonPointer());
+            add(map, new UriReference());
+            add(map, new UriTemplate());
+            break;
+        default:
+            break;
         }
         return map;
     }
 
+    private static void add(Map<String, FormatAttribute> map, FormatAttribute attribute) {
+        map.put(attribute.name(), attribute);
+    }
+
     private FormatAttributes() {
     }
 }
@@ -61,6 +61,11 @@ enum IdnProperty {
      * @return the IDN property calculated.
      */
     public static IdnProperty of(int codePoint) {
+        if (codePoint < 0x80) {
+            // Any ASCII character other than LDH is disallowed.
+            // This also avoids the normalization by ICU for ASCII labels.
+            return isLDH(codePoint) ? PVALID : DISALLOWED;
+        }
         IdnProperty property = asExceptional(codePoint);
         if (property != null) {
             return property;
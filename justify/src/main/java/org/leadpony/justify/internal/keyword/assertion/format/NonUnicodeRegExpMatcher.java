@@ -58,6 +58,13 @@ class NonUnicodeRegExpMatcher extends RegExpMatcher {
     }
 
     private static boolean isUnicodeIDContinue(int ch) {
+        if (ch < 0x80) {
+            // Avoids loading the Unicode properties for ASCII characters.
+            return (ch >= 'a' && ch <= 'z')
+                    || (ch >= 'A' && ch <= 'Z')
+                    || (ch >= '0' && ch <= '9')
+                    || ch == '_';
+        }
         return UCharacter.hasBinaryProperty(ch, UProperty.ID_CONTINUE);
     }
 }
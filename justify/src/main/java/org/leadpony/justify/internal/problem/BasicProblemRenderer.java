@@ -93,7 +93,9 @@ class BasicProblemRenderer implements ProblemRenderer {
     }
 
     private void renderSimpleProblem(Problem problem, Locale locale, Consumer<String> consumer, String prefix) {
-        consumer.accept(prefix + lineFormat.format(problem, locale));
+        StringBuilder builder = new StringBuilder(prefix);
+        lineFormat.formatTo(problem, locale, builder);
+        consumer.accept(builder.toString());
     }
 
     private static String spaces(int count) {
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.problem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.leadpony.justify.api.AsyncProblemHandler;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ProblemHandler;
+
+/**
+ * The default implementation of {@link AsyncProblemHandler}.
+ *
+ * <p>
+ * The problems are stored in a ring buffer guarded by a lock. At most one
+ * task draining the buffer is submitted to the executor at a time, which keeps
+ * the problems in order and the underlying handler free from concurrent calls.
+ * </p>
+ *
+ * @author leadpony
+ */
+class DefaultAsyncProblemHandler implements AsyncProblemHandler {
+
+    private final ProblemHandler handler;
+    private final int maxBatchSize;
+    private final OverflowPolicy policy;
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // signaled when the buffer has room.
+    private final Condition notFull = lock.newCondition();
+    // signaled when the buffer was drained completely.
+    private final Condition drained = lock.newCondition();
+
+    private final Problem[] buffer;
+    private int head;
+    private int count;
+    private boolean scheduled;
+    private boolean closed;
+    private long droppedCount;
+    private RuntimeException failure;
+
+    DefaultAsyncProblemHandler(ProblemHandler handler, int capacity, int maxBatchSize,
+            OverflowPolicy policy, Executor executor) {
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.policy = policy;
+        this.executor = executor;
+        this.buffer = new Problem[capacity];
+    }
+
+    @Override
+    public void handleProblems(List<Problem> problems) {
+        for (Problem problem : problems) {
+            if (enqueue(problem)) {
+                schedule();
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        RuntimeException failure;
+        lock.lock();
+        try {
+            while (count > 0 || scheduled) {
+                drained.await();
+            }
+            failure = this.failure;
+            this.failure = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            lock.unlock();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        flush();
+    }
+
+    @Override
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return droppedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a problem to the buffer.
+     *
+     * @param problem the problem to add.
+     * @return {@code true} if a new drain task should be submitted.
+     */
+    private boolean enqueue(Problem problem) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The handler is already closed.");
+            }
+            if (count == buffer.length) {
+                switch (policy) {
+                case BLOCK:
+                    awaitRoom();
+                    break;
+                case DROP_OLDEST:
+                    head = (head + 1) % buffer.length;
+                    count--;
+                    droppedCount++;
+                    break;
+                case COUNT_ONLY:
+                    droppedCount++;
+                    return false;
+                default:
+                    throw new IllegalStateException();
+                }
+            }
+            buffer[(head + count) % buffer.length] = problem;
+            count++;
+            if (scheduled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitRoom() {
+        try {
+            while (count == buffer.length) {
+                if (!scheduled) {
+                    // The task cannot be submitted while holding the lock.
+                    scheduled = true;
+                    lock.unlock();
+                    try {
+                        executor.execute(this::drain);
+                    } catch (RuntimeException e) {
+                        lock.lock();
+                        scheduled = false;
+                        drained.signalAll();
+                        throw e;
+                    }
+                    lock.lock();
+                } else {
+                    notFull.await();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(this::drain);
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                scheduled = false;
+                drained.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        List<Problem> batch;
+        while ((batch = takeBatch()) != null) {
+            try {
+                handler.handleProblems(batch);
+            } catch (RuntimeException e) {
+                recordFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Removes the next batch from the buffer.
+     *
+     * @return the batch of the problems, or {@code null} if the buffer is empty.
+     */
+    private List<Problem> takeBatch() {
+        lock.lock();
+        try {
+            if (count == 0) {
+                scheduled = false;
+                drained.signalAll();
+                return null;
+            }
+            int size = Math.min(count, maxBatchSize);
+            List<Problem> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                batch.add(buffer[head]);
+                buffer[head] = null;
+                head = (head + 1) % buffer.length;
+            }
+            count -= size;
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recordFailure(RuntimeException e) {
+        lock.lock();
+        try {
+            if (failure == null) {
+                failure = e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.problem;
+
+import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
+import static org.leadpony.justify.internal.base.Arguments.requirePositive;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.leadpony.justify.api.AsyncProblemHandler;
+import org.leadpony.justify.api.AsyncProblemHandler.OverflowPolicy;
+import org.leadpony.justify.api.AsyncProblemHandlerBuilder;
+import org.leadpony.justify.api.ProblemHandler;
+
+/**
+ * The default implementation of {@link AsyncProblemHandlerBuilder}.
+ *
+ * @author leadpony
+ */
+public class DefaultAsyncProblemHandlerBuilder implements AsyncProblemHandlerBuilder {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final ProblemHandler handler;
+    private int capacity = DEFAULT_CAPACITY;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private OverflowPolicy policy = OverflowPolicy.BLOCK;
+    private Executor executor;
+
+    public DefaultAsyncProblemHandlerBuilder(ProblemHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public AsyncProblemHandler build() {
+        Executor executor = this.executor;
+        if (executor == null) {
+            executor = ExecutorHolder.EXECUTOR;
+        }
+        return new DefaultAsyncProblemHandler(handler, capacity, maxBatchSize, policy, executor);
+    }
+
+    @Override
+    public AsyncProblemHandlerBuilder withCapacity(int capacity) {
+        requirePositive(capacity, "capacity");
+        this.capacity = capacity;
+        return this;
+    }
+
+    @Override
+    public AsyncProblemHandlerBuilder withMaxBatchSize(int maxBatchSize) {
+        requirePositive(maxBatchSize, "maxBatchSize");
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    @Override
+    public AsyncProblemHandlerBuilder withOverflowPolicy(OverflowPolicy policy) {
+        requireNonNull(policy, "policy");
+        this.policy = policy;
+        return this;
+    }
+
+    @Override
+    public AsyncProblemHandlerBuilder withExecutor(Executor executor) {
+        requireNonNull(executor, "executor");
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * The holder of the default executor created on first use.
+     *
+     * @author leadpony
+     */
+    private static final class ExecutorHolder {
+
+        static final Executor EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "justify-problem-handler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private ExecutorHolder() {
+        }
+    }
+}
@@ -35,26 +35,31 @@ enum LineFormat {
         String format(Problem problem, Locale locale) {
             return problem.getMessage(locale);
         }
+
+        @Override
+        void formatTo(Problem problem, Locale locale, StringBuilder builder) {
+            builder.append(problem.getMessage(locale));
+        }
     },
 
     LOCATION_ONLY() {
         @Override
-        String format(Problem problem, Locale locale) {
-            return Message.LINE_WITH_LOCATION.format(formatArgs(problem, locale), locale);
+        void formatTo(Problem problem, Locale locale, StringBuilder builder) {
+            Message.LINE_WITH_LOCATION.formatTo(formatArgs(problem, locale), locale, builder);
         }
     },
 
     POINTER_ONLY() {
         @Override
-        String format(Problem problem, Locale locale) {
-            return Message.LINE_WITH_POINTER.format(formatArgs(problem, locale), locale);
+        void formatTo(Problem problem, Locale locale, StringBuilder builder) {
+            Message.LINE_WITH_POINTER.formatTo(formatArgs(problem, locale), locale, builder);
         }
     },
 
     FULL() {
         @Override
-        String format(Problem problem, Locale locale) {
-            return Message.LINE_WITH_BOTH.format(formatArgs(problem, locale), locale);
+        void formatTo(Problem problem, Locale locale, StringBuilder builder) {
+            Message.LINE_WITH_BOTH.formatTo(formatArgs(problem, locale), locale, builder);
         }
     };
 
@@ -71,10 +76,30 @@ enum LineFormat {
         return MINIMAL;
     }
 
-    abstract String format(Problem problem, Locale locale);
+    /**
+     * Formats the line for the specified problem.
+     *
+     * @param problem the problem to format.
+     * @param locale  the locale for which the line will be localized.
+     * @return the formatted line.
+     */
+    String format(Problem problem, Locale locale) {
+        StringBuilder builder = new StringBuilder();
+        formatTo(problem, locale, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Formats the line for the specified problem and appends it to the builder.
+     *
+     * @param problem the problem to format.
+     * @param locale  the locale for which the line will be localized.
+     * @param builder the builder to which the formatted line will be appended.
+     */
+    abstract void formatTo(Problem problem, Locale locale, StringBuilder builder);
 
     private static Map<String, Object> formatArgs(Problem problem, Locale locale) {
-        Map<String, Object> args = new HashMap<>();
+        Map<String, Object> args = new HashMap<>(8);
         args.put("message", problem.getMessage(locale));
         JsonLocation location = problem.getLocation();
         if (location == null) {
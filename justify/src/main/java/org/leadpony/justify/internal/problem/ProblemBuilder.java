@@ -243,6 +243,14 @@ public class ProblemBuilder {
             return keyword;
         }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getMessageKey() {
+            return message.name();
+        }
+
         /**
          * {@inheritDoc}
          */
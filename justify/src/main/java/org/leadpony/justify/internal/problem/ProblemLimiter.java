@@ -0,0 +1,404 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.problem;
+
+import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.json.stream.JsonLocation;
+
+import org.leadpony.justify.api.AggregatedProblem;
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.internal.base.Message;
+
+/**
+ * A filter of problems which limits the number of problems reported for a
+ * single JSON instance and optionally aggregates the repeated problems.
+ *
+ * <p>
+ * The memory used by this class is bounded by the size of the schema, not by
+ * the size of the JSON instance. The per-subtree counter is kept only for the
+ * current subtree because the subtrees are visited in document order.
+ * </p>
+ *
+ * @author leadpony
+ */
+public class ProblemLimiter {
+
+    /**
+     * The maximum number of pointers sampled for each aggregated problem.
+     */
+    static final int MAX_SAMPLES = 5;
+
+    private final int maxProblems;
+    private final int maxProblemsPerKeyword;
+    private final int maxProblemsPerSubtree;
+    private final boolean aggregating;
+
+    private int accepted;
+    private int omitted;
+
+    private final Map<JsonSchema, Map<String, int[]>> keywordCounters = new IdentityHashMap<>();
+
+    private String currentSubtree;
+    private int subtreeCount;
+
+    private final Map<GroupKey, Group> groups;
+
+    /**
+     * Constructs this limiter.
+     *
+     * @param maxProblems           the maximum number of problems in total.
+     * @param maxProblemsPerKeyword the maximum number of problems per keyword.
+     * @param maxProblemsPerSubtree the maximum number of problems per subtree.
+     * @param aggregating           {@code true} if the repeated problems should
+     *                              be aggregated.
+     */
+    public ProblemLimiter(int maxProblems, int maxProblemsPerKeyword, int maxProblemsPerSubtree,
+            boolean aggregating) {
+        this.maxProblems = maxProblems;
+        this.maxProblemsPerKeyword = maxProblemsPerKeyword;
+        this.maxProblemsPerSubtree = maxProblemsPerSubtree;
+        this.aggregating = aggregating;
+        this.groups = aggregating ? new LinkedHashMap<>() : Collections.emptyMap();
+    }
+
+    /**
+     * Creates a limiter from the configuration properties.
+     *
+     * @param properties the configuration properties.
+     * @return newly created limiter, or {@code null} if no limit is configured.
+     */
+    public static ProblemLimiter fromProperties(Map<String, ?> properties) {
+        int maxProblems = getLimit(properties, ValidationConfig.MAX_PROBLEMS);
+        int maxProblemsPerKeyword = getLimit(properties, ValidationConfig.MAX_PROBLEMS_PER_KEYWORD);
+        int maxProblemsPerSubtree = getLimit(properties, ValidationConfig.MAX_PROBLEMS_PER_SUBTREE);
+        boolean aggregating = properties.get(ValidationConfig.PROBLEM_AGGREGATION) == Boolean.TRUE;
+        if (maxProblems == Integer.MAX_VALUE
+                && maxProblemsPerKeyword == Integer.MAX_VALUE
+                && maxProblemsPerSubtree == Integer.MAX_VALUE
+                && !aggregating) {
+            return null;
+        }
+        return new ProblemLimiter(maxProblems, maxProblemsPerKeyword, maxProblemsPerSubtree, aggregating);
+    }
+
+    /**
+     * Filters the specified problem.
+     *
+     * @param problem  the problem found.
+     * @param problems the list to which the problem will be added if it should be
+     *                 reported immediately.
+     */
+    public void filter(Problem problem, List<Problem> problems) {
+        if (!acceptsBySubtree(problem.getPointer())
+                || !acceptsByKeyword(problem.getSchema(), problem.getKeyword())) {
+            omitted++;
+            return;
+        }
+
+        if (aggregating) {
+            GroupKey key = new GroupKey(problem);
+            Group group = groups.get(key);
+            if (group != null) {
+                group.add(problem);
+                return;
+            } else if (accepted < maxProblems) {
+                groups.put(key, new Group(problem));
+            } else {
+                omitted++;
+                return;
+            }
+        } else if (accepted < maxProblems) {
+            problems.add(problem);
+        } else {
+            omitted++;
+            return;
+        }
+        accepted++;
+    }
+
+    /**
+     * Adds the problems held by this limiter to the specified list. This method
+     * should be called at the end of the JSON instance.
+     *
+     * @param problems the list to which the problems will be added.
+     * @param context  the context of the validation.
+     * @param schema   the root schema.
+     */
+    public void flush(List<Problem> problems, EvaluatorContext context, JsonSchema schema) {
+        for (Group group : groups.values()) {
+            problems.add(group.toProblem());
+        }
+        groups.clear();
+        if (omitted > 0) {
+            Problem problem = ProblemBuilderFactory.DEFAULT.createProblemBuilder(context)
+                    .withMessage(Message.INSTANCE_PROBLEM_OMITTED)
+                    .withSchema(schema)
+                    .withParameter("count", omitted)
+                    .build();
+            problems.add(problem);
+            omitted = 0;
+        }
+    }
+
+    private boolean acceptsBySubtree(String pointer) {
+        if (maxProblemsPerSubtree == Integer.MAX_VALUE) {
+            return true;
+        }
+        if (!isInSubtree(pointer, currentSubtree)) {
+            currentSubtree = subtreeOf(pointer);
+            subtreeCount = 0;
+        }
+        return ++subtreeCount <= maxProblemsPerSubtree;
+    }
+
+    private boolean acceptsByKeyword(JsonSchema schema, String keyword) {
+        if (maxProblemsPerKeyword == Integer.MAX_VALUE) {
+            return true;
+        }
+        Map<String, int[]> counters = keywordCounters.computeIfAbsent(schema, k -> new HashMap<>());
+        int[] counter = counters.computeIfAbsent(keyword, k -> new int[1]);
+        return ++counter[0] <= maxProblemsPerKeyword;
+    }
+
+    private static boolean isInSubtree(String pointer, String subtree) {
+        if (pointer == null || subtree == null) {
+            return pointer == subtree;
+        }
+        int length = subtree.length();
+        if (length == 0) {
+            return pointer.isEmpty();
+        }
+        return pointer.startsWith(subtree)
+                && (pointer.length() == length || pointer.charAt(length) == '/');
+    }
+
+    private static String subtreeOf(String pointer) {
+        if (pointer == null || pointer.isEmpty()) {
+            return pointer;
+        }
+        int end = pointer.indexOf('/', 1);
+        return (end < 0) ? pointer : pointer.substring(0, end);
+    }
+
+    private static int getLimit(Map<String, ?> properties, String name) {
+        Object value = properties.get(name);
+        if (value instanceof Number) {
+            int limit = ((Number) value).intValue();
+            if (limit > 0) {
+                return limit;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * A key identifying the group of the same problems.
+     *
+     * @author leadpony
+     */
+    private static final class GroupKey {
+
+        private final JsonSchema schema;
+        private final String keyword;
+        private final String messageKey;
+
+        GroupKey(Problem problem) {
+            this.schema = problem.getSchema();
+            this.keyword = problem.getKeyword();
+            this.messageKey = problem.getMessageKey();
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(schema) * 31 + Objects.hash(keyword, messageKey);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof GroupKey)) {
+                return false;
+            }
+            GroupKey other = (GroupKey) obj;
+            return schema == other.schema
+                    && Objects.equals(keyword, other.keyword)
+                    && Objects.equals(messageKey, other.messageKey);
+        }
+    }
+
+    /**
+     * A group of the same problems.
+     *
+     * @author leadpony
+     */
+    private static final class Group {
+
+        private final Problem first;
+        private final List<String> samples = new ArrayList<>(MAX_SAMPLES);
+        private String lastPointer;
+        private int count;
+
+        Group(Problem first) {
+            this.first = first;
+            add(first);
+        }
+
+        void add(Problem problem) {
+            String pointer = problem.getPointer();
+            if (samples.size() < MAX_SAMPLES) {
+                samples.add(pointer);
+            }
+            lastPointer = pointer;
+            count++;
+        }
+
+        Problem toProblem() {
+            if (count == 1) {
+                return first;
+            }
+            return new SimpleAggregatedProblem(first, count, lastPointer, samples);
+        }
+    }
+
+    /**
+     * The implementation of {@link AggregatedProblem}.
+     *
+     * @author leadpony
+     */
+    private static final class SimpleAggregatedProblem implements AggregatedProblem {
+
+        private final Problem first;
+        private final int count;
+        private final String lastPointer;
+        private final List<String> samples;
+
+        SimpleAggregatedProblem(Problem first, int count, String lastPointer, List<String> samples) {
+            this.first = first;
+            this.count = count;
+            this.lastPointer = lastPointer;
+            this.samples = Collections.unmodifiableList(samples);
+        }
+
+        @Override
+        public String getMessage(Locale locale) {
+            requireNonNull(locale, "locale");
+            Map<String, Object> args = new HashMap<>();
+            args.put("message", first.getMessage(locale));
+            args.put("count", count);
+            args.put("first", first.getPointer());
+            args.put("last", lastPointer);
+            return Message.INSTANCE_PROBLEM_AGGREGATED.format(args, locale);
+        }
+
+        @Override
+        public String getContextualMessage(Locale locale) {
+            requireNonNull(locale, "locale");
+            return ProblemRenderer.DEFAULT_RENDERER.render(this, locale);
+        }
+
+        @Override
+        public void print(Consumer<String> lineConsumer, Locale locale) {
+            requireNonNull(lineConsumer, "lineConsumer");
+            requireNonNull(locale, "locale");
+            ProblemRenderer.DEFAULT_RENDERER.render(this, locale, lineConsumer);
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            return first.getLocation();
+        }
+
+        @Override
+        public String getPointer() {
+            return first.getPointer();
+        }
+
+        @Override
+        public JsonSchema getSchema() {
+            return first.getSchema();
+        }
+
+        @Override
+        public String getKeyword() {
+            return first.getKeyword();
+        }
+
+        @Override
+        public String getMessageKey() {
+            return first.getMessageKey();
+        }
+
+        @Override
+        public Map<String, ?> parametersAsMap() {
+            return first.parametersAsMap();
+        }
+
+        @Override
+        public boolean isResolvable() {
+            return first.isResolvable();
+        }
+
+        @Override
+        public boolean hasBranches() {
+            return first.hasBranches();
+        }
+
+        @Override
+        public int countBranches() {
+            return first.countBranches();
+        }
+
+        @Override
+        public List<Problem> getBranch(int index) {
+            return first.getBranch(index);
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public String getLastPointer() {
+            return lastPointer;
+        }
+
+        @Override
+        public List<String> getSamplePointers() {
+            return samples;
+        }
+
+        @Override
+        public String toString() {
+            return getContextualMessage();
+        }
+    }
+}
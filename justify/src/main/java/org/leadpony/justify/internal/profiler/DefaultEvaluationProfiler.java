@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.profiler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.leadpony.justify.api.EvaluationProfiler;
+import org.leadpony.justify.api.Evaluator;
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.ValidationConfig;
+
+/**
+ * The default implementation of {@link EvaluationProfiler}.
+ *
+ * @author leadpony
+ */
+public class DefaultEvaluationProfiler implements EvaluationProfiler {
+
+    private final Map<Key, KeywordStatistics> statistics = new ConcurrentHashMap<>();
+    private final Set<JsonSchema> roots = ConcurrentHashMap.newKeySet();
+    // null if the CPU time is not measured.
+    private final ThreadMXBean threadBean;
+
+    private static final Comparator<Entry> BY_WALL_TIME = Comparator
+            .comparingLong(Entry::getWallTime).reversed();
+
+    public DefaultEvaluationProfiler() {
+        this.threadBean = findThreadBean();
+    }
+
+    /**
+     * Finds the profiler in the configuration properties.
+     *
+     * @param properties the configuration properties.
+     * @return the profiler found, or {@code null} if the profiling is disabled.
+     */
+    public static DefaultEvaluationProfiler fromProperties(Map<String, ?> properties) {
+        Object profiler = properties.get(ValidationConfig.PROFILER);
+        if (profiler instanceof DefaultEvaluationProfiler) {
+            return (DefaultEvaluationProfiler) profiler;
+        }
+        return null;
+    }
+
+    /**
+     * Adds the root schema to be used to locate the subschemas.
+     *
+     * @param root the root schema.
+     */
+    public void addRoot(JsonSchema root) {
+        roots.add(root);
+    }
+
+    /**
+     * Decorates the evaluator created for the keyword.
+     *
+     * @param evaluator the evaluator created for the keyword.
+     * @param schema    the schema containing the keyword.
+     * @param keyword   the name of the keyword.
+     * @param context   the context of the evaluator.
+     * @return the decorated evaluator.
+     */
+    public Evaluator decorate(Evaluator evaluator, JsonSchema schema, String keyword, EvaluatorContext context) {
+        KeywordStatistics found = statistics.computeIfAbsent(new Key(schema, keyword),
+                key -> new KeywordStatistics(schema, keyword));
+        found.addEvaluator();
+        if (evaluator == Evaluator.ALWAYS_TRUE) {
+            found.addResult(Evaluator.Result.TRUE);
+            return evaluator;
+        }
+        return new ProfilingEvaluator(evaluator, context, found, threadBean);
+    }
+
+    @Override
+    public List<Entry> getEntries() {
+        SchemaLocator locator = new SchemaLocator();
+        for (JsonSchema root : roots) {
+            locator.addRoot(root);
+        }
+        List<Entry> entries = new ArrayList<>(statistics.size());
+        for (KeywordStatistics value : statistics.values()) {
+            entries.add(value.takeSnapshot(locator.locate(value.getSchema())));
+        }
+        entries.sort(BY_WALL_TIME);
+        return Collections.unmodifiableList(entries);
+    }
+
+    @Override
+    public long getEventCount() {
+        long total = 0;
+        for (KeywordStatistics value : statistics.values()) {
+            total += value.getEventCount();
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        statistics.clear();
+        roots.clear();
+    }
+
+    /**
+     * Finds the bean measuring the CPU time of the threads. The module
+     * {@code java.management} is optional, so the CPU time is not measured if the
+     * module is not available at runtime.
+     *
+     * @return the bean found, or {@code null} if the CPU time cannot be measured.
+     */
+    private static ThreadMXBean findThreadBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled()) {
+                return bean;
+            }
+        } catch (LinkageError e) {
+            // The module java.management is not available.
+        }
+        return null;
+    }
+
+    /**
+     * The key of the statistics.
+     *
+     * @author leadpony
+     */
+    private static final class Key {
+
+        private final JsonSchema schema;
+        private final String keyword;
+
+        Key(JsonSchema schema, String keyword) {
+            this.schema = schema;
+            this.keyword = keyword;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(schema) * 31 + keyword.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return schema == other.schema && Objects.equals(keyword, other.keyword);
+        }
+    }
+}
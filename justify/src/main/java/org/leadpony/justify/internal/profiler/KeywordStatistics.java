@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.profiler;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.leadpony.justify.api.EvaluationProfiler;
+import org.leadpony.justify.api.Evaluator.Result;
+import org.leadpony.justify.api.JsonSchema;
+
+/**
+ * The statistics recorded for a keyword in a schema. The counters may be
+ * updated by multiple threads concurrently.
+ *
+ * @author leadpony
+ */
+final class KeywordStatistics {
+
+    private final JsonSchema schema;
+    private final String keyword;
+
+    private final LongAdder evaluators = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder wallTime = new LongAdder();
+    private final LongAdder cpuTime = new LongAdder();
+    private final LongAdder trueResults = new LongAdder();
+    private final LongAdder falseResults = new LongAdder();
+
+    KeywordStatistics(JsonSchema schema, String keyword) {
+        this.schema = schema;
+        this.keyword = keyword;
+    }
+
+    JsonSchema getSchema() {
+        return schema;
+    }
+
+    String getKeyword() {
+        return keyword;
+    }
+
+    void addEvaluator() {
+        evaluators.increment();
+    }
+
+    void addEvent(long wallTime, long cpuTime) {
+        this.events.increment();
+        this.wallTime.add(wallTime);
+        this.cpuTime.add(cpuTime);
+    }
+
+    void addResult(Result result) {
+        if (result == Result.TRUE) {
+            trueResults.increment();
+        } else if (result == Result.FALSE) {
+            falseResults.increment();
+        }
+    }
+
+    long getEventCount() {
+        return events.sum();
+    }
+
+    /**
+     * Takes the snapshot of this statistics.
+     *
+     * @param location the location of the schema.
+     * @return the snapshot of this statistics.
+     */
+    Snapshot takeSnapshot(String location) {
+        return new Snapshot(location, this);
+    }
+
+    /**
+     * An immutable snapshot of {@link KeywordStatistics}.
+     *
+     * @author leadpony
+     */
+    static final class Snapshot implements EvaluationProfiler.Entry {
+
+        private final String location;
+        private final String keyword;
+        private final long evaluatorCount;
+        private final long eventCount;
+        private final long wallTime;
+        private final long cpuTime;
+        private final long trueCount;
+        private final long falseCount;
+
+        Snapshot(String location, KeywordStatistics source) {
+            this.location = location;
+            this.keyword = source.keyword;
+            this.evaluatorCount = source.evaluators.sum();
+            this.eventCount = source.events.sum();
+            this.wallTime = source.wallTime.sum();
+            this.cpuTime = source.cpuTime.sum();
+            this.trueCount = source.trueResults.sum();
+            this.falseCount = source.falseResults.sum();
+        }
+
+        @Override
+        public String getSchemaLocation() {
+            return location;
+        }
+
+        @Override
+        public String getKeyword() {
+            return keyword;
+        }
+
+        @Override
+        public long getEvaluatorCount() {
+            return evaluatorCount;
+        }
+
+        @Override
+        public long getEventCount() {
+            return eventCount;
+        }
+
+        @Override
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        @Override
+        public long getCpuTime() {
+            return cpuTime;
+        }
+
+        @Override
+        public long getTrueCount() {
+            return trueCount;
+        }
+
+        @Override
+        public long getFalseCount() {
+            return falseCount;
+        }
+
+        @Override
+        public String toString() {
+            return location + " " + keyword;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.profiler;
+
+import java.lang.management.ThreadMXBean;
+
+import javax.json.stream.JsonParser.Event;
+
+import org.leadpony.justify.api.Evaluator;
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.api.ProblemDispatcher;
+import org.leadpony.justify.internal.evaluator.EvaluatorDecorator;
+
+/**
+ * An evaluator decorator which records the cost of the evaluation.
+ *
+ * @author leadpony
+ */
+class ProfilingEvaluator extends EvaluatorDecorator {
+
+    private final KeywordStatistics statistics;
+    // null if the CPU time is not measured.
+    private final ThreadMXBean threadBean;
+    private boolean finished;
+
+    ProfilingEvaluator(Evaluator evaluator, EvaluatorContext context,
+            KeywordStatistics statistics, ThreadMXBean threadBean) {
+        super(evaluator, context);
+        this.statistics = statistics;
+        this.threadBean = threadBean;
+    }
+
+    @Override
+    public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
+        if (finished) {
+            return super.evaluate(event, depth, dispatcher);
+        }
+        final long cpuStart = currentCpuTime();
+        final long wallStart = System.nanoTime();
+        Result result = super.evaluate(event, depth, dispatcher);
+        final long wallTime = System.nanoTime() - wallStart;
+        statistics.addEvent(wallTime, currentCpuTime() - cpuStart);
+        if (result != Result.PENDING) {
+            finished = true;
+            statistics.addResult(result);
+        }
+        return result;
+    }
+
+    private long currentCpuTime() {
+        return (threadBean != null) ? threadBean.getCurrentThreadCpuTime() : 0;
+    }
+}
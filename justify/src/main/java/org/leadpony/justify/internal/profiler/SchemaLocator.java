@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.profiler;
+
+import java.net.URI;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import org.leadpony.justify.api.JsonSchema;
+
+/**
+ * A locator of the subschemas in the root schemas. Each subschema is located
+ * by the JSON pointer from the root schema which contains it.
+ *
+ * @author leadpony
+ */
+class SchemaLocator {
+
+    private final Map<JsonSchema, String> locations = new IdentityHashMap<>();
+
+    /**
+     * Adds all of the subschemas in the specified root schema.
+     *
+     * @param root the root schema.
+     */
+    void addRoot(JsonSchema root) {
+        String base = "";
+        if (root.hasId()) {
+            URI id = root.id();
+            base = id.toString();
+            if (id.getRawFragment() != null) {
+                base = base.substring(0, base.indexOf('#'));
+            }
+        }
+        addSchema(root, base + "#");
+    }
+
+    /**
+     * Returns the location of the specified schema.
+     *
+     * @param schema the schema to locate.
+     * @return the location of the schema, never be {@code null}.
+     */
+    String locate(JsonSchema schema) {
+        String location = locations.get(schema);
+        if (location != null) {
+            return location;
+        } else if (schema.hasId()) {
+            return schema.id().toString();
+        }
+        return "";
+    }
+
+    private void addSchema(JsonSchema schema, String location) {
+        if (locations.containsKey(schema)) {
+            return;
+        }
+        locations.put(schema, location);
+        JsonValue json = schema.toJson();
+        if (json.getValueType() == JsonValue.ValueType.OBJECT) {
+            for (Map.Entry<String, JsonValue> entry : json.asJsonObject().entrySet()) {
+                addValue(schema, entry.getValue(), "/" + escape(entry.getKey()), location);
+            }
+        }
+    }
+
+    private void addValue(JsonSchema schema, JsonValue value, String pointer, String base) {
+        switch (value.getValueType()) {
+        case OBJECT:
+            JsonSchema subschema = schema.getSubschemaAt(pointer);
+            if (subschema != null && subschema != schema) {
+                addSchema(subschema, base + pointer);
+                return;
+            }
+            for (Map.Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+                addValue(schema, entry.getValue(), pointer + "/" + escape(entry.getKey()), base);
+            }
+            break;
+        case ARRAY:
+            int index = 0;
+            for (JsonValue item : (JsonArray) value) {
+                addValue(schema, item, pointer + "/" + index++, base);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+}
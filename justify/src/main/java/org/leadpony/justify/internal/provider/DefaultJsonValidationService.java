@@ -17,50 +17,81 @@
 package org.leadpony.justify.internal.provider;
 
 import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
+import static org.leadpony.justify.internal.base.Arguments.requirePositive;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.json.JsonException;
 import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
+import javax.json.JsonValue;
 import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
 import javax.json.stream.JsonParser;
 import javax.json.stream.JsonParserFactory;
 
+import org.leadpony.justify.api.AsyncProblemHandlerBuilder;
+import org.leadpony.justify.api.EvaluationProfiler;
 import org.leadpony.justify.api.JsonSchema;
 import org.leadpony.justify.api.JsonSchemaBuilderFactory;
 import org.leadpony.justify.api.JsonSchemaReader;
 import org.leadpony.justify.api.JsonSchemaReaderFactory;
 import org.leadpony.justify.api.JsonSchemaReaderFactoryBuilder;
+import org.leadpony.justify.api.JsonSchemaResolverBuilder;
 import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
 import org.leadpony.justify.api.ProblemHandler;
 import org.leadpony.justify.api.ProblemHandlerFactory;
 import org.leadpony.justify.api.ProblemPrinterBuilder;
+import org.leadpony.justify.api.SchemaAnalysis;
 import org.leadpony.justify.api.SpecVersion;
+import org.leadpony.justify.api.TieredValidatorBuilder;
 import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.api.ValidationResult;
+import org.leadpony.justify.api.ValidationSource;
+import org.leadpony.justify.internal.analyzer.SchemaAnalyzer;
+import org.leadpony.justify.internal.batch.BatchExecutor;
+import org.leadpony.justify.internal.batch.BatchValidator;
+import org.leadpony.justify.internal.base.MappedFileInputStream;
 import org.leadpony.justify.internal.base.Message;
 import org.leadpony.justify.internal.base.json.JsonProviderDecorator;
 import org.leadpony.justify.internal.base.json.JsonService;
 import org.leadpony.justify.internal.base.json.DefaultJsonReader;
 import org.leadpony.justify.internal.base.json.DefaultJsonReaderFactory;
+import org.leadpony.justify.internal.base.json.JsonValueParser;
+import org.leadpony.justify.internal.base.json.PushJsonParser;
+import org.leadpony.justify.internal.base.json.Utf8JsonParser;
+import org.leadpony.justify.internal.problem.DefaultAsyncProblemHandlerBuilder;
 import org.leadpony.justify.internal.problem.DefaultProblemPrinterBuilder;
+import org.leadpony.justify.internal.profiler.DefaultEvaluationProfiler;
 import org.leadpony.justify.internal.schema.DefaultJsonSchemaBuilderFactory;
 import org.leadpony.justify.internal.schema.SchemaSpecRegistry;
+import org.leadpony.justify.internal.schema.io.CachingJsonSchemaResolver;
 import org.leadpony.justify.internal.schema.io.JsonSchemaReaderFactoryImpl;
+import org.leadpony.justify.internal.tiered.DefaultTieredValidatorBuilder;
 import org.leadpony.justify.internal.validator.DefaultValidationConfig;
 import org.leadpony.justify.internal.validator.JsonValidator;
 import org.leadpony.justify.internal.validator.JsonValidatorFactory;
+import org.leadpony.justify.internal.validator.ValidatingJsonGenerator;
+import org.leadpony.justify.internal.validator.ValidatingJsonGeneratorFactory;
 
 /**
  * The default implementation of {@link JsonValidationService}.
@@ -102,6 +133,14 @@ class DefaultJsonValidationService extends JsonService implements JsonValidation
         return JsonSchemaReaderFactoryImpl.builder(this, specRegistry);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JsonSchemaResolverBuilder createSchemaResolverBuilder() {
+        return CachingJsonSchemaResolver.builder(this, specRegistry);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -158,6 +197,17 @@ class DefaultJsonValidationService extends JsonService implements JsonValidation
         return new DefaultValidationConfig();
     }
 
+    @Override
+    public EvaluationProfiler createProfiler() {
+        return new DefaultEvaluationProfiler();
+    }
+
+    @Override
+    public SchemaAnalysis analyzeSchema(JsonSchema schema) {
+        requireNonNull(schema, "schema");
+        return new SchemaAnalyzer().analyze(schema);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -235,7 +285,7 @@ class DefaultJsonValidationService extends JsonService implements JsonValidation
         requireNonNull(schema, "schema");
         requireNonNull(handler, "handler");
         try {
-            InputStream in = Files.newInputStream(path);
+            InputStream in = MappedFileInputStream.open(path);
             return createParser(in, schema, handler);
         } catch (NoSuchFileException e) {
             throw buildJsonException(e, Message.INSTANCE_PROBLEM_NOT_FOUND, path);
@@ -332,6 +382,161 @@ class DefaultJsonValidationService extends JsonService implements JsonValidation
         return createReader(validatingParser);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JsonGenerator createGenerator(Writer writer, JsonSchema schema, ProblemHandler handler) {
+        requireNonNull(writer, "writer");
+        requireNonNull(schema, "schema");
+        requireNonNull(handler, "handler");
+        JsonGenerator generator = getJsonProvider().createGenerator(writer);
+        return createValidatingGenerator(generator, schema, handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JsonGenerator createGenerator(OutputStream out, JsonSchema schema, ProblemHandler handler) {
+        requireNonNull(out, "out");
+        requireNonNull(schema, "schema");
+        requireNonNull(handler, "handler");
+        JsonGenerator generator = getJsonProvider().createGenerator(out);
+        return createValidatingGenerator(generator, schema, handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Problem> validate(JsonSchema schema, JsonValue instance) {
+        requireNonNull(schema, "schema");
+        requireNonNull(instance, "instance");
+        List<Problem> problems = new ArrayList<>();
+        validate(instance, createValidationConfig().withSchema(schema).withProblemHandler(problems::addAll));
+        return Collections.unmodifiableList(problems);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validate(JsonValue instance, ValidationConfig config) {
+        requireNonNull(instance, "instance");
+        requireNonNull(config, "config");
+        createValidator(new JsonValueParser(instance), config).validate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validate(InputStream in, JsonSchema schema, ProblemHandler handler) {
+        requireNonNull(in, "in");
+        requireNonNull(schema, "schema");
+        requireNonNull(handler, "handler");
+        validate(in, createValidationConfig().withSchema(schema).withProblemHandler(handler));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validate(InputStream in, ValidationConfig config) {
+        requireNonNull(in, "in");
+        requireNonNull(config, "config");
+        try (JsonParser parser = getJsonParserFactory().createParser(in)) {
+            createValidator(parser, config).validate();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validate(Path path, JsonSchema schema, ProblemHandler handler) {
+        requireNonNull(path, "path");
+        requireNonNull(schema, "schema");
+        requireNonNull(handler, "handler");
+        validate(path, createValidationConfig().withSchema(schema).withProblemHandler(handler));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validate(Path path, ValidationConfig config) {
+        requireNonNull(path, "path");
+        requireNonNull(config, "config");
+        requireSchema(config);
+        InputStream in;
+        try {
+            in = MappedFileInputStream.open(path);
+        } catch (NoSuchFileException e) {
+            throw buildJsonException(e, Message.INSTANCE_PROBLEM_NOT_FOUND, path);
+        } catch (IOException e) {
+            throw new JsonException(e.getMessage(), e);
+        }
+        validate(in, config);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validate(ByteBuffer buffer, JsonSchema schema, ProblemHandler handler) {
+        requireNonNull(buffer, "buffer");
+        requireNonNull(schema, "schema");
+        requireNonNull(handler, "handler");
+        validate(buffer, createValidationConfig().withSchema(schema).withProblemHandler(handler));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validate(ByteBuffer buffer, ValidationConfig config) {
+        requireNonNull(buffer, "buffer");
+        requireNonNull(config, "config");
+        JsonParser parser = new Utf8JsonParser(buffer, getJsonProvider());
+        createValidator(parser, config).validate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<ValidationResult> validateAll(Stream<? extends ValidationSource> sources, JsonSchema schema) {
+        return validateAll(sources, schema, BatchExecutor.getDefault(), BatchExecutor.getDefaultConcurrency());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<ValidationResult> validateAll(Stream<? extends ValidationSource> sources, JsonSchema schema,
+            Executor executor, int maxConcurrency) {
+        requireNonNull(sources, "sources");
+        requireNonNull(schema, "schema");
+        return validateAll(sources, createValidationConfig().withSchema(schema), executor, maxConcurrency);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<ValidationResult> validateAll(Stream<? extends ValidationSource> sources, ValidationConfig config,
+            Executor executor, int maxConcurrency) {
+        requireNonNull(sources, "sources");
+        requireNonNull(config, "config");
+        requireNonNull(executor, "executor");
+        requirePositive(maxConcurrency, "maxConcurrency");
+        requireSchema(config);
+        return BatchValidator.validateAll(this, sources, new HashMap<>(config.getAsMap()), executor,
+                maxConcurrency);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -369,6 +574,24 @@ class DefaultJsonValidationService extends JsonService implements JsonValidation
         return new DefaultProblemPrinterBuilder(lineConsumer);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AsyncProblemHandlerBuilder createAsyncProblemHandlerBuilder(ProblemHandler handler) {
+        requireNonNull(handler, "handler");
+        return new DefaultAsyncProblemHandlerBuilder(handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TieredValidatorBuilder createTieredValidatorBuilder(JsonSchema schema) {
+        requireNonNull(schema, "schema");
+        return new DefaultTieredValidatorBuilder(this, getJsonProvider(), schema);
+    }
+
     private DefaultJsonSchemaBuilderFactory createDefaultSchemaBuilderFactory() {
         return new DefaultJsonSchemaBuilderFactory(
                 this,
@@ -382,6 +605,28 @@ class DefaultJsonValidationService extends JsonService implements JsonValidation
         return new JsonException(formatted, e);
     }
 
+    private static void requireSchema(ValidationConfig config) {
+        if (!config.getProperty(ValidationConfig.SCHEMA).isPresent()) {
+            throw new IllegalArgumentException("The configuration does not contain any schema.");
+        }
+    }
+
+    /**
+     * Creates a JSON validator which applies the specified configuration. The
+     * validator never fills the default values, because the events are not
+     * delivered to the caller.
+     *
+     * @param parser the real parser.
+     * @param config the configuration of the validation.
+     * @return newly created validator.
+     */
+    @SuppressWarnings("resource")
+    private JsonValidator createValidator(JsonParser parser, ValidationConfig config) {
+        requireSchema(config);
+        return new JsonValidatorFactory(getJsonProvider(), getJsonParserFactory(), config.getAsMap())
+                .createValidatorWithoutDefaults(parser);
+    }
+
     /**
      * Creates an instance of JSON validator.
      *
@@ -391,11 +636,18 @@ class DefaultJsonValidationService extends JsonService implements JsonValidation
      * @return newly created validator.
      */
     @SuppressWarnings("resource")
-    private JsonParser createValidator(JsonParser parser, JsonSchema schema, ProblemHandler handler) {
+    private JsonValidator createValidator(JsonParser parser, JsonSchema schema, ProblemHandler handler) {
         return new JsonValidator(parser, schema, getJsonProvider())
                 .withHandler(handler);
     }
 
+    private JsonGenerator createValidatingGenerator(JsonGenerator generator, JsonSchema schema,
+            ProblemHandler handler) {
+        PushJsonParser source = new PushJsonParser();
+        return new ValidatingJsonGenerator(generator, getJsonProvider(), source)
+                .withValidator(createValidator(source, schema, handler));
+    }
+
     private JsonReader createReader(JsonParser parser) {
         return new DefaultJsonReader(parser);
     }
@@ -426,5 +678,18 @@ class DefaultJsonValidationService extends JsonService implements JsonValidation
         public JsonReaderFactory createReaderFactory(Map<String, ?> config) {
             return DefaultJsonValidationService.this.createReaderFactory(config, schema, handlerFactory);
         }
+
+        @Override
+        public JsonGeneratorFactory createGeneratorFactory(Map<String, ?> config) {
+            Map<String, Object> properties = createValidationConfig()
+                    .withProperties(config)
+                    .withSchema(schema)
+                    .withProblemHandlerFactory(handlerFactory)
+                    .getAsMap();
+            JsonValidatorFactory validatorFactory = new JsonValidatorFactory(
+                    getJsonProvider(), getJsonParserFactory(), properties);
+            return new ValidatingJsonGeneratorFactory(
+                    super.createGeneratorFactory(config), validatorFactory, getJsonProvider());
+        }
     }
 }
@@ -37,9 +37,6 @@ final class DefaultSchemaSpecRegistry implements SchemaSpecRegistry {
     private final Map<SpecVersion, SchemaSpec> specs = new HashMap<>();
     private final SchemaCatalog catalog = new SchemaCatalog();
 
-    private static final Map<String, FormatAttribute> CUSTOM_FORMAT_ATTRIBUTES
-        = findFormatAttributes();
-
     /**
      * Loads new instance of this class.
      *
@@ -61,7 +58,7 @@ final class DefaultSchemaSpecRegistry implements SchemaSpecRegistry {
     public SchemaSpec getSpec(SpecVersion version, boolean full) {
         SchemaSpec spec = specs.get(version);
         if (full) {
-            spec = new CustomSchemaSpec(spec, CUSTOM_FORMAT_ATTRIBUTES);
+            spec = new CustomSchemaSpec(spec, CustomFormatAttributes.ATTRIBUTES);
         }
         return spec;
     }
@@ -76,14 +73,28 @@ final class DefaultSchemaSpecRegistry implements SchemaSpecRegistry {
     private void installSpecs(JsonService jsonService) {
         for (SchemaSpec spec : StandardSchemaSpec.values(jsonService)) {
             specs.put(spec.getVersion(), spec);
-            catalog.addSchema(spec.getMetaschema());
+            catalog.addSchema(spec.getVersion().id(), spec::getMetaschema);
         }
     }
 
-    private static Map<String, FormatAttribute> findFormatAttributes() {
-        Map<String, FormatAttribute> map = new HashMap<>();
-        ServiceLoader.load(FormatAttribute.class)
-            .forEach(a -> map.put(a.name(), a));
-        return Collections.unmodifiableMap(map);
+    /**
+     * A holder of the format attributes provided by the service providers, which
+     * are searched only when they are used for the first time.
+     *
+     * @author leadpony
+     */
+    private static final class CustomFormatAttributes {
+
+        static final Map<String, FormatAttribute> ATTRIBUTES = findFormatAttributes();
+
+        private static Map<String, FormatAttribute> findFormatAttributes() {
+            Map<String, FormatAttribute> map = new HashMap<>();
+            ServiceLoader.load(FormatAttribute.class)
+                .forEach(a -> map.put(a.name(), a));
+            return Collections.unmodifiableMap(map);
+        }
+
+        private CustomFormatAttributes() {
+        }
     }
 }
@@ -15,16 +15,14 @@
  */
 package org.leadpony.justify.internal.provider;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.json.JsonValue;
 
 import org.leadpony.justify.api.SpecVersion;
-import org.leadpony.justify.internal.annotation.KeywordType;
-import org.leadpony.justify.internal.annotation.Spec;
 import org.leadpony.justify.internal.keyword.KeywordFactory;
 import org.leadpony.justify.internal.keyword.KeywordMapper;
 import org.leadpony.justify.internal.keyword.SchemaKeyword;
@@ -77,62 +75,24 @@ import org.leadpony.justify.internal.keyword.core.Schema;
 /**
  * A factory of keywords defined by the specification.
  *
+ * <p>
+ * The keywords available for each version of the specification are registered
+ * statically, without inspecting the {@link org.leadpony.justify.internal.annotation.Spec}
+ * annotations of the keyword classes at runtime. The registry must be kept in
+ * sync with the annotations.
+ * </p>
+ *
  * @author leadpony
  */
 class StandardKeywordFactory implements KeywordFactory {
 
-    private static final Class<?>[] KEYWORD_CLASSES = {
-            Comment.class,
-            Id.class,
-            Ref.class,
-            Schema.class,
+    private static final Map<SpecVersion, Map<String, KeywordMapper>> REGISTRY = new EnumMap<>(SpecVersion.class);
 
-            AdditionalItems.class,
-            AdditionalProperties.class,
-            AllOf.class,
-            AnyOf.class,
-            Comment.class,
-            Const.class,
-            Contains.class,
-            ContentEncoding.class,
-            ContentMediaType.class,
-            Default.class,
-            Definitions.class,
-            Dependencies.class,
-            Description.class,
-            Draft04Maximum.class,
-            Draft04Maximum.ExclusiveMaximum.class,
-            Draft04Minimum.class,
-            Draft04Minimum.ExclusiveMinimum.class,
-            Draft04Type.class,
-            Else.class,
-            org.leadpony.justify.internal.keyword.assertion.Enum.class,
-            ExclusiveMaximum.class,
-            ExclusiveMinimum.class,
-            Format.class,
-            If.class,
-            Items.class,
-            Maximum.class,
-            MaxItems.class,
-            MaxLength.class,
-            MaxProperties.class,
-            Minimum.class,
-            MinItems.class,
-            MinLength.class,
-            MinProperties.class,
-            MultipleOf.class,
-            Not.class,
-            OneOf.class,
-            Pattern.class,
-            PatternProperties.class,
-            PropertyNames.class,
-            Properties.class,
-            Required.class,
-            Then.class,
-            Title.class,
-            Type.class,
-            UniqueItems.class,
-    };
+    static {
+        for (SpecVersion version : SpecVersion.values()) {
+            REGISTRY.put(version, Collections.unmodifiableMap(createMappers(version)));
+        }
+    }
 
     private final Map<String, KeywordMapper> mappers;
 
@@ -141,7 +101,7 @@ class StandardKeywordFactory implements KeywordFactory {
     }
 
     StandardKeywordFactory(SpecVersion version) {
-        this.mappers = findMappers(version);
+        this.mappers = REGISTRY.get(version);
     }
 
     @Override
@@ -157,39 +117,97 @@ class StandardKeywordFactory implements KeywordFactory {
         }
     }
 
-    private Map<String, KeywordMapper> findMappers(SpecVersion version) {
+    /**
+     * Returns the mappers of all keywords available for the specified version.
+     *
+     * @param version the version of the specification.
+     * @return the map of the keyword mappers keyed by the keyword names.
+     */
+    static Map<String, KeywordMapper> getMappers(SpecVersion version) {
+        return REGISTRY.get(version);
+    }
+
+    private static Map<String, KeywordMapper> createMappers(SpecVersion version) {
         Map<String, KeywordMapper> mappers = new HashMap<>();
-        for (Class<?> clazz : KEYWORD_CLASSES) {
-            for (Spec spec : clazz.getAnnotationsByType(Spec.class)) {
-                if (spec.value() == version) {
-                    KeywordType keywordType = clazz.getAnnotation(KeywordType.class);
-                    String name = spec.name();
-                    if (name.isEmpty()) {
-                        name = keywordType.value();
-                    }
-                    mappers.put(name, getMapper(clazz, name));
-                    break;
-                }
-            }
+        addCommonMappers(mappers);
+        switch (version) {
+        case DRAFT_04:
+            mappers.put("id", Id.mapper("id"));
+            mappers.put("maximum", Draft04Maximum.mapper());
+            mappers.put("exclusiveMaximum", Draft04Maximum.ExclusiveMaximum.mapper());
+            mappers.put("minimum", Draft04Minimum.mapper());
+            mappers.put("exclusiveMinimum", Draft04Minimum.ExclusiveMinimum.mapper());
+            mappers.put("type", Draft04Type.mapper());
+            break;
+        case DRAFT_07:
+            mappers.put("$comment", Comment.mapper());
+            mappers.put("contentEncoding", ContentEncoding.mapper());
+            mappers.put("contentMediaType", ContentMediaType.mapper());
+            mappers.put("if", If.mapper());
+            mappers.put("then", Then.mapper());
+            mappers.put("else", Else.mapper());
+            addDraft06Mappers(mappers);
+            break;
+        case DRAFT_06:
+            addDraft06Mappers(mappers);
+            break;
+        default:
+            break;
         }
         return mappers;
     }
 
-    private static KeywordMapper getMapper(Class<?> clazz, String name) {
-        try {
-            try {
-                Method method = clazz.getMethod("mapper", String.class);
-                return (KeywordMapper) method.invoke(null, name);
-            } catch (NoSuchMethodException e) {
-                Method method = clazz.getMethod("mapper");
-                return (KeywordMapper) method.invoke(null);
-            }
-        } catch (IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException
-                | NoSuchMethodException
-                | SecurityException e) {
-            throw new IllegalStateException(e);
-        }
+    /**
+     * Adds the keywords shared by all versions.
+     *
+     * @param mappers the map to which the mappers will be added.
+     */
+    private static void addCommonMappers(Map<String, KeywordMapper> mappers) {
+        mappers.put("$ref", Ref.mapper());
+        mappers.put("$schema", Schema.mapper());
+        mappers.put("additionalItems", AdditionalItems.mapper());
+        mappers.put("additionalProperties", AdditionalProperties.mapper());
+        mappers.put("allOf", AllOf.mapper());
+        mappers.put("anyOf", AnyOf.mapper());
+        mappers.put("default", Default.mapper());
+        mappers.put("definitions", Definitions.mapper());
+        mappers.put("dependencies", Dependencies.mapper());
+        mappers.put("description", Description.mapper());
+        mappers.put("enum", org.leadpony.justify.internal.keyword.assertion.Enum.mapper());
+        mappers.put("format", Format.mapper());
+        mappers.put("items", Items.mapper());
+        mappers.put("maxItems", MaxItems.mapper());
+        mappers.put("maxLength", MaxLength.mapper());
+        mappers.put("maxProperties", MaxProperties.mapper());
+        mappers.put("minItems", MinItems.mapper());
+        mappers.put("minLength", MinLength.mapper());
+        mappers.put("minProperties", MinProperties.mapper());
+        mappers.put("multipleOf", MultipleOf.mapper());
+        mappers.put("not", Not.mapper());
+        mappers.put("oneOf", OneOf.mapper());
+        mappers.put("pattern", Pattern.mapper());
+        mappers.put("patternProperties", PatternProperties.mapper());
+        mappers.put("properties", Properties.mapper());
+        mappers.put("required", Required.mapper());
+        mappers.put("title", Title.mapper());
+        mappers.put("uniqueItems", UniqueItems.mapper());
+    }
+
+    /**
+     * Adds the keywords introduced in Draft-06 and inherited by the later
+     * versions.
+     *
+     * @param mappers the map to which the mappers will be added.
+     */
+    private static void addDraft06Mappers(Map<String, KeywordMapper> mappers) {
+        mappers.put("$id", Id.mapper("$id"));
+        mappers.put("const", Const.mapper());
+        mappers.put("contains", Contains.mapper());
+        mappers.put("exclusiveMaximum", ExclusiveMaximum.mapper());
+        mappers.put("exclusiveMinimum", ExclusiveMinimum.mapper());
+        mappers.put("maximum", Maximum.mapper());
+        mappers.put("minimum", Minimum.mapper());
+        mappers.put("propertyNames", PropertyNames.mapper());
+        mappers.put("type", Type.mapper());
     }
 }
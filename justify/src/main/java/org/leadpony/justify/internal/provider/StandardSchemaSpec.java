@@ -17,7 +17,6 @@ package org.leadpony.justify.internal.provider;
 
 import java.io.InputStream;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonParser;
@@ -40,19 +39,26 @@ import org.leadpony.justify.spi.FormatAttribute;
 /**
  * A standard JSON Schema specificaiton.
  *
+ * <p>
+ * The metaschema, the format attributes and the content attributes are loaded
+ * on first use, because most of the applications use only one version of the
+ * specification.
+ * </p>
+ *
  * @author leadpony
  */
 abstract class StandardSchemaSpec implements SchemaSpec {
 
     private final SpecVersion version;
-    private final Map<String, FormatAttribute> formatAttributes;
+    private final JsonService jsonService;
+    private volatile Map<String, FormatAttribute> formatAttributes;
 
     private final KeywordFactory keywordFactory;
 
-    private final JsonSchema metaschema;
+    private volatile JsonSchema metaschema;
 
-    private final Map<String, ContentEncodingScheme> encodingSchemes = new HashMap<>();
-    private final Map<String, ContentMimeType> mimeTypes = new HashMap<>();
+    private volatile Map<String, ContentEncodingScheme> encodingSchemes;
+    private volatile Map<String, ContentMimeType> mimeTypes;
 
     /**
      * Returns all of the published standard specifications.
@@ -70,11 +76,8 @@ abstract class StandardSchemaSpec implements SchemaSpec {
 
     protected StandardSchemaSpec(SpecVersion version, JsonService jsonService) {
         this.version = version;
-        this.formatAttributes = FormatAttributes.getAttributes(version);
+        this.jsonService = jsonService;
         this.keywordFactory = new StandardKeywordFactory(version);
-        this.metaschema = loadMetaschema(version, jsonService);
-        this.encodingSchemes.putAll(ContentAttributes.encodingSchemes());
-        this.mimeTypes.putAll(ContentAttributes.mimeTypes(jsonService.getJsonProvider()));
     }
 
     @Override
@@ -84,6 +87,16 @@ abstract class StandardSchemaSpec implements SchemaSpec {
 
     @Override
     public JsonSchema getMetaschema() {
+        JsonSchema metaschema = this.metaschema;
+        if (metaschema == null) {
+            synchronized (this) {
+                metaschema = this.metaschema;
+                if (metaschema == null) {
+                    metaschema = loadMetaschema(version, jsonService);
+                    this.metaschema = metaschema;
+                }
+            }
+        }
         return metaschema;
     }
 
@@ -94,16 +107,31 @@ abstract class StandardSchemaSpec implements SchemaSpec {
 
     @Override
     public FormatAttribute getFormatAttribute(String name) {
+        Map<String, FormatAttribute> formatAttributes = this.formatAttributes;
+        if (formatAttributes == null) {
+            formatAttributes = FormatAttributes.getAttributes(version);
+            this.formatAttributes = formatAttributes;
+        }
         return formatAttributes.get(name);
     }
 
     @Override
     public ContentEncodingScheme getEncodingScheme(String name) {
+        Map<String, ContentEncodingScheme> encodingSchemes = this.encodingSchemes;
+        if (encodingSchemes == null) {
+            encodingSchemes = ContentAttributes.encodingSchemes();
+            this.encodingSchemes = encodingSchemes;
+        }
         return encodingSchemes.get(name);
     }
 
     @Override
     public ContentMimeType getMimeType(String value) {
+        Map<String, ContentMimeType> mimeTypes = this.mimeTypes;
+        if (mimeTypes == null) {
+            mimeTypes = ContentAttributes.mimeTypes(jsonService.getJsonProvider());
+            this.mimeTypes = mimeTypes;
+        }
         return mimeTypes.get(value);
     }
 
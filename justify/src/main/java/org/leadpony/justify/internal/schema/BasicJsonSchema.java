@@ -20,6 +20,7 @@ import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -29,14 +30,22 @@ import org.leadpony.justify.api.EvaluatorContext;
 import org.leadpony.justify.api.Evaluator;
 import org.leadpony.justify.api.InstanceType;
 import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.Keyword;
+import org.leadpony.justify.internal.evaluator.AdaptiveOrder;
 import org.leadpony.justify.internal.evaluator.Evaluators;
 import org.leadpony.justify.internal.evaluator.LogicalEvaluator;
+import org.leadpony.justify.internal.jfr.FlightRecorder;
+import org.leadpony.justify.internal.jfr.KeywordEvaluationRecorder;
 import org.leadpony.justify.internal.keyword.Evaluatable;
 import org.leadpony.justify.internal.keyword.SchemaKeyword;
 import org.leadpony.justify.internal.keyword.annotation.Description;
 import org.leadpony.justify.internal.keyword.annotation.Title;
 import org.leadpony.justify.internal.problem.ProblemBuilder;
 import org.leadpony.justify.internal.problem.ProblemBuilderFactory;
+import org.leadpony.justify.internal.profiler.DefaultEvaluationProfiler;
+import org.leadpony.justify.internal.profiler.ProfilingContext;
+import org.leadpony.justify.internal.validator.GuardedContext;
+import org.leadpony.justify.internal.validator.ResourceGuard;
 
 /**
  * JSON Schema with keywords.
@@ -45,6 +54,10 @@ import org.leadpony.justify.internal.problem.ProblemBuilderFactory;
  */
 public abstract class BasicJsonSchema extends AbstractJsonSchema implements ProblemBuilderFactory {
 
+    // the operands replaced by the optimizer, or null if not optimized.
+    private List<Operand> operands;
+    private AdaptiveOrder operandOrder;
+
     public static JsonSchema of(URI id, JsonObject json, Map<String, SchemaKeyword> keywords) {
         List<Evaluatable> evaluatables = collectEvaluatables(keywords);
         if (evaluatables.isEmpty()) {
@@ -91,6 +104,102 @@ public abstract class BasicJsonSchema extends AbstractJsonSchema implements Prob
                 .withSchema(this);
     }
 
+    /**
+     * Returns the number of the keywords in this schema which create their own
+     * evaluators.
+     *
+     * @return the number of the evaluatable keywords.
+     */
+    public final int getEvaluatableCount() {
+        return getEvaluatables().size();
+    }
+
+    /**
+     * Returns the keywords in this schema which create their own evaluators.
+     *
+     * @return the list of the evaluatable keywords.
+     */
+    abstract List<Evaluatable> getEvaluatables();
+
+    /**
+     * Replaces the operands of the evaluator created by
+     * {@link #createEvaluator(EvaluatorContext, InstanceType)}. The negated
+     * evaluator is not affected.
+     *
+     * @param operands the operands determined by {@link SchemaOptimizer}.
+     */
+    void setOptimizedOperands(List<Operand> operands) {
+        this.operands = operands;
+        this.operandOrder = new AdaptiveOrder(operands.size());
+    }
+
+    /**
+     * Creates an evaluator from the operands determined by
+     * {@link SchemaOptimizer}.
+     *
+     * @param context the context of the evaluator.
+     * @param type    the type of the instance.
+     * @return newly created evaluator, or {@code null} if this schema is not
+     *         optimized.
+     */
+    final Evaluator createOptimizedEvaluator(EvaluatorContext context, InstanceType type) {
+        List<Operand> operands = this.operands;
+        if (operands == null) {
+            return null;
+        } else if (operands.isEmpty()) {
+            return Evaluator.ALWAYS_TRUE;
+        } else if (operands.size() == 1) {
+            return operands.get(0).createEvaluator(context, type);
+        }
+        LogicalEvaluator evaluator = Evaluators.conjunctive(type, operandOrder);
+        for (Operand operand : operands) {
+            evaluator.append(operand.createEvaluator(context, type));
+        }
+        return evaluator;
+    }
+
+    /**
+     * Creates an evaluator of the specified keyword. The evaluator will be
+     * decorated if the context has a profiler or the event of Flight Recorder is
+     * enabled. The evaluator is counted if the context has a guard of the
+     * resources.
+     *
+     * @param evaluatable the keyword to evaluate.
+     * @param context     the context of the evaluator.
+     * @param type        the type of the instance.
+     * @param negated     {@code true} if the evaluator should be negated.
+     * @return newly created evaluator.
+     */
+    protected final Evaluator createKeywordEvaluator(Evaluatable evaluatable, EvaluatorContext context,
+            InstanceType type, boolean negated) {
+        if (context instanceof GuardedContext) {
+            ResourceGuard guard = ((GuardedContext) context).getResourceGuard();
+            if (guard != null) {
+                guard.countEvaluator(context, this);
+            }
+        }
+        Evaluator evaluator = negated
+                ? evaluatable.createNegatedEvaluator(context, type)
+                : evaluatable.createEvaluator(context, type);
+        if (FlightRecorder.isKeywordEvaluationEnabled() && evaluator != Evaluator.ALWAYS_TRUE) {
+            evaluator = new KeywordEvaluationRecorder(evaluator, context, this, nameOf(evaluatable));
+        }
+        if (context instanceof ProfilingContext) {
+            DefaultEvaluationProfiler profiler = ((ProfilingContext) context).getProfiler();
+            if (profiler != null) {
+                return profiler.decorate(evaluator, this, nameOf(evaluatable), context);
+            }
+        }
+        return evaluator;
+    }
+
+    private static String nameOf(Evaluatable evaluatable) {
+        if (evaluatable instanceof Keyword) {
+            return ((Keyword) evaluatable).name();
+        }
+        return evaluatable.getClass().getSimpleName();
+    }
+
     private static List<Evaluatable> collectEvaluatables(Map<String, SchemaKeyword> keywords) {
         List<Evaluatable> evaluatables = new ArrayList<>();
         for (SchemaKeyword keyword : keywords.values()) {
@@ -108,6 +217,11 @@ public abstract class BasicJsonSchema extends AbstractJsonSchema implements Prob
             super(id, json, keywords);
         }
 
+        @Override
+        List<Evaluatable> getEvaluatables() {
+            return Collections.emptyList();
+        }
+
         @Override
         public Evaluator createEvaluator(EvaluatorContext context, InstanceType type) {
             requireNonNull(type, "type");
@@ -134,16 +248,25 @@ public abstract class BasicJsonSchema extends AbstractJsonSchema implements Prob
             this.evaluatable = evaluatable;
         }
 
+        @Override
+        List<Evaluatable> getEvaluatables() {
+            return Collections.singletonList(evaluatable);
+        }
+
         @Override
         public Evaluator createEvaluator(EvaluatorContext context, InstanceType type) {
             requireNonNull(type, "type");
-            return evaluatable.createEvaluator(context, type);
+            Evaluator evaluator = createOptimizedEvaluator(context, type);
+            if (evaluator != null) {
+                return evaluator;
+            }
+            return createKeywordEvaluator(evaluatable, context, type, false);
         }
 
         @Override
         public Evaluator createNegatedEvaluator(EvaluatorContext context, InstanceType type) {
             requireNonNull(type, "type");
-            return evaluatable.createNegatedEvaluator(context, type);
+            return createKeywordEvaluator(evaluatable, context, type, true);
         }
     }
 
@@ -153,16 +276,27 @@ public abstract class BasicJsonSchema extends AbstractJsonSchema implements Prob
     private static final class Many extends BasicJsonSchema {
 
         private final List<Evaluatable> evaluatables;
+        private final AdaptiveOrder order;
 
         private Many(URI id, JsonObject json, Map<String, SchemaKeyword> keywords,
                 List<Evaluatable> evaluatables) {
             super(id, json, keywords);
             this.evaluatables = evaluatables;
+            this.order = new AdaptiveOrder(evaluatables.size());
+        }
+
+        @Override
+        List<Evaluatable> getEvaluatables() {
+            return Collections.unmodifiableList(evaluatables);
         }
 
         @Override
         public Evaluator createEvaluator(EvaluatorContext context, InstanceType type) {
             requireNonNull(type, "type");
+            Evaluator evaluator = createOptimizedEvaluator(context, type);
+            if (evaluator != null) {
+                return evaluator;
+            }
             return createCombinedEvaluator(context, type);
         }
 
@@ -173,9 +307,9 @@ public abstract class BasicJsonSchema extends AbstractJsonSchema implements Prob
         }
 
         private Evaluator createCombinedEvaluator(EvaluatorContext context, InstanceType type) {
-            LogicalEvaluator evaluator = Evaluators.conjunctive(type);
+            LogicalEvaluator evaluator = Evaluators.conjunctive(type, order);
             for (Evaluatable evaluatable : this.evaluatables) {
-                Evaluator child = evaluatable.createEvaluator(context, type);
+                Evaluator child = createKeywordEvaluator(evaluatable, context, type, false);
                 evaluator.append(child);
             }
             return evaluator;
@@ -185,10 +319,44 @@ public abstract class BasicJsonSchema extends AbstractJsonSchema implements Prob
             LogicalEvaluator evaluator = Evaluators.disjunctive(context, type);
             evaluator.withProblemBuilderFactory(this);
             for (Evaluatable evaluatable : this.evaluatables) {
-                Evaluator child = evaluatable.createNegatedEvaluator(context, type);
+                Evaluator child = createKeywordEvaluator(evaluatable, context, type, true);
                 evaluator.append(child);
             }
             return evaluator;
         }
     }
+
+    /**
+     * An evaluatable keyword paired with the schema which owns it.
+     *
+     * @author leadpony
+     */
+    static final class Operand {
+
+        private final BasicJsonSchema owner;
+        private final Evaluatable evaluatable;
+
+        /**
+         * Constructs this operand.
+         *
+         * @param owner       the schema which owns the keyword.
+         * @param evaluatable the keyword to evaluate.
+         */
+        Operand(BasicJsonSchema owner, Evaluatable evaluatable) {
+            this.owner = owner;
+            this.evaluatable = evaluatable;
+        }
+
+        BasicJsonSchema getOwner() {
+            return owner;
+        }
+
+        Evaluatable getEvaluatable() {
+            return evaluatable;
+        }
+
+        Evaluator createEvaluator(EvaluatorContext context, InstanceType type) {
+            return owner.createKeywordEvaluator(evaluatable, context, type, false);
+        }
+    }
 }
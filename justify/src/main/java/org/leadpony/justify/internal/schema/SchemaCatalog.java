@@ -18,6 +18,7 @@ package org.leadpony.justify.internal.schema;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.leadpony.justify.api.JsonSchema;
 import org.leadpony.justify.api.JsonSchemaResolver;
@@ -29,7 +30,7 @@ import org.leadpony.justify.api.JsonSchemaResolver;
  */
 public class SchemaCatalog implements JsonSchemaResolver {
 
-    private final Map<URI, JsonSchema> map = new HashMap<>();
+    private final Map<URI, Supplier<JsonSchema>> map = new HashMap<>();
 
     /**
      * Adds a schema to this catalog.
@@ -38,14 +39,26 @@ public class SchemaCatalog implements JsonSchemaResolver {
      */
     public void addSchema(JsonSchema schema) {
         if (schema.hasAbsoluteId()) {
-            map.put(normalizeId(schema.id()), schema);
+            map.put(normalizeId(schema.id()), () -> schema);
         }
     }
 
+    /**
+     * Adds a schema to this catalog, which will be supplied when it is resolved
+     * for the first time.
+     *
+     * @param id       the absolute identifier of the schema.
+     * @param supplier the supplier of the schema.
+     */
+    public void addSchema(URI id, Supplier<JsonSchema> supplier) {
+        map.put(normalizeId(id), supplier);
+    }
+
     @Override
     public JsonSchema resolveSchema(URI id) {
         if (id.isAbsolute()) {
-            return map.get(normalizeId(id));
+            Supplier<JsonSchema> supplier = map.get(normalizeId(id));
+            return (supplier != null) ? supplier.get() : null;
         } else {
             return null;
         }
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.schema;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.internal.base.Sets;
+import org.leadpony.justify.internal.keyword.Evaluatable;
+import org.leadpony.justify.internal.keyword.applicator.AllOf;
+import org.leadpony.justify.internal.keyword.applicator.AnyOf;
+import org.leadpony.justify.internal.keyword.applicator.If;
+import org.leadpony.justify.internal.schema.BasicJsonSchema.Operand;
+
+/**
+ * An optimizer of the schemas which rewrites the evaluators to be created
+ * without modifying the schemas themselves.
+ *
+ * <p>
+ * The optimizer determines the operands of the evaluator created for each
+ * schema as follows:
+ * </p>
+ * <ul>
+ * <li>The subschemas of {@code "allOf"} are flattened into the enclosing
+ * schema, including the ones referenced by non-recursive {@code "$ref"}.</li>
+ * <li>{@code "anyOf"} having a branch which always succeeds is removed, and
+ * {@code "if"} whose condition is constant is replaced by the subschema
+ * selected.</li>
+ * </ul>
+ *
+ * <p>
+ * The negated evaluators are left as they are because their problems depend on
+ * the structure of the schema. The assertions are never removed even if they
+ * are implied by other ones, and the branches written more than once are
+ * evaluated as many times as without the optimization, so the JSON
+ * representation of the schemas and the problems reported are not changed.
+ * </p>
+ *
+ * @author leadpony
+ */
+public class SchemaOptimizer {
+
+    /**
+     * The maximum number of the operands of a referenced schema to be inlined.
+     */
+    static final int MAX_INLINED_OPERANDS = 16;
+
+    private final Map<BasicJsonSchema, List<Operand>> optimized = new IdentityHashMap<>();
+    private final Set<BasicJsonSchema> optimizing = Sets.newIdentitySet();
+
+    /**
+     * Optimizes the specified schema and all of its subschemas.
+     *
+     * @param root the root schema to optimize.
+     */
+    public void optimize(JsonSchema root) {
+        Set<JsonSchema> visited = Sets.newIdentitySet();
+        Deque<JsonSchema> remaining = new ArrayDeque<>();
+        remaining.push(root);
+        while (!remaining.isEmpty()) {
+            JsonSchema schema = remaining.pop();
+            if (!visited.add(schema)) {
+                continue;
+            }
+            if (schema instanceof BasicJsonSchema) {
+                BasicJsonSchema basic = (BasicJsonSchema) schema;
+                List<Operand> operands = operandsOf(basic);
+                if (!isOriginal(basic, operands)) {
+                    basic.setOptimizedOperands(operands);
+                }
+            }
+            schema.getSubschemas().forEach(remaining::push);
+        }
+    }
+
+    /**
+     * Returns the operands of the evaluator for the specified schema.
+     *
+     * @param schema the schema to optimize.
+     * @return the operands of the evaluator, or {@code null} if the schema is
+     *         being optimized, that is, the schema is recursive.
+     */
+    private List<Operand> operandsOf(BasicJsonSchema schema) {
+        List<Operand> operands = optimized.get(schema);
+        if (operands != null) {
+            return operands;
+        }
+        if (!optimizing.add(schema)) {
+            return null;
+        }
+        operands = new ArrayList<>();
+        for (Evaluatable evaluatable : schema.getEvaluatables()) {
+            addOperands(schema, evaluatable, operands);
+        }
+        optimizing.remove(schema);
+        optimized.put(schema, operands);
+        return operands;
+    }
+
+    private void addOperands(BasicJsonSchema owner, Evaluatable evaluatable, List<Operand> operands) {
+        if (evaluatable instanceof AllOf) {
+            AllOf allOf = (AllOf) evaluatable;
+            List<Operand> inlined = inlineAll(allOf.getSubschemas().distinct().collect(Collectors.toList()));
+            if (inlined != null) {
+                operands.addAll(inlined);
+                return;
+            }
+        } else if (evaluatable instanceof AnyOf) {
+            AnyOf anyOf = (AnyOf) evaluatable;
+            if (anyOf.getSubschemas().anyMatch(this::isAlwaysTrue)) {
+                return;
+            }
+        } else if (evaluatable instanceof If) {
+            If conditional = (If) evaluatable;
+            JsonSchema selected;
+            if (isAlwaysTrue(conditional.getIfSchema())) {
+                selected = conditional.getThenSchema();
+            } else if (conditional.getIfSchema() == JsonSchema.FALSE) {
+                selected = conditional.getElseSchema();
+            } else {
+                operands.add(new Operand(owner, evaluatable));
+                return;
+            }
+            if (selected == null) {
+                return;
+            }
+            List<Operand> inlined = inline(selected);
+            if (inlined != null) {
+                operands.addAll(inlined);
+                return;
+            }
+        }
+        operands.add(new Operand(owner, evaluatable));
+    }
+
+    private List<Operand> inlineAll(List<JsonSchema> schemas) {
+        List<Operand> operands = new ArrayList<>();
+        for (JsonSchema schema : schemas) {
+            List<Operand> inlined = inline(schema);
+            if (inlined == null) {
+                return null;
+            }
+            operands.addAll(inlined);
+        }
+        return operands;
+    }
+
+    /**
+     * Returns the operands to be evaluated instead of the specified schema.
+     *
+     * @param schema the schema to be inlined.
+     * @return the operands of the schema, or {@code null} if the schema cannot be
+     *         inlined.
+     */
+    private List<Operand> inline(JsonSchema schema) {
+        if (schema == JsonSchema.TRUE || schema == JsonSchema.EMPTY) {
+            return Collections.emptyList();
+        } else if (schema instanceof SchemaReference) {
+            SchemaReference reference = (SchemaReference) schema;
+            // References resolved lazily are left as they are.
+            if (!reference.hasReferencedSchema()) {
+                return null;
+            }
+            List<Operand> inlined = inline(reference.getReferencedSchema());
+            if (inlined != null && inlined.size() > MAX_INLINED_OPERANDS) {
+                return null;
+            }
+            return inlined;
+        } else if (schema instanceof BasicJsonSchema) {
+            return operandsOf((BasicJsonSchema) schema);
+        }
+        return null;
+    }
+
+    private boolean isAlwaysTrue(JsonSchema schema) {
+        List<Operand> inlined = inline(schema);
+        return inlined != null && inlined.isEmpty();
+    }
+
+    private static boolean isOriginal(BasicJsonSchema schema, List<Operand> operands) {
+        List<Evaluatable> evaluatables = schema.getEvaluatables();
+        if (evaluatables.size() != operands.size()) {
+            return false;
+        }
+        for (int i = 0; i < operands.size(); i++) {
+            Operand operand = operands.get(i);
+            if (operand.getOwner() != schema || operand.getEvaluatable() != evaluatables.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -47,7 +47,10 @@ import org.leadpony.justify.internal.problem.ProblemBuilderFactory;
 public class SchemaReference extends AbstractJsonSchema {
 
     private URI targetId;
-    private JsonSchema referencedSchema;
+    private volatile JsonSchema referencedSchema;
+    // the schema to be evaluated, which is determined on first use.
+    private volatile JsonSchema evaluatedSchema;
+    private LazyResolver lazyResolver;
 
     /**
      * Constructs this schema reference.
@@ -96,12 +99,21 @@ public class SchemaReference extends AbstractJsonSchema {
     }
 
     /**
-     * Returns the referenced schema.
+     * Returns the referenced schema. If this reference is resolved lazily, the
+     * referenced schema is resolved on the first call of this method.
      *
      * @return the referenced schema.
      */
     public JsonSchema getReferencedSchema() {
-        return referencedSchema;
+        JsonSchema schema = this.referencedSchema;
+        if (schema == null) {
+            schema = lazyResolver.resolveReferencedSchema(this);
+            if (schema == null) {
+                schema = new NonexistentSchema();
+            }
+            this.referencedSchema = schema;
+        }
+        return schema;
     }
 
     /**
@@ -114,16 +126,29 @@ public class SchemaReference extends AbstractJsonSchema {
         this.referencedSchema = schema;
     }
 
+    /**
+     * Lets this reference resolve the referenced schema on first use. This
+     * method must be called before this schema is shared by multiple threads.
+     *
+     * @param lazyResolver the resolver of the referenced schema, cannot be
+     *                     {@code null}.
+     */
+    public void setLazyResolver(LazyResolver lazyResolver) {
+        requireNonNull(lazyResolver, "lazyResolver");
+        this.lazyResolver = lazyResolver;
+        this.referencedSchema = null;
+    }
+
     /* JsonSchema interface */
 
     @Override
     public Evaluator createEvaluator(EvaluatorContext context, InstanceType type) {
-        return referencedSchema.createEvaluator(context, type);
+        return getEvaluatedSchema().createEvaluator(context, type);
     }
 
     @Override
     public Evaluator createNegatedEvaluator(EvaluatorContext context, InstanceType type) {
-        return referencedSchema.createNegatedEvaluator(context, type);
+        return getEvaluatedSchema().createNegatedEvaluator(context, type);
     }
 
     /* Resolvable interface */
@@ -139,6 +164,49 @@ public class SchemaReference extends AbstractJsonSchema {
         }
     }
 
+    private JsonSchema getEvaluatedSchema() {
+        if (lazyResolver == null) {
+            return referencedSchema;
+        }
+        // Concurrent threads may determine the same schema at the same time.
+        JsonSchema schema = this.evaluatedSchema;
+        if (schema == null) {
+            schema = getReferencedSchema();
+            if (lazyResolver.isInfiniteLoop(this)) {
+                schema = new LoopingSchema();
+            }
+            this.evaluatedSchema = schema;
+        }
+        return schema;
+    }
+
+    /**
+     * A resolver of the referenced schema which is called on first use of the
+     * reference.
+     *
+     * @author leadpony
+     */
+    public interface LazyResolver {
+
+        /**
+         * Resolves the schema referenced by the specified reference.
+         *
+         * @param reference the schema reference.
+         * @return the referenced schema, or {@code null} if not found.
+         */
+        JsonSchema resolveReferencedSchema(SchemaReference reference);
+
+        /**
+         * Checks if the specified reference starts an infinite recursive
+         * looping.
+         *
+         * @param reference the schema reference.
+         * @return {@code true} if the reference starts the looping, {@code false}
+         *         otherwise.
+         */
+        boolean isInfiniteLoop(SchemaReference reference);
+    }
+
     /**
      * Nonexistent JSON Schema.
      *
@@ -173,4 +241,37 @@ public class SchemaReference extends AbstractJsonSchema {
             return JsonValue.EMPTY_JSON_OBJECT;
         }
     }
+
+    /**
+     * JSON Schema which starts an infinite recursive looping.
+     *
+     * @author leadpony
+     */
+    private class LoopingSchema extends AbstractEmptyMap<String, Keyword> implements ObjectJsonSchema {
+
+        @Override
+        public Evaluator createEvaluator(EvaluatorContext context, InstanceType type) {
+            return new Evaluator() {
+                @Override
+                public Result evaluate(Event event, int depth, ProblemDispatcher dispatcher) {
+                    Problem p = ProblemBuilderFactory.DEFAULT.createProblemBuilder(context)
+                            .withKeyword("$ref")
+                            .withMessage(Message.SCHEMA_PROBLEM_REFERENCE_LOOP)
+                            .build();
+                    dispatcher.dispatchProblem(p);
+                    return Result.FALSE;
+                }
+            };
+        }
+
+        @Override
+        public Evaluator createNegatedEvaluator(EvaluatorContext context, InstanceType type) {
+            return createEvaluator(context, type);
+        }
+
+        @Override
+        public JsonValue toJson() {
+            return JsonValue.EMPTY_JSON_OBJECT;
+        }
+    }
 }
@@ -42,6 +42,11 @@ abstract class AbstractJsonSchemaReader implements JsonSchemaReader, ProblemBuil
 
     static final URI DEFAULT_INITIAL_BASE_URI = URI.create("");
 
+    /**
+     * The internal configuration key for the base URI of the schema document.
+     */
+    static final String INITIAL_BASE_URI = "org.leadpony.justify.internal.schema.io.INITIAL_BASE_URI";
+
     private final Map<String, Object> config;
 
     private final boolean strictWithKeywords;
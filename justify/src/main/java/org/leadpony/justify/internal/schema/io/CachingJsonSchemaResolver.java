@@ -0,0 +1,560 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.schema.io;
+
+import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.json.JsonException;
+import javax.json.JsonValue;
+import javax.json.JsonValue.ValueType;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+import javax.json.stream.JsonParserFactory;
+
+import org.leadpony.justify.api.Evaluator;
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.api.InstanceType;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonSchemaReader;
+import org.leadpony.justify.api.JsonSchemaResolver;
+import org.leadpony.justify.api.JsonSchemaResolverBuilder;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.internal.base.Message;
+import org.leadpony.justify.internal.base.json.JsonService;
+import org.leadpony.justify.internal.problem.ProblemBuilderFactory;
+import org.leadpony.justify.internal.schema.SchemaCatalog;
+import org.leadpony.justify.internal.schema.SchemaSpecRegistry;
+
+/**
+ * A schema resolver which loads external schemas in parallel and caches them.
+ *
+ * <p>
+ * Raw documents are fetched asynchronously by the executor. Each fetched
+ * document is scanned for {@code $ref} targets, which are fetched in turn
+ * before anyone asks for them. Parsing of the documents is done by the threads
+ * requesting the schemas.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class CachingJsonSchemaResolver implements PrefetchingResolver {
+
+    private static final Logger LOG = Logger.getLogger(CachingJsonSchemaResolver.class.getName());
+
+    private static final String FILE_SCHEME = "file";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final JsonParserFactory parserFactory;
+    private final SchemaCatalog metaschemaCatalog;
+    private final JsonSchemaReaderFactoryImpl readerFactory;
+    private final Map<String, JsonSchemaResolverBuilder.Loader> loaders;
+    private final Path cacheDirectory;
+    private final Executor executor;
+
+    // raw documents fetched or being fetched.
+    private final ConcurrentMap<URI, CompletableFuture<byte[]>> documents = new ConcurrentHashMap<>();
+    // schemas already parsed.
+    private final ConcurrentMap<URI, JsonSchema> schemas = new ConcurrentHashMap<>();
+    // documents being parsed by the current thread.
+    private final ThreadLocal<Set<URI>> documentsInProgress = ThreadLocal.withInitial(HashSet::new);
+
+    public static JsonSchemaResolverBuilder builder(JsonService jsonService, SchemaSpecRegistry specRegistry) {
+        return new Builder(jsonService, specRegistry);
+    }
+
+    private CachingJsonSchemaResolver(Builder builder) {
+        this.parserFactory = builder.jsonService.getJsonParserFactory();
+        this.metaschemaCatalog = builder.specRegistry.getMetaschemaCatalog();
+        this.loaders = new HashMap<>(builder.loaders);
+        this.cacheDirectory = builder.cacheDirectory;
+        this.executor = (builder.executor != null) ? builder.executor : createDefaultExecutor();
+        this.readerFactory = (JsonSchemaReaderFactoryImpl) JsonSchemaReaderFactoryImpl
+                .builder(builder.jsonService, builder.specRegistry)
+                .withSchemaResolver(this)
+                .build();
+    }
+
+    /* As a JsonSchemaResolver */
+
+    @Override
+    public JsonSchema resolveSchema(URI id) {
+        requireNonNull(id, "id");
+        if (!id.isAbsolute()) {
+            return null;
+        }
+        String fragment = id.getFragment();
+        if (fragment == null || fragment.isEmpty()) {
+            return resolveDocument(toLocation(id));
+        } else if (fragment.startsWith("/")) {
+            JsonSchema schema = resolveDocument(toLocation(id));
+            return (schema != null) ? schema.getSubschemaAt(fragment) : null;
+        } else {
+            return null;
+        }
+    }
+
+    /* As a PrefetchingResolver */
+
+    @Override
+    public void prefetch(Collection<URI> locations) {
+        for (URI location : locations) {
+            if (location.isAbsolute()) {
+                location = toLocation(location);
+                if (!schemas.containsKey(location) && metaschemaCatalog.resolveSchema(location) == null) {
+                    fetch(location);
+                }
+            }
+        }
+    }
+
+    private JsonSchema resolveDocument(URI location) {
+        JsonSchema schema = schemas.get(location);
+        if (schema != null) {
+            return schema;
+        }
+
+        Set<URI> inProgress = documentsInProgress.get();
+        if (inProgress.contains(location)) {
+            // The document references itself through other documents.
+            return new DeferredSchema(location, "");
+        }
+
+        CompletableFuture<byte[]> future = fetch(location);
+        byte[] content = await(future);
+        if (content == null) {
+            // Gives the next request another chance.
+            documents.remove(location, future);
+            return null;
+        }
+
+        inProgress.add(location);
+        try {
+            schema = readSchema(location, content);
+        } finally {
+            inProgress.remove(location);
+        }
+
+        JsonSchema existing = schemas.putIfAbsent(location, schema);
+        return (existing != null) ? existing : schema;
+    }
+
+    private JsonSchema readSchema(URI location, byte[] content) {
+        InputStream in = new ByteArrayInputStream(content);
+        try (JsonSchemaReader reader = readerFactory.withInitialBaseUri(location).createSchemaReader(in)) {
+            return reader.read();
+        }
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new JsonException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Starts fetching the document if it is not fetched yet.
+     *
+     * @param location the location of the document.
+     * @return the future of the document content.
+     */
+    private CompletableFuture<byte[]> fetch(URI location) {
+        CompletableFuture<byte[]> future = documents.get(location);
+        if (future != null) {
+            return future;
+        }
+        CompletableFuture<byte[]> newFuture = new CompletableFuture<>();
+        future = documents.putIfAbsent(location, newFuture);
+        if (future != null) {
+            return future;
+        }
+        try {
+            executor.execute(() -> load(location, newFuture));
+        } catch (RejectedExecutionException e) {
+            load(location, newFuture);
+        }
+        return newFuture;
+    }
+
+    private void load(URI location, CompletableFuture<byte[]> future) {
+        byte[] content;
+        try {
+            content = loadContent(location);
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Failed to load " + location, e);
+            content = null;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        future.complete(content);
+        if (content != null) {
+            prefetch(findReferences(location, content));
+        }
+    }
+
+    private byte[] loadContent(URI location) throws IOException {
+        if (cacheDirectory == null || FILE_SCHEME.equals(location.getScheme())) {
+            return loadFromSource(location);
+        }
+        Path cached = cacheDirectory.resolve(toCacheFileName(location));
+        try (InputStream in = Files.newInputStream(cached)) {
+            return readAllBytes(in);
+        } catch (NoSuchFileException e) {
+            byte[] content = loadFromSource(location);
+            if (content != null) {
+                storeContent(cached, content);
+            }
+            return content;
+        }
+    }
+
+    private byte[] loadFromSource(URI location) throws IOException {
+        URI source = withoutFragment(location);
+        JsonSchemaResolverBuilder.Loader loader = loaders.get(source.getScheme());
+        try (InputStream in = (loader != null) ? loader.openStream(source) : openStream(source)) {
+            return (in != null) ? readAllBytes(in) : null;
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static InputStream openStream(URI location) throws IOException {
+        if (FILE_SCHEME.equals(location.getScheme())) {
+            return Files.newInputStream(Paths.get(location));
+        }
+        return location.toURL().openStream();
+    }
+
+    private void storeContent(Path path, byte[] content) throws IOException {
+        Files.createDirectories(cacheDirectory);
+        Path temp = Files.createTempFile(cacheDirectory, null, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(content);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Finds the locations of the documents referenced by the specified document.
+     *
+     * @param location the location of the document.
+     * @param content  the content of the document.
+     * @return the locations of the referenced documents.
+     */
+    private List<URI> findReferences(URI location, byte[] content) {
+        List<String> refs = new ArrayList<>();
+        String id = null;
+        try (JsonParser parser = parserFactory.createParser(new ByteArrayInputStream(content))) {
+            int depth = 0;
+            String lastKey = null;
+            while (parser.hasNext()) {
+                Event event = parser.next();
+                switch (event) {
+                case START_ARRAY:
+                case START_OBJECT:
+                    depth++;
+                    break;
+                case END_ARRAY:
+                case END_OBJECT:
+                    depth--;
+                    break;
+                case KEY_NAME:
+                    lastKey = parser.getString();
+                    continue;
+                case VALUE_STRING:
+                    if ("$ref".equals(lastKey)) {
+                        refs.add(parser.getString());
+                    } else if (depth == 1 && ("$id".equals(lastKey) || "id".equals(lastKey))) {
+                        id = parser.getString();
+                    }
+                    break;
+                default:
+                    break;
+                }
+                lastKey = null;
+            }
+        } catch (JsonException e) {
+            // The problem will be reported by the schema reader.
+        }
+
+        URI baseUri = location;
+        if (id != null) {
+            baseUri = resolveQuietly(location, id);
+            if (baseUri == null) {
+                baseUri = location;
+            }
+        }
+
+        Set<URI> found = new LinkedHashSet<>();
+        for (String ref : refs) {
+            URI target = resolveQuietly(baseUri, ref);
+            if (target != null && target.isAbsolute()) {
+                URI targetLocation = toLocation(target);
+                if (!targetLocation.equals(location) && !targetLocation.equals(toLocation(baseUri))) {
+                    found.add(targetLocation);
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    private static URI resolveQuietly(URI base, String ref) {
+        try {
+            return base.isOpaque() ? new URI(ref) : base.resolve(ref);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the location of the document containing the specified schema,
+     * which has an empty fragment.
+     *
+     * @param id the absolute identifier of the schema.
+     * @return the location of the document.
+     */
+    private static URI toLocation(URI id) {
+        return URI.create(withoutFragment(id).toString() + "#");
+    }
+
+    private static URI withoutFragment(URI uri) {
+        String s = uri.toString();
+        int index = s.indexOf('#');
+        return (index < 0) ? uri : URI.create(s.substring(0, index));
+    }
+
+    private static String toCacheFileName(URI location) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(location.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder builder = new StringBuilder();
+            for (byte b : hash) {
+                builder.append(Character.forDigit((b >> 4) & 0xf, 16))
+                    .append(Character.forDigit(b & 0xf, 16));
+            }
+            return builder.append(".json").toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] readAllBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while ((length = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "justify-schema-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A proxy of the schema which is not available yet because its document is
+     * still being parsed. The proxy finds the actual schema when evaluated.
+     *
+     * @author leadpony
+     */
+    private final class DeferredSchema implements JsonSchema {
+
+        private final URI location;
+        private final String pointer;
+        private volatile JsonSchema target;
+
+        DeferredSchema(URI location, String pointer) {
+            this.location = location;
+            this.pointer = pointer;
+        }
+
+        @Override
+        public boolean isBoolean() {
+            return false;
+        }
+
+        @Override
+        public JsonSchema getSubschemaAt(String jsonPointer) {
+            requireNonNull(jsonPointer, "jsonPointer");
+            return jsonPointer.isEmpty() ? this : new DeferredSchema(location, pointer + jsonPointer);
+        }
+
+        @Override
+        public Evaluator createEvaluator(EvaluatorContext context, InstanceType type) {
+            JsonSchema schema = getTarget();
+            if (schema == null) {
+                return createMissingEvaluator(context);
+            }
+            return schema.createEvaluator(context, type);
+        }
+
+        @Override
+        public Evaluator createNegatedEvaluator(EvaluatorContext context, InstanceType type) {
+            JsonSchema schema = getTarget();
+            if (schema == null) {
+                return createMissingEvaluator(context);
+            }
+            return schema.createNegatedEvaluator(context, type);
+        }
+
+        @Override
+        public ValueType getJsonValueType() {
+            return ValueType.OBJECT;
+        }
+
+        @Override
+        public JsonValue toJson() {
+            JsonSchema schema = getTarget();
+            return (schema != null) ? schema.toJson() : JsonValue.EMPTY_JSON_OBJECT;
+        }
+
+        @Override
+        public String toString() {
+            return toJson().toString();
+        }
+
+        private JsonSchema getTarget() {
+            JsonSchema schema = this.target;
+            if (schema == null) {
+                JsonSchema document = resolveDocument(location);
+                if (document != null && !(document instanceof DeferredSchema)) {
+                    schema = document.getSubschemaAt(pointer);
+                    this.target = schema;
+                }
+            }
+            return schema;
+        }
+
+        private URI getTargetId() {
+            return URI.create(withoutFragment(location).toString() + "#" + pointer);
+        }
+
+        private Evaluator createMissingEvaluator(EvaluatorContext context) {
+            return (event, depth, dispatcher) -> {
+                Problem p = ProblemBuilderFactory.DEFAULT.createProblemBuilder(context)
+                        .withKeyword("$ref")
+                        .withMessage(Message.SCHEMA_PROBLEM_REFERENCE)
+                        .withParameter("ref", getTargetId())
+                        .withParameter("targetId", getTargetId())
+                        .build();
+                dispatcher.dispatchProblem(p);
+                return Evaluator.Result.FALSE;
+            };
+        }
+    }
+
+    /**
+     * A builder type for building instances of {@link CachingJsonSchemaResolver}.
+     *
+     * @author leadpony
+     */
+    private static final class Builder implements JsonSchemaResolverBuilder {
+
+        private final JsonService jsonService;
+        private final SchemaSpecRegistry specRegistry;
+        private final Map<String, Loader> loaders = new HashMap<>();
+        private Path cacheDirectory;
+        private Executor executor;
+
+        private Builder(JsonService jsonService, SchemaSpecRegistry specRegistry) {
+            this.jsonService = jsonService;
+            this.specRegistry = specRegistry;
+        }
+
+        @Override
+        public JsonSchemaResolver build() {
+            return new CachingJsonSchemaResolver(this);
+        }
+
+        @Override
+        public JsonSchemaResolverBuilder withCacheDirectory(Path directory) {
+            requireNonNull(directory, "directory");
+            this.cacheDirectory = directory;
+            return this;
+        }
+
+        @Override
+        public JsonSchemaResolverBuilder withLoader(String scheme, Loader loader) {
+            requireNonNull(scheme, "scheme");
+            requireNonNull(loader, "loader");
+            this.loaders.put(scheme, loader);
+            return this;
+        }
+
+        @Override
+        public JsonSchemaResolverBuilder withExecutor(Executor executor) {
+            requireNonNull(executor, "executor");
+            this.executor = executor;
+            return this;
+        }
+    }
+}
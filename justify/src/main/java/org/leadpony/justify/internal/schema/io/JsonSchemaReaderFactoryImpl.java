@@ -20,6 +20,7 @@ import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
@@ -80,6 +81,38 @@ public class JsonSchemaReaderFactoryImpl implements JsonSchemaReaderFactory {
         this.metaschema = (JsonSchema) this.config.get(JsonSchemaReader.METASCHEMA);
     }
 
+    protected JsonSchemaReaderFactoryImpl(JsonSchemaReaderFactoryImpl other, Map<String, Object> config) {
+        this.jsonService = other.jsonService;
+        this.jsonParserFactory = other.jsonParserFactory;
+        this.specRegistry = other.specRegistry;
+        this.config = config;
+        this.defaultVersion = other.defaultVersion;
+        this.metaschema = other.metaschema;
+    }
+
+    /**
+     * Returns a factory which is the same as this one except that the schemas
+     * will be read with the specified base URI.
+     *
+     * @param baseUri the initial base URI of the schema documents.
+     * @return the factory which uses the specified base URI.
+     */
+    JsonSchemaReaderFactoryImpl withInitialBaseUri(URI baseUri) {
+        Map<String, Object> newConfig = new HashMap<>(this.config);
+        newConfig.put(AbstractJsonSchemaReader.INITIAL_BASE_URI, baseUri);
+        return copy(Collections.unmodifiableMap(newConfig));
+    }
+
+    /**
+     * Creates a copy of this factory with the specified configuration.
+     *
+     * @param config the configuration of the new factory.
+     * @return newly created factory.
+     */
+    protected JsonSchemaReaderFactoryImpl copy(Map<String, Object> config) {
+        return new JsonSchemaReaderFactoryImpl(this, config);
+    }
+
     @Override
     public JsonSchemaReader createSchemaReader(InputStream in) {
         requireNonNull(in, "in");
@@ -188,6 +221,16 @@ public class JsonSchemaReaderFactoryImpl implements JsonSchemaReaderFactory {
             super(builder);
         }
 
+        private DetectableJsonSchemaReaderFactory(DetectableJsonSchemaReaderFactory other,
+                Map<String, Object> config) {
+            super(other, config);
+        }
+
+        @Override
+        protected JsonSchemaReaderFactoryImpl copy(Map<String, Object> config) {
+            return new DetectableJsonSchemaReaderFactory(this, config);
+        }
+
         @Override
         public JsonSchemaReader createSchemaReader(InputStream in) {
             requireNonNull(in, "in");
@@ -328,6 +371,18 @@ public class JsonSchemaReaderFactoryImpl implements JsonSchemaReaderFactory {
             return this;
         }
 
+        @Override
+        public JsonSchemaReaderFactoryBuilder withLazyReferenceResolution(boolean enabled) {
+            getProperties().put(JsonSchemaReader.LAZY_REFERENCE_RESOLUTION, enabled);
+            return this;
+        }
+
+        @Override
+        public JsonSchemaReaderFactoryBuilder withOptimization(boolean enabled) {
+            getProperties().put(JsonSchemaReader.OPTIMIZATION, enabled);
+            return this;
+        }
+
         private Map<String, Object> getProperties() {
             if (this.properties == null) {
                 this.properties = createDefaultProperties();
@@ -17,9 +17,9 @@ package org.leadpony.justify.internal.schema.io;
 
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +39,7 @@ import org.leadpony.justify.internal.base.Sets;
 import org.leadpony.justify.internal.base.URIs;
 import org.leadpony.justify.internal.base.json.JsonService;
 import org.leadpony.justify.internal.base.json.PointerAwareJsonParser;
+import org.leadpony.justify.internal.jfr.FlightRecorder;
 import org.leadpony.justify.internal.keyword.KeywordFactory;
 import org.leadpony.justify.internal.keyword.SchemaKeyword;
 import org.leadpony.justify.internal.keyword.Unknown;
@@ -48,6 +49,7 @@ import org.leadpony.justify.internal.keyword.core.Ref;
 import org.leadpony.justify.internal.problem.ProblemBuilder;
 import org.leadpony.justify.internal.schema.BasicJsonSchema;
 import org.leadpony.justify.internal.schema.Resolvable;
+import org.leadpony.justify.internal.schema.SchemaOptimizer;
 import org.leadpony.justify.internal.schema.SchemaReference;
 import org.leadpony.justify.internal.schema.SchemaSpec;
 import org.leadpony.justify.internal.validator.JsonValidator;
@@ -70,8 +72,11 @@ public class JsonSchemaReaderImpl extends AbstractJsonSchemaReader
     // schemas having $id keyword.
     private final Set<JsonSchema> identifiedSchemas = Sets.newIdentitySet();
     private final List<Reference> references = new ArrayList<>();
+    private int keywordCount;
 
     private URI initialBaseUri = DEFAULT_INITIAL_BASE_URI;
+    private final boolean lazyReferenceResolution;
+    private final boolean optimization;
 
     public JsonSchemaReaderImpl(
             PointerAwareJsonParser parser,
@@ -85,6 +90,14 @@ public class JsonSchemaReaderImpl extends AbstractJsonSchemaReader
         this.spec = spec;
         this.keywordFactory = spec.getKeywordFactory();
 
+        this.lazyReferenceResolution = config.get(LAZY_REFERENCE_RESOLUTION) == Boolean.TRUE;
+        this.optimization = config.get(OPTIMIZATION) == Boolean.TRUE;
+
+        URI baseUri = (URI) config.get(INITIAL_BASE_URI);
+        if (baseUri != null) {
+            this.initialBaseUri = baseUri;
+        }
+
         if (parser instanceof JsonValidator) {
             ((JsonValidator) parser).withHandler(this);
         }
@@ -94,9 +107,16 @@ public class JsonSchemaReaderImpl extends AbstractJsonSchemaReader
 
     @Override
     protected JsonSchema readSchema() {
+        Object event = FlightRecorder.beginSchemaRead();
         JsonSchema schema = readRootSchema();
         if (schema != null) {
             postprocess(schema);
+            if (this.optimization) {
+                new SchemaOptimizer().optimize(schema);
+            }
+        }
+        if (event != null) {
+            FlightRecorder.endSchemaRead(event, schema, keywordCount, references.size());
         }
         dispatchProblems();
         return schema;
@@ -258,6 +278,7 @@ public class JsonSchemaReaderImpl extends AbstractJsonSchemaReader
 
     private JsonSchema parseSchema(JsonObject value, boolean lax) {
         SchemaBuilder builder = new SchemaBuilder();
+        keywordCount += value.size();
         for (Map.Entry<String, JsonValue> entry : value.entrySet()) {
             String name = entry.getKey();
             SchemaKeyword keyword = createKeyword(name, entry.getValue(), lax);
@@ -317,35 +338,27 @@ public class JsonSchemaReaderImpl extends AbstractJsonSchemaReader
     }
 
     private void postprocess(JsonSchema schema) {
-        Map<URI, JsonSchema> schemaMap = generateSchemaMap(
-                schema, this.initialBaseUri);
-        resolveAllReferences(schemaMap);
-        checkInfiniteRecursiveLoop();
-    }
-
-    private Map<URI, JsonSchema> generateSchemaMap(JsonSchema root, URI baseUri) {
-        Map<URI, JsonSchema> schemaMap = new HashMap<>();
-
-        if (root instanceof Resolvable) {
-            ((Resolvable) root).resolve(baseUri);
+        if (schema instanceof Resolvable) {
+            ((Resolvable) schema).resolve(this.initialBaseUri);
         }
-
-        for (JsonSchema schema : this.identifiedSchemas) {
-            schemaMap.put(URIs.withFragment(schema.id()), schema);
-        }
-
-        if (!this.identifiedSchemas.contains(root)) {
-            schemaMap.put(URIs.withFragment(baseUri), root);
+        ReferenceResolver resolver = new ReferenceResolver(
+                schema, this.initialBaseUri, this.identifiedSchemas, getResolvers());
+        if (this.lazyReferenceResolution) {
+            for (Reference context : this.references) {
+                context.reference.setLazyResolver(resolver);
+            }
+        } else {
+            resolveAllReferences(resolver);
+            checkInfiniteRecursiveLoop();
         }
-
-        return schemaMap;
     }
 
-    private void resolveAllReferences(Map<URI, JsonSchema> schemaMap) {
+    private void resolveAllReferences(ReferenceResolver resolver) {
+        prefetchExternalSchemas(resolver.getSchemaMap());
         for (Reference context : this.references) {
             SchemaReference reference = context.reference;
             URI targetId = reference.getTargetId();
-            JsonSchema schema = dereferenceSchema(targetId, schemaMap);
+            JsonSchema schema = resolver.dereferenceSchema(targetId);
             if (schema != null) {
                 reference.setReferencedSchema(schema);
             } else {
@@ -357,32 +370,38 @@ public class JsonSchemaReaderImpl extends AbstractJsonSchemaReader
         }
     }
 
-    private JsonSchema dereferenceSchema(URI ref, Map<URI, JsonSchema> schemaMap) {
-        ref = URIs.withFragment(ref);
-        String fragment = ref.getFragment();
-        if (fragment.startsWith("/")) {
-            JsonSchema schema = resolveSchema(URIs.withEmptyFragment(ref), schemaMap);
-            if (schema != null) {
-                return schema.getSubschemaAt(fragment);
+    /**
+     * Lets the prefetching resolvers start loading all external schemas at once.
+     *
+     * @param schemaMap the map of the schemas found in this document.
+     */
+    private void prefetchExternalSchemas(Map<URI, JsonSchema> schemaMap) {
+        List<URI> locations = null;
+        for (JsonSchemaResolver resolver : getResolvers()) {
+            if (resolver instanceof PrefetchingResolver) {
+                if (locations == null) {
+                    locations = findExternalLocations(schemaMap);
+                    if (locations.isEmpty()) {
+                        return;
+                    }
+                }
+                ((PrefetchingResolver) resolver).prefetch(locations);
             }
-            return null;
-        } else {
-            return resolveSchema(ref, schemaMap);
         }
     }
 
-    private JsonSchema resolveSchema(URI id, Map<URI, JsonSchema> schemaMap) {
-        JsonSchema schema = schemaMap.get(id);
-        if (schema != null) {
-            return schema;
-        }
-        for (JsonSchemaResolver resolver : getResolvers()) {
-            schema = resolver.resolveSchema(id);
-            if (schema != null) {
-                return schema;
+    private List<URI> findExternalLocations(Map<URI, JsonSchema> schemaMap) {
+        Set<URI> locations = new LinkedHashSet<>();
+        for (Reference context : this.references) {
+            URI targetId = context.reference.getTargetId();
+            if (targetId.isAbsolute()) {
+                URI location = URIs.withEmptyFragment(targetId);
+                if (!schemaMap.containsKey(location)) {
+                    locations.add(location);
+                }
             }
         }
-        return null;
+        return new ArrayList<>(locations);
     }
 
     private void checkInfiniteRecursiveLoop() {
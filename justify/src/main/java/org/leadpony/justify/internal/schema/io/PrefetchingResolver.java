@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018-2019 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.schema.io;
+
+import java.net.URI;
+import java.util.Collection;
+
+import org.leadpony.justify.api.JsonSchemaResolver;
+
+/**
+ * A schema resolver which can start loading schemas before they are requested.
+ *
+ * @author leadpony
+ */
+interface PrefetchingResolver extends JsonSchemaResolver {
+
+    /**
+     * Starts loading the schema documents at the specified locations. This
+     * method does not wait for the documents to be loaded.
+     *
+     * @param locations the locations of the schema documents, which have empty
+     *                  fragments.
+     */
+    void prefetch(Collection<URI> locations);
+}
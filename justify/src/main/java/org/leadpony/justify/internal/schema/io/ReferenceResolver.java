@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018-2019 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.schema.io;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonSchemaResolver;
+import org.leadpony.justify.internal.base.URIs;
+import org.leadpony.justify.internal.jfr.FlightRecorder;
+import org.leadpony.justify.internal.schema.SchemaReference;
+
+/**
+ * A resolver of the schema references found in a schema document.
+ *
+ * <p>
+ * The map of the identified schemas is generated on first use, which may
+ * happen while the document is read or later when a reference is evaluated
+ * for the first time.
+ * </p>
+ *
+ * @author leadpony
+ */
+class ReferenceResolver implements SchemaReference.LazyResolver {
+
+    private final JsonSchema root;
+    private final URI baseUri;
+    private final Collection<JsonSchema> identifiedSchemas;
+    private final List<JsonSchemaResolver> resolvers;
+
+    private volatile Map<URI, JsonSchema> schemaMap;
+
+    /**
+     * Constructs this resolver.
+     *
+     * @param root              the root schema of the document, which is
+     *                          already resolved with the base URI.
+     * @param baseUri           the base URI of the document.
+     * @param identifiedSchemas the schemas having identifiers.
+     * @param resolvers         the resolvers of external schemas.
+     */
+    ReferenceResolver(JsonSchema root, URI baseUri,
+            Collection<JsonSchema> identifiedSchemas,
+            List<JsonSchemaResolver> resolvers) {
+        this.root = root;
+        this.baseUri = baseUri;
+        this.identifiedSchemas = identifiedSchemas;
+        this.resolvers = resolvers;
+    }
+
+    /**
+     * Returns the map of the schemas found in the document.
+     *
+     * @return the map of the schemas, keyed by their identifiers.
+     */
+    Map<URI, JsonSchema> getSchemaMap() {
+        Map<URI, JsonSchema> map = this.schemaMap;
+        if (map == null) {
+            synchronized (this) {
+                map = this.schemaMap;
+                if (map == null) {
+                    map = generateSchemaMap();
+                    this.schemaMap = map;
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Finds the schema identified by the specified URI.
+     *
+     * @param ref the URI of the schema to find.
+     * @return the schema found, or {@code null} if not found.
+     */
+    JsonSchema dereferenceSchema(URI ref) {
+        Object event = FlightRecorder.beginReferenceResolution();
+        JsonSchema schema = findSchema(ref);
+        if (event != null) {
+            FlightRecorder.endReferenceResolution(event, ref, schema != null);
+        }
+        return schema;
+    }
+
+    private JsonSchema findSchema(URI ref) {
+        ref = URIs.withFragment(ref);
+        String fragment = ref.getFragment();
+        if (fragment.startsWith("/")) {
+            JsonSchema schema = resolveSchema(URIs.withEmptyFragment(ref));
+            if (schema != null) {
+                return schema.getSubschemaAt(fragment);
+            }
+            return null;
+        } else {
+            return resolveSchema(ref);
+        }
+    }
+
+    /* As a LazyResolver */
+
+    @Override
+    public JsonSchema resolveReferencedSchema(SchemaReference reference) {
+        return dereferenceSchema(reference.getTargetId());
+    }
+
+    @Override
+    public boolean isInfiniteLoop(SchemaReference reference) {
+        return new InfiniteLoopDetector().detectInfiniteLoop(reference);
+    }
+
+    private Map<URI, JsonSchema> generateSchemaMap() {
+        Map<URI, JsonSchema> map = new HashMap<>();
+        for (JsonSchema schema : this.identifiedSchemas) {
+            map.put(URIs.withFragment(schema.id()), schema);
+        }
+        if (!this.identifiedSchemas.contains(root)) {
+            map.put(URIs.withFragment(baseUri), root);
+        }
+        return map;
+    }
+
+    private JsonSchema resolveSchema(URI id) {
+        JsonSchema schema = getSchemaMap().get(id);
+        if (schema != null) {
+            return schema;
+        }
+        for (JsonSchemaResolver resolver : resolvers) {
+            schema = resolver.resolveSchema(id);
+            if (schema != null) {
+                return schema;
+            }
+        }
+        return null;
+    }
+}
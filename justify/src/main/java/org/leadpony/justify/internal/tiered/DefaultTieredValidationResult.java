@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.tiered;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.TieredValidationResult;
+import org.leadpony.justify.api.ValidationTier;
+
+/**
+ * The default implementation of {@link TieredValidationResult}.
+ *
+ * @author leadpony
+ */
+class DefaultTieredValidationResult implements TieredValidationResult {
+
+    private final String key;
+    private final Map<ValidationTier, List<Problem>> problems;
+
+    DefaultTieredValidationResult(String key, Map<ValidationTier, List<Problem>> problems) {
+        this.key = key;
+        this.problems = new EnumMap<>(problems);
+        this.problems.replaceAll((tier, list) -> Collections.unmodifiableList(list));
+    }
+
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public Set<ValidationTier> getTiers() {
+        return Collections.unmodifiableSet(problems.keySet());
+    }
+
+    @Override
+    public List<Problem> getProblems(ValidationTier tier) {
+        return problems.getOrDefault(tier, Collections.emptyList());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.valueOf(key)).append(":");
+        problems.forEach((tier, list) -> {
+            builder.append(' ').append(tier).append('=').append(list.size());
+        });
+        return builder.toString();
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.tiered;
+
+import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.TieredValidationResult;
+import org.leadpony.justify.api.TieredValidator;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.api.ValidationTier;
+
+/**
+ * The default implementation of {@link TieredValidator}.
+ *
+ * @author leadpony
+ */
+class DefaultTieredValidator implements TieredValidator {
+
+    private final JsonValidationService service;
+    private final Map<ValidationTier, JsonSchema> schemas = new EnumMap<>(ValidationTier.class);
+    private final Map<String, Object> properties;
+    private final double sampleRate;
+    private final Predicate<String> fullValidationKeys;
+
+    private final Map<ValidationTier, LongAdder> validatedCounts = new EnumMap<>(ValidationTier.class);
+    private final Map<ValidationTier, LongAdder> invalidCounts = new EnumMap<>(ValidationTier.class);
+
+    DefaultTieredValidator(JsonValidationService service, JsonSchema structuralSchema, JsonSchema fullSchema,
+            Map<String, Object> properties, double sampleRate, Predicate<String> fullValidationKeys) {
+        this.service = service;
+        this.schemas.put(ValidationTier.STRUCTURE, structuralSchema);
+        this.schemas.put(ValidationTier.FULL, fullSchema);
+        this.properties = properties;
+        this.sampleRate = sampleRate;
+        this.fullValidationKeys = fullValidationKeys;
+        for (ValidationTier tier : ValidationTier.values()) {
+            validatedCounts.put(tier, new LongAdder());
+            invalidCounts.put(tier, new LongAdder());
+        }
+    }
+
+    @Override
+    public TieredValidationResult validate(String key, ByteBuffer buffer) {
+        requireNonNull(buffer, "buffer");
+        Map<ValidationTier, List<Problem>> problems = new EnumMap<>(ValidationTier.class);
+        problems.put(ValidationTier.STRUCTURE, validateInTier(ValidationTier.STRUCTURE, buffer));
+        if (requiresFullValidation(key)) {
+            problems.put(ValidationTier.FULL, validateInTier(ValidationTier.FULL, buffer));
+        }
+        return new DefaultTieredValidationResult(key, problems);
+    }
+
+    @Override
+    public JsonSchema getSchema(ValidationTier tier) {
+        requireNonNull(tier, "tier");
+        return schemas.get(tier);
+    }
+
+    @Override
+    public long getValidatedCount(ValidationTier tier) {
+        requireNonNull(tier, "tier");
+        return validatedCounts.get(tier).sum();
+    }
+
+    @Override
+    public long getInvalidCount(ValidationTier tier) {
+        requireNonNull(tier, "tier");
+        return invalidCounts.get(tier).sum();
+    }
+
+    private List<Problem> validateInTier(ValidationTier tier, ByteBuffer buffer) {
+        List<Problem> problems = new ArrayList<>();
+        ValidationConfig config = service.createValidationConfig()
+                .withProperties(properties)
+                .withSchema(schemas.get(tier))
+                .withProblemHandler(problems::addAll);
+        service.validate(buffer, config);
+        validatedCounts.get(tier).increment();
+        if (!problems.isEmpty()) {
+            invalidCounts.get(tier).increment();
+        }
+        return problems;
+    }
+
+    private boolean requiresFullValidation(String key) {
+        if (key != null && fullValidationKeys.test(key)) {
+            return true;
+        }
+        return sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.tiered;
+
+import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
+
+import java.io.StringReader;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.ObjectJsonSchema;
+import org.leadpony.justify.api.SpecVersion;
+import org.leadpony.justify.api.TieredValidator;
+import org.leadpony.justify.api.TieredValidatorBuilder;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.internal.keyword.core.Id;
+
+/**
+ * The default implementation of {@link TieredValidatorBuilder}.
+ *
+ * @author leadpony
+ */
+public class DefaultTieredValidatorBuilder implements TieredValidatorBuilder {
+
+    private final JsonValidationService service;
+    private final JsonProvider jsonProvider;
+    private final JsonSchema schema;
+    private double sampleRate;
+    private Predicate<String> fullValidationKeys = key -> false;
+    private Map<String, Object> properties = Collections.emptyMap();
+
+    public DefaultTieredValidatorBuilder(JsonValidationService service, JsonProvider jsonProvider,
+            JsonSchema schema) {
+        this.service = service;
+        this.jsonProvider = jsonProvider;
+        this.schema = schema;
+    }
+
+    @Override
+    public TieredValidator build() {
+        return new DefaultTieredValidator(service, deriveStructuralSchema(), schema,
+                properties, sampleRate, fullValidationKeys);
+    }
+
+    @Override
+    public TieredValidatorBuilder withSampleRate(double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("rate must be between 0.0 and 1.0.");
+        }
+        this.sampleRate = rate;
+        return this;
+    }
+
+    @Override
+    public TieredValidatorBuilder withFullValidation(Predicate<String> keys) {
+        requireNonNull(keys, "keys");
+        this.fullValidationKeys = keys;
+        return this;
+    }
+
+    @Override
+    public TieredValidatorBuilder withValidationConfig(ValidationConfig config) {
+        requireNonNull(config, "config");
+        this.properties = new HashMap<>(config.getAsMap());
+        this.properties.remove(ValidationConfig.SCHEMA);
+        this.properties.remove(ValidationConfig.PROBLEM_HANDLER_FACTORY);
+        return this;
+    }
+
+    private JsonSchema deriveStructuralSchema() {
+        SpecVersion version = findSpecVersion(schema);
+        StructuralSchemaDeriver deriver = new StructuralSchemaDeriver(
+                jsonProvider.createBuilderFactory(null),
+                version == SpecVersion.DRAFT_04 ? "id" : "$id");
+        JsonValue derived = deriver.derive(schema.toJson());
+        return service.createSchemaReaderFactoryBuilder()
+                .withDefaultSpecVersion(version)
+                .build()
+                .createSchemaReader(new StringReader(derived.toString()))
+                .read();
+    }
+
+    /**
+     * Finds the version of the specification with which the schema was read.
+     * The version is determined by {@code $schema} keyword, or by the name of
+     * the keyword identifying the schemas, which differs only in Draft-04. The
+     * other keywords kept in the derived schema have the same meaning in all
+     * the versions.
+     *
+     * @param schema the original schema.
+     * @return the version of the specification.
+     */
+    private static SpecVersion findSpecVersion(JsonSchema schema) {
+        URI declared = schema.schema();
+        if (declared != null) {
+            try {
+                return SpecVersion.getById(declared.getFragment() != null ? declared : declared.resolve("#"));
+            } catch (IllegalArgumentException e) {
+                // Falls back to the identifier keyword.
+            }
+        }
+        Set<JsonSchema> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (identifiesWithDraft04Keyword(schema, visited)) {
+            return SpecVersion.DRAFT_04;
+        }
+        return SpecVersion.current();
+    }
+
+    private static boolean identifiesWithDraft04Keyword(JsonSchema schema, Set<JsonSchema> visited) {
+        if (!visited.add(schema)) {
+            return false;
+        }
+        if (schema instanceof ObjectJsonSchema && ((ObjectJsonSchema) schema).get("id") instanceof Id) {
+            return true;
+        }
+        return schema.getSubschemas().anyMatch(subschema -> identifiesWithDraft04Keyword(subschema, visited));
+    }
+}
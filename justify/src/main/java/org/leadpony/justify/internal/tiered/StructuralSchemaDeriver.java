@@ -0,0 +1,326 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.tiered;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.leadpony.justify.internal.base.json.JsonPointerTokenizer;
+
+/**
+ * A deriver of the schema checking only the structure and the types of the
+ * documents from the original schema.
+ *
+ * <p>
+ * The derived schema keeps only the keywords which are applied unconditionally
+ * by the original schema, so that it never rejects a document valid against the
+ * original schema. The subschemas in the other keywords, such as
+ * {@code allOf} and {@code if}, are dropped with their parents. A schema
+ * containing {@code $ref} keeps only the reference, because the other
+ * assertions are ignored by the original schema. The schema referencing an
+ * external schema, or a subschema not kept in the derived schema, is replaced
+ * with the empty schema.
+ * </p>
+ *
+ * @author leadpony
+ */
+final class StructuralSchemaDeriver {
+
+    /**
+     * The keywords retained as they are.
+     */
+    private static final Set<String> RETAINED_KEYWORDS = new HashSet<>(Arrays.asList(
+            "$schema", "type", "required"));
+
+    /**
+     * The keywords whose values are maps of subschemas.
+     */
+    private static final Set<String> SCHEMA_MAP_KEYWORDS = new HashSet<>(Arrays.asList(
+            "properties", "patternProperties", "definitions"));
+
+    private final JsonBuilderFactory builderFactory;
+    private final String idKeyword;
+
+    /**
+     * Constructs this deriver.
+     *
+     * @param builderFactory the factory of JSON builders.
+     * @param idKeyword      the name of the keyword identifying schemas, which
+     *                       is {@code "id"} in Draft-04 and {@code "$id"} in the
+     *                       later versions.
+     */
+    StructuralSchemaDeriver(JsonBuilderFactory builderFactory, String idKeyword) {
+        this.builderFactory = builderFactory;
+        this.idKeyword = idKeyword;
+    }
+
+    /**
+     * Derives the structural schema from the specified schema.
+     *
+     * @param schema the original schema in JSON.
+     * @return the derived schema in JSON.
+     */
+    JsonValue derive(JsonValue schema) {
+        JsonValue derived = deriveSchema(schema);
+        // Replacing a reference may remove the target of another one.
+        Set<String> unresolvable = new ReferenceChecker(derived).findUnresolvable();
+        while (!unresolvable.isEmpty()) {
+            derived = replace(derived, "", unresolvable);
+            unresolvable = new ReferenceChecker(derived).findUnresolvable();
+        }
+        return derived;
+    }
+
+    private JsonValue deriveSchema(JsonValue schema) {
+        if (schema.getValueType() != JsonValue.ValueType.OBJECT) {
+            return schema;
+        }
+        JsonObject object = schema.asJsonObject();
+        if (object.containsKey("$ref")) {
+            return deriveReference(object);
+        }
+        JsonObjectBuilder builder = builderFactory.createObjectBuilder();
+        for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+            String keyword = entry.getKey();
+            JsonValue value = entry.getValue();
+            if (RETAINED_KEYWORDS.contains(keyword) || keyword.equals(idKeyword)) {
+                builder.add(keyword, value);
+            } else if (SCHEMA_MAP_KEYWORDS.contains(keyword)) {
+                if (value.getValueType() == JsonValue.ValueType.OBJECT) {
+                    builder.add(keyword, deriveAll(value.asJsonObject()));
+                }
+            } else if (keyword.equals("additionalProperties")) {
+                builder.add(keyword, deriveSchema(value));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Derives the schema containing {@code $ref}. The identifier and the
+     * definitions are kept because they may be needed to resolve references.
+     */
+    private JsonValue deriveReference(JsonObject schema) {
+        JsonValue ref = schema.get("$ref");
+        if (!isLocalReference(ref)) {
+            return JsonValue.EMPTY_JSON_OBJECT;
+        }
+        JsonObjectBuilder builder = builderFactory.createObjectBuilder();
+        for (Map.Entry<String, JsonValue> entry : schema.entrySet()) {
+            String keyword = entry.getKey();
+            JsonValue value = entry.getValue();
+            if (keyword.equals("$schema") || keyword.equals(idKeyword) || keyword.equals("$ref")) {
+                builder.add(keyword, value);
+            } else if (keyword.equals("definitions") && value.getValueType() == JsonValue.ValueType.OBJECT) {
+                builder.add(keyword, deriveAll(value.asJsonObject()));
+            }
+        }
+        return builder.build();
+    }
+
+    private JsonObject deriveAll(JsonObject schemas) {
+        JsonObjectBuilder builder = builderFactory.createObjectBuilder();
+        for (Map.Entry<String, JsonValue> entry : schemas.entrySet()) {
+            builder.add(entry.getKey(), deriveSchema(entry.getValue()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Replaces the schemas at the specified pointers with the empty schema.
+     */
+    private JsonValue replace(JsonValue value, String pointer, Set<String> pointers) {
+        if (pointers.contains(pointer)) {
+            return JsonValue.EMPTY_JSON_OBJECT;
+        }
+        if (value.getValueType() != JsonValue.ValueType.OBJECT) {
+            return value;
+        }
+        JsonObjectBuilder builder = builderFactory.createObjectBuilder();
+        for (Map.Entry<String, JsonValue> entry : value.asJsonObject().entrySet()) {
+            String childPointer = pointer + "/" + encode(entry.getKey());
+            builder.add(entry.getKey(), replace(entry.getValue(), childPointer, pointers));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Checks if the specified reference points to the same document. The
+     * external references are dropped because the derived schema is read
+     * without the resolvers of the original schema.
+     */
+    private static boolean isLocalReference(JsonValue value) {
+        return value.getValueType() == JsonValue.ValueType.STRING
+                && ((JsonString) value).getString().startsWith("#");
+    }
+
+    private static String encode(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * A checker of the references in the derived schema.
+     *
+     * @author leadpony
+     */
+    private class ReferenceChecker {
+
+        private final JsonValue root;
+        private final Set<String> unresolvable = new HashSet<>();
+        // the stack of the schema resources enclosing the current schema.
+        private final Deque<JsonObject> resources = new ArrayDeque<>();
+
+        ReferenceChecker(JsonValue root) {
+            this.root = root;
+        }
+
+        /**
+         * Finds the references which cannot be resolved in the derived schema.
+         *
+         * @return the JSON pointers to the schemas containing the references.
+         */
+        Set<String> findUnresolvable() {
+            if (root.getValueType() == JsonValue.ValueType.OBJECT) {
+                JsonObject object = root.asJsonObject();
+                resources.push(object);
+                check(object, "");
+            }
+            return unresolvable;
+        }
+
+        private void check(JsonObject schema, String pointer) {
+            boolean resource = pointer.length() > 0 && isResource(schema);
+            if (resource) {
+                resources.push(schema);
+            }
+            JsonValue ref = schema.get("$ref");
+            if (ref != null && !resolves(((JsonString) ref).getString().substring(1))) {
+                unresolvable.add(pointer);
+            }
+            for (Map.Entry<String, JsonValue> entry : schema.entrySet()) {
+                String keyword = entry.getKey();
+                JsonValue value = entry.getValue();
+                if (value.getValueType() != JsonValue.ValueType.OBJECT) {
+                    continue;
+                }
+                String keywordPointer = pointer + "/" + encode(keyword);
+                if (SCHEMA_MAP_KEYWORDS.contains(keyword)) {
+                    for (Map.Entry<String, JsonValue> child : value.asJsonObject().entrySet()) {
+                        if (child.getValue().getValueType() == JsonValue.ValueType.OBJECT) {
+                            check(child.getValue().asJsonObject(), keywordPointer + "/" + encode(child.getKey()));
+                        }
+                    }
+                } else if (keyword.equals("additionalProperties")) {
+                    check(value.asJsonObject(), keywordPointer);
+                }
+            }
+            if (resource) {
+                resources.pop();
+            }
+        }
+
+        private boolean resolves(String fragment) {
+            JsonObject resource = resources.peek();
+            if (fragment.isEmpty()) {
+                return true;
+            }
+            String decoded;
+            try {
+                decoded = new URI("#" + fragment).getFragment();
+            } catch (URISyntaxException e) {
+                return false;
+            }
+            if (decoded.startsWith("/")) {
+                return findByPointer(resource, decoded);
+            } else {
+                return findByAnchor(resource, "#" + decoded);
+            }
+        }
+
+        private boolean findByPointer(JsonValue resource, String pointer) {
+            JsonValue current = resource;
+            Iterator<String> it = new JsonPointerTokenizer(pointer);
+            while (it.hasNext()) {
+                if (current.getValueType() != JsonValue.ValueType.OBJECT) {
+                    return false;
+                }
+                current = current.asJsonObject().get(it.next());
+                if (current == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean findByAnchor(JsonObject schema, String anchor) {
+            JsonValue id = schema.get(idKeyword);
+            if (id != null && id.getValueType() == JsonValue.ValueType.STRING
+                    && ((JsonString) id).getString().equals(anchor)) {
+                return true;
+            }
+            for (Map.Entry<String, JsonValue> entry : schema.entrySet()) {
+                JsonValue value = entry.getValue();
+                if (value.getValueType() != JsonValue.ValueType.OBJECT) {
+                    continue;
+                }
+                if (SCHEMA_MAP_KEYWORDS.contains(entry.getKey())) {
+                    for (JsonValue child : value.asJsonObject().values()) {
+                        if (isAnchorable(child) && findByAnchor(child.asJsonObject(), anchor)) {
+                            return true;
+                        }
+                    }
+                } else if (entry.getKey().equals("additionalProperties")) {
+                    if (isAnchorable(value) && findByAnchor(value.asJsonObject(), anchor)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Checks if the anchors in the specified schema belong to the current
+         * resource.
+         */
+        private boolean isAnchorable(JsonValue schema) {
+            return schema.getValueType() == JsonValue.ValueType.OBJECT && !isResource(schema.asJsonObject());
+        }
+
+        /**
+         * Checks if the specified schema starts a new schema resource, which
+         * has an identifier other than a plain name fragment.
+         */
+        private boolean isResource(JsonObject schema) {
+            JsonValue id = schema.get(idKeyword);
+            return id != null && id.getValueType() == JsonValue.ValueType.STRING
+                    && !((JsonString) id).getString().startsWith("#");
+        }
+    }
+}
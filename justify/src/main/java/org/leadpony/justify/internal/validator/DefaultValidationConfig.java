@@ -16,12 +16,14 @@
 package org.leadpony.justify.internal.validator;
 
 import static org.leadpony.justify.internal.base.Arguments.requireNonNull;
+import static org.leadpony.justify.internal.base.Arguments.requirePositive;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import org.leadpony.justify.api.EvaluationProfiler;
 import org.leadpony.justify.api.JsonSchema;
 import org.leadpony.justify.api.ProblemHandler;
 import org.leadpony.justify.api.ProblemHandlerFactory;
@@ -86,4 +88,57 @@ public class DefaultValidationConfig extends HashMap<String, Object>
     public ValidationConfig withDefaultValues(boolean usingDefaultValues) {
         return setProperty(DEFAULT_VALUES, usingDefaultValues);
     }
+
+    @Override
+    public ValidationConfig withMaxProblems(int maxProblems) {
+        requirePositive(maxProblems, "maxProblems");
+        return setProperty(MAX_PROBLEMS, maxProblems);
+    }
+
+    @Override
+    public ValidationConfig withMaxProblemsPerKeyword(int maxProblems) {
+        requirePositive(maxProblems, "maxProblems");
+        return setProperty(MAX_PROBLEMS_PER_KEYWORD, maxProblems);
+    }
+
+    @Override
+    public ValidationConfig withMaxProblemsPerSubtree(int maxProblems) {
+        requirePositive(maxProblems, "maxProblems");
+        return setProperty(MAX_PROBLEMS_PER_SUBTREE, maxProblems);
+    }
+
+    @Override
+    public ValidationConfig withProblemAggregation(boolean aggregating) {
+        return setProperty(PROBLEM_AGGREGATION, aggregating);
+    }
+
+    @Override
+    public ValidationConfig withProfiler(EvaluationProfiler profiler) {
+        requireNonNull(profiler, "profiler");
+        return setProperty(PROFILER, profiler);
+    }
+
+    @Override
+    public ValidationConfig withMaxDepth(int maxDepth) {
+        requirePositive(maxDepth, "maxDepth");
+        return setProperty(MAX_DEPTH, maxDepth);
+    }
+
+    @Override
+    public ValidationConfig withMaxEvaluators(int maxEvaluators) {
+        requirePositive(maxEvaluators, "maxEvaluators");
+        return setProperty(MAX_EVALUATORS, maxEvaluators);
+    }
+
+    @Override
+    public ValidationConfig withMaxStringLength(int maxLength) {
+        requirePositive(maxLength, "maxLength");
+        return setProperty(MAX_STRING_LENGTH, maxLength);
+    }
+
+    @Override
+    public ValidationConfig withMaxContainerSize(int maxSize) {
+        requirePositive(maxSize, "maxSize");
+        return setProperty(MAX_CONTAINER_SIZE, maxSize);
+    }
 }
@@ -16,6 +16,7 @@
 package org.leadpony.justify.internal.validator;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,20 +26,34 @@ import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonParser;
 
 import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.internal.base.json.JsonEventTape;
 import org.leadpony.justify.internal.base.json.JsonValueParser;
+import org.leadpony.justify.internal.evaluator.DefaultValueConsumer;
 
 /**
  * A JSON validator which will fill the missing values with default values.
  *
+ * <p>
+ * When the default values of a container are supplied by a single keyword,
+ * they are replayed directly from the precompiled {@link JsonEventTape}.
+ * Only when multiple keywords supply default values for the same container,
+ * the values are merged into a map or a list.
+ * </p>
+ *
  * @author leadpony
  */
-public class DefaultizingJsonValidator extends JsonValidator {
+public class DefaultizingJsonValidator extends JsonValidator implements DefaultValueConsumer {
 
     private final JsonParser realParser;
     private final Map<String, JsonValue> defaultProperties = new LinkedHashMap<>();
     private final List<JsonValue> defaultItems = new ArrayList<>();
     private boolean defaultValuesInserted;
 
+    private JsonEventTape pendingTape;
+    private BitSet pendingSkipped;
+    private int pendingFrom;
+    private int pendingTo;
+
     /**
      * Constructs this parser.
      *
@@ -67,12 +82,14 @@ public class DefaultizingJsonValidator extends JsonValidator {
 
     @Override
     public void putDefaultProperties(Map<String, JsonValue> properties) {
+        mergePendingProperties();
         defaultProperties.putAll(properties);
         defaultValuesInserted = true;
     }
 
     @Override
     public void putDefaultItems(List<JsonValue> items) {
+        mergePendingItems();
         if (defaultItems.isEmpty()) {
             defaultItems.addAll(items);
         } else {
@@ -88,6 +105,37 @@ public class DefaultizingJsonValidator extends JsonValidator {
         defaultValuesInserted = true;
     }
 
+    /* DefaultValueConsumer */
+
+    @Override
+    public void putDefaultProperties(JsonEventTape tape, BitSet present) {
+        if (defaultValuesInserted) {
+            mergePendingProperties();
+            for (int i = 0; i < tape.getMemberCount(); i++) {
+                if (present == null || !present.get(i)) {
+                    defaultProperties.put(tape.getKey(i), tape.getValue(i));
+                }
+            }
+        } else {
+            setPendingTape(tape, 0, tape.getMemberCount(), present);
+        }
+        defaultValuesInserted = true;
+    }
+
+    @Override
+    public void putDefaultItems(JsonEventTape tape, int from, int to) {
+        if (defaultValuesInserted) {
+            List<JsonValue> items = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                items.add(tape.getValue(i));
+            }
+            putDefaultItems(items);
+        } else {
+            setPendingTape(tape, from, to, null);
+        }
+        defaultValuesInserted = true;
+    }
+
     @Override
     protected Event process(Event event) {
         super.process(event);
@@ -112,7 +160,9 @@ public class DefaultizingJsonValidator extends JsonValidator {
     }
 
     private JsonParser createDefaultValueParser() {
-        if (!defaultProperties.isEmpty()) {
+        if (pendingTape != null) {
+            return pendingTape.createParser(pendingFrom, pendingTo, pendingSkipped);
+        } else if (!defaultProperties.isEmpty()) {
             return new JsonValueParser(defaultProperties);
         } else if (!defaultItems.isEmpty()) {
             return new JsonValueParser(defaultItems);
@@ -124,6 +174,7 @@ public class DefaultizingJsonValidator extends JsonValidator {
         if (!getCurrentParser().hasNext()) {
             setCurrentParser(realParser);
             resetEventHandler();
+            setPendingTape(null, 0, 0, null);
             this.defaultProperties.clear();
             this.defaultItems.clear();
             if (hasProblems()) {
@@ -131,4 +182,37 @@ public class DefaultizingJsonValidator extends JsonValidator {
             }
         }
     }
+
+    private void setPendingTape(JsonEventTape tape, int from, int to, BitSet skipped) {
+        this.pendingTape = tape;
+        this.pendingFrom = from;
+        this.pendingTo = to;
+        this.pendingSkipped = skipped;
+    }
+
+    /**
+     * Moves the pending properties on the tape into the map.
+     */
+    private void mergePendingProperties() {
+        if (pendingTape != null) {
+            for (int i = pendingFrom; i < pendingTo; i++) {
+                if (pendingSkipped == null || !pendingSkipped.get(i)) {
+                    defaultProperties.put(pendingTape.getKey(i), pendingTape.getValue(i));
+                }
+            }
+            setPendingTape(null, 0, 0, null);
+        }
+    }
+
+    /**
+     * Moves the pending items on the tape into the list.
+     */
+    private void mergePendingItems() {
+        if (pendingTape != null) {
+            for (int i = pendingFrom; i < pendingTo; i++) {
+                defaultItems.add(pendingTape.getValue(i));
+            }
+            setPendingTape(null, 0, 0, null);
+        }
+    }
 }
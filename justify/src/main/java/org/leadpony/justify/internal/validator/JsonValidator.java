@@ -26,9 +26,16 @@ import javax.json.JsonValue;
 import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonParser;
 
+import org.leadpony.justify.internal.base.json.BufferingContext;
 import org.leadpony.justify.internal.base.json.DefaultPointerAwareJsonParser;
+import org.leadpony.justify.internal.base.json.JsonValueParser;
 import org.leadpony.justify.internal.base.json.ParserEvents;
+import org.leadpony.justify.internal.base.json.SubtreeBuffer;
+import org.leadpony.justify.internal.jfr.FlightRecorder;
 import org.leadpony.justify.internal.problem.DefaultProblemDispatcher;
+import org.leadpony.justify.internal.problem.ProblemLimiter;
+import org.leadpony.justify.internal.profiler.DefaultEvaluationProfiler;
+import org.leadpony.justify.internal.profiler.ProfilingContext;
 import org.leadpony.justify.api.EvaluatorContext;
 import org.leadpony.justify.api.Evaluator;
 import org.leadpony.justify.api.InstanceType;
@@ -43,14 +50,24 @@ import org.leadpony.justify.api.Evaluator.Result;
  * @author leadpony
  */
 public class JsonValidator extends DefaultPointerAwareJsonParser
-    implements EvaluatorContext, DefaultProblemDispatcher, ParserEventHandler {
+    implements EvaluatorContext, DefaultProblemDispatcher, ParserEventHandler, ProfilingContext, GuardedContext,
+    BufferingContext {
 
     private final JsonSchema rootSchema;
     private ProblemHandler problemHandler;
     private ParserEventHandler eventHandler;
+    private ProblemLimiter problemLimiter;
+    private DefaultEvaluationProfiler profiler;
+    private ResourceGuard resourceGuard;
+    private final SubtreeBuffer subtreeBuffer;
     private Evaluator evaluator;
     private int depth;
 
+    // the event of Flight Recorder, or null if not recorded.
+    private Object validationEvent;
+    private long eventCount;
+    private int problemCount;
+
     private final List<Problem> currentProblems = new ArrayList<>();
 
     /**
@@ -65,6 +82,7 @@ public class JsonValidator extends DefaultPointerAwareJsonParser
         this.rootSchema = rootSchema;
         this.problemHandler = ProblemHandler.throwing();
         this.eventHandler = this::handleFirstEvent;
+        this.subtreeBuffer = new SubtreeBuffer(getJsonBuilderFactory());
     }
 
     /**
@@ -78,19 +96,95 @@ public class JsonValidator extends DefaultPointerAwareJsonParser
         return this;
     }
 
+    /**
+     * Assigns a limiter of problems to this parser.
+     *
+     * @param problemLimiter the limiter of problems, may be {@code null}.
+     * @return this parser.
+     */
+    public JsonValidator withProblemLimiter(ProblemLimiter problemLimiter) {
+        this.problemLimiter = problemLimiter;
+        return this;
+    }
+
+    /**
+     * Assigns a profiler of the evaluations to this parser.
+     *
+     * @param profiler the profiler of the evaluations, may be {@code null}.
+     * @return this parser.
+     */
+    public JsonValidator withProfiler(DefaultEvaluationProfiler profiler) {
+        this.profiler = profiler;
+        if (profiler != null) {
+            profiler.addRoot(rootSchema);
+        }
+        return this;
+    }
+
+    /**
+     * Assigns a guard of the resources consumed by the validation to this parser.
+     *
+     * @param resourceGuard the guard of the resources, may be {@code null}.
+     * @return this parser.
+     */
+    public JsonValidator withResourceGuard(ResourceGuard resourceGuard) {
+        this.resourceGuard = resourceGuard;
+        return this;
+    }
+
+    /**
+     * Validates the whole instance without returning the parser events to the
+     * caller. Arrays and objects whose contents are not needed by any evaluator
+     * are skipped without being evaluated. The evaluation stops as soon as the
+     * result is determined, but the rest of the input is still read to check
+     * its syntax unless any problem was found.
+     */
+    public void validate() {
+        while (hasNext()) {
+            Event event = next();
+            if (evaluator == null) {
+                break;
+            }
+            if (ParserEvents.isStartOfContainer(event) && evaluator.ignoresSubtree(depth - 1)) {
+                skipContents(event);
+                if (evaluator == null) {
+                    break;
+                }
+            }
+        }
+        if (problemCount == 0) {
+            skipRest();
+        }
+    }
+
     /* AbstractJsonParser */
 
     @Override
     protected Event process(Event event) {
+        if (validationEvent != null) {
+            eventCount++;
+        }
+        if (resourceGuard != null) {
+            resourceGuard.checkEvent(event, getParser(), this, rootSchema);
+        }
+        subtreeBuffer.process(event, getParser());
         eventHandler.handleParserEvent(event, getParser());
         return event;
     }
 
     @Override
     protected void postprocess() {
+        if (problemLimiter != null && evaluator == null) {
+            problemLimiter.flush(currentProblems, this, rootSchema);
+        }
         if (hasProblems()) {
             dispatchProblems();
         }
+        if (validationEvent != null && evaluator == null) {
+            FlightRecorder.endValidation(validationEvent, rootSchema,
+                    getLocation().getStreamOffset(), eventCount, problemCount);
+            validationEvent = null;
+        }
     }
 
     /* Evaluator.Context */
@@ -100,6 +194,15 @@ public class JsonValidator extends DefaultPointerAwareJsonParser
         return getCurrentParser();
     }
 
+    @Override
+    public JsonValue getCurrentValue() {
+        JsonParser parser = getCurrentParser();
+        if (parser instanceof JsonValueParser) {
+            return ((JsonValueParser) parser).getCurrentValue();
+        }
+        return null;
+    }
+
     @Override
     public boolean acceptsDefaultValues() {
         return false;
@@ -120,10 +223,40 @@ public class JsonValidator extends DefaultPointerAwareJsonParser
     @Override
     public void dispatchProblem(Problem problem) {
         requireNonNull(problem, "problem");
-        this.currentProblems.add(problem);
+        problemCount++;
+        if (problemLimiter != null) {
+            problemLimiter.filter(problem, currentProblems);
+        } else {
+            this.currentProblems.add(problem);
+        }
+    }
+
+    /* ProfilingContext */
+
+    @Override
+    public DefaultEvaluationProfiler getProfiler() {
+        return profiler;
+    }
+
+    /* GuardedContext */
+
+    @Override
+    public ResourceGuard getResourceGuard() {
+        return resourceGuard;
+    }
+
+    /* BufferingContext */
+
+    @Override
+    public SubtreeBuffer getSubtreeBuffer() {
+        return subtreeBuffer;
     }
 
     private void handleFirstEvent(Event event, JsonParser parser) {
+        this.validationEvent = FlightRecorder.beginValidation();
+        if (validationEvent != null) {
+            eventCount++;
+        }
         InstanceType type = ParserEvents.toBroadInstanceType(event);
         this.evaluator = rootSchema.createEvaluator(this, type);
         if (this.evaluator != null) {
@@ -158,6 +291,53 @@ public class JsonValidator extends DefaultPointerAwareJsonParser
         }
     }
 
+    /**
+     * Skips the contents of the current container. The events are read one by
+     * one instead of using {@link JsonParser#skipArray()} or
+     * {@link JsonParser#skipObject()}, which may never return for the
+     * truncated input with some providers.
+     *
+     * @param event the event which started the container.
+     */
+    private void skipContents(Event event) {
+        JsonParser parser = getCurrentParser();
+        Event end = (event == Event.START_ARRAY) ? Event.END_ARRAY : Event.END_OBJECT;
+        int level = 0;
+        for (;;) {
+            if (!parser.hasNext()) {
+                throw newParsingException(end);
+            }
+            Event next = parser.next();
+            if (ParserEvents.isStartOfContainer(next)) {
+                level++;
+            } else if (ParserEvents.isEndOfContainer(next)) {
+                if (level == 0) {
+                    break;
+                }
+                level--;
+            }
+            checkSkippedEvent(next, parser);
+        }
+        deliverEvent(end);
+    }
+
+    /**
+     * Reads the rest of the input without evaluating it, which reports the
+     * syntax errors remaining in the input.
+     */
+    private void skipRest() {
+        JsonParser parser = getCurrentParser();
+        while (parser.hasNext()) {
+            checkSkippedEvent(parser.next(), parser);
+        }
+    }
+
+    private void checkSkippedEvent(Event event, JsonParser parser) {
+        if (resourceGuard != null) {
+            resourceGuard.checkEvent(event, parser, this, rootSchema);
+        }
+    }
+
     protected final boolean hasProblems() {
         return !currentProblems.isEmpty();
     }
@@ -31,6 +31,8 @@ import org.leadpony.justify.api.JsonSchema;
 import org.leadpony.justify.api.ProblemHandlerFactory;
 import org.leadpony.justify.api.ValidationConfig;
 import org.leadpony.justify.internal.base.json.JsonParserFactoryDecorator;
+import org.leadpony.justify.internal.problem.ProblemLimiter;
+import org.leadpony.justify.internal.profiler.DefaultEvaluationProfiler;
 
 /**
  * Factory for creating JSON parsers which validate JSON document while parsing.
@@ -97,31 +99,31 @@ public class JsonValidatorFactory extends JsonParserFactoryDecorator {
     @Override
     public JsonValidator createParser(Reader reader) {
         JsonParser parser = super.createParser(reader);
-        return createValiator(parser);
+        return createValidator(parser);
     }
 
     @Override
     public JsonValidator createParser(InputStream in) {
         JsonParser parser = super.createParser(in);
-        return createValiator(parser);
+        return createValidator(parser);
     }
 
     @Override
     public JsonValidator createParser(JsonObject obj) {
         JsonParser parser = super.createParser(obj);
-        return createValiator(parser);
+        return createValidator(parser);
     }
 
     @Override
     public JsonValidator createParser(JsonArray array) {
         JsonParser parser = super.createParser(array);
-        return createValiator(parser);
+        return createValidator(parser);
     }
 
     @Override
     public JsonValidator createParser(InputStream in, Charset charset) {
         JsonParser parser = super.createParser(in, charset);
-        return createValiator(parser);
+        return createValidator(parser);
     }
 
     private boolean usesDefaultValues() {
@@ -129,8 +131,31 @@ public class JsonValidatorFactory extends JsonParserFactoryDecorator {
         return value == Boolean.TRUE;
     }
 
-    private JsonValidator createValiator(JsonParser parser) {
-        JsonValidator validator = newValidator(parser);
+    /**
+     * Creates a validator reading the events from the specified parser.
+     *
+     * @param parser the underlying JSON parser.
+     * @return newly created validator.
+     */
+    public JsonValidator createValidator(JsonParser parser) {
+        return configureValidator(newValidator(parser));
+    }
+
+    /**
+     * Creates a validator which never fills the default values. This is used
+     * for the parser fed by a generator, whose output cannot be modified.
+     *
+     * @param parser the underlying JSON parser.
+     * @return newly created validator.
+     */
+    public JsonValidator createValidatorWithoutDefaults(JsonParser parser) {
+        return configureValidator(new JsonValidator(parser, this.schema, this.jsonProvider));
+    }
+
+    private JsonValidator configureValidator(JsonValidator validator) {
+        validator.withProblemLimiter(ProblemLimiter.fromProperties(properties));
+        validator.withProfiler(DefaultEvaluationProfiler.fromProperties(properties));
+        validator.withResourceGuard(ResourceGuard.fromProperties(properties));
         return validator.withHandler(this.handlerFactory.createProblemHandler(validator));
     }
 
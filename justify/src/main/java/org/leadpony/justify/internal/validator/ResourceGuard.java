@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.validator;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationLimitException;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.internal.base.Message;
+import org.leadpony.justify.internal.problem.ProblemBuilderFactory;
+
+/**
+ * A guard which limits the resources consumed by the validation of a single
+ * JSON instance.
+ *
+ * <p>
+ * The limits are checked incrementally for each parser event and for each
+ * evaluator created, so that a hostile instance is rejected before it consumes
+ * the resources in proportion to its size.
+ * </p>
+ *
+ * @author leadpony
+ */
+public class ResourceGuard {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int maxDepth;
+    private final int maxEvaluators;
+    private final int maxStringLength;
+    private final int maxContainerSize;
+
+    private int depth;
+    private int evaluators;
+
+    // the sizes of the enclosing containers, used only if the size is limited.
+    private int[] sizes;
+    private boolean[] arrays;
+
+    /**
+     * Constructs this guard.
+     *
+     * @param maxDepth         the maximum nesting depth.
+     * @param maxEvaluators    the maximum number of evaluators.
+     * @param maxStringLength  the maximum length of strings.
+     * @param maxContainerSize the maximum size of arrays and objects.
+     */
+    public ResourceGuard(int maxDepth, int maxEvaluators, int maxStringLength, int maxContainerSize) {
+        this.maxDepth = maxDepth;
+        this.maxEvaluators = maxEvaluators;
+        this.maxStringLength = maxStringLength;
+        this.maxContainerSize = maxContainerSize;
+        if (maxContainerSize != Integer.MAX_VALUE) {
+            this.sizes = new int[INITIAL_CAPACITY];
+            this.arrays = new boolean[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Creates a guard from the configuration properties.
+     *
+     * @param properties the configuration properties.
+     * @return newly created guard, or {@code null} if no limit is configured.
+     */
+    public static ResourceGuard fromProperties(Map<String, ?> properties) {
+        int maxDepth = getLimit(properties, ValidationConfig.MAX_DEPTH);
+        int maxEvaluators = getLimit(properties, ValidationConfig.MAX_EVALUATORS);
+        int maxStringLength = getLimit(properties, ValidationConfig.MAX_STRING_LENGTH);
+        int maxContainerSize = getLimit(properties, ValidationConfig.MAX_CONTAINER_SIZE);
+        if (maxDepth == Integer.MAX_VALUE
+                && maxEvaluators == Integer.MAX_VALUE
+                && maxStringLength == Integer.MAX_VALUE
+                && maxContainerSize == Integer.MAX_VALUE) {
+            return null;
+        }
+        return new ResourceGuard(maxDepth, maxEvaluators, maxStringLength, maxContainerSize);
+    }
+
+    /**
+     * Checks the specified parser event against the limits.
+     *
+     * @param event   the event issued by the parser.
+     * @param parser  the parser which issued the event.
+     * @param context the context of the validation.
+     * @param schema  the root schema.
+     * @throws JsonValidationLimitException if any of the limits was exceeded.
+     */
+    public void checkEvent(Event event, JsonParser parser, EvaluatorContext context, JsonSchema schema) {
+        switch (event) {
+        case START_ARRAY:
+        case START_OBJECT:
+            countItem(context, schema);
+            if (++depth > maxDepth) {
+                throw limitExceeded(Message.INSTANCE_PROBLEM_MAX_DEPTH, maxDepth, context, schema, false);
+            }
+            pushContainer(event == Event.START_ARRAY);
+            break;
+        case END_ARRAY:
+        case END_OBJECT:
+            --depth;
+            break;
+        case KEY_NAME:
+            checkString(parser, context, schema);
+            countEntry(context, schema);
+            break;
+        case VALUE_STRING:
+            checkString(parser, context, schema);
+            countItem(context, schema);
+            break;
+        default:
+            countItem(context, schema);
+            break;
+        }
+    }
+
+    /**
+     * Counts an evaluator newly created.
+     *
+     * @param context the context of the validation.
+     * @param schema  the schema which created the evaluator.
+     * @throws JsonValidationLimitException if the number of evaluators exceeded
+     *                                      the limit.
+     */
+    public void countEvaluator(EvaluatorContext context, JsonSchema schema) {
+        if (++evaluators > maxEvaluators) {
+            throw limitExceeded(Message.INSTANCE_PROBLEM_MAX_EVALUATORS, maxEvaluators, context, schema, true);
+        }
+    }
+
+    private void checkString(JsonParser parser, EvaluatorContext context, JsonSchema schema) {
+        if (maxStringLength != Integer.MAX_VALUE && parser.getString().length() > maxStringLength) {
+            throw limitExceeded(Message.INSTANCE_PROBLEM_MAX_STRING_LENGTH, maxStringLength,
+                    context, schema, false);
+        }
+    }
+
+    /**
+     * Counts a value as an item if the current container is an array.
+     */
+    private void countItem(EvaluatorContext context, JsonSchema schema) {
+        if (sizes != null && depth > 0 && arrays[depth - 1]) {
+            countEntry(context, schema);
+        }
+    }
+
+    private void countEntry(EvaluatorContext context, JsonSchema schema) {
+        if (sizes != null && ++sizes[depth - 1] > maxContainerSize) {
+            throw limitExceeded(Message.INSTANCE_PROBLEM_MAX_CONTAINER_SIZE, maxContainerSize,
+                    context, schema, false);
+        }
+    }
+
+    private void pushContainer(boolean array) {
+        if (sizes == null) {
+            return;
+        }
+        if (depth > sizes.length) {
+            sizes = Arrays.copyOf(sizes, sizes.length * 2);
+            arrays = Arrays.copyOf(arrays, arrays.length * 2);
+        }
+        sizes[depth - 1] = 0;
+        arrays[depth - 1] = array;
+    }
+
+    /**
+     * Builds the exception thrown when the limit was exceeded. The problem
+     * carries the JSON pointer only if the limit was exceeded by an evaluator,
+     * because the parser events are checked whether or not they are evaluated.
+     */
+    private static JsonValidationLimitException limitExceeded(Message message, int limit,
+            EvaluatorContext context, JsonSchema schema, boolean evaluating) {
+        JsonLocation location = context.getParser().getLocation();
+        String pointer = evaluating ? context.getPointer() : null;
+        Problem problem = ProblemBuilderFactory.DEFAULT.createProblemBuilder(location, pointer)
+                .withMessage(message)
+                .withSchema(schema)
+                .withParameter("limit", limit)
+                .build();
+        return new JsonValidationLimitException(problem);
+    }
+
+    private static int getLimit(Map<String, ?> properties, String name) {
+        Object value = properties.get(name);
+        if (value instanceof Number) {
+            int limit = ((Number) value).intValue();
+            if (limit > 0) {
+                return limit;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.validator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.BitSet;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser.Event;
+
+import org.leadpony.justify.internal.base.json.PushJsonParser;
+
+/**
+ * A JSON generator which validates the output while it is written.
+ *
+ * <p>
+ * Every call to this generator is forwarded to the real generator first, which
+ * rejects any call breaking the grammar of JSON. The call is then translated
+ * into the parser events and delivered to the validator through
+ * {@link PushJsonParser}, so the output is validated by the same evaluators as
+ * the input read by the parsers, without being parsed again.
+ * </p>
+ *
+ * @author leadpony
+ */
+public class ValidatingJsonGenerator implements JsonGenerator {
+
+    private final JsonGenerator generator;
+    private final JsonProvider jsonProvider;
+    private final PushJsonParser source;
+    private JsonValidator validator;
+
+    // the types of the containers being written, set for arrays.
+    private final BitSet arrays = new BitSet();
+    private int depth;
+
+    /**
+     * Constructs this generator.
+     *
+     * @param generator    the real generator.
+     * @param jsonProvider the JSON provider.
+     * @param source       the parser from which the validator reads the events.
+     */
+    public ValidatingJsonGenerator(JsonGenerator generator, JsonProvider jsonProvider, PushJsonParser source) {
+        this.generator = generator;
+        this.jsonProvider = jsonProvider;
+        this.source = source;
+    }
+
+    /**
+     * Assigns the validator of the output.
+     *
+     * @param validator the validator reading the events from the source of this
+     *                  generator.
+     * @return this generator.
+     */
+    public ValidatingJsonGenerator withValidator(JsonValidator validator) {
+        this.validator = validator;
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        generator.writeStartObject();
+        startContainer(Event.START_OBJECT);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(String name) {
+        generator.writeStartObject(name);
+        writeKeyEvent(name);
+        startContainer(Event.START_OBJECT);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeKey(String name) {
+        generator.writeKey(name);
+        writeKeyEvent(name);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, JsonValue value) {
+        generator.write(name, value);
+        writeKeyEvent(name);
+        writeValueEvents(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, String value) {
+        generator.write(name, value);
+        writeKeyEvent(name);
+        writeEvent(Event.VALUE_STRING, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigInteger value) {
+        generator.write(name, value);
+        writeKeyEvent(name);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigDecimal value) {
+        generator.write(name, value);
+        writeKeyEvent(name);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, int value) {
+        generator.write(name, value);
+        writeKeyEvent(name);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, long value) {
+        generator.write(name, value);
+        writeKeyEvent(name);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, double value) {
+        generator.write(name, value);
+        writeKeyEvent(name);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String name, boolean value) {
+        generator.write(name, value);
+        writeKeyEvent(name);
+        writeEvent(value ? Event.VALUE_TRUE : Event.VALUE_FALSE, null);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull(String name) {
+        generator.writeNull(name);
+        writeKeyEvent(name);
+        writeEvent(Event.VALUE_NULL, null);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        generator.writeStartArray();
+        startContainer(Event.START_ARRAY);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(String name) {
+        generator.writeStartArray(name);
+        writeKeyEvent(name);
+        startContainer(Event.START_ARRAY);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+        generator.writeEnd();
+        boolean array = arrays.get(--depth);
+        writeEvent(array ? Event.END_ARRAY : Event.END_OBJECT, null);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(JsonValue value) {
+        generator.write(value);
+        writeValueEvents(value);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String value) {
+        generator.write(value);
+        writeEvent(Event.VALUE_STRING, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigDecimal value) {
+        generator.write(value);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigInteger value) {
+        generator.write(value);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(int value) {
+        generator.write(value);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(long value) {
+        generator.write(value);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(double value) {
+        generator.write(value);
+        writeEvent(Event.VALUE_NUMBER, jsonProvider.createValue(value));
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(boolean value) {
+        generator.write(value);
+        writeEvent(value ? Event.VALUE_TRUE : Event.VALUE_FALSE, null);
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        generator.writeNull();
+        writeEvent(Event.VALUE_NULL, null);
+        return this;
+    }
+
+    @Override
+    public void close() {
+        try {
+            generator.close();
+        } finally {
+            validator.close();
+        }
+    }
+
+    @Override
+    public void flush() {
+        generator.flush();
+    }
+
+    private void startContainer(Event event) {
+        arrays.set(depth++, event == Event.START_ARRAY);
+        writeEvent(event, null);
+    }
+
+    private void writeKeyEvent(String name) {
+        writeEvent(Event.KEY_NAME, jsonProvider.createValue(name));
+    }
+
+    private void writeValueEvents(JsonValue value) {
+        switch (value.getValueType()) {
+        case ARRAY:
+            writeEvent(Event.START_ARRAY, null);
+            for (JsonValue item : (JsonArray) value) {
+                writeValueEvents(item);
+            }
+            writeEvent(Event.END_ARRAY, null);
+            break;
+        case OBJECT:
+            writeEvent(Event.START_OBJECT, null);
+            for (Map.Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+                writeKeyEvent(entry.getKey());
+                writeValueEvents(entry.getValue());
+            }
+            writeEvent(Event.END_OBJECT, null);
+            break;
+        case STRING:
+            writeEvent(Event.VALUE_STRING, value);
+            break;
+        case NUMBER:
+            writeEvent(Event.VALUE_NUMBER, value);
+            break;
+        case TRUE:
+            writeEvent(Event.VALUE_TRUE, null);
+            break;
+        case FALSE:
+            writeEvent(Event.VALUE_FALSE, null);
+            break;
+        default:
+            writeEvent(Event.VALUE_NULL, null);
+            break;
+        }
+    }
+
+    private void writeEvent(Event event, JsonValue value) {
+        source.push(event, value);
+        validator.next();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.validator;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+
+import org.leadpony.justify.internal.base.json.PushJsonParser;
+
+/**
+ * Factory for creating JSON generators which validate the output while it is
+ * written. The default values are never filled, even if requested by the
+ * configuration, because the output cannot be modified.
+ *
+ * @author leadpony
+ */
+public class ValidatingJsonGeneratorFactory implements JsonGeneratorFactory {
+
+    private final JsonGeneratorFactory realFactory;
+    private final JsonValidatorFactory validatorFactory;
+    private final JsonProvider jsonProvider;
+
+    /**
+     * Constructs this factory.
+     *
+     * @param realFactory      the underlying JSON generator factory.
+     * @param validatorFactory the factory of the validators.
+     * @param jsonProvider     the JSON provider.
+     */
+    public ValidatingJsonGeneratorFactory(JsonGeneratorFactory realFactory,
+            JsonValidatorFactory validatorFactory, JsonProvider jsonProvider) {
+        this.realFactory = realFactory;
+        this.validatorFactory = validatorFactory;
+        this.jsonProvider = jsonProvider;
+    }
+
+    @Override
+    public JsonGenerator createGenerator(Writer writer) {
+        return createValidatingGenerator(realFactory.createGenerator(writer));
+    }
+
+    @Override
+    public JsonGenerator createGenerator(OutputStream out) {
+        return createValidatingGenerator(realFactory.createGenerator(out));
+    }
+
+    @Override
+    public JsonGenerator createGenerator(OutputStream out, Charset charset) {
+        return createValidatingGenerator(realFactory.createGenerator(out, charset));
+    }
+
+    @Override
+    public Map<String, ?> getConfigInUse() {
+        return realFactory.getConfigInUse();
+    }
+
+    private JsonGenerator createValidatingGenerator(JsonGenerator generator) {
+        PushJsonParser source = new PushJsonParser();
+        return new ValidatingJsonGenerator(generator, jsonProvider, source)
+                .withValidator(validatorFactory.createValidatorWithoutDefaults(source));
+    }
+}
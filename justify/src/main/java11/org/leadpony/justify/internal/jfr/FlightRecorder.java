@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.jfr;
+
+import java.net.URI;
+import java.util.Optional;
+
+import jdk.jfr.EventType;
+
+import org.leadpony.justify.api.JsonSchema;
+
+/**
+ * The emitter of the events of JDK Flight Recorder.
+ *
+ * <p>
+ * This implementation is used on Java 11 and later. The events are emitted
+ * only when the {@code jdk.jfr} module is present in the runtime and each
+ * event is enabled by the recording.
+ * </p>
+ *
+ * <p>
+ * Each {@code begin} method returns an opaque event, or {@code null} if the
+ * event is disabled. The caller should skip the corresponding {@code end}
+ * method and the preparation of its arguments if the returned event is
+ * {@code null}.
+ * </p>
+ *
+ * @author leadpony
+ */
+public final class FlightRecorder {
+
+    private static final boolean AVAILABLE = initialize();
+
+    private FlightRecorder() {
+    }
+
+    /**
+     * Begins the event of reading a schema.
+     *
+     * @return the event begun, or {@code null} if the event is disabled.
+     */
+    public static Object beginSchemaRead() {
+        if (AVAILABLE && Types.SCHEMA_READ.isEnabled()) {
+            SchemaReadEvent event = new SchemaReadEvent();
+            event.begin();
+            return event;
+        }
+        return null;
+    }
+
+    /**
+     * Ends and commits the event of reading a schema.
+     *
+     * @param event      the event returned by {@link #beginSchemaRead()}.
+     * @param schema     the schema read, may be {@code null}.
+     * @param keywords   the number of the keywords read.
+     * @param references the number of the schema references read.
+     */
+    public static void endSchemaRead(Object event, JsonSchema schema, int keywords, int references) {
+        SchemaReadEvent e = (SchemaReadEvent) event;
+        e.end();
+        e.schemaId = idOf(schema);
+        e.keywords = keywords;
+        e.references = references;
+        e.commit();
+    }
+
+    /**
+     * Begins the event of resolving a schema reference.
+     *
+     * @return the event begun, or {@code null} if the event is disabled.
+     */
+    public static Object beginReferenceResolution() {
+        if (AVAILABLE && Types.REFERENCE_RESOLUTION.isEnabled()) {
+            ReferenceResolutionEvent event = new ReferenceResolutionEvent();
+            event.begin();
+            return event;
+        }
+        return null;
+    }
+
+    /**
+     * Ends and commits the event of resolving a schema reference.
+     *
+     * @param event    the event returned by {@link #beginReferenceResolution()}.
+     * @param ref      the URI of the referenced schema.
+     * @param resolved {@code true} if the referenced schema was found.
+     */
+    public static void endReferenceResolution(Object event, URI ref, boolean resolved) {
+        ReferenceResolutionEvent e = (ReferenceResolutionEvent) event;
+        e.end();
+        e.reference = ref.toString();
+        e.resolved = resolved;
+        e.commit();
+    }
+
+    /**
+     * Begins the event of validating a JSON document.
+     *
+     * @return the event begun, or {@code null} if the event is disabled.
+     */
+    public static Object beginValidation() {
+        if (AVAILABLE && Types.VALIDATION.isEnabled()) {
+            ValidationEvent event = new ValidationEvent();
+            event.begin();
+            return event;
+        }
+        return null;
+    }
+
+    /**
+     * Ends and commits the event of validating a JSON document.
+     *
+     * @param event    the event returned by {@link #beginValidation()}.
+     * @param schema   the schema against which the document was validated.
+     * @param bytes    the number of the bytes read, or -1 if unknown.
+     * @param events   the number of the parser events processed.
+     * @param problems the number of the problems found.
+     */
+    public static void endValidation(Object event, JsonSchema schema, long bytes, long events, int problems) {
+        ValidationEvent e = (ValidationEvent) event;
+        e.end();
+        e.schemaId = idOf(schema);
+        e.bytes = bytes;
+        e.events = events;
+        e.valid = problems == 0;
+        e.problems = problems;
+        e.commit();
+    }
+
+    /**
+     * Checks if the event of evaluating a keyword is enabled.
+     *
+     * @return {@code true} if the event is enabled.
+     */
+    public static boolean isKeywordEvaluationEnabled() {
+        return AVAILABLE && Types.SLOW_KEYWORD.isEnabled();
+    }
+
+    /**
+     * Begins the event of evaluating a keyword.
+     *
+     * @return the event begun, or {@code null} if the event is disabled.
+     */
+    public static Object beginKeywordEvaluation() {
+        if (isKeywordEvaluationEnabled()) {
+            SlowKeywordEvent event = new SlowKeywordEvent();
+            event.begin();
+            return event;
+        }
+        return null;
+    }
+
+    /**
+     * Ends and commits the event of evaluating a keyword. The event is recorded
+     * only when its duration exceeds the threshold.
+     *
+     * @param event          the event returned by
+     *                       {@link #beginKeywordEvaluation()}.
+     * @param schema         the schema containing the keyword.
+     * @param keyword        the name of the keyword.
+     * @param pointer        the JSON pointer of the instance evaluated.
+     * @param evaluationTime the time spent by the evaluator in nanoseconds.
+     * @param valid          {@code true} if the instance was valid.
+     */
+    public static void endKeywordEvaluation(Object event, JsonSchema schema, String keyword,
+            String pointer, long evaluationTime, boolean valid) {
+        SlowKeywordEvent e = (SlowKeywordEvent) event;
+        e.end();
+        if (e.shouldCommit()) {
+            e.schemaId = idOf(schema);
+            e.keyword = keyword;
+            e.pointer = pointer;
+            e.evaluationTime = evaluationTime;
+            e.valid = valid;
+            e.commit();
+        }
+    }
+
+    private static String idOf(JsonSchema schema) {
+        if (schema != null && schema.hasId()) {
+            return schema.id().toString();
+        }
+        return null;
+    }
+
+    private static boolean initialize() {
+        Optional<Module> module = ModuleLayer.boot().findModule("jdk.jfr");
+        if (module.isEmpty()) {
+            return false;
+        }
+        FlightRecorder.class.getModule().addReads(module.get());
+        return true;
+    }
+
+    /**
+     * The types of the events, which are loaded only if the JFR is available.
+     *
+     * @author leadpony
+     */
+    private static final class Types {
+        static final EventType SCHEMA_READ = EventType.getEventType(SchemaReadEvent.class);
+        static final EventType REFERENCE_RESOLUTION = EventType.getEventType(ReferenceResolutionEvent.class);
+        static final EventType VALIDATION = EventType.getEventType(ValidationEvent.class);
+        static final EventType SLOW_KEYWORD = EventType.getEventType(SlowKeywordEvent.class);
+    }
+}
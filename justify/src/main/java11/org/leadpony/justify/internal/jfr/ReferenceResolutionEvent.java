@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The event of resolving a schema reference.
+ *
+ * @author leadpony
+ */
+@Name("org.leadpony.justify.ReferenceResolution")
+@Label("Reference Resolution")
+@Category({ "Justify", "Schema" })
+@Description("Resolution of a schema referenced by \"$ref\" keyword")
+@StackTrace(false)
+final class ReferenceResolutionEvent extends Event {
+
+    @Label("Reference")
+    String reference;
+
+    @Label("Resolved")
+    boolean resolved;
+}
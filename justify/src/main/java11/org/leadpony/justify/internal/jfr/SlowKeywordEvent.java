@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * The event of evaluating a keyword which took longer than the threshold.
+ *
+ * @author leadpony
+ */
+@Name("org.leadpony.justify.SlowKeyword")
+@Label("Slow Keyword")
+@Category({ "Justify", "Validation" })
+@Description("Evaluation of a keyword which took longer than the threshold")
+@StackTrace(false)
+@Threshold("20 ms")
+final class SlowKeywordEvent extends Event {
+
+    @Label("Schema ID")
+    String schemaId;
+
+    @Label("Keyword")
+    String keyword;
+
+    @Label("Instance Pointer")
+    @Description("The JSON pointer of the instance evaluated")
+    String pointer;
+
+    @Label("Evaluation Time")
+    @Description("The time spent by the evaluator, excluding the parsing")
+    @Timespan
+    long evaluationTime;
+
+    @Label("Valid")
+    boolean valid;
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * A test class for {@link MappedFileInputStream}.
+ *
+ * @author leadpony
+ */
+public class MappedFileInputStreamTest {
+
+    private static final int FILE_SIZE = 1000;
+
+    @TempDir
+    public Path dir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 64, 999, 1000, 4096})
+    public void readShouldReadAllBytesAcrossWindows(int windowSize) throws IOException {
+        byte[] expected = createBytes(FILE_SIZE);
+        Path path = writeFile(expected);
+
+        byte[] actual;
+        try (InputStream in = openMapped(path, windowSize)) {
+            actual = readAll(in, 13);
+        }
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void readShouldReadByteByByte() throws IOException {
+        byte[] expected = createBytes(FILE_SIZE);
+        Path path = writeFile(expected);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = openMapped(path, 10)) {
+            int b;
+            while ((b = in.read()) >= 0) {
+                out.write(b);
+            }
+        }
+
+        assertThat(out.toByteArray()).isEqualTo(expected);
+    }
+
+    @Test
+    public void skipShouldSkipAcrossWindows() throws IOException {
+        byte[] bytes = createBytes(FILE_SIZE);
+        Path path = writeFile(bytes);
+
+        try (InputStream in = openMapped(path, 10)) {
+            assertThat(in.read()).isEqualTo(bytes[0] & 0xff);
+            assertThat(in.skip(25)).isEqualTo(25);
+            assertThat(in.available()).isEqualTo(FILE_SIZE - 26);
+            assertThat(in.read()).isEqualTo(bytes[26] & 0xff);
+            assertThat(in.skip(FILE_SIZE)).isEqualTo(FILE_SIZE - 27);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void openShouldNotMapSmallFile() throws IOException {
+        byte[] bytes = createBytes(FILE_SIZE);
+        Path path = writeFile(bytes);
+
+        try (InputStream in = MappedFileInputStream.open(path)) {
+            assertThat(in).isNotInstanceOf(MappedFileInputStream.class);
+            assertThat(readAll(in, 100)).isEqualTo(bytes);
+        }
+    }
+
+    @Test
+    public void openShouldMapLargeFile() throws IOException {
+        byte[] bytes = createBytes((int) MappedFileInputStream.MAPPING_THRESHOLD);
+        Path path = writeFile(bytes);
+
+        try (InputStream in = MappedFileInputStream.open(path)) {
+            assertThat(in).isInstanceOf(MappedFileInputStream.class);
+            assertThat(readAll(in, 8192)).isEqualTo(bytes);
+        }
+    }
+
+    private Path writeFile(byte[] bytes) throws IOException {
+        Path path = dir.resolve("test.bin");
+        Files.write(path, bytes);
+        return path;
+    }
+
+    private static InputStream openMapped(Path path, long windowSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        return new MappedFileInputStream(channel, channel.size(), windowSize);
+    }
+
+    private static byte[] createBytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+
+    private static byte[] readAll(InputStream in, int chunkSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[chunkSize];
+        int n;
+        while ((n = in.read(buffer, 0, buffer.length)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.InstanceType;
+
+/**
+ * A test class for {@link MessageTemplate}.
+ *
+ * @author leadpony
+ */
+public class MessageTemplateTest {
+
+    private static ResourceBundle bundle;
+
+    @BeforeAll
+    public static void setUpOnce() {
+        bundle = ResourceBundle.getBundle("org/leadpony/justify/internal/messages-test");
+    }
+
+    @Test
+    public void formatShouldApplyModifiers() {
+        MessageTemplate sut = MessageTemplate.compile("{name|capitalize} and {name|quote|capitalize}.", bundle);
+        Map<String, Object> args = new HashMap<>();
+        args.put("name", "foo");
+
+        assertThat(sut.format(args)).isEqualTo("Foo and \"foo\".");
+    }
+
+    @Test
+    public void formatShouldApplyModifiersToEachItem() {
+        MessageTemplate sut = MessageTemplate.compile("Expected {expected|quote}", bundle);
+        Map<String, Object> args = new HashMap<>();
+        args.put("expected", Arrays.asList("a", InstanceType.STRING, null));
+
+        assertThat(sut.format(args)).isEqualTo("Expected [\"a\", \"string\", null]");
+    }
+
+    @Test
+    public void formatShouldAcceptUnterminatedPlaceholder() {
+        MessageTemplate sut = MessageTemplate.compile("value is {value", bundle);
+        Map<String, Object> args = new HashMap<>();
+        args.put("value", 42);
+
+        assertThat(sut.format(args)).isEqualTo("value is 42");
+    }
+
+    @Test
+    public void formatShouldThrowIfVariableIsUndefined() {
+        MessageTemplate sut = MessageTemplate.compile("{missing}", bundle);
+
+        Throwable thrown = catchThrowable(() -> sut.format(new HashMap<>()));
+
+        assertThat(thrown).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void formatToShouldAppendToBuilder() {
+        MessageTemplate sut = MessageTemplate.compile("<{value}>", bundle);
+        Map<String, Object> args = new HashMap<>();
+        args.put("value", true);
+        StringBuilder builder = new StringBuilder("prefix");
+
+        sut.formatTo(args, builder);
+
+        assertThat(builder.toString()).isEqualTo("prefix<true>");
+    }
+
+    @Test
+    public void ofShouldReturnCachedTemplate() {
+        MessageTemplate first = MessageTemplate.of(Message.LINE_WITH_POINTER, Locale.ROOT);
+        MessageTemplate second = MessageTemplate.of(Message.LINE_WITH_POINTER, Locale.ROOT);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getPattern()).isEqualTo(Message.LINE_WITH_POINTER.getLocalized(Locale.ROOT));
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test class for {@link SegmentedSet}.
+ *
+ * @author leadpony
+ */
+public class SegmentedSetTest {
+
+    private static final int MAX_SIZE = 8;
+
+    @Test
+    public void addShouldRememberElementAfterSetIsFull() {
+        SegmentedSet<String> set = new SegmentedSet<>(MAX_SIZE);
+        IntStream.range(0, MAX_SIZE * 4).forEach(i -> set.add("name" + i));
+
+        set.add("recurring");
+
+        assertThat(set.contains("recurring")).isTrue();
+    }
+
+    @Test
+    public void containsShouldKeepRecurringElement() {
+        SegmentedSet<String> set = new SegmentedSet<>(MAX_SIZE);
+        set.add("recurring");
+        for (int i = 0; i < MAX_SIZE * 4; i++) {
+            set.add("name" + i);
+            assertThat(set.contains("recurring")).isTrue();
+        }
+    }
+
+    @Test
+    public void addShouldEvictOldElements() {
+        SegmentedSet<String> set = new SegmentedSet<>(MAX_SIZE);
+        IntStream.range(0, MAX_SIZE * 4).forEach(i -> set.add("name" + i));
+
+        long remembered = IntStream.range(0, MAX_SIZE * 4)
+                .filter(i -> set.contains("name" + i))
+                .count();
+
+        assertThat(set.contains("name0")).isFalse();
+        assertThat(remembered).isLessThanOrEqualTo(MAX_SIZE);
+    }
+}
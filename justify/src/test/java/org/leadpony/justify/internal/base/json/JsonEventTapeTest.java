@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test class for {@link JsonEventTape}.
+ *
+ * @author leadpony
+ */
+public class JsonEventTapeTest {
+
+    @Test
+    public void createParserShouldReplayAllProperties() {
+        JsonEventTape tape = JsonEventTape.ofProperties(createProperties());
+
+        List<String> actual = replay(tape.createParser(0, tape.getMemberCount(), null));
+
+        assertThat(actual).containsExactly(
+                "KEY_NAME:a", "VALUE_NUMBER:1",
+                "KEY_NAME:b", "START_OBJECT", "KEY_NAME:c", "VALUE_STRING:hello", "END_OBJECT",
+                "KEY_NAME:d", "START_ARRAY", "VALUE_TRUE", "VALUE_NULL", "END_ARRAY",
+                "END_OBJECT");
+    }
+
+    @Test
+    public void createParserShouldSkipPresentProperties() {
+        JsonEventTape tape = JsonEventTape.ofProperties(createProperties());
+        BitSet skipped = new BitSet();
+        skipped.set(tape.indexOfKey("a"));
+        skipped.set(tape.indexOfKey("b"));
+
+        List<String> actual = replay(tape.createParser(0, tape.getMemberCount(), skipped));
+
+        assertThat(actual).containsExactly(
+                "KEY_NAME:d", "START_ARRAY", "VALUE_TRUE", "VALUE_NULL", "END_ARRAY",
+                "END_OBJECT");
+    }
+
+    @Test
+    public void createParserShouldReplayItemsInRange() {
+        JsonEventTape tape = JsonEventTape.ofItems(Arrays.asList(
+                readValue("1"), readValue("[2]"), null, readValue("\"x\"")));
+
+        List<String> actual = replay(tape.createParser(1, 4, null));
+
+        assertThat(actual).containsExactly(
+                "START_ARRAY", "VALUE_NUMBER:2", "END_ARRAY", "VALUE_STRING:x", "END_ARRAY");
+        assertThat(tape.getValue(2)).isNull();
+    }
+
+    @Test
+    public void createParserShouldReplayOnlyClosingEventIfRangeIsEmpty() {
+        JsonEventTape tape = JsonEventTape.ofItems(Arrays.asList(readValue("1")));
+
+        List<String> actual = replay(tape.createParser(1, 1, null));
+
+        assertThat(actual).containsExactly("END_ARRAY");
+    }
+
+    @Test
+    public void indexOfKeyShouldReturnMinusOneIfNotFound() {
+        JsonEventTape tape = JsonEventTape.ofProperties(createProperties());
+
+        assertThat(tape.indexOfKey("b")).isEqualTo(1);
+        assertThat(tape.indexOfKey("z")).isEqualTo(-1);
+    }
+
+    private static Map<String, JsonValue> createProperties() {
+        Map<String, JsonValue> properties = new LinkedHashMap<>();
+        properties.put("a", readValue("1"));
+        properties.put("b", readValue("{\"c\":\"hello\"}"));
+        properties.put("d", readValue("[true,null]"));
+        return properties;
+    }
+
+    private static JsonValue readValue(String json) {
+        return Json.createReader(new StringReader(json)).readValue();
+    }
+
+    private static List<String> replay(JsonParser parser) {
+        List<String> events = new ArrayList<>();
+        while (parser.hasNext()) {
+            Event event = parser.next();
+            switch (event) {
+            case KEY_NAME:
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+                events.add(event.name() + ":" + parser.getString());
+                break;
+            default:
+                events.add(event.name());
+                break;
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.EvaluatorContext;
+import org.leadpony.justify.internal.base.json.SubtreeBuffer.Subtree;
+
+/**
+ * A test class for {@link SubtreeBuffer}.
+ *
+ * @author leadpony
+ */
+public class SubtreeBufferTest {
+
+    private static final String JSON = "[{\"a\":[1,2]},3,{\"b\":null}]";
+
+    @Test
+    public void openShouldReturnSameSubtreeAtSameEvent() {
+        SubtreeBuffer buffer = new SubtreeBuffer(Json.createBuilderFactory(null));
+        List<Subtree> opened = new ArrayList<>();
+        List<JsonValue> values = new ArrayList<>();
+
+        try (JsonParser parser = Json.createParser(new StringReader(JSON))) {
+            int index = 0;
+            while (parser.hasNext()) {
+                Event event = parser.next();
+                buffer.process(event, parser);
+                if (index == 1) {
+                    opened.add(SubtreeBuffer.openSubtree(new BufferingContextStub(buffer)));
+                    opened.add(SubtreeBuffer.openSubtree(new BufferingContextStub(buffer)));
+                }
+                if (event == Event.END_OBJECT && values.isEmpty()) {
+                    values.add(opened.get(0).update(event, parser));
+                }
+                index++;
+            }
+        }
+
+        assertThat(opened.get(0)).isSameAs(opened.get(1));
+        assertThat(values).containsExactly(readValue("{\"a\":[1,2]}"));
+    }
+
+    @Test
+    public void updateShouldReturnValueOnlyWhenSubtreeIsCompleted() {
+        SubtreeBuffer buffer = new SubtreeBuffer(Json.createBuilderFactory(null));
+        Subtree outer = null;
+        Subtree inner = null;
+        List<JsonValue> outerValues = new ArrayList<>();
+        List<JsonValue> innerValues = new ArrayList<>();
+
+        try (JsonParser parser = Json.createParser(new StringReader(JSON))) {
+            int index = 0;
+            while (parser.hasNext()) {
+                Event event = parser.next();
+                buffer.process(event, parser);
+                if (index == 0) {
+                    outer = SubtreeBuffer.openSubtree(new BufferingContextStub(buffer));
+                } else if (index == 8) {
+                    inner = SubtreeBuffer.openSubtree(new BufferingContextStub(buffer));
+                }
+                outerValues.add(outer.update(event, parser));
+                if (inner != null) {
+                    innerValues.add(inner.update(event, parser));
+                }
+                index++;
+            }
+        }
+
+        assertThat(outerValues.subList(0, outerValues.size() - 1)).containsOnlyNulls();
+        assertThat(outerValues.get(outerValues.size() - 1)).isEqualTo(readValue(JSON));
+        assertThat(innerValues.get(0)).isEqualTo(readValue("3"));
+    }
+
+    @Test
+    public void openShouldTakeNestedSubtreeFromOuterSubtree() {
+        SubtreeBuffer buffer = new SubtreeBuffer(Json.createBuilderFactory(null));
+        Subtree outer = null;
+        Subtree object = null;
+        Subtree number = null;
+        JsonValue outerValue = null;
+        JsonValue objectValue = null;
+        JsonValue numberValue = null;
+
+        try (JsonParser parser = Json.createParser(new StringReader(JSON))) {
+            int index = 0;
+            while (parser.hasNext()) {
+                Event event = parser.next();
+                buffer.process(event, parser);
+                if (index == 0) {
+                    outer = SubtreeBuffer.openSubtree(new BufferingContextStub(buffer));
+                } else if (index == 1) {
+                    object = SubtreeBuffer.openSubtree(new BufferingContextStub(buffer));
+                } else if (index == 8) {
+                    number = SubtreeBuffer.openSubtree(new BufferingContextStub(buffer));
+                }
+                if (outerValue == null) {
+                    outerValue = outer.update(event, parser);
+                }
+                if (object != null && objectValue == null) {
+                    objectValue = object.update(event, parser);
+                }
+                if (number != null && numberValue == null) {
+                    numberValue = number.update(event, parser);
+                }
+                index++;
+            }
+        }
+
+        assertThat(outerValue).isEqualTo(readValue(JSON));
+        assertThat(objectValue).isSameAs(outerValue.asJsonArray().get(0));
+        assertThat(numberValue).isSameAs(outerValue.asJsonArray().get(1));
+    }
+
+    private static JsonValue readValue(String json) {
+        return Json.createReader(new StringReader(json)).readValue();
+    }
+
+    /**
+     * A context providing the buffer only.
+     *
+     * @author leadpony
+     */
+    private static class BufferingContextStub implements EvaluatorContext, BufferingContext {
+
+        private final SubtreeBuffer buffer;
+
+        BufferingContextStub(SubtreeBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public SubtreeBuffer getSubtreeBuffer() {
+            return buffer;
+        }
+
+        @Override
+        public JsonParser getParser() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getPointer() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JsonProvider getJsonProvider() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public JsonBuilderFactory getJsonBuilderFactory() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean acceptsDefaultValues() {
+            return false;
+        }
+
+        @Override
+        public void putDefaultProperties(Map<String, JsonValue> properties) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void putDefaultItems(List<JsonValue> items) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
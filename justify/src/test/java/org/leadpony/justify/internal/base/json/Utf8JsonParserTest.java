@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.base.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+import javax.json.stream.JsonParsingException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * A test class for {@link Utf8JsonParser}.
+ *
+ * @author leadpony
+ */
+public class Utf8JsonParserTest {
+
+    private static final JsonProvider PROVIDER = JsonProvider.provider();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{}",
+        "[]",
+        "\"hello\"",
+        "-0.5e+10",
+        "true",
+        "null",
+        " {\"a\" : 1, \"b\":[true,false,null] ,\"c\":{\"d\":\"e\"}}\n",
+        "[0,-1,12345678901234567890,1.0,1E2,-3.25e-2,2147483648]",
+        "{\"caf\u00e9\":\"\u3042\u3044\u3046\",\"\ud83d\ude00\":\"\ud83d\ude00\"}",
+        "[\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u00e9\\ud83d\\ude00\"]",
+        "[\n  {\"x\":1},\n  {\"x\":2}\n]"
+    })
+    public void nextShouldProduceSameEventsAsProvider(String json) {
+        assertThat(parse(createParser(json))).containsExactlyElementsOf(
+                parse(Json.createParser(new StringReader(json))));
+    }
+
+    @Test
+    public void getStringShouldReturnSameInstanceForRepeatedKeys() {
+        JsonParser parser = createParser("[{\"name\":1},{\"name\":2}]");
+        List<String> keys = new ArrayList<>();
+        while (parser.hasNext()) {
+            if (parser.next() == Event.KEY_NAME) {
+                keys.add(parser.getString());
+            }
+        }
+
+        assertThat(keys).hasSize(2);
+        assertThat(keys.get(0)).isEqualTo("name").isSameAs(keys.get(1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "abc",
+        "caf\u00e9",
+        "\u3042\u3044\u3046",
+        "\ud83d\ude00!",
+        "tab\\tand\\u00e9"
+    })
+    public void getStringLengthShouldCountCodePoints(String value) {
+        Utf8JsonParser parser = createParser("\"" + value + "\"");
+        parser.next();
+
+        int length = parser.getStringLength();
+
+        String decoded = parser.getString();
+        assertThat(length).isEqualTo(decoded.codePointCount(0, decoded.length()));
+    }
+
+    @Test
+    public void getLocationShouldReturnLineAndColumn() {
+        Utf8JsonParser parser = createParser("{\n  \"\u00e9\": true}");
+        parser.next();
+        parser.next();
+
+        assertThat(parser.getLocation().getLineNumber()).isEqualTo(2);
+        assertThat(parser.getLocation().getColumnNumber()).isEqualTo(6);
+    }
+
+    @Test
+    public void constructorShouldSkipByteOrderMark() {
+        byte[] bytes = {(byte) 0xef, (byte) 0xbb, (byte) 0xbf, '[', '1', ']'};
+        JsonParser parser = new Utf8JsonParser(ByteBuffer.wrap(bytes), PROVIDER);
+
+        assertThat(parse(parser)).containsExactlyElementsOf(parse(createParser("[1]")));
+    }
+
+    @Test
+    public void nextShouldReadDirectBuffer() {
+        byte[] bytes = "{\"k\":\"\u00e9\"}".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+
+        assertThat(parse(new Utf8JsonParser(buffer, PROVIDER)))
+            .containsExactlyElementsOf(parse(Json.createParser(new StringReader("{\"k\":\"\u00e9\"}"))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "",
+        "[1,",
+        "{\"a\" 1}",
+        "{\"a\":1,}",
+        "[1 2]",
+        "[tru]",
+        "[01]",
+        "[1.]",
+        "[-]",
+        "[\"\\x\"]",
+        "[\"\\u12g4\"]",
+        "[\"a\nb\"]",
+        "{1:2}",
+        "[] []"
+    })
+    public void nextShouldThrowIfDocumentIsIllFormed(String json) {
+        JsonParser parser = createParser(json);
+
+        assertThatThrownBy(() -> {
+            while (parser.hasNext()) {
+                parser.next();
+            }
+        }).isInstanceOf(JsonParsingException.class);
+    }
+
+    private static Utf8JsonParser createParser(String json) {
+        return new Utf8JsonParser(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)), PROVIDER);
+    }
+
+    private static List<String> parse(JsonParser parser) {
+        List<String> events = new ArrayList<>();
+        while (parser.hasNext()) {
+            Event event = parser.next();
+            switch (event) {
+            case KEY_NAME:
+            case VALUE_STRING:
+                events.add(event + ":" + parser.getString());
+                break;
+            case VALUE_NUMBER:
+                events.add(event + ":" + parser.getString() + ":" + parser.isIntegralNumber()
+                        + ":" + parser.getBigDecimal() + ":" + parser.getLong() + ":" + parser.getInt());
+                break;
+            default:
+                events.add(event.toString());
+                break;
+            }
+            events.add("@" + parser.getLocation().getLineNumber() + ":" + parser.getLocation().getColumnNumber());
+        }
+        return events;
+    }
+}
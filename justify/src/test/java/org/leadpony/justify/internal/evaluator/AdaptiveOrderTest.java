@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.evaluator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A test class for {@link AdaptiveOrder}.
+ *
+ * @author leadpony
+ */
+public class AdaptiveOrderTest {
+
+    @Test
+    public void getOrderShouldReturnDeclarationOrderInitially() {
+        AdaptiveOrder order = new AdaptiveOrder(4);
+
+        assertThat(order.getOrder()).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    public void getOrderShouldPutFrequentOperandsFirst() {
+        AdaptiveOrder order = new AdaptiveOrder(4);
+        for (int i = 0; i < 1000; i++) {
+            order.record(3);
+        }
+        for (int i = 0; i < 24; i++) {
+            order.record(1);
+        }
+
+        assertThat(order.getOrder()).containsExactly(3, 1, 0, 2);
+    }
+
+    @Test
+    public void getOrderShouldNotChangeBeforeInterval() {
+        AdaptiveOrder order = new AdaptiveOrder(2);
+        for (int i = 0; i < 255; i++) {
+            order.record(1);
+        }
+
+        assertThat(order.getOrder()).containsExactly(0, 1);
+
+        order.record(1);
+
+        assertThat(order.getOrder()).containsExactly(1, 0);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.keyword.assertion.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.leadpony.justify.api.SpecVersion;
+import org.leadpony.justify.internal.annotation.Spec;
+import org.leadpony.justify.spi.FormatAttribute;
+
+/**
+ * A test class for {@link FormatAttributes}.
+ *
+ * @author leadpony
+ */
+public class FormatAttributesTest {
+
+    private static final List<FormatAttribute> ALL_ATTRIBUTES = Arrays.asList(
+            new Date(),
+            new DateTime(),
+            new Email(),
+            new Hostname(),
+            new Ipv4(),
+            new Ipv6(),
+            new IdnEmail(),
+            new IdnHostname(),
+            new Iri(),
+            new IriReference(),
+            new JsonPointer(),
+            new Regex(),
+            new RelativeJsonPointer(),
+            new Time(),
+            new Uri(),
+            new UriReference(),
+            new UriTemplate());
+
+    @ParameterizedTest
+    @EnumSource(SpecVersion.class)
+    public void getAttributesShouldReturnAllAttributesAnnotated(SpecVersion version) {
+        Map<String, FormatAttribute> actual = FormatAttributes.getAttributes(version);
+
+        for (FormatAttribute attribute : ALL_ATTRIBUTES) {
+            boolean annotated = Arrays.stream(attribute.getClass().getAnnotationsByType(Spec.class))
+                    .anyMatch(spec -> spec.value() == version);
+            if (annotated) {
+                assertThat(actual.get(attribute.name())).isInstanceOf(attribute.getClass());
+            } else {
+                assertThat(actual).doesNotContainKey(attribute.name());
+            }
+        }
+        assertThat(actual).hasSize((int) ALL_ATTRIBUTES.stream()
+                .filter(a -> Arrays.stream(a.getClass().getAnnotationsByType(Spec.class))
+                        .anyMatch(spec -> spec.value() == version))
+                .count());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.leadpony.justify.api.SpecVersion;
+import org.leadpony.justify.internal.annotation.KeywordType;
+import org.leadpony.justify.internal.annotation.Spec;
+import org.leadpony.justify.internal.keyword.annotation.Default;
+import org.leadpony.justify.internal.keyword.annotation.Description;
+import org.leadpony.justify.internal.keyword.annotation.Title;
+import org.leadpony.justify.internal.keyword.applicator.AdditionalItems;
+import org.leadpony.justify.internal.keyword.applicator.AdditionalProperties;
+import org.leadpony.justify.internal.keyword.applicator.AllOf;
+import org.leadpony.justify.internal.keyword.applicator.AnyOf;
+import org.leadpony.justify.internal.keyword.applicator.Contains;
+import org.leadpony.justify.internal.keyword.applicator.Definitions;
+import org.leadpony.justify.internal.keyword.applicator.Dependencies;
+import org.leadpony.justify.internal.keyword.applicator.Else;
+import org.leadpony.justify.internal.keyword.applicator.If;
+import org.leadpony.justify.internal.keyword.applicator.Items;
+import org.leadpony.justify.internal.keyword.applicator.Not;
+import org.leadpony.justify.internal.keyword.applicator.OneOf;
+import org.leadpony.justify.internal.keyword.applicator.PatternProperties;
+import org.leadpony.justify.internal.keyword.applicator.Properties;
+import org.leadpony.justify.internal.keyword.applicator.PropertyNames;
+import org.leadpony.justify.internal.keyword.applicator.Then;
+import org.leadpony.justify.internal.keyword.assertion.Const;
+import org.leadpony.justify.internal.keyword.assertion.Draft04Maximum;
+import org.leadpony.justify.internal.keyword.assertion.Draft04Minimum;
+import org.leadpony.justify.internal.keyword.assertion.Draft04Type;
+import org.leadpony.justify.internal.keyword.assertion.ExclusiveMaximum;
+import org.leadpony.justify.internal.keyword.assertion.ExclusiveMinimum;
+import org.leadpony.justify.internal.keyword.assertion.MaxItems;
+import org.leadpony.justify.internal.keyword.assertion.MaxLength;
+import org.leadpony.justify.internal.keyword.assertion.MaxProperties;
+import org.leadpony.justify.internal.keyword.assertion.Maximum;
+import org.leadpony.justify.internal.keyword.assertion.MinItems;
+import org.leadpony.justify.internal.keyword.assertion.MinLength;
+import org.leadpony.justify.internal.keyword.assertion.MinProperties;
+import org.leadpony.justify.internal.keyword.assertion.Minimum;
+import org.leadpony.justify.internal.keyword.assertion.MultipleOf;
+import org.leadpony.justify.internal.keyword.assertion.Pattern;
+import org.leadpony.justify.internal.keyword.assertion.Required;
+import org.leadpony.justify.internal.keyword.assertion.Type;
+import org.leadpony.justify.internal.keyword.assertion.UniqueItems;
+import org.leadpony.justify.internal.keyword.assertion.content.ContentEncoding;
+import org.leadpony.justify.internal.keyword.assertion.content.ContentMediaType;
+import org.leadpony.justify.internal.keyword.assertion.format.Format;
+import org.leadpony.justify.internal.keyword.core.Comment;
+import org.leadpony.justify.internal.keyword.core.Id;
+import org.leadpony.justify.internal.keyword.core.Ref;
+import org.leadpony.justify.internal.keyword.core.Schema;
+
+/**
+ * A test class for {@link StandardKeywordFactory}.
+ *
+ * @author leadpony
+ */
+public class StandardKeywordFactoryTest {
+
+    private static final Class<?>[] KEYWORD_CLASSES = {
+            Default.class,
+            Description.class,
+            Title.class,
+            AdditionalItems.class,
+            AdditionalProperties.class,
+            AllOf.class,
+            AnyOf.class,
+            Contains.class,
+            Definitions.class,
+            Dependencies.class,
+            Else.class,
+            If.class,
+            Items.class,
+            Not.class,
+            OneOf.class,
+            PatternProperties.class,
+            Properties.class,
+            PropertyNames.class,
+            Then.class,
+            Const.class,
+            Draft04Maximum.class,
+            Draft04Maximum.ExclusiveMaximum.class,
+            Draft04Minimum.class,
+            Draft04Minimum.ExclusiveMinimum.class,
+            Draft04Type.class,
+            ExclusiveMaximum.class,
+            ExclusiveMinimum.class,
+            MaxItems.class,
+            MaxLength.class,
+            MaxProperties.class,
+            Maximum.class,
+            MinItems.class,
+            MinLength.class,
+            MinProperties.class,
+            Minimum.class,
+            MultipleOf.class,
+            Pattern.class,
+            Required.class,
+            Type.class,
+            UniqueItems.class,
+            ContentEncoding.class,
+            ContentMediaType.class,
+            Format.class,
+            Comment.class,
+            Id.class,
+            Ref.class,
+            Schema.class,
+            org.leadpony.justify.internal.keyword.assertion.Enum.class,
+    };
+
+    @ParameterizedTest
+    @EnumSource(SpecVersion.class)
+    public void getMappersShouldReturnAllKeywordsAnnotated(SpecVersion version) {
+        Set<String> expected = new HashSet<>();
+        for (Class<?> clazz : KEYWORD_CLASSES) {
+            for (Spec spec : clazz.getAnnotationsByType(Spec.class)) {
+                if (spec.value() == version) {
+                    String name = spec.name();
+                    if (name.isEmpty()) {
+                        name = clazz.getAnnotation(KeywordType.class).value();
+                    }
+                    expected.add(name);
+                }
+            }
+        }
+
+        assertThat(StandardKeywordFactory.getMappers(version).keySet())
+            .containsExactlyInAnyOrderElementsOf(expected);
+    }
+}
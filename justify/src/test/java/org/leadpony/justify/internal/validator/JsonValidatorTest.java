@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018-2020 the Justify authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.leadpony.justify.internal.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonReader;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.Problem;
+import org.leadpony.justify.api.ValidationConfig;
+import org.leadpony.justify.internal.profiler.DefaultEvaluationProfiler;
+
+/**
+ * A test class for {@link JsonValidator}.
+ *
+ * @author leadpony
+ */
+public class JsonValidatorTest {
+
+    private static JsonValidationService service;
+    private static JsonProvider jsonProvider;
+
+    private final DefaultEvaluationProfiler profiler = new DefaultEvaluationProfiler();
+
+    @BeforeAll
+    public static void setUpOnce() {
+        service = JsonValidationService.newInstance();
+        jsonProvider = service.getJsonProvider();
+    }
+
+    @Test
+    public void validateShouldSkipUnconstrainedObject() {
+        String schemaJson = "{\"properties\":{\"id\":{\"type\":\"integer\"}},\"required\":[\"id\"]}";
+        String json = "{\"id\":1,\"payload\":{\"a\":[1,2,3],\"b\":{\"c\":true}}}";
+        List<Problem> problems = validate(schemaJson, json);
+
+        assertThat(problems).isEmpty();
+        assertThat(profiler.getEventCount()).isLessThan(countEvaluatedEventsByReader(schemaJson, json));
+    }
+
+    @Test
+    public void validateShouldSkipUnconstrainedItems() {
+        String schemaJson = "{\"type\":\"array\",\"items\":{\"type\":\"object\"}}";
+        String json = "[{\"a\":1},{\"b\":[2,3]},{\"c\":{\"d\":[4]}}]";
+        List<Problem> problems = validate(schemaJson, json);
+
+        assertThat(problems).isEmpty();
+        assertThat(profiler.getEventCount()).isLessThan(countEvaluatedEventsByReader(schemaJson, json));
+    }
+
+    @Test
+    public void validateShouldNotSkipConstrainedObject() {
+        String schemaJson = "{\"properties\":{\"payload\":{\"properties\":{\"a\":{\"type\":\"integer\"}}}}}";
+        String json = "{\"id\":1,\"payload\":{\"a\":\"x\"}}";
+        List<Problem> problems = validate(schemaJson, json);
+
+        assertThat(problems).extracting(Problem::getPointer).containsExactly("/payload/a");
+        assertThat(profiler.getEventCount()).isEqualTo(countEvaluatedEventsByReader(schemaJson, json));
+    }
+
+    @Test
+    public void validateShouldReportProblemsAfterSkippedObject() {
+        String schemaJson = "{\"properties\":{\"id\":{\"type\":\"integer\"}}}";
+        String json = "{\"payload\":{\"a\":[1,2]},\"id\":\"x\"}";
+        List<Problem> problems = validate(schemaJson, json);
+
+        assertThat(problems).extracting(Problem::getPointer).containsExactly("/id");
+        assertThat(profiler.getEventCount()).isLessThan(countEvaluatedEventsByReader(schemaJson, json));
+    }
+
+    @Test
+    public void validateShouldReadSkippedObjectToTheEnd() {
+        CountingParser parser = createParser("{\"id\":1,\"payload\":{\"a\":[1,2,3],\"b\":{\"c\":true}}}");
+        validate("{\"properties\":{\"id\":{\"type\":\"integer\"}}}", parser);
+
+        assertThat(parser.events).isEqualTo(18);
+    }
+
+    private List<Problem> validate(String schemaJson, String json) {
+        return validate(schemaJson, createParser(json));
+    }
+
+    private List<Problem> validate(String schemaJson, JsonParser parser) {
+        JsonSchema schema = service.readSchema(new StringReader(schemaJson));
+        List<Problem> problems = new ArrayList<>();
+        new JsonValidator(parser, schema, jsonProvider)
+            .withProfiler(profiler)
+            .withHandler(problems::addAll)
+            .validate();
+        return problems;
+    }
+
+    /**
+     * Counts the events evaluated while reading the whole instance, without
+     * skipping anything.
+     */
+    private static long countEvaluatedEventsByReader(String schemaJson, String json) {
+        DefaultEvaluationProfiler readerProfiler = new DefaultEvaluationProfiler();
+        ValidationConfig config = service.createValidationConfig()
+                .withSchema(service.readSchema(new StringReader(schemaJson)))
+                .withProfiler(readerProfiler);
+        try (JsonReader reader = service.createReaderFactory(config.getAsMap())
+                .createReader(new StringReader(json))) {
+            reader.readValue();
+        }
+        return readerProfiler.getEventCount();
+    }
+
+    private static CountingParser createParser(String json) {
+        return new CountingParser(Json.createParser(new StringReader(json)));
+    }
+
+    /**
+     * A parser counting the events fetched one by one.
+     *
+     * @author leadpony
+     */
+    private static class CountingParser implements JsonParser {
+
+        private final JsonParser real;
+        private int events;
+
+        CountingParser(JsonParser real) {
+            this.real = real;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return real.hasNext();
+        }
+
+        @Override
+        public Event next() {
+            events++;
+            return real.next();
+        }
+
+        @Override
+        public String getString() {
+            return real.getString();
+        }
+
+        @Override
+        public boolean isIntegralNumber() {
+            return real.isIntegralNumber();
+        }
+
+        @Override
+        public int getInt() {
+            return real.getInt();
+        }
+
+        @Override
+        public long getLong() {
+            return real.getLong();
+        }
+
+        @Override
+        public BigDecimal getBigDecimal() {
+            return real.getBigDecimal();
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            return real.getLocation();
+        }
+
+        @Override
+        public void skipArray() {
+            real.skipArray();
+        }
+
+        @Override
+        public void skipObject() {
+            real.skipObject();
+        }
+
+        @Override
+        public void close() {
+            real.close();
+        }
+    }
+}